@@ -1,3 +1,5 @@
+import java.io.ByteArrayOutputStream
+
 plugins {
     java
     jacoco
@@ -5,6 +7,9 @@ plugins {
     id("io.spring.dependency-management") version "1.1.7"
 }
 
+// Ships with the Spring Boot plugin but has no plugin marker of its own, so it is applied here
+apply(plugin = "org.springframework.boot.aot")
+
 group = "edu.trincoll"
 version = "0.0.1-SNAPSHOT"
 
@@ -35,6 +40,9 @@ tasks.withType<Test> {
 }
 
 tasks.test {
+    useJUnitPlatform {
+        excludeTags("load")
+    }
     testLogging {
         events("passed", "skipped", "failed")
         exceptionFormat = org.gradle.api.tasks.testing.logging.TestExceptionFormat.FULL
@@ -43,6 +51,92 @@ tasks.test {
     finalizedBy(tasks.jacocoTestReport)
 }
 
+// Fast startup: the boot jar carries AOT-generated bean definitions for the fast-startup
+// profile, is extracted into the layout class data sharing needs, and is trained by a run
+// of the first-checkout benchmark so the archive covers the checkout path. Profiles and
+// conditional beans are decided here, from application-fast-startup.properties.
+tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+    args("--spring.profiles.active=fast-startup")
+}
+
+val startupLauncher = javaToolchains.launcherFor {
+    languageVersion = JavaLanguageVersion.of(21)
+}
+val cdsDirectory = layout.buildDirectory.dir("cds")
+val extractedJarDirectory = cdsDirectory.map { it.dir("app") }
+val cdsArchive = cdsDirectory.map { it.file("application.jsa") }
+val fastStartupJvmArgs = listOf(
+    "-Dspring.aot.enabled=true",
+    "-Dspring.profiles.active=fast-startup",
+    "-Dlibrary.startup.benchmark.enabled=true",
+    "-Dlibrary.startup.benchmark.exit=true"
+)
+
+val extractBootJar by tasks.registering(Exec::class) {
+    description = "Extracts the boot jar into a layout usable with a class data sharing archive."
+    group = "build"
+    inputs.file(tasks.bootJar.flatMap { it.archiveFile })
+    outputs.dir(extractedJarDirectory)
+    doFirst {
+        executable = startupLauncher.get().executablePath.asFile.absolutePath
+        args("-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+            "extract", "--force", "--destination", extractedJarDirectory.get().asFile.absolutePath)
+    }
+}
+
+val cdsTrainingRun by tasks.registering(Exec::class) {
+    description = "Creates the class data sharing archive from a training run of the first checkout."
+    group = "build"
+    dependsOn(extractBootJar)
+    outputs.file(cdsArchive)
+    doFirst {
+        executable = startupLauncher.get().executablePath.asFile.absolutePath
+        args(listOf("-XX:ArchiveClassesAtExit=" + cdsArchive.get().asFile.absolutePath) + fastStartupJvmArgs +
+            listOf("-jar", extractedJarDirectory.get().file(tasks.bootJar.get().archiveFileName.get()).asFile.absolutePath))
+    }
+}
+
+val startupBenchmark by tasks.registering(Exec::class) {
+    description = "Measures time to the first successful checkout in fast-startup mode. " +
+        "Fails if it exceeds -PstartupBudgetMs when given."
+    group = "verification"
+    dependsOn(cdsTrainingRun)
+    val output = ByteArrayOutputStream()
+    standardOutput = output
+    doFirst {
+        executable = startupLauncher.get().executablePath.asFile.absolutePath
+        args(listOf("-XX:SharedArchiveFile=" + cdsArchive.get().asFile.absolutePath) + fastStartupJvmArgs +
+            listOf("-jar", extractedJarDirectory.get().file(tasks.bootJar.get().archiveFileName.get()).asFile.absolutePath))
+    }
+    doLast {
+        val result = Regex("Time to first successful checkout: (\\d+) ms").find(output.toString())
+            ?: throw GradleException("Startup benchmark did not report a checkout time")
+        val millis = result.groupValues[1].toLong()
+        logger.lifecycle("Time to first successful checkout: $millis ms")
+        val budget = (findProperty("startupBudgetMs") as String?)?.toLong()
+        if (budget != null && millis > budget) {
+            throw GradleException("Startup took $millis ms, over the $budget ms budget")
+        }
+    }
+    outputs.upToDateWhen { false }
+}
+
+val loadTest by tasks.registering(Test::class) {
+    description = "Runs the concurrent circulation load test against the H2/JPA stack."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    // Forward -Pload.kiosks=500 style overrides to the test JVM
+    systemProperties(project.properties.filterKeys { it.startsWith("load.") })
+    testLogging {
+        showStandardStreams = true
+    }
+    outputs.upToDateWhen { false }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
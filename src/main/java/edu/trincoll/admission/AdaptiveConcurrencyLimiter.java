@@ -0,0 +1,222 @@
+package edu.trincoll.admission;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps how many facade operations run at once, adapting the cap to observed latency.
+ * The limit follows AIMD: every completed operation is compared with a slowly moving
+ * baseline latency for that operation, so a report that always takes a second does not
+ * make a fast checkout look healthy or itself look like congestion when traffic is mixed.
+ * A sample slower than its baseline by more than the tolerance cuts the
+ * limit by the backoff ratio, at most once per round trip, and a healthy sample taken while
+ * at least half the limit was in use grows it by one over the limit, about one per round
+ * trip. When the database slows down, the limit shrinks and excess requests are rejected
+ * at once instead of queueing on connections, lowest {@link Priority} first.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    static final int DEFAULT_INITIAL_LIMIT = 50;
+    static final int DEFAULT_MIN_LIMIT = 4;
+    static final int DEFAULT_MAX_LIMIT = 500;
+    static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+    static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    private static final double BASELINE_WEIGHT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Priority, LongAdder> admitted = new EnumMap<>(Priority.class);
+    private final Map<Priority, LongAdder> rejected = new EnumMap<>(Priority.class);
+    private volatile int currentLimit;
+
+    // Guarded by this
+    private double limit;
+    private final Map<String, Baseline> baselines = new HashMap<>();
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimiter.
+     * @param initialLimit The limit before any latency has been observed.
+     * @param minLimit The smallest the limit may shrink to.
+     * @param maxLimit The largest the limit may grow to.
+     * @param latencyTolerance How many times the baseline latency a sample may take before the limit is cut.
+     * @param backoffRatio The factor the limit is multiplied by when it is cut.
+     */
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${library.admission.initial-limit:50}") int initialLimit,
+                                      @Value("${library.admission.min-limit:4}") int minLimit,
+                                      @Value("${library.admission.max-limit:500}") int maxLimit,
+                                      @Value("${library.admission.latency-tolerance:2.0}") double latencyTolerance,
+                                      @Value("${library.admission.backoff-ratio:0.9}") double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                               double latencyTolerance, double backoffRatio, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (latencyTolerance <= 1.0 || backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("Latency tolerance must exceed 1 and backoff ratio must be in (0, 1)");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+        for (Priority priority : Priority.values()) {
+            admitted.put(priority, new LongAdder());
+            rejected.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Creates a limiter with the default limits, tolerance and backoff.
+     * @return A new limiter.
+     */
+    public static AdaptiveConcurrencyLimiter withDefaults() {
+        return new AdaptiveConcurrencyLimiter(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT,
+                DEFAULT_LATENCY_TOLERANCE, DEFAULT_BACKOFF_RATIO);
+    }
+
+    /**
+     * Admits an operation, timed against the baseline shared by its whole priority.
+     * @param priority The operation's priority.
+     * @return A permit to close when the operation finishes.
+     * @throws OperationRejectedException If the operation must be shed.
+     */
+    public Permit acquire(Priority priority) {
+        return acquire(priority.name(), priority);
+    }
+
+    /**
+     * Admits an operation if its priority's share of the limit is not used up.
+     * @param operation The operation's name, which selects the baseline its latency is compared with.
+     * @param priority The operation's priority.
+     * @return A permit to close when the operation finishes.
+     * @throws OperationRejectedException If the operation must be shed.
+     */
+    public Permit acquire(String operation, Priority priority) {
+        int limitNow = currentLimit;
+        int allowance = priority.allowance(limitNow);
+        int running;
+        do {
+            running = inFlight.get();
+            if (running >= allowance) {
+                rejected.get(priority).increment();
+                throw new OperationRejectedException(priority, limitNow);
+            }
+        } while (!inFlight.compareAndSet(running, running + 1));
+        admitted.get(priority).increment();
+        return new Permit(operation, nanoClock.getAsLong(), running + 1);
+    }
+
+    private synchronized void onSample(String operation, long startNanos, long endNanos, int inFlightAtStart) {
+        long latency = Math.max(1, endNanos - startNanos);
+        Baseline baseline = baselines.get(operation);
+        if (baseline == null) {
+            baselines.put(operation, new Baseline(latency));
+            currentLimit = (int) limit;
+            return;
+        }
+        if (latency > baseline.nanos * latencyTolerance) {
+            // Operations that started before the last cut reflect the old limit, not the new one
+            if (startNanos >= lastDecreaseNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = endNanos;
+            }
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        // Slow samples feed the baseline too, so a lasting shift in latency is eventually accepted
+        baseline.nanos += (latency - baseline.nanos) * BASELINE_WEIGHT;
+        currentLimit = (int) limit;
+    }
+
+    /**
+     * Returns the current limit, in-flight count, baseline latencies and per-priority counts.
+     * @return A point-in-time snapshot.
+     */
+    public Stats stats() {
+        Map<Priority, Long> admittedCounts = new EnumMap<>(Priority.class);
+        Map<Priority, Long> rejectedCounts = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            admittedCounts.put(priority, admitted.get(priority).sum());
+            rejectedCounts.put(priority, rejected.get(priority).sum());
+        }
+        Map<String, Duration> baselineLatencies = new TreeMap<>();
+        synchronized (this) {
+            baselines.forEach((operation, baseline) ->
+                    baselineLatencies.put(operation, Duration.ofNanos((long) baseline.nanos)));
+        }
+        return new Stats(currentLimit, inFlight.get(), baselineLatencies, admittedCounts, rejectedCounts);
+    }
+
+    /**
+     * An admitted operation. Closing it releases its slot and feeds its latency to the limit.
+     */
+    public final class Permit implements AutoCloseable {
+        private final String operation;
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private boolean closed;
+
+        private Permit(String operation, long startNanos, int inFlightAtStart) {
+            this.operation = operation;
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            inFlight.decrementAndGet();
+            onSample(operation, startNanos, nanoClock.getAsLong(), inFlightAtStart);
+        }
+    }
+
+    private static final class Baseline {
+        private double nanos;
+
+        private Baseline(long nanos) {
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * A snapshot of the limiter.
+     * @param limit The current concurrency limit.
+     * @param inFlight The operations currently running.
+     * @param baselineLatencies The long-run latency of each operation, that its samples are compared with.
+     * @param admitted The operations admitted, by priority.
+     * @param rejected The operations shed, by priority.
+     */
+    public record Stats(int limit, int inFlight, Map<String, Duration> baselineLatencies,
+                        Map<Priority, Long> admitted, Map<Priority, Long> rejected) {
+
+        public long totalRejected() {
+            return rejected.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package edu.trincoll.admission;
+
+import edu.trincoll.service.FacadeInterceptors;
+import edu.trincoll.service.LibraryFacade;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts {@link LibraryFacade} operations behind the {@link AdaptiveConcurrencyLimiter}.
+ * Admission runs outside any other facade interceptor, so shed operations cost nothing
+ * beyond the rejection. Disable with {@code library.admission.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "library.admission", name = "enabled",
+        havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfiguration {
+
+    @Bean
+    static BeanPostProcessor admissionControl(ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof LibraryFacade) {
+                    return admitOperations(bean, limiter.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    static Object admitOperations(Object facade, AdaptiveConcurrencyLimiter limiter) {
+        return FacadeInterceptors.addInterceptor(facade, invocation -> {
+            String operation = invocation.getMethod().getName();
+            Priority priority = Priority.of(operation, invocation.getArguments());
+            try (AdaptiveConcurrencyLimiter.Permit ignored = limiter.acquire(operation, priority)) {
+                return invocation.proceed();
+            }
+        }, true);
+    }
+}
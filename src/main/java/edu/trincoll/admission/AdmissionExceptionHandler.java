@@ -0,0 +1,33 @@
+package edu.trincoll.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers a shed operation with 503 Service Unavailable and a Retry-After header, so
+ * HTTP clients back off instead of seeing a server error.
+ */
+@RestControllerAdvice
+public class AdmissionExceptionHandler {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new AdmissionExceptionHandler.
+     * @param retryAfterSeconds How long clients are asked to wait before retrying.
+     */
+    public AdmissionExceptionHandler(@Value("${library.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @ExceptionHandler(OperationRejectedException.class)
+    public ResponseEntity<String> serviceUnavailable(OperationRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,20 @@
+package edu.trincoll.admission;
+
+/**
+ * Thrown when an operation is turned away because the library is overloaded.
+ * Callers may retry after a short pause.
+ */
+public class OperationRejectedException extends RuntimeException {
+
+    private final Priority priority;
+
+    public OperationRejectedException(Priority priority, int limit) {
+        super("Library is overloaded, " + priority + " operations are limited to "
+                + priority.allowance(limit) + " in flight; try again shortly");
+        this.priority = priority;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+}
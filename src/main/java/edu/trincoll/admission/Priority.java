@@ -0,0 +1,49 @@
+package edu.trincoll.admission;
+
+/**
+ * How important a facade operation is when the library is overloaded.
+ * Each priority may only use a share of the concurrency limit, so as in-flight work grows
+ * towards the limit, low-priority operations are turned away first and circulation keeps
+ * the remaining capacity.
+ */
+public enum Priority {
+    /** Checkouts, returns and holds, which may use the whole limit. */
+    CRITICAL(1.0),
+    /** Single-title lookups. */
+    NORMAL(0.75),
+    /** Reports, dashboards and broad searches, which are shed first. */
+    LOW(0.5);
+
+    private final double share;
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    /**
+     * Returns how many operations may be in flight when one of this priority is admitted.
+     * @param limit The current concurrency limit.
+     * @return The share of the limit available to this priority, at least one.
+     */
+    public int allowance(int limit) {
+        return Math.max(1, (int) Math.ceil(limit * share));
+    }
+
+    /**
+     * Classifies a facade operation.
+     * @param operation The facade method name.
+     * @param arguments The arguments it was called with.
+     * @return The operation's priority.
+     */
+    public static Priority of(String operation, Object[] arguments) {
+        return switch (operation) {
+            case "checkoutBook", "returnBook", "checkoutCopy", "returnCopy", "placeHold" -> CRITICAL;
+            case "generateReport", "generateIncrementalOverdueReport", "generateDashboard",
+                 "searchBooksByAuthorFuzzy" -> LOW;
+            case "searchBooks" -> arguments.length >= 2 && "isbn".equalsIgnoreCase(String.valueOf(arguments[1]))
+                    ? NORMAL
+                    : LOW;
+            default -> NORMAL;
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package edu.trincoll.analytics;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.service.CirculationListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Streaming "most borrowed" statistics for titles and authors, fed by checkouts.
+ * Memory is fixed by the configured capacity and sketch error; counts decay with
+ * the configured half-life so the rankings follow current demand.
+ */
+@Component
+public class BorrowingTrends implements CirculationListener {
+
+    static final Duration DEFAULT_HALF_LIFE = Duration.ofDays(7);
+    static final int DEFAULT_CAPACITY = 200;
+    private static final double EPSILON = 0.001;
+    private static final double DELTA = 0.01;
+
+    private final DecayingTopK titles;
+    private final DecayingTopK authors;
+
+    /**
+     * Constructs a new BorrowingTrends with the default half-life and capacity.
+     */
+    public BorrowingTrends() {
+        this(DEFAULT_HALF_LIFE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new BorrowingTrends.
+     * @param halfLife How long it takes a checkout's weight to halve.
+     * @param capacity The number of candidate titles and authors tracked.
+     */
+    @Autowired
+    public BorrowingTrends(@Value("${library.reports.most-borrowed.half-life:7d}") Duration halfLife,
+                           @Value("${library.reports.most-borrowed.capacity:200}") int capacity) {
+        this(halfLife, capacity, System::currentTimeMillis);
+    }
+
+    BorrowingTrends(Duration halfLife, int capacity, LongSupplier clock) {
+        this.titles = new DecayingTopK(capacity, EPSILON, DELTA, halfLife, clock);
+        this.authors = new DecayingTopK(capacity, EPSILON, DELTA, halfLife, clock);
+    }
+
+    @Override
+    public void onCheckout(Member member, Book book, LocalDate dueDate) {
+        titles.record(book.getIsbn(), book.getTitle());
+        authors.record(book.getAuthor(), book.getAuthor());
+    }
+
+    /**
+     * Returns the most borrowed titles, keyed by ISBN.
+     * @param limit The number of titles to return.
+     * @return The top titles, highest first.
+     */
+    public List<DecayingTopK.Estimate> topTitles(int limit) {
+        return titles.top(limit);
+    }
+
+    /**
+     * Returns the most borrowed authors.
+     * @param limit The number of authors to return.
+     * @return The top authors, highest first.
+     */
+    public List<DecayingTopK.Estimate> topAuthors(int limit) {
+        return authors.top(limit);
+    }
+}
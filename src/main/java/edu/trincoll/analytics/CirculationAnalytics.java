@@ -0,0 +1,200 @@
+package edu.trincoll.analytics;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.service.CirculationListener;
+import edu.trincoll.service.RejectionReason;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window circulation counters for the last minute, quarter hour and hour.
+ * Events are counted into a ring of one-minute buckets made of {@link LongAdder}s,
+ * so recording is a striped, lock-free increment that never blocks a checkout.
+ * A bucket whose minute has passed is replaced with a fresh one by compare-and-set
+ * the first time it is written again; reads sum the buckets inside the window.
+ */
+@Component
+public class CirculationAnalytics implements CirculationListener {
+
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final int RING_SIZE = Window.ONE_HOUR.minutes() + 1;
+    private static final MembershipType[] TYPES = MembershipType.values();
+
+    private final AtomicReferenceArray<Bucket> ring = new AtomicReferenceArray<>(RING_SIZE);
+    private final LongSupplier clock;
+
+    /**
+     * Constructs a new CirculationAnalytics using the system clock.
+     */
+    public CirculationAnalytics() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a new CirculationAnalytics.
+     * @param clock The source of the current time in epoch milliseconds.
+     */
+    CirculationAnalytics(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void onCheckout(Member member, Book book, LocalDate dueDate) {
+        current().checkouts[typeOf(member).ordinal()].increment();
+    }
+
+    @Override
+    public void onReturn(Member member, Book book, double lateFee) {
+        Bucket bucket = current();
+        bucket.returns[typeOf(member).ordinal()].increment();
+        if (lateFee > 0) {
+            bucket.lateFeeCents.add(Math.round(lateFee * 100));
+        }
+    }
+
+    @Override
+    public void onCheckoutRejected(Member member, Book book, RejectionReason reason) {
+        Bucket bucket = current();
+        if (reason == RejectionReason.CHECKOUT_LIMIT_REACHED) {
+            bucket.limitRejections.increment();
+        } else {
+            bucket.unavailableRejections.increment();
+        }
+    }
+
+    /**
+     * Sums the counters for a window ending at the current minute.
+     * @param window The window to summarise.
+     * @return The totals for the window.
+     */
+    public WindowStats snapshot(Window window) {
+        long now = currentMinute();
+        long[] checkouts = new long[TYPES.length];
+        long[] returns = new long[TYPES.length];
+        long limitRejections = 0;
+        long unavailableRejections = 0;
+        long lateFeeCents = 0;
+        for (int i = 0; i < RING_SIZE; i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket == null || bucket.minute > now || bucket.minute <= now - window.minutes()) {
+                continue;
+            }
+            for (int t = 0; t < TYPES.length; t++) {
+                checkouts[t] += bucket.checkouts[t].sum();
+                returns[t] += bucket.returns[t].sum();
+            }
+            limitRejections += bucket.limitRejections.sum();
+            unavailableRejections += bucket.unavailableRejections.sum();
+            lateFeeCents += bucket.lateFeeCents.sum();
+        }
+        return new WindowStats(window, toMap(checkouts), toMap(returns),
+                limitRejections, unavailableRejections, lateFeeCents / 100.0);
+    }
+
+    private Bucket current() {
+        long minute = currentMinute();
+        int index = (int) (minute % RING_SIZE);
+        while (true) {
+            Bucket bucket = ring.get(index);
+            if (bucket != null && bucket.minute >= minute) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(minute);
+            if (ring.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private long currentMinute() {
+        return clock.getAsLong() / MILLIS_PER_MINUTE;
+    }
+
+    private static MembershipType typeOf(Member member) {
+        return member.getMembershipType() != null ? member.getMembershipType() : MembershipType.REGULAR;
+    }
+
+    private static Map<MembershipType, Long> toMap(long[] counts) {
+        Map<MembershipType, Long> map = new EnumMap<>(MembershipType.class);
+        for (MembershipType type : TYPES) {
+            map.put(type, counts[type.ordinal()]);
+        }
+        return map;
+    }
+
+    /**
+     * The windows the analytics can be read over.
+     */
+    public enum Window {
+        ONE_MINUTE(1),
+        FIFTEEN_MINUTES(15),
+        ONE_HOUR(60);
+
+        private final int minutes;
+
+        Window(int minutes) {
+            this.minutes = minutes;
+        }
+
+        public int minutes() {
+            return minutes;
+        }
+    }
+
+    /**
+     * Circulation totals for one window.
+     * @param window The window the totals cover.
+     * @param checkouts Checkouts per membership type.
+     * @param returns Returns per membership type.
+     * @param limitRejections Checkouts refused because the member was at their limit.
+     * @param unavailableRejections Checkouts refused because no book or copy was available.
+     * @param lateFeeRevenue Late fees charged on returns, in dollars.
+     */
+    public record WindowStats(Window window,
+                              Map<MembershipType, Long> checkouts,
+                              Map<MembershipType, Long> returns,
+                              long limitRejections,
+                              long unavailableRejections,
+                              double lateFeeRevenue) {
+
+        public double checkoutsPerMinute(MembershipType type) {
+            return (double) checkouts.get(type) / window.minutes();
+        }
+
+        public double returnsPerMinute(MembershipType type) {
+            return (double) returns.get(type) / window.minutes();
+        }
+    }
+
+    /**
+     * Counters for a single minute.
+     */
+    private static final class Bucket {
+        private final long minute;
+        private final LongAdder[] checkouts = adders();
+        private final LongAdder[] returns = adders();
+        private final LongAdder limitRejections = new LongAdder();
+        private final LongAdder unavailableRejections = new LongAdder();
+        private final LongAdder lateFeeCents = new LongAdder();
+
+        Bucket(long minute) {
+            this.minute = minute;
+        }
+
+        private static LongAdder[] adders() {
+            LongAdder[] adders = new LongAdder[TYPES.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+}
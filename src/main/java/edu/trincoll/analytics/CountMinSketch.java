@@ -0,0 +1,117 @@
+package edu.trincoll.analytics;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Count-min sketch: approximate frequencies for an unbounded set of keys in fixed memory.
+ * With width {@code ceil(e/epsilon)} and depth {@code ceil(ln(1/delta))}, an estimate is
+ * never below the true count and, with probability at least {@code 1-delta}, exceeds it
+ * by at most {@code epsilon*N}, where N is the total weight added. Not thread-safe.
+ */
+public final class CountMinSketch {
+
+    private final double epsilon;
+    private final double delta;
+    private final int width;
+    private final double[][] counts;
+    private double total;
+
+    /**
+     * Constructs a new CountMinSketch.
+     * @param epsilon The additive error, as a fraction of the total weight.
+     * @param delta The probability that an estimate exceeds the error bound.
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("Epsilon and delta must be between 0 and 1");
+        }
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.counts = new double[(int) Math.ceil(Math.log(1 / delta))][width];
+    }
+
+    public void add(String key, double weight) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < counts.length; row++) {
+            counts[row][column(h1, h2, row)] += weight;
+        }
+        total += weight;
+    }
+
+    /**
+     * Estimates the weight added for a key.
+     * @param key The key to look up.
+     * @return An estimate no lower than the true weight.
+     */
+    public double estimate(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < counts.length; row++) {
+            estimate = Math.min(estimate, counts[row][column(h1, h2, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Multiplies every counter, used to apply time decay.
+     * @param factor The factor to scale by.
+     */
+    public void scale(double factor) {
+        for (double[] row : counts) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+        total *= factor;
+    }
+
+    public double total() {
+        return total;
+    }
+
+    /**
+     * Returns the additive error bound that holds with probability {@code 1-delta}.
+     * @return {@code epsilon*N} for the weight added so far.
+     */
+    public double errorBound() {
+        return epsilon * total;
+    }
+
+    public double epsilon() {
+        return epsilon;
+    }
+
+    public double delta() {
+        return delta;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return counts.length;
+    }
+
+    private int column(int h1, int h2, int row) {
+        // Kirsch-Mitzenmacher: two hashes simulate one independent hash per row
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,106 @@
+package edu.trincoll.analytics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-decayed top-K in constant memory. Candidates are tracked by a {@link SpaceSaving}
+ * summary and their counts tightened with a {@link CountMinSketch}, since both only ever
+ * overestimate. Each event's weight halves every half-life; this is done with forward
+ * decay, so new events are added with a growing weight instead of touching old counters,
+ * and everything is rescaled only when the weights would get large.
+ */
+public class DecayingTopK {
+
+    private static final double RESCALE_EXPONENT = 32;
+
+    private final SpaceSaving heavyHitters;
+    private final CountMinSketch sketch;
+    private final double decayPerMilli;
+    private final LongSupplier clock;
+    private long landmark;
+
+    /**
+     * Constructs a new DecayingTopK.
+     * @param capacity The number of candidate keys tracked.
+     * @param epsilon The sketch's additive error, as a fraction of the total weight.
+     * @param delta The probability that a sketch estimate exceeds its error bound.
+     * @param halfLife How long it takes an event's weight to halve.
+     * @param clock The source of the current time in epoch milliseconds.
+     */
+    public DecayingTopK(int capacity, double epsilon, double delta, Duration halfLife, LongSupplier clock) {
+        if (halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("Half-life must be positive");
+        }
+        this.heavyHitters = new SpaceSaving(capacity);
+        this.sketch = new CountMinSketch(epsilon, delta);
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+    }
+
+    public synchronized void record(String key, String label) {
+        double exponent = (clock.getAsLong() - landmark) * decayPerMilli;
+        if (exponent > RESCALE_EXPONENT) {
+            rescale(exponent);
+            exponent = 0;
+        }
+        double weight = Math.exp(exponent);
+        heavyHitters.add(key, label, weight);
+        sketch.add(key, weight);
+    }
+
+    /**
+     * Returns the keys with the highest decayed counts.
+     * @param limit The number of keys to return.
+     * @return The top keys, highest first, with counts decayed to the current time.
+     */
+    public synchronized List<Estimate> top(int limit) {
+        double toNow = nowFactor();
+        double errorBound = Math.min(sketch.errorBound(), sketch.total() / heavyHitters.capacity()) * toNow;
+        return heavyHitters.top(limit).stream()
+                .map(counter -> new Estimate(counter.key(), counter.label(),
+                        Math.min(counter.count(), sketch.estimate(counter.key())) * toNow, errorBound))
+                .sorted((a, b) -> Double.compare(b.count(), a.count()))
+                .toList();
+    }
+
+    /**
+     * Estimates the decayed count of any key, tracked or not.
+     * @param key The key to look up.
+     * @return An estimate no lower than the key's true decayed count.
+     */
+    public synchronized double estimate(String key) {
+        return sketch.estimate(key) * nowFactor();
+    }
+
+    /**
+     * Returns the decayed total weight of every recorded event.
+     * @return The total decayed count.
+     */
+    public synchronized double total() {
+        return sketch.total() * nowFactor();
+    }
+
+    private double nowFactor() {
+        return Math.exp(-(clock.getAsLong() - landmark) * decayPerMilli);
+    }
+
+    private void rescale(double exponent) {
+        double factor = Math.exp(-exponent);
+        heavyHitters.scale(factor);
+        sketch.scale(factor);
+        landmark = clock.getAsLong();
+    }
+
+    /**
+     * An approximate decayed count.
+     * @param key The tracked key.
+     * @param label The display label recorded with the key.
+     * @param count The estimated count, never below the true decayed count.
+     * @param errorBound How far the estimate may exceed the true count.
+     */
+    public record Estimate(String key, String label, double count, double errorBound) {
+    }
+}
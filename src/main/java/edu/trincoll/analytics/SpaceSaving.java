@@ -0,0 +1,107 @@
+package edu.trincoll.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-saving heavy hitters: tracks the most frequent keys with a fixed number of counters.
+ * When every counter is taken, a new key replaces the smallest one and inherits its count.
+ * With m counters each count is never below the key's true weight and exceeds it by at
+ * most {@code N/m}, and every key whose true weight is above {@code N/m} is tracked.
+ * Not thread-safe.
+ */
+public final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    /**
+     * Constructs a new SpaceSaving summary.
+     * @param capacity The number of counters, and so the most keys tracked at once.
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(String key, String label, double weight) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(key, label, weight, 0));
+            return;
+        }
+        Counter smallest = counters.values().stream().min(Comparator.comparingDouble(c -> c.count)).orElseThrow();
+        counters.remove(smallest.key);
+        counters.put(key, new Counter(key, label, smallest.count + weight, smallest.count));
+    }
+
+    /**
+     * Returns the tracked keys with the highest counts.
+     * @param limit The number of keys to return.
+     * @return Snapshots of the top counters, highest first.
+     */
+    public List<Counter> top(int limit) {
+        List<Counter> top = new ArrayList<>(counters.size());
+        counters.values().forEach(counter -> top.add(counter.copy()));
+        top.sort(Comparator.comparingDouble((Counter counter) -> counter.count).reversed());
+        return top.subList(0, Math.min(limit, top.size()));
+    }
+
+    public void scale(double factor) {
+        for (Counter counter : counters.values()) {
+            counter.count *= factor;
+            counter.error *= factor;
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * A tracked key. The true weight lies between {@code count - error} and {@code count}.
+     */
+    public static final class Counter {
+        private final String key;
+        private final String label;
+        private double count;
+        private double error;
+
+        Counter(String key, String label, double count, double error) {
+            this.key = key;
+            this.label = label;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public double count() {
+            return count;
+        }
+
+        public double error() {
+            return error;
+        }
+
+        Counter copy() {
+            return new Counter(key, label, count, error);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package edu.trincoll.catalog;
+
+import edu.trincoll.model.BookStatus;
+
+import java.time.LocalDate;
+
+/**
+ * A book's catalog metadata as read from the {@link OffHeapCatalog}.
+ * @param id The book's database id.
+ * @param isbn The book's ISBN-13, without hyphens.
+ * @param title The book's title.
+ * @param author The book's author.
+ * @param publicationDate The publication date, or null if unknown.
+ * @param status The book's current status.
+ */
+public record CatalogBook(long id, String isbn, String title, String author,
+                          LocalDate publicationDate, BookStatus status) {
+}
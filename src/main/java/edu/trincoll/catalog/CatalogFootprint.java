@@ -0,0 +1,20 @@
+package edu.trincoll.catalog;
+
+/**
+ * Memory used by the off-heap catalog compared with holding the same books as JPA entities.
+ * @param books The number of books in the catalog.
+ * @param offHeapBytes Bytes allocated in direct buffers for records, index and string pools.
+ * @param estimatedEntityHeapBytes Estimated heap bytes for the equivalent {@code Book} entities.
+ */
+public record CatalogFootprint(int books, long offHeapBytes, long estimatedEntityHeapBytes) {
+
+    public double savingRatio() {
+        return offHeapBytes == 0 ? 0.0 : (double) estimatedEntityHeapBytes / offHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d books: %d bytes off-heap vs ~%d bytes as entities (%.1fx)",
+                books, offHeapBytes, estimatedEntityHeapBytes, savingRatio());
+    }
+}
@@ -0,0 +1,93 @@
+package edu.trincoll.catalog;
+
+/**
+ * Encodes ISBNs as primitive {@code long} keys.
+ * Hyphens and spaces are ignored; ISBN-10s are converted to their ISBN-13 form,
+ * so both spellings of the same book map to the same key.
+ */
+public final class IsbnCodec {
+
+    /** Returned by {@link #encode(String)} for input that is not an ISBN. */
+    public static final long INVALID = -1L;
+
+    private IsbnCodec() {
+    }
+
+    /**
+     * Encodes an ISBN as its thirteen digits read as a decimal number.
+     * @param isbn The ISBN, with or without hyphens.
+     * @return The encoded key, or {@link #INVALID} if the input is not a 10 or 13 digit ISBN.
+     */
+    public static long encode(String isbn) {
+        if (isbn == null) {
+            return INVALID;
+        }
+        long digits = 0;
+        int count = 0;
+        boolean tenDigitCheckX = false;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (tenDigitCheckX || ++count > 13) {
+                    return INVALID;
+                }
+                digits = digits * 10 + (c - '0');
+            } else if ((c == 'X' || c == 'x') && count == 9) {
+                tenDigitCheckX = true;
+                count++;
+            } else if (c != '-' && c != ' ') {
+                return INVALID;
+            }
+        }
+        if (count == 13 && !tenDigitCheckX) {
+            return digits;
+        }
+        if (count == 10) {
+            long body = tenDigitCheckX ? digits : digits / 10;
+            return toIsbn13(body);
+        }
+        return INVALID;
+    }
+
+    /**
+     * Normalizes how an ISBN is written, without converting between ISBN-10 and ISBN-13.
+     * @param isbn The ISBN as typed or stored.
+     * @return The ISBN without hyphens or spaces and with an upper-case check character,
+     * or null if the input is null.
+     */
+    public static String normalize(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c != '-' && c != ' ') {
+                normalized.append(Character.toUpperCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Decodes a key back into an unhyphenated ISBN-13.
+     * @param key A key produced by {@link #encode(String)}.
+     * @return The thirteen-digit ISBN.
+     */
+    public static String decode(long key) {
+        String digits = Long.toString(key);
+        return "0".repeat(13 - digits.length()) + digits;
+    }
+
+    private static long toIsbn13(long nineDigits) {
+        long body = 978_000_000_000L + nineDigits;
+        int sum = 0;
+        long remaining = body;
+        for (int position = 12; position >= 1; position--) {
+            int digit = (int) (remaining % 10);
+            remaining /= 10;
+            sum += position % 2 == 0 ? digit * 3 : digit;
+        }
+        return body * 10 + (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,509 @@
+package edu.trincoll.catalog;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.CatalogChangeListener;
+import edu.trincoll.service.BookStatusListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Compact, read-mostly copy of the book catalog held outside the Java heap.
+ * Each book is a fixed 40-byte record in a direct buffer: id, ISBN-13 as a {@code long},
+ * dictionary ids for title, author and the ISBN as stored, publication date as an epoch
+ * day, the status ordinal, and the next record with the same ISBN-13. ISBN lookups go
+ * through an open-addressing index of {@code long} keys, so an ISBN-10 finds the book
+ * stored under its ISBN-13; when two books are stored under spellings of the same ISBN,
+ * both are kept and an exact spelling is preferred. Scans compare primitive ids, so lookups
+ * and counts allocate nothing but their results. The catalog is loaded in pages of an
+ * id-ordered projection when the application starts, and follows inserts, updates,
+ * deletes and status changes afterwards. Deleted records stay allocated, and are reused
+ * by the next book stored under the same ISBN. Enable with
+ * {@code library.catalog.off-heap.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "library.catalog.off-heap", name = "enabled", havingValue = "true")
+public class OffHeapCatalog implements BookStatusListener, CatalogChangeListener {
+
+    private static final int LOAD_PAGE_SIZE = 1_000;
+    private static final int RECORD_BYTES = 40;
+    private static final int ID = 0;
+    private static final int ISBN = 8;
+    private static final int TITLE = 16;
+    private static final int AUTHOR = 20;
+    private static final int PUBLISHED = 24;
+    private static final int STATUS = 28;
+    private static final int RAW_ISBN = 32;
+    private static final int NEXT = 36;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_SLOT = -1;
+    private static final byte DELETED = -1;
+    private static final long EMPTY_KEY = 0L;
+    private static final BookStatus[] STATUSES = BookStatus.values();
+
+    private final BookRepository bookRepository;
+    private final StampedLock lock = new StampedLock();
+    private final StringPool titles;
+    private final StringPool authors;
+    private final StringPool isbns;
+    private ByteBuffer records;
+    private LongBuffer indexKeys;
+    private IntBuffer indexSlots;
+    private int slots;
+    private int size;
+    private long estimatedEntityBytes;
+    private volatile boolean loaded;
+
+    /**
+     * Constructs a new OffHeapCatalog.
+     * @param bookRepository The repository the catalog is loaded from.
+     */
+    @Autowired
+    public OffHeapCatalog(BookRepository bookRepository) {
+        this(bookRepository, 1_024);
+    }
+
+    OffHeapCatalog(BookRepository bookRepository, int expectedBooks) {
+        this.bookRepository = bookRepository;
+        int capacity = Math.max(16, expectedBooks);
+        this.titles = new StringPool(capacity);
+        this.authors = new StringPool(capacity / 4);
+        this.isbns = new StringPool(capacity);
+        this.records = StringPool.allocate(capacity * RECORD_BYTES);
+        allocateIndex(indexSizeFor(capacity));
+    }
+
+    /**
+     * Loads every book from the repository, a page of id, ISBN, title, author, publication
+     * date and status at a time, so no book entities are created.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long afterId = 0;
+        List<Object[]> page;
+        do {
+            page = bookRepository.findCatalogRowsAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                put((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                        (LocalDate) row[4], (BookStatus) row[5]);
+                afterId = (Long) row[0];
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        loaded = true;
+    }
+
+    /**
+     * Returns whether the catalog has been loaded, after which it holds every book with an
+     * encodable ISBN and a lookup that finds nothing means there is no such book.
+     * @return True once {@link #load()} has finished.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Adds a book, or replaces its entry.
+     * @param book The book to store.
+     * @return True if the book was stored, false if its ISBN cannot be encoded.
+     */
+    public boolean put(Book book) {
+        return put(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor(),
+                book.getPublicationDate(), book.getStatus());
+    }
+
+    private boolean put(Long id, String isbn, String title, String author, LocalDate published, BookStatus status) {
+        long key = IsbnCodec.encode(isbn);
+        if (key == IsbnCodec.INVALID || key == EMPTY_KEY) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            store(key, id, isbn, title, author, published, status);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds or replaces an entry. The caller holds the write lock.
+     */
+    private void store(long key, Long id, String isbn, String title, String author, LocalDate published,
+                       BookStatus status) {
+        int head = slotOf(key);
+        int slot = find(head, id, isbn, true);
+        boolean added = slot < 0 || isDeleted(slot);
+        if (slot < 0) {
+            slot = slots++;
+            ensureRecordCapacity(slots);
+            records.putInt(slot * RECORD_BYTES + NEXT, NO_SLOT);
+            if (head < 0) {
+                insertIndex(key, slot);
+            } else {
+                records.putInt(last(head) * RECORD_BYTES + NEXT, slot);
+            }
+        }
+        int offset = slot * RECORD_BYTES;
+        if (added) {
+            size++;
+            estimatedEntityBytes += estimateEntityBytes(id, isbn, title, author, published);
+        }
+        records.putLong(offset + ID, id == null ? -1L : id);
+        records.putLong(offset + ISBN, key);
+        records.putInt(offset + TITLE, titles.intern(title));
+        records.putInt(offset + AUTHOR, authors.intern(author));
+        records.putInt(offset + PUBLISHED, published == null ? NO_DATE : (int) published.toEpochDay());
+        records.put(offset + STATUS, (byte) status.ordinal());
+        records.putInt(offset + RAW_ISBN, isbns.intern(isbn));
+    }
+
+    /**
+     * Removes a book's entry.
+     * @param book The book to remove.
+     * @return True if the book was in the catalog.
+     */
+    public boolean remove(Book book) {
+        long key = IsbnCodec.encode(book.getIsbn());
+        if (key == IsbnCodec.INVALID) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(slotOf(key), book.getId(), book.getIsbn(), false);
+            if (slot < 0) {
+                return false;
+            }
+            CatalogBook removed = read(slot);
+            records.put(slot * RECORD_BYTES + STATUS, DELETED);
+            size--;
+            estimatedEntityBytes -= estimateEntityBytes(removed.id(), removed.isbn(), removed.title(),
+                    removed.author(), removed.publicationDate());
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onStatusChange(Book book, BookStatus previousStatus) {
+        long key = IsbnCodec.encode(book.getIsbn());
+        if (key == IsbnCodec.INVALID || key == EMPTY_KEY) {
+            return;
+        }
+        // Looked up and written under one hold, so a concurrent change cannot slip in between
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(slotOf(key), book.getId(), book.getIsbn(), false);
+            if (slot >= 0) {
+                records.put(slot * RECORD_BYTES + STATUS, (byte) book.getStatus().ordinal());
+            } else {
+                store(key, book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor(),
+                        book.getPublicationDate(), book.getStatus());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onInsert(Object entity) {
+        if (entity instanceof Book book) {
+            put(book);
+        }
+    }
+
+    @Override
+    public void onUpdate(Object entity) {
+        if (entity instanceof Book book) {
+            put(book);
+        }
+    }
+
+    @Override
+    public void onDelete(Object entity) {
+        if (entity instanceof Book book) {
+            remove(book);
+        }
+    }
+
+    /**
+     * Finds a book by ISBN.
+     * @param isbn The ISBN-10 or ISBN-13, with or without hyphens.
+     * @return The book's metadata, or empty Optional if it is not in the catalog.
+     */
+    public Optional<CatalogBook> findByIsbn(String isbn) {
+        long key = IsbnCodec.encode(isbn);
+        if (key == IsbnCodec.INVALID) {
+            return Optional.empty();
+        }
+        long stamp = lock.readLock();
+        try {
+            int slot = lookup(key, isbn);
+            return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the status of a book without materialising its metadata.
+     * @param isbn The ISBN-10 or ISBN-13, with or without hyphens.
+     * @return The status, or null if the book is not in the catalog.
+     */
+    public BookStatus statusOf(String isbn) {
+        long key = IsbnCodec.encode(isbn);
+        if (key == IsbnCodec.INVALID) {
+            return null;
+        }
+        long stamp = lock.readLock();
+        try {
+            int slot = lookup(key, isbn);
+            return slot < 0 ? null : STATUSES[records.get(slot * RECORD_BYTES + STATUS)];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds every book by an author.
+     * @param author The author's exact name.
+     * @return The author's books, in load order.
+     */
+    public List<CatalogBook> searchByAuthor(String author) {
+        long stamp = lock.readLock();
+        try {
+            int authorId = authors.find(author);
+            List<CatalogBook> matches = new ArrayList<>();
+            for (int slot = 0; authorId >= 0 && slot < slots; slot++) {
+                if (records.getInt(slot * RECORD_BYTES + AUTHOR) == authorId && !isDeleted(slot)) {
+                    matches.add(read(slot));
+                }
+            }
+            return matches;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Counts the books with a status.
+     * @param status The status to count.
+     * @return The number of books with the status.
+     */
+    public int countByStatus(BookStatus status) {
+        long stamp = lock.readLock();
+        try {
+            byte ordinal = (byte) status.ordinal();
+            int count = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (records.get(slot * RECORD_BYTES + STATUS) == ordinal) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Compares the catalog's off-heap allocation with the heap the same books would
+     * take as entities.
+     * @return The footprint comparison.
+     */
+    public CatalogFootprint footprint() {
+        long stamp = lock.readLock();
+        try {
+            long offHeap = records.capacity()
+                    + (long) indexKeys.capacity() * Long.BYTES
+                    + (long) indexSlots.capacity() * Integer.BYTES
+                    + titles.allocatedBytes()
+                    + authors.allocatedBytes()
+                    + isbns.allocatedBytes();
+            return new CatalogFootprint(size, offHeap, estimatedEntityBytes);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Estimates the retained heap of one {@code Book} entity on a 64-bit JVM with
+     * compressed oops and compact strings. Hibernate's per-entity snapshot and
+     * persistence-context entries are left out, so real usage is higher.
+     */
+    static long estimateEntityBytes(Book book) {
+        return estimateEntityBytes(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor(),
+                book.getPublicationDate())
+                + stringBytes(book.getCheckedOutBy()) + stringBytes(book.getReservedFor())
+                + (book.getDueDate() == null ? 0 : 24);
+    }
+
+    private static long estimateEntityBytes(Long id, String isbn, String title, String author, LocalDate published) {
+        long bytes = 48;                                    // header plus nine reference fields
+        bytes += id == null ? 0 : 16;                       // boxed Long
+        bytes += stringBytes(isbn) + stringBytes(title) + stringBytes(author);
+        bytes += published == null ? 0 : 24;
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        long array = 16 + (long) value.length() * (latin1 ? 1 : 2);
+        return 24 + ((array + 7) & ~7L);
+    }
+
+    private CatalogBook read(int slot) {
+        int offset = slot * RECORD_BYTES;
+        int published = records.getInt(offset + PUBLISHED);
+        return new CatalogBook(
+                records.getLong(offset + ID),
+                isbns.get(records.getInt(offset + RAW_ISBN)),
+                titles.get(records.getInt(offset + TITLE)),
+                authors.get(records.getInt(offset + AUTHOR)),
+                published == NO_DATE ? null : LocalDate.ofEpochDay(published),
+                STATUSES[records.get(offset + STATUS)]);
+    }
+
+    /**
+     * Finds the live record for an ISBN, preferring one stored under exactly that spelling.
+     */
+    private int lookup(long key, String isbn) {
+        int spelling = isbns.find(isbn);
+        int first = NO_SLOT;
+        for (int slot = slotOf(key); slot >= 0; slot = next(slot)) {
+            if (isDeleted(slot)) {
+                continue;
+            }
+            if (records.getInt(slot * RECORD_BYTES + RAW_ISBN) == spelling) {
+                return slot;
+            }
+            if (first < 0) {
+                first = slot;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Finds the record holding a book among those sharing its ISBN-13: by id when the book
+     * has one, otherwise by exact spelling. A deleted record may be returned for reuse.
+     */
+    private int find(int head, Long id, String isbn, boolean reuseDeleted) {
+        int spelling = isbns.find(isbn);
+        int deleted = NO_SLOT;
+        for (int slot = head; slot >= 0; slot = next(slot)) {
+            int offset = slot * RECORD_BYTES;
+            if (isDeleted(slot)) {
+                if (deleted < 0) {
+                    deleted = slot;
+                }
+            } else if (id != null ? records.getLong(offset + ID) == id
+                    : records.getInt(offset + RAW_ISBN) == spelling) {
+                return slot;
+            }
+        }
+        return reuseDeleted ? deleted : NO_SLOT;
+    }
+
+    private int next(int slot) {
+        return records.getInt(slot * RECORD_BYTES + NEXT);
+    }
+
+    private int last(int slot) {
+        while (next(slot) >= 0) {
+            slot = next(slot);
+        }
+        return slot;
+    }
+
+    private boolean isDeleted(int slot) {
+        return records.get(slot * RECORD_BYTES + STATUS) == DELETED;
+    }
+
+    private int slotOf(long key) {
+        int mask = indexKeys.capacity() - 1;
+        for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+            long stored = indexKeys.get(index);
+            if (stored == key) {
+                return indexSlots.get(index);
+            }
+            if (stored == EMPTY_KEY) {
+                return -1;
+            }
+        }
+    }
+
+    private void insertIndex(long key, int slot) {
+        if (slots * 2 > indexKeys.capacity()) {
+            LongBuffer oldKeys = indexKeys;
+            IntBuffer oldSlots = indexSlots;
+            allocateIndex(indexKeys.capacity() * 2);
+            for (int i = 0; i < oldKeys.capacity(); i++) {
+                if (oldKeys.get(i) != EMPTY_KEY) {
+                    place(oldKeys.get(i), oldSlots.get(i));
+                }
+            }
+        }
+        place(key, slot);
+    }
+
+    private void place(long key, int slot) {
+        int mask = indexKeys.capacity() - 1;
+        int index = hash(key) & mask;
+        while (indexKeys.get(index) != EMPTY_KEY) {
+            index = (index + 1) & mask;
+        }
+        indexKeys.put(index, key);
+        indexSlots.put(index, slot);
+    }
+
+    private void allocateIndex(int capacity) {
+        indexKeys = StringPool.allocate(capacity * Long.BYTES).asLongBuffer();
+        indexSlots = StringPool.allocate(capacity * Integer.BYTES).asIntBuffer();
+    }
+
+    private void ensureRecordCapacity(int books) {
+        if (books * RECORD_BYTES > records.capacity()) {
+            ByteBuffer larger = StringPool.allocate(records.capacity() * 2);
+            larger.put(0, records, 0, records.capacity());
+            records = larger;
+        }
+    }
+
+    private static int indexSizeFor(int expected) {
+        return Integer.highestOneBit(expected * 2 - 1) << 1;
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,163 @@
+package edu.trincoll.catalog;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Off-heap dictionary of strings. Each distinct string is stored once as UTF-8 in a
+ * direct buffer and referred to by a dense {@code int} id, so repeated values such as
+ * author names cost four bytes per use. Not thread-safe; {@link OffHeapCatalog} guards it.
+ */
+final class StringPool {
+
+    private static final int EMPTY = 0;
+
+    private ByteBuffer bytes;
+    private IntBuffer offsets;
+    private IntBuffer table;
+    private int size;
+
+    StringPool(int expectedStrings) {
+        int capacity = Math.max(16, expectedStrings);
+        bytes = allocate(capacity * 16);
+        offsets = allocate((capacity + 1) * Integer.BYTES).asIntBuffer();
+        table = allocate(tableSizeFor(capacity) * Integer.BYTES).asIntBuffer();
+        offsets.put(0, 0);
+    }
+
+    /**
+     * Returns the id for a string, adding it to the pool if it is new.
+     */
+    int intern(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(encoded);
+        int mask = table.capacity() - 1;
+        for (int index = hash & mask; ; index = (index + 1) & mask) {
+            int stored = table.get(index);
+            if (stored == EMPTY) {
+                int id = append(encoded);
+                table.put(index, id + 1);
+                if (size * 2 > table.capacity()) {
+                    rehash();
+                }
+                return id;
+            }
+            if (equals(stored - 1, encoded)) {
+                return stored - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the id for a string without adding it.
+     * @return The id, or -1 if the string is not in the pool.
+     */
+    int find(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int mask = table.capacity() - 1;
+        for (int index = hash(encoded) & mask; ; index = (index + 1) & mask) {
+            int stored = table.get(index);
+            if (stored == EMPTY) {
+                return -1;
+            }
+            if (equals(stored - 1, encoded)) {
+                return stored - 1;
+            }
+        }
+    }
+
+    String get(int id) {
+        int start = offsets.get(id);
+        byte[] encoded = new byte[offsets.get(id + 1) - start];
+        bytes.get(start, encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long allocatedBytes() {
+        return bytes.capacity() + (long) offsets.capacity() * Integer.BYTES + (long) table.capacity() * Integer.BYTES;
+    }
+
+    private int append(byte[] encoded) {
+        int start = offsets.get(size);
+        if (start + encoded.length > bytes.capacity()) {
+            bytes = grow(bytes, start + encoded.length);
+        }
+        if (size + 2 > offsets.capacity()) {
+            ByteBuffer larger = allocate(offsets.capacity() * 2 * Integer.BYTES);
+            IntBuffer grown = larger.asIntBuffer();
+            grown.put(0, offsets, 0, size + 1);
+            offsets = grown;
+        }
+        bytes.put(start, encoded);
+        offsets.put(size + 1, start + encoded.length);
+        return size++;
+    }
+
+    private boolean equals(int id, byte[] encoded) {
+        int start = offsets.get(id);
+        if (offsets.get(id + 1) - start != encoded.length) {
+            return false;
+        }
+        for (int i = 0; i < encoded.length; i++) {
+            if (bytes.get(start + i) != encoded[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        IntBuffer larger = allocate(table.capacity() * 2 * Integer.BYTES).asIntBuffer();
+        int mask = larger.capacity() - 1;
+        for (int id = 0; id < size; id++) {
+            int index = hash(id) & mask;
+            while (larger.get(index) != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            larger.put(index, id + 1);
+        }
+        table = larger;
+    }
+
+    private int hash(int id) {
+        int start = offsets.get(id);
+        int hash = 1;
+        for (int i = start, end = offsets.get(id + 1); i < end; i++) {
+            hash = 31 * hash + bytes.get(i);
+        }
+        return mix(hash);
+    }
+
+    private static int hash(byte[] encoded) {
+        int hash = 1;
+        for (byte b : encoded) {
+            hash = 31 * hash + b;
+        }
+        return mix(hash);
+    }
+
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int expected) {
+        return Integer.highestOneBit(Math.max(expected * 2, 16) - 1) << 1;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int minimum) {
+        ByteBuffer larger = allocate(Math.max(buffer.capacity() * 2, minimum));
+        larger.put(0, buffer, 0, buffer.capacity());
+        return larger;
+    }
+
+    static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+}
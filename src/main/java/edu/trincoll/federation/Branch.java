@@ -0,0 +1,25 @@
+package edu.trincoll.federation;
+
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+
+import java.time.Duration;
+
+/**
+ * One branch library taking part in a federated search, backed by its own catalog.
+ * @param name The branch name, used to label its reports and to report it when unavailable.
+ * @param bookRepository The repository for the branch's books.
+ * @param memberRepository The repository for the branch's members.
+ * @param timeout The longest to wait for this branch before leaving it out of a result.
+ */
+public record Branch(String name,
+                     BookRepository bookRepository,
+                     MemberRepository memberRepository,
+                     Duration timeout) {
+
+    public Branch {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Branch timeout must be positive");
+        }
+    }
+}
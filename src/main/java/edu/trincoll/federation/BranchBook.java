@@ -0,0 +1,11 @@
+package edu.trincoll.federation;
+
+import edu.trincoll.model.Book;
+
+/**
+ * A book found by a federated search, with the branch that holds it.
+ * @param branch The name of the branch the book was found at.
+ * @param book The book as that branch holds it.
+ */
+public record BranchBook(String branch, Book book) {
+}
@@ -0,0 +1,148 @@
+package edu.trincoll.federation;
+
+import edu.trincoll.index.BookStatusIndex;
+import edu.trincoll.index.LookupFilters;
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.report.ReportGeneratorFactory;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.search.FuzzyAuthorIndex;
+import edu.trincoll.service.BookSearchService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Searches and reports across several branch libraries at once.
+ * Each call fans out to every branch on its own virtual thread and waits for each branch
+ * up to that branch's timeout. A branch that is too slow or fails is cancelled and left
+ * out, and the result is flagged as partial, so one struggling branch never stalls the
+ * others. The executor is not awaited on the way out for the same reason.
+ */
+public class FederatedLibrary {
+
+    private static final Set<String> BRANCH_REPORTS = Set.of("overdue", "available", "members");
+
+    private final List<BranchServices> branches;
+
+    /**
+     * Constructs a new FederatedLibrary.
+     * @param branches The branches to fan out to; earlier branches win when results are merged.
+     */
+    public FederatedLibrary(List<Branch> branches) {
+        if (branches.isEmpty()) {
+            throw new IllegalArgumentException("A federation needs at least one branch");
+        }
+        this.branches = branches.stream().map(BranchServices::new).toList();
+    }
+
+    /**
+     * Searches every branch and merges the hits, keeping one book per ISBN.
+     * When several branches hold the same ISBN, an available copy is preferred, and the
+     * branch holding the kept copy is returned with it.
+     * @param searchTerm The term to search for.
+     * @param searchType One of "title", "author", "isbn" or "available".
+     * @return The merged books in branch order with their branches, and the branches that did not answer.
+     */
+    public FederatedResult<List<BranchBook>> searchBooks(String searchTerm, String searchType) {
+        FederatedResult<Map<Branch, List<Book>>> results =
+                fanOut(branch -> branch.bookSearchService.search(searchTerm, searchType));
+        Map<String, BranchBook> byIsbn = new LinkedHashMap<>();
+        results.value().forEach((branch, books) -> {
+            for (Book book : books) {
+                BranchBook found = new BranchBook(branch.name(), book);
+                BranchBook existing = byIsbn.putIfAbsent(book.getIsbn(), found);
+                if (existing != null && existing.book().getStatus() != BookStatus.AVAILABLE
+                        && book.getStatus() == BookStatus.AVAILABLE) {
+                    byIsbn.put(book.getIsbn(), found);
+                }
+            }
+        });
+        return new FederatedResult<>(List.copyOf(byIsbn.values()), results.unavailableBranches());
+    }
+
+    /**
+     * Generates a report at every branch and joins them into one, a section per branch.
+     * Only reports computed from a branch's own books and members can be federated; the
+     * others describe this application rather than a branch.
+     * @param reportType One of "overdue", "available" or "members".
+     * @return The combined report, and the branches that did not answer.
+     * @throws IllegalArgumentException if the report is not computed from branch data.
+     */
+    public FederatedResult<String> generateReport(String reportType) {
+        if (!BRANCH_REPORTS.contains(reportType.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Report type is not available across branches: " + reportType);
+        }
+        FederatedResult<Map<Branch, String>> results =
+                fanOut(branch -> branch.reportGeneratorFactory.getReportGenerator(reportType).generateReport());
+        StringBuilder report = new StringBuilder();
+        results.value().forEach((branch, section) ->
+                report.append("== ").append(branch.name()).append(" ==\n").append(section).append('\n'));
+        return new FederatedResult<>(report.toString(), results.unavailableBranches());
+    }
+
+    private <T> FederatedResult<Map<Branch, T>> fanOut(Function<BranchServices, T> call) {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<T>> futures = new ArrayList<>(branches.size());
+        try {
+            for (BranchServices branch : branches) {
+                futures.add(executor.submit(() -> call.apply(branch)));
+            }
+            Map<Branch, T> results = new LinkedHashMap<>();
+            List<String> unavailable = new ArrayList<>();
+            for (int i = 0; i < branches.size(); i++) {
+                Branch branch = branches.get(i).branch;
+                Future<T> future = futures.get(i);
+                long remaining = start + branch.timeout().toNanos() - System.nanoTime();
+                try {
+                    results.put(branch, future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    unavailable.add(branch.name());
+                } catch (ExecutionException e) {
+                    // A bad request fails the same way everywhere, so it is the caller's error
+                    if (e.getCause() instanceof IllegalArgumentException invalid) {
+                        throw invalid;
+                    }
+                    unavailable.add(branch.name());
+                }
+            }
+            return new FederatedResult<>(results, List.copyOf(unavailable));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Federated call was interrupted", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The services built over one branch's repositories.
+     */
+    private static final class BranchServices {
+        private final Branch branch;
+        private final BookSearchService bookSearchService;
+        private final ReportGeneratorFactory reportGeneratorFactory;
+
+        BranchServices(Branch branch) {
+            this.branch = branch;
+            BookRepository books = branch.bookRepository();
+            this.bookSearchService = BookSearchService.of(books, new FuzzyAuthorIndex(books),
+                    new BookStatusIndex(books), LookupFilters.passThrough(), null);
+            this.reportGeneratorFactory = new ReportGeneratorFactory(branch.bookRepository(), branch.memberRepository());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package edu.trincoll.federation;
+
+import java.util.List;
+
+/**
+ * The merged result of a federated call.
+ * @param value The merged value from every branch that answered in time.
+ * @param unavailableBranches The branches that timed out or failed, in branch order.
+ * @param <T> The type of the merged value.
+ */
+public record FederatedResult<T>(T value, List<String> unavailableBranches) {
+
+    /**
+     * Tells whether some branches are missing from the result.
+     * @return True if at least one branch did not answer.
+     */
+    public boolean isPartial() {
+        return !unavailableBranches.isEmpty();
+    }
+}
@@ -0,0 +1,37 @@
+package edu.trincoll.federation;
+
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serves federated search and reports at {@code /api/federation} over every {@link Branch}
+ * bean. This library's own catalog is always the first branch, so its copies win when
+ * results are merged; other branches join by declaring a {@link Branch} bean over their
+ * repositories. Enable with {@code library.federation.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "library.federation", name = "enabled", havingValue = "true")
+public class FederationConfiguration {
+
+    @Bean
+    @Order(0)
+    Branch localBranch(BookRepository bookRepository,
+                       MemberRepository memberRepository,
+                       @Value("${library.federation.local-branch-name:main}") String name,
+                       @Value("${library.federation.local-branch-timeout:2s}") Duration timeout) {
+        return new Branch(name, bookRepository, memberRepository, timeout);
+    }
+
+    @Bean
+    FederatedLibrary federatedLibrary(List<Branch> branches) {
+        return new FederatedLibrary(branches);
+    }
+}
@@ -0,0 +1,46 @@
+package edu.trincoll.federation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Federated search and reports over HTTP. Each response carries the merged value and the
+ * branches that did not answer in time, so a client can tell a partial result from a
+ * complete one. Present only when {@link FederationConfiguration} is enabled.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "library.federation", name = "enabled", havingValue = "true")
+@RequestMapping("/api/federation")
+public class FederationController {
+
+    private final FederatedLibrary federatedLibrary;
+
+    public FederationController(FederatedLibrary federatedLibrary) {
+        this.federatedLibrary = federatedLibrary;
+    }
+
+    @GetMapping("/books")
+    public FederatedResult<List<BranchBook>> searchBooks(@RequestParam("q") String searchTerm,
+                                                         @RequestParam(name = "type", defaultValue = "any") String searchType) {
+        return federatedLibrary.searchBooks(searchTerm, searchType);
+    }
+
+    @GetMapping("/reports/{reportType}")
+    public FederatedResult<String> generateReport(@PathVariable String reportType) {
+        return federatedLibrary.generateReport(reportType);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+}
@@ -0,0 +1,18 @@
+package edu.trincoll.feed;
+
+import edu.trincoll.model.BookStatus;
+
+import java.time.Instant;
+
+/**
+ * One book status transition, as published to feed subscribers.
+ * @param sequence The change's position in the feed, increasing by one per change.
+ * @param isbn The book's ISBN.
+ * @param title The book's title.
+ * @param previousStatus The status before the change.
+ * @param status The status after the change.
+ * @param changedAt When the change was published.
+ */
+public record AvailabilityChange(long sequence, String isbn, String title,
+                                 BookStatus previousStatus, BookStatus status, Instant changedAt) {
+}
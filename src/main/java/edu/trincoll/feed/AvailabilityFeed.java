@@ -0,0 +1,336 @@
+package edu.trincoll.feed;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.service.BookStatusListener;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes book status changes to subscribers, so clients can keep availability current
+ * without polling searches and reports.
+ * Publishing only queues the change, so the saving request never iterates subscribers.
+ * A single dispatch task, at most one at a time, numbers queued changes in order and fans
+ * each out to the subscribers watching that book plus those watching every book, so every
+ * subscriber receives changes in sequence order. Fan-out never waits for a subscriber,
+ * though, since each has a bounded buffer drained by its own delivery task, at most one
+ * at a time, and a subscriber whose buffer is full when a change arrives is evicted, as
+ * it has already missed changes and must resynchronise anyway. Idle subscribers are sent
+ * a heartbeat on a schedule, so connections whose client has gone away are noticed and
+ * closed. Once the feed is destroyed, changes and heartbeats are dropped.
+ */
+@Component
+public class AvailabilityFeed implements BookStatusListener, DisposableBean {
+
+    private final int bufferSize;
+    private final Executor dispatchExecutor;
+    private final Executor deliveryExecutor;
+    private final Clock clock;
+    private final Queue<PendingChange> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, Set<Subscription>> byIsbn = new ConcurrentHashMap<>();
+    private final Set<Subscription> allBooks = ConcurrentHashMap.newKeySet();
+    private final Set<Subscription> open = ConcurrentHashMap.newKeySet();
+    private final LongAdder evictions = new LongAdder();
+    private volatile boolean stopped;
+
+    /**
+     * Constructs a new AvailabilityFeed that dispatches and delivers on virtual threads.
+     * @param bufferSize The most changes buffered for one subscriber before it is evicted.
+     */
+    @Autowired
+    public AvailabilityFeed(@Value("${library.availability-feed.buffer-size:64}") int bufferSize) {
+        this(bufferSize, Executors.newVirtualThreadPerTaskExecutor(), Clock.systemUTC());
+    }
+
+    private AvailabilityFeed(int bufferSize, ExecutorService executor, Clock clock) {
+        this(bufferSize, executor, executor, clock);
+    }
+
+    AvailabilityFeed(int bufferSize, Executor dispatchExecutor, Executor deliveryExecutor, Clock clock) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.dispatchExecutor = dispatchExecutor;
+        this.deliveryExecutor = deliveryExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Subscribes to status changes.
+     * @param isbns The books to watch, or an empty set to watch every book.
+     * @param sink Where the subscriber's changes are delivered.
+     * @return The subscription, to be closed when the subscriber goes away.
+     */
+    public Subscription subscribe(Set<String> isbns, Sink sink) {
+        Subscription subscription = new Subscription(Set.copyOf(isbns), sink);
+        if (subscription.isbns.isEmpty()) {
+            allBooks.add(subscription);
+        } else {
+            for (String isbn : subscription.isbns) {
+                byIsbn.computeIfAbsent(isbn, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+            }
+        }
+        open.add(subscription);
+        return subscription;
+    }
+
+    @Override
+    public void onStatusChange(Book book, BookStatus previousStatus) {
+        if (book.getStatus() == previousStatus || stopped) {
+            return;
+        }
+        pending.add(new PendingChange(book.getIsbn(), book.getTitle(), previousStatus, book.getStatus(),
+                clock.instant()));
+        if (dispatching.compareAndSet(false, true) && !execute(dispatchExecutor, this::dispatch)) {
+            pending.clear();
+            dispatching.set(false);
+        }
+    }
+
+    private void dispatch() {
+        while (true) {
+            PendingChange next = pending.poll();
+            if (next == null) {
+                dispatching.set(false);
+                // A change queued after the poll but before the flag was cleared would otherwise wait
+                if (pending.isEmpty() || !dispatching.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            AvailabilityChange change = new AvailabilityChange(sequence.incrementAndGet(), next.isbn(),
+                    next.title(), next.previousStatus(), next.status(), next.changedAt());
+            allBooks.forEach(subscription -> subscription.offer(change));
+            Set<Subscription> watching = byIsbn.get(change.isbn());
+            if (watching != null) {
+                watching.forEach(subscription -> subscription.offer(change));
+            }
+        }
+    }
+
+    /**
+     * Sends a heartbeat to every open subscription, through its delivery task.
+     */
+    @Scheduled(fixedDelayString = "${library.availability-feed.heartbeat-interval:15s}")
+    public void heartbeat() {
+        open.forEach(Subscription::heartbeat);
+    }
+
+    /**
+     * Returns how many subscriptions are open.
+     * @return The number of open subscriptions.
+     */
+    public long subscriberCount() {
+        return open.size();
+    }
+
+    /**
+     * Returns how many subscribers have been evicted for falling behind.
+     * @return The number of evictions since startup.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the sequence number of the latest change dispatched to subscribers.
+     * @return The latest sequence number, or zero if nothing has been dispatched.
+     */
+    public long latestSequence() {
+        return sequence.get();
+    }
+
+    @Override
+    public void destroy() {
+        stopped = true;
+        pending.clear();
+        if (dispatchExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        if (deliveryExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static boolean execute(Executor executor, Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Shut down by destroy(); nothing is dispatched or delivered any more
+            return false;
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        if (subscription.isbns.isEmpty()) {
+            allBooks.remove(subscription);
+        } else {
+            for (String isbn : subscription.isbns) {
+                byIsbn.computeIfPresent(isbn, (key, watching) -> {
+                    watching.remove(subscription);
+                    return watching.isEmpty() ? null : watching;
+                });
+            }
+        }
+        open.remove(subscription);
+    }
+
+    /**
+     * A status change waiting to be numbered and fanned out by the dispatch task.
+     */
+    private record PendingChange(String isbn, String title, BookStatus previousStatus, BookStatus status,
+                                 Instant changedAt) {
+    }
+
+    /**
+     * Receives the changes for one subscriber.
+     */
+    public interface Sink {
+
+        /**
+         * Delivers a change. Called from one delivery task at a time, in sequence order.
+         * @param change The change.
+         * @throws Exception If the subscriber can no longer be reached; the subscription is then closed.
+         */
+        void send(AvailabilityChange change) throws Exception;
+
+        /**
+         * Called once, from a delivery task, when the subscriber is evicted for falling behind.
+         */
+        default void evicted() {
+        }
+
+        /**
+         * Keeps the connection alive. Called from the delivery task, between changes.
+         * @throws Exception If the subscriber can no longer be reached; the subscription is then closed.
+         */
+        default void heartbeat() throws Exception {
+        }
+    }
+
+    /**
+     * One subscriber's interest in the feed and its buffer of undelivered changes.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final Set<String> isbns;
+        private final Sink sink;
+        private final ArrayBlockingQueue<AvailabilityChange> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean delivering = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(Set<String> isbns, Sink sink) {
+            this.isbns = isbns;
+            this.sink = sink;
+        }
+
+        public Set<String> isbns() {
+            return isbns;
+        }
+
+        public boolean isOpen() {
+            return !closed.get();
+        }
+
+        private void offer(AvailabilityChange change) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(change)) {
+                if (closeQuietly()) {
+                    evictions.increment();
+                    execute(deliveryExecutor, sink::evicted);
+                }
+                return;
+            }
+            if (delivering.compareAndSet(false, true) && !execute(deliveryExecutor, this::deliver)) {
+                close();
+            }
+        }
+
+        private void heartbeat() {
+            if (closed.get()) {
+                return;
+            }
+            heartbeatDue.set(true);
+            if (delivering.compareAndSet(false, true) && !execute(deliveryExecutor, this::deliver)) {
+                close();
+            }
+        }
+
+        private void deliver() {
+            while (true) {
+                AvailabilityChange change = buffer.poll();
+                if (change == null && heartbeatDue.getAndSet(false)) {
+                    if (closed.get()) {
+                        return;
+                    }
+                    try {
+                        sink.heartbeat();
+                    } catch (Exception e) {
+                        close();
+                        return;
+                    }
+                    continue;
+                }
+                if (change == null) {
+                    delivering.set(false);
+                    // Work offered after the poll but before the flag was cleared would otherwise wait
+                    if ((buffer.isEmpty() && !heartbeatDue.get()) || !delivering.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (closed.get()) {
+                    return;
+                }
+                try {
+                    sink.send(change);
+                } catch (Exception e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Stops delivery and removes the subscription from the feed.
+         */
+        @Override
+        public void close() {
+            closeQuietly();
+        }
+
+        private boolean closeQuietly() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            remove(this);
+            buffer.clear();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package edu.trincoll.feed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Streams availability changes to OPAC and kiosk clients as server-sent events.
+ * {@code GET /api/availability/stream?isbn=...} watches the given books, or every book
+ * when no ISBN is given. Each change is sent as an {@code availability} event whose id is
+ * its sequence number. An evicted client receives an {@code evicted} event before the
+ * stream ends and should refresh its badges before reconnecting. Idle streams receive a
+ * comment line every heartbeat interval. Each open stream holds one server connection,
+ * so the number of concurrent streams is bounded by {@code server.tomcat.max-connections}.
+ */
+@RestController
+@RequestMapping("/api/availability")
+public class AvailabilityStreamController {
+
+    private final AvailabilityFeed availabilityFeed;
+    private final Duration streamTimeout;
+
+    public AvailabilityStreamController(AvailabilityFeed availabilityFeed,
+                                        @Value("${library.availability-feed.stream-timeout:30m}") Duration streamTimeout) {
+        this.availabilityFeed = availabilityFeed;
+        this.streamTimeout = streamTimeout;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(name = "isbn", required = false) Set<String> isbns) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        AvailabilityFeed.Subscription subscription = availabilityFeed.subscribe(isbns == null ? Set.of() : isbns,
+                new AvailabilityFeed.Sink() {
+                    @Override
+                    public void send(AvailabilityChange change) throws Exception {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.sequence()))
+                                .name("availability")
+                                .data(change, MediaType.APPLICATION_JSON));
+                    }
+
+                    @Override
+                    public void heartbeat() throws Exception {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+
+                    @Override
+                    public void evicted() {
+                        try {
+                            emitter.send(SseEmitter.event().name("evicted").data("Too far behind; resynchronise and reconnect"));
+                        } catch (Exception e) {
+                            // The client is going away regardless
+                        }
+                        emitter.complete();
+                    }
+                });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        return emitter;
+    }
+}
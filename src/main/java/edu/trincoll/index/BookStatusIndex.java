@@ -0,0 +1,187 @@
+package edu.trincoll.index;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.CatalogChangeListener;
+import edu.trincoll.service.BookStatusListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One compressed bitmap of book ids per {@link BookStatus}, kept in sync with the
+ * status changes made by {@code BookService} and with books inserted, updated and
+ * deleted after startup. Filtering search hits by status and
+ * counting books by status become bitmap operations instead of table scans.
+ * The index is built from a single id-and-status projection when the application
+ * starts; until then {@link #isReady()} is false and callers should query the database.
+ */
+@Component
+public class BookStatusIndex implements BookStatusListener, CatalogChangeListener {
+
+    private static final long MAX_ID = 0xFFFF_FFFFL;
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<BookStatus, RoaringBitmap> bitmaps = new EnumMap<>(BookStatus.class);
+    private volatile boolean ready;
+
+    /**
+     * Constructs a new BookStatusIndex.
+     * @param bookRepository The repository the index is built from.
+     */
+    public BookStatusIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+        for (BookStatus status : BookStatus.values()) {
+            bitmaps.put(status, new RoaringBitmap());
+        }
+    }
+
+    /**
+     * Rebuilds every bitmap from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            for (BookStatus status : BookStatus.values()) {
+                bitmaps.put(status, new RoaringBitmap());
+            }
+            for (Object[] row : bookRepository.findIdsAndStatuses()) {
+                index((Long) row[0], (BookStatus) row[1]);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStatusChange(Book book, BookStatus previousStatus) {
+        lock.writeLock().lock();
+        try {
+            if (previousStatus != null && isIndexable(book.getId())) {
+                bitmaps.get(previousStatus).remove(book.getId().intValue());
+            }
+            index(book.getId(), book.getStatus());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onInsert(Object entity) {
+        if (entity instanceof Book book) {
+            track(book);
+        }
+    }
+
+    @Override
+    public void onUpdate(Object entity) {
+        if (entity instanceof Book book) {
+            track(book);
+        }
+    }
+
+    @Override
+    public void onDelete(Object entity) {
+        if (entity instanceof Book book) {
+            lock.writeLock().lock();
+            try {
+                unindex(book.getId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds a book the index has not seen, such as one loaded after the index was built.
+     * @param book The book to index under its current status.
+     */
+    public void track(Book book) {
+        lock.writeLock().lock();
+        try {
+            unindex(book.getId());
+            index(book.getId(), book.getStatus());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Counts the books with a status.
+     * @param status The status to count.
+     * @return The number of indexed books with the status.
+     */
+    public long count(BookStatus status) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.get(status).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits search hits by whether they have a status.
+     * @param bookIds The ids of the books matching a search.
+     * @param status The status the books must have.
+     * @return The ids known to have the status, and the ids the index has never seen.
+     */
+    public Filtered filter(Collection<Long> bookIds, BookStatus status) {
+        RoaringBitmap hits = new RoaringBitmap();
+        for (Long id : bookIds) {
+            if (isIndexable(id)) {
+                hits.add(id.intValue());
+            }
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap known = new RoaringBitmap();
+            for (RoaringBitmap bitmap : bitmaps.values()) {
+                known = known.or(bitmap.and(hits));
+            }
+            return new Filtered(hits.and(bitmaps.get(status)), hits.andNot(known));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(Long id, BookStatus status) {
+        if (isIndexable(id) && status != null) {
+            bitmaps.get(status).add(id.intValue());
+        }
+    }
+
+    private void unindex(Long id) {
+        if (isIndexable(id)) {
+            for (RoaringBitmap bitmap : bitmaps.values()) {
+                bitmap.remove(id.intValue());
+            }
+        }
+    }
+
+    private static boolean isIndexable(Long id) {
+        return id != null && id >= 0 && id <= MAX_ID;
+    }
+
+    /**
+     * Search hits split by status.
+     * @param matching Ids of books known to have the requested status.
+     * @param unknown Ids of books the index has not seen, whose status must be checked directly.
+     */
+    public record Filtered(RoaringBitmap matching, RoaringBitmap unknown) {
+    }
+}
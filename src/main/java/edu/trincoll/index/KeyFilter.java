@@ -0,0 +1,188 @@
+package edu.trincoll.index;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Negative-lookup guard for one kind of key, backed by a {@link ScalableBloomFilter}.
+ * Lookups for keys the filter has never seen are answered as misses without touching
+ * the database. Until the filter is first built every lookup goes through, so the guard
+ * can never hide a key that exists. Keys inserted since the previous rebuild started are
+ * kept aside and replayed into each new filter, so an insert that was not yet committed
+ * when the keys were loaded is not lost when the new filter replaces the old one.
+ * Inserts share a lock with the swaps of the queue and the filter, so an insert always
+ * lands in a queue the rebuild replays or in the filter that replaces the old one.
+ * A key the current filter already reports is not queued again, so repeated updates of
+ * stored rows do not grow the queue; it holds each new key once until the next rebuild.
+ * The price is that a brand-new key which the filter happens to report falsely, and whose
+ * insert is still uncommitted when a rebuild loads the keys, is missing from that rebuild's
+ * filter until the next one.
+ */
+public class KeyFilter {
+
+    private final String name;
+    private final Supplier<? extends Collection<String>> keys;
+    private final int initialCapacity;
+    private final double falsePositiveRate;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Set<String> recentInserts = ConcurrentHashMap.newKeySet();
+    private volatile ScalableBloomFilter filter;
+
+    /**
+     * Constructs a new KeyFilter.
+     * @param name The name the filter is reported under.
+     * @param keys Loads every key currently stored.
+     * @param initialCapacity The minimum number of keys the filter is sized for.
+     * @param falsePositiveRate The largest acceptable false-positive rate.
+     */
+    public KeyFilter(String name, Supplier<? extends Collection<String>> keys, int initialCapacity,
+                     double falsePositiveRate) {
+        this.name = name;
+        this.keys = keys;
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Rebuilds the filter from the stored keys, dropping keys that have since been deleted.
+     */
+    public synchronized void rebuild() {
+        Set<String> sincePreviousRebuild;
+        Set<String> sinceThisRebuild = ConcurrentHashMap.newKeySet();
+        lock.writeLock().lock();
+        try {
+            sincePreviousRebuild = recentInserts;
+            recentInserts = sinceThisRebuild;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Collection<String> current = keys.get();
+        ScalableBloomFilter rebuilt = new ScalableBloomFilter(
+                Math.max(initialCapacity, current.size() * 2), falsePositiveRate);
+        current.forEach(rebuilt::add);
+        sincePreviousRebuild.forEach(rebuilt::add);
+        lock.writeLock().lock();
+        try {
+            // No insert can run here, so every insert is either in the queue or reaches the new filter
+            sinceThisRebuild.forEach(rebuilt::add);
+            filter = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a newly stored key. A key the filter already reports is skipped.
+     * @param key The key that was inserted.
+     */
+    public void add(String key) {
+        if (key == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            ScalableBloomFilter current = filter;
+            if (current != null && current.mightContain(key)) {
+                return;
+            }
+            recentInserts.add(key);
+            if (current != null) {
+                current.add(key);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns how many keys are waiting to be replayed into the next rebuild.
+     */
+    int pendingKeys() {
+        return recentInserts.size();
+    }
+
+    public boolean mightContain(String key) {
+        ScalableBloomFilter current = filter;
+        return current == null || key == null || current.mightContain(key);
+    }
+
+    /**
+     * Looks up a key, skipping the loader when the key is known to be absent.
+     * @param key The key to look up.
+     * @param loader Loads the value for the key from storage.
+     * @param <T> The type of the stored value.
+     * @return The stored value, or empty if there is none.
+     */
+    public <T> Optional<T> lookup(String key, Function<String, Optional<T>> loader) {
+        lookups.increment();
+        if (!mightContain(key)) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        Optional<T> value = loader.apply(key);
+        if (value.isEmpty() && filter != null && key != null) {
+            falsePositives.increment();
+        }
+        return value;
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    /**
+     * Returns the filter's size and how well it has been filtering.
+     * @return The current statistics.
+     */
+    public Stats stats() {
+        ScalableBloomFilter current = filter;
+        return new Stats(name,
+                current == null ? 0 : current.size(),
+                current == null ? 0 : current.sizeInBytes(),
+                falsePositiveRate,
+                current == null ? 0.0 : current.estimatedFalsePositiveRate(),
+                lookups.sum(),
+                rejected.sum(),
+                falsePositives.sum());
+    }
+
+    /**
+     * Filter statistics since startup.
+     * @param name The filter name.
+     * @param keys The keys in the filter.
+     * @param sizeInBytes The memory used by the filter's bits.
+     * @param configuredFalsePositiveRate The false-positive rate the filter is sized for.
+     * @param estimatedFalsePositiveRate The false-positive rate implied by the bits set so far.
+     * @param lookups Lookups made through the filter.
+     * @param rejected Lookups answered as misses without a database round trip.
+     * @param falsePositives Lookups the filter let through that then missed in the database.
+     */
+    public record Stats(String name,
+                        long keys,
+                        long sizeInBytes,
+                        double configuredFalsePositiveRate,
+                        double estimatedFalsePositiveRate,
+                        long lookups,
+                        long rejected,
+                        long falsePositives) {
+
+        /**
+         * Returns the observed false-positive rate among lookups for absent keys.
+         * @return False positives over all misses, or zero before any miss.
+         */
+        public double observedFalsePositiveRate() {
+            long misses = rejected + falsePositives;
+            return misses == 0 ? 0.0 : (double) falsePositives / misses;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package edu.trincoll.index;
+
+import edu.trincoll.catalog.IsbnCodec;
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.CatalogChangeListener;
+import edu.trincoll.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Bloom-filter guards for ISBN and member email lookups. ISBNs are kept in their
+ * {@linkplain IsbnCodec#normalize normalized} form, so a lookup matches however it is hyphenated.
+ * The filters are built when the application starts, updated as books and members are
+ * inserted or updated, and rebuilt on a schedule so that deleted keys stop passing the filter.
+ */
+@Component
+public class LookupFilters implements CatalogChangeListener {
+
+    static final int DEFAULT_INITIAL_CAPACITY = 10_000;
+    static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final KeyFilter isbns;
+    private final KeyFilter emails;
+
+    /**
+     * Constructs new LookupFilters over the book and member tables.
+     * @param bookRepository The repository the ISBNs are loaded from.
+     * @param memberRepository The repository the member emails are loaded from.
+     * @param falsePositiveRate The largest acceptable false-positive rate for each filter.
+     * @param initialCapacity The minimum number of keys each filter is sized for.
+     */
+    @Autowired
+    public LookupFilters(BookRepository bookRepository,
+                         MemberRepository memberRepository,
+                         @Value("${library.lookup-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${library.lookup-filter.initial-capacity:10000}") int initialCapacity) {
+        this(new KeyFilter("isbn", () -> bookRepository.findAllIsbns().stream().map(IsbnCodec::normalize).toList(),
+                        initialCapacity, falsePositiveRate),
+                new KeyFilter("email", memberRepository::findAllEmails, initialCapacity, falsePositiveRate));
+    }
+
+    LookupFilters(KeyFilter isbns, KeyFilter emails) {
+        this.isbns = isbns;
+        this.emails = emails;
+    }
+
+    /**
+     * Creates filters that are never built, so every lookup goes through to storage.
+     * @return Pass-through filters.
+     */
+    public static LookupFilters passThrough() {
+        return new LookupFilters(
+                new KeyFilter("isbn", List::of, DEFAULT_INITIAL_CAPACITY, DEFAULT_FALSE_POSITIVE_RATE),
+                new KeyFilter("email", List::of, DEFAULT_INITIAL_CAPACITY, DEFAULT_FALSE_POSITIVE_RATE));
+    }
+
+    /**
+     * Rebuilds both filters from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${library.lookup-filter.rebuild-cron:0 0 3 * * *}")
+    public void rebuild() {
+        isbns.rebuild();
+        emails.rebuild();
+    }
+
+    /**
+     * Adds the ISBN or email of an inserted book or member, so a new key is never
+     * rejected before the next rebuild.
+     * @param entity The inserted entity.
+     */
+    @Override
+    public void onInsert(Object entity) {
+        if (entity instanceof Book book) {
+            isbns.add(IsbnCodec.normalize(book.getIsbn()));
+        } else if (entity instanceof Member member) {
+            emails.add(member.getEmail());
+        }
+    }
+
+    /**
+     * Adds the current ISBN or email of an updated book or member, so a changed key is
+     * never rejected before the next rebuild. The old key passes until then. An unchanged
+     * key is already in the filter and is not queued again.
+     * @param entity The updated entity.
+     */
+    @Override
+    public void onUpdate(Object entity) {
+        onInsert(entity);
+    }
+
+    public KeyFilter isbns() {
+        return isbns;
+    }
+
+    public KeyFilter emails() {
+        return emails;
+    }
+}
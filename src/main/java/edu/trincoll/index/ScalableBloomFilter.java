@@ -0,0 +1,191 @@
+package edu.trincoll.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scalable Bloom filter: set membership with no false negatives, in memory that grows with
+ * the number of keys. Keys go into the newest of a chain of plain Bloom filters; when it is
+ * full a new one twice the size is added with half the false-positive rate, so the combined
+ * rate stays below the configured one however many keys arrive. Bits are set with atomic
+ * word updates, so adds and lookups are safe from any thread.
+ */
+public final class ScalableBloomFilter {
+
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final int GROWTH_FACTOR = 2;
+
+    private final double falsePositiveRate;
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new ScalableBloomFilter.
+     * @param initialCapacity The number of keys the first stage holds before a new one is added.
+     * @param falsePositiveRate The largest acceptable false-positive rate, across all stages.
+     */
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Bloom filter capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        // The stage rates form a geometric series p0 * (1 + r + r^2 + ...) = p0 / (1 - r)
+        stages.add(new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public void add(String key) {
+        long hash = hash64(key);
+        if (contains(hash)) {
+            return;
+        }
+        Stage stage = stages.get(stages.size() - 1);
+        if (stage.isFull()) {
+            stage = grow(stage);
+        }
+        stage.add(hash);
+    }
+
+    /**
+     * Tells whether a key may have been added.
+     * @param key The key to look up.
+     * @return False if the key was certainly never added, true if it probably was.
+     */
+    public boolean mightContain(String key) {
+        return contains(hash64(key));
+    }
+
+    /**
+     * Estimates the current false-positive rate from how many bits each stage has set.
+     * @return The probability that a key never added is reported as present.
+     */
+    public double estimatedFalsePositiveRate() {
+        double allMiss = 1.0;
+        for (Stage stage : stages) {
+            allMiss *= 1 - Math.pow((double) stage.bitCount() / stage.bits, stage.hashes);
+        }
+        return 1 - allMiss;
+    }
+
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public int size() {
+        return stages.stream().mapToInt(stage -> stage.count.get()).sum();
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    /**
+     * Returns the memory used by the bit arrays.
+     * @return The total size of every stage, in bytes.
+     */
+    public long sizeInBytes() {
+        return stages.stream().mapToLong(stage -> stage.words.length() * (long) Long.BYTES).sum();
+    }
+
+    private boolean contains(long hash) {
+        for (Stage stage : stages) {
+            if (stage.contains(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        Stage last = stages.get(stages.size() - 1);
+        if (last != full) {
+            return last;
+        }
+        Stage next = new Stage((int) Math.min((long) full.capacity * GROWTH_FACTOR, Integer.MAX_VALUE / 2),
+                full.falsePositiveRate * TIGHTENING_RATIO);
+        stages.add(next);
+        return next;
+    }
+
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * One plain Bloom filter sized for its capacity and false-positive rate.
+     */
+    private static final class Stage {
+        private final int capacity;
+        private final double falsePositiveRate;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((optimalBits + Long.SIZE - 1) / Long.SIZE));
+            this.bits = (long) words.length() * Long.SIZE;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        }
+
+        boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        void add(long hash) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = bit(hash, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                while (((current = words.get(word)) & mask) == 0
+                        && !words.compareAndSet(word, current, current | mask)) {
+                    Thread.onSpinWait();
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        boolean contains(long hash) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = bit(hash, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bitCount() {
+            long set = 0;
+            for (int i = 0; i < words.length(); i++) {
+                set += Long.bitCount(words.get(i));
+            }
+            return set;
+        }
+
+        private long bit(long hash, int i) {
+            // Kirsch-Mitzenmacher: two hashes simulate one independent hash per probe
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            return Math.floorMod(h1 + (long) i * h2, bits);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package edu.trincoll.instrumentation;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The statements one captured action executed, for asserting statement budgets in tests.
+ * @param statements The statement text of each execution, in order.
+ * @param sqlTime The time spent executing them.
+ */
+public record SqlCapture(List<String> statements, Duration sqlTime) {
+
+    public int count() {
+        return statements.size();
+    }
+
+    /**
+     * Finds statements that were executed repeatedly with identical text, the signature of an
+     * N+1 pattern where a query runs once per row of an earlier result.
+     * @param times The number of executions from which a statement counts as repeated.
+     * @return The repeated statements with how often each ran.
+     */
+    public Map<String, Long> repeatedStatements(int times) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        statements.forEach(sql -> counts.merge(String.valueOf(sql), 1L, Long::sum));
+        Map<String, Long> repeated = new TreeMap<>();
+        counts.forEach((sql, count) -> {
+            if (count >= times) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+}
@@ -0,0 +1,47 @@
+package edu.trincoll.instrumentation;
+
+import edu.trincoll.service.FacadeInterceptors;
+import edu.trincoll.service.LibraryFacade;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Turns on per-operation SQL statement recording.
+ * The application data source is wrapped so statement executions are reported, and
+ * {@link LibraryFacade} is proxied so each public method runs inside a recording scope
+ * named after the method. Disable with {@code library.sql.instrumentation.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "library.sql.instrumentation", name = "enabled",
+        havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfiguration {
+
+    @Bean
+    static BeanPostProcessor sqlInstrumentation(ObjectProvider<SqlStatementRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, recorder.getObject());
+                }
+                if (bean instanceof LibraryFacade) {
+                    return recordOperations(bean, recorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    static Object recordOperations(Object facade, SqlStatementRecorder recorder) {
+        return FacadeInterceptors.addInterceptor(facade, invocation -> {
+            try (SqlStatementRecorder.OperationScope ignored = recorder.begin(invocation.getMethod().getName())) {
+                return invocation.proceed();
+            }
+        }, false);
+    }
+}
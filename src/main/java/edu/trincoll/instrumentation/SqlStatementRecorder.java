@@ -0,0 +1,164 @@
+package edu.trincoll.instrumentation;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and times the JDBC statements executed on behalf of each facade operation.
+ * An operation opens a scope on its thread; every statement the instrumented data source
+ * executes on that thread until the scope closes is added to the operation's tally, and
+ * the tally is folded into per-operation totals when it closes. Statements run on other
+ * threads, such as a group-commit flusher or dashboard workers, are not attributed.
+ */
+@Component
+public class SqlStatementRecorder {
+
+    private static final OperationScope NESTED = () -> { };
+
+    private final ThreadLocal<Tally> current = new ThreadLocal<>();
+    private final ConcurrentMap<String, OperationMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Starts attributing statements on this thread to an operation.
+     * A scope opened inside another one is ignored, so its statements count towards the outer operation.
+     * @param operation The name the statements are recorded under.
+     * @return The scope, to be closed when the operation finishes.
+     */
+    public OperationScope begin(String operation) {
+        if (current.get() != null) {
+            return NESTED;
+        }
+        Tally tally = new Tally(false);
+        current.set(tally);
+        return () -> {
+            current.remove();
+            metrics.computeIfAbsent(operation, name -> new OperationMetrics()).add(tally);
+        };
+    }
+
+    /**
+     * Runs an action and returns every statement it executed on this thread.
+     * Statements captured this way are not added to the per-operation totals.
+     * @param action The action to run.
+     * @return The statements the action executed, in order.
+     */
+    public SqlCapture capture(Runnable action) {
+        if (current.get() != null) {
+            throw new IllegalStateException("Statements are already being recorded on this thread");
+        }
+        Tally tally = new Tally(true);
+        current.set(tally);
+        try {
+            action.run();
+        } finally {
+            current.remove();
+        }
+        return new SqlCapture(List.copyOf(tally.statements), Duration.ofNanos(tally.nanos));
+    }
+
+    /**
+     * Records one executed statement against the operation running on this thread, if any.
+     * @param sql The statement text, or null if it is not known.
+     * @param nanos How long the statement took to execute.
+     */
+    public void record(String sql, long nanos) {
+        Tally tally = current.get();
+        if (tally != null) {
+            tally.add(sql, nanos);
+        }
+    }
+
+    /**
+     * Returns the totals recorded so far for every operation.
+     * @return The totals, keyed and sorted by operation name.
+     */
+    public Map<String, OperationSqlStats> snapshot() {
+        Map<String, OperationSqlStats> snapshot = new TreeMap<>();
+        metrics.forEach((operation, totals) -> snapshot.put(operation, totals.toStats(operation)));
+        return snapshot;
+    }
+
+    /**
+     * A recording scope that can be used in try-with-resources.
+     */
+    @FunctionalInterface
+    public interface OperationScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Totals for one operation since startup.
+     * @param operation The operation name.
+     * @param invocations How many times the operation ran.
+     * @param statements The statements executed across all runs.
+     * @param maxStatements The most statements a single run executed.
+     * @param sqlTime The time spent executing statements across all runs.
+     */
+    public record OperationSqlStats(String operation,
+                                    long invocations,
+                                    long statements,
+                                    long maxStatements,
+                                    Duration sqlTime) {
+
+        public double averageStatements() {
+            return invocations == 0 ? 0.0 : (double) statements / invocations;
+        }
+
+        public Duration averageSqlTime() {
+            return invocations == 0 ? Duration.ZERO : sqlTime.dividedBy(invocations);
+        }
+    }
+
+    /**
+     * Statements executed by a single run of an operation.
+     */
+    private static final class Tally {
+        private final List<String> statements;
+        private int count;
+        private long nanos;
+
+        Tally(boolean keepStatements) {
+            this.statements = keepStatements ? new ArrayList<>() : null;
+        }
+
+        void add(String sql, long elapsed) {
+            count++;
+            nanos += elapsed;
+            if (statements != null) {
+                statements.add(sql);
+            }
+        }
+    }
+
+    /**
+     * Running totals for one operation, updated concurrently by every thread that runs it.
+     */
+    private static final class OperationMetrics {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        void add(Tally tally) {
+            invocations.increment();
+            statements.add(tally.count);
+            nanos.add(tally.nanos);
+            maxStatements.accumulate(tally.count);
+        }
+
+        OperationSqlStats toStats(String operation) {
+            return new OperationSqlStats(operation, invocations.sum(), statements.sum(),
+                    maxStatements.get(), Duration.ofNanos(nanos.sum()));
+        }
+    }
+}
@@ -7,7 +7,13 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_status", columnList = "status"),
+        @Index(name = "idx_books_author", columnList = "author"),
+        @Index(name = "idx_books_publication_date", columnList = "publication_date"),
+        @Index(name = "idx_books_due_date", columnList = "due_date"),
+        @Index(name = "idx_books_checked_out_by", columnList = "checked_out_by")
+})
 public class Book {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,6 +23,10 @@ public class Book {
     @Column(unique = true, nullable = false)
     private String isbn;
 
+    // The ISBN without hyphens or spaces, written from isbn whenever the book is saved
+    @Column(name = "normalized_isbn", unique = true, nullable = false)
+    private String normalizedIsbn;
+
     @NotBlank(message = "Title is required")
     @Column(nullable = false)
     private String title;
@@ -26,6 +36,7 @@ public class Book {
     private String author;
 
     @NotNull(message = "Publication date is required")
+    @Column(name = "publication_date")
     private LocalDate publicationDate;
 
     @Enumerated(EnumType.STRING)
@@ -38,6 +49,12 @@ public class Book {
     @Column(name = "due_date")
     private LocalDate dueDate;
 
+    @Column(name = "reserved_for")
+    private String reservedFor;
+
+    @Version
+    private long version;
+
     // Constructors
     public Book() {
     }
@@ -58,6 +75,14 @@ public class Book {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getIsbn() {
         return isbn;
     }
@@ -66,6 +91,14 @@ public class Book {
         this.isbn = isbn;
     }
 
+    public String getNormalizedIsbn() {
+        return normalizedIsbn;
+    }
+
+    public void setNormalizedIsbn(String normalizedIsbn) {
+        this.normalizedIsbn = normalizedIsbn;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -114,6 +147,14 @@ public class Book {
         this.dueDate = dueDate;
     }
 
+    public String getReservedFor() {
+        return reservedFor;
+    }
+
+    public void setReservedFor(String reservedFor) {
+        this.reservedFor = reservedFor;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
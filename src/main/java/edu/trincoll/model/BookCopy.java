@@ -0,0 +1,114 @@
+package edu.trincoll.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "book_copies", indexes = {
+        @Index(name = "idx_book_copies_book_status", columnList = "book_id, status")
+})
+public class BookCopy {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    @NotBlank(message = "Barcode is required")
+    @Column(unique = true, nullable = false)
+    private String barcode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookStatus status = BookStatus.AVAILABLE;
+
+    @Column(name = "checked_out_by")
+    private String checkedOutBy;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    // Constructors
+    public BookCopy() {
+    }
+
+    public BookCopy(Book book, String barcode) {
+        this.book = book;
+        this.barcode = barcode;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public void setBook(Book book) {
+        this.book = book;
+    }
+
+    public String getBarcode() {
+        return barcode;
+    }
+
+    public void setBarcode(String barcode) {
+        this.barcode = barcode;
+    }
+
+    public BookStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookStatus status) {
+        this.status = status;
+    }
+
+    public String getCheckedOutBy() {
+        return checkedOutBy;
+    }
+
+    public void setCheckedOutBy(String checkedOutBy) {
+        this.checkedOutBy = checkedOutBy;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookCopy copy = (BookCopy) o;
+        return Objects.equals(barcode, copy.barcode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(barcode);
+    }
+
+    @Override
+    public String toString() {
+        return "BookCopy{" +
+                "id=" + id +
+                ", barcode='" + barcode + '\'' +
+                ", status=" + status +
+                '}';
+    }
+}
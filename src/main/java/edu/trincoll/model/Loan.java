@@ -0,0 +1,152 @@
+package edu.trincoll.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "loans", indexes = {
+        @Index(name = "idx_loans_isbn_returned", columnList = "isbn, returned_on"),
+        @Index(name = "idx_loans_member_returned", columnList = "member_email, returned_on"),
+        @Index(name = "idx_loans_returned_on", columnList = "returned_on")
+})
+public class Loan {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "ISBN is required")
+    @Column(nullable = false)
+    private String isbn;
+
+    @NotBlank(message = "Member email is required")
+    @Column(name = "member_email", nullable = false)
+    private String memberEmail;
+
+    @NotNull(message = "Checkout date is required")
+    @Column(name = "checked_out_on", nullable = false)
+    private LocalDate checkedOutOn;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "returned_on")
+    private LocalDate returnedOn;
+
+    @Column(name = "late_fee")
+    private double lateFee;
+
+    /**
+     * Month bucket of the checkout, as yyyyMM. Archived loans are grouped by this value.
+     */
+    @Column(name = "loan_month", nullable = false)
+    private int loanMonth;
+
+    // Constructors
+    public Loan() {
+    }
+
+    public Loan(String isbn, String memberEmail, LocalDate checkedOutOn, LocalDate dueDate) {
+        this.isbn = isbn;
+        this.memberEmail = memberEmail;
+        this.checkedOutOn = checkedOutOn;
+        this.dueDate = dueDate;
+        this.loanMonth = monthOf(checkedOutOn);
+    }
+
+    public static int monthOf(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public String getMemberEmail() {
+        return memberEmail;
+    }
+
+    public void setMemberEmail(String memberEmail) {
+        this.memberEmail = memberEmail;
+    }
+
+    public LocalDate getCheckedOutOn() {
+        return checkedOutOn;
+    }
+
+    public void setCheckedOutOn(LocalDate checkedOutOn) {
+        this.checkedOutOn = checkedOutOn;
+        this.loanMonth = monthOf(checkedOutOn);
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public LocalDate getReturnedOn() {
+        return returnedOn;
+    }
+
+    public void setReturnedOn(LocalDate returnedOn) {
+        this.returnedOn = returnedOn;
+    }
+
+    public double getLateFee() {
+        return lateFee;
+    }
+
+    public void setLateFee(double lateFee) {
+        this.lateFee = lateFee;
+    }
+
+    public int getLoanMonth() {
+        return loanMonth;
+    }
+
+    public boolean isActive() {
+        return returnedOn == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Loan loan = (Loan) o;
+        return id != null && Objects.equals(id, loan.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Loan{" +
+                "id=" + id +
+                ", isbn='" + isbn + '\'' +
+                ", memberEmail='" + memberEmail + '\'' +
+                ", checkedOutOn=" + checkedOutOn +
+                ", returnedOn=" + returnedOn +
+                '}';
+    }
+}
@@ -32,6 +32,9 @@ public class Member {
     @Column(name = "books_checked_out")
     private int booksCheckedOut = 0;
 
+    @Version
+    private long version;
+
     // Constructors
     public Member() {
     }
@@ -56,6 +59,14 @@ public class Member {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -5,5 +5,6 @@ import edu.trincoll.model.Member;
 public interface CheckoutPolicy {
     int getMaxBooks();
     int getLoanPeriodDays();
+    int getHoldPriority();
     boolean canCheckout(Member member);
 }
@@ -9,6 +9,9 @@ public class PremiumPolicy implements CheckoutPolicy {
     public int getLoanPeriodDays() {
         return 30;
     }
+    public int getHoldPriority() {
+        return 0;
+    }
     public boolean canCheckout(Member member) {
         return member.getBooksCheckedOut() < getMaxBooks();
     }
@@ -9,6 +9,9 @@ public class RegularPolicy implements CheckoutPolicy {
     public int getLoanPeriodDays() {
         return 14;
     }
+    public int getHoldPriority() {
+        return 2;
+    }
     public boolean canCheckout(Member member) {
         return member.getBooksCheckedOut() < getMaxBooks();
     }
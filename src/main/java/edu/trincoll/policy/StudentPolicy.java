@@ -8,6 +8,9 @@ public class StudentPolicy implements CheckoutPolicy {
     public int getLoanPeriodDays() {
         return 21;
     }
+    public int getHoldPriority() {
+        return 1;
+    }
     public boolean canCheckout(Member member) {
         return member.getBooksCheckedOut() < getMaxBooks();
     }
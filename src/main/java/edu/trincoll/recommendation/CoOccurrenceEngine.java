@@ -0,0 +1,335 @@
+package edu.trincoll.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * "Borrowed together" recommendations from an item-item co-occurrence matrix.
+ * Each member's distinct borrowed titles form a basket, and every pair of titles in a
+ * basket counts once. A full build counts the pairs of all baskets in parallel on a
+ * fork/join pool, then keeps, for each title, its most frequent partners as one sorted
+ * {@code long[]} of packed (count, partner) values, so serving a recommendation is a
+ * dictionary lookup and an array scan. Checkouts add their new pairs to a pending delta
+ * that {@link #refresh()} merges into copies of just the affected rows. Since only the
+ * top partners are kept, a partner that climbs back into a row restarts from its delta;
+ * the next full build restores exact counts.
+ */
+public class CoOccurrenceEngine {
+
+    private static final int LEAF_BASKETS = 256;
+
+    private final int maxNeighbours;
+    private final int maxBasketSize;
+    private final ForkJoinPool pool;
+    private final Object buildLock = new Object();
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] isbns = new String[16];
+    private volatile int itemCount;
+    private volatile long[][] rows = new long[0][];
+
+    // Writer state, guarded by this
+    private Map<String, int[]> baskets = new HashMap<>();
+    private Map<Integer, Map<Integer, Integer>> pending = new HashMap<>();
+    private List<Borrowing> recordedDuringBuild;
+
+    /**
+     * Constructs a new CoOccurrenceEngine.
+     * @param maxNeighbours The number of partners kept for each title.
+     * @param maxBasketSize The number of most recent titles per member that pairs are counted over.
+     * @param pool The pool the full build runs on.
+     */
+    public CoOccurrenceEngine(int maxNeighbours, int maxBasketSize, ForkJoinPool pool) {
+        if (maxNeighbours <= 0 || maxBasketSize <= 0) {
+            throw new IllegalArgumentException("Neighbour and basket limits must be positive");
+        }
+        this.maxNeighbours = maxNeighbours;
+        this.maxBasketSize = maxBasketSize;
+        this.pool = pool;
+    }
+
+    /**
+     * Replaces the matrix with one built from a complete borrowing history.
+     * Checkouts recorded while the build runs are replayed on top of it.
+     * @param history Every borrowing, oldest first.
+     */
+    public void rebuild(Collection<Borrowing> history) {
+        rebuild(() -> history);
+    }
+
+    /**
+     * Replaces the matrix with one built from a complete borrowing history that is loaded
+     * only once checkouts are being captured, so a checkout recorded while the history is
+     * read is replayed rather than lost. A checkout both read and replayed counts once.
+     * @param history Loads every borrowing, oldest first.
+     */
+    public void rebuild(Supplier<? extends Collection<Borrowing>> history) {
+        synchronized (buildLock) {
+            synchronized (this) {
+                recordedDuringBuild = new ArrayList<>();
+            }
+            try {
+                Map<String, int[]> built = new HashMap<>();
+                for (Borrowing borrowing : history.get()) {
+                    built.compute(borrowing.memberEmail(), (member, basket) -> append(basket, idFor(borrowing.isbn())));
+                }
+                int[][] allBaskets = built.values().toArray(new int[0][]);
+                PairCounts counts = pool.invoke(new CountPairs(allBaskets, 0, allBaskets.length));
+                long[][] builtRows = toRows(counts, itemCount);
+
+                synchronized (this) {
+                    baskets = built;
+                    pending = new HashMap<>();
+                    rows = builtRows;
+                    List<Borrowing> replay = recordedDuringBuild;
+                    recordedDuringBuild = null;
+                    replay.forEach(this::record);
+                    refresh();
+                }
+            } finally {
+                synchronized (this) {
+                    recordedDuringBuild = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a checkout. Its new pairs are served once {@link #refresh()} next runs.
+     * @param memberEmail The member who borrowed the title.
+     * @param isbn The title borrowed.
+     */
+    public synchronized void record(String memberEmail, String isbn) {
+        record(new Borrowing(memberEmail, isbn));
+    }
+
+    private void record(Borrowing borrowing) {
+        if (recordedDuringBuild != null) {
+            recordedDuringBuild.add(borrowing);
+        }
+        int item = idFor(borrowing.isbn());
+        int[] basket = baskets.get(borrowing.memberEmail());
+        if (basket != null && contains(basket, item)) {
+            return;
+        }
+        if (basket != null) {
+            for (int other : basket) {
+                pending.computeIfAbsent(item, id -> new HashMap<>()).merge(other, 1, Integer::sum);
+                pending.computeIfAbsent(other, id -> new HashMap<>()).merge(item, 1, Integer::sum);
+            }
+        }
+        baskets.put(borrowing.memberEmail(), append(basket, item));
+    }
+
+    /**
+     * Merges the pending checkouts into the served matrix, rebuilding only the rows they touch.
+     */
+    public synchronized void refresh() {
+        int items = itemCount;
+        if (pending.isEmpty() && rows.length == items) {
+            return;
+        }
+        long[][] refreshed = Arrays.copyOf(rows, items);
+        pending.forEach((item, deltas) -> refreshed[item] = merge(refreshed[item], deltas));
+        pending = new HashMap<>();
+        rows = refreshed;
+    }
+
+    /**
+     * Returns the titles most often borrowed by members who also borrowed a title.
+     * @param isbn The title to recommend from.
+     * @param limit The most recommendations to return.
+     * @return The recommendations, most often borrowed together first.
+     */
+    public List<Recommendation> recommend(String isbn, int limit) {
+        Integer item = ids.get(isbn);
+        long[][] current = rows;
+        if (item == null || item >= current.length || current[item] == null) {
+            return List.of();
+        }
+        long[] row = current[item];
+        String[] names = isbns;
+        int size = Math.min(limit, row.length);
+        List<Recommendation> recommendations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            recommendations.add(new Recommendation(names[partner(row[i])], count(row[i])));
+        }
+        return recommendations;
+    }
+
+    private int idFor(String isbn) {
+        Integer id = ids.get(isbn);
+        if (id != null) {
+            return id;
+        }
+        synchronized (ids) {
+            return ids.computeIfAbsent(isbn, key -> {
+                if (itemCount == isbns.length) {
+                    isbns = Arrays.copyOf(isbns, isbns.length * 2);
+                }
+                isbns[itemCount] = key;
+                return itemCount++;
+            });
+        }
+    }
+
+    private int[] append(int[] basket, int item) {
+        if (basket == null) {
+            return new int[] {item};
+        }
+        if (contains(basket, item)) {
+            return basket;
+        }
+        if (basket.length < maxBasketSize) {
+            int[] grown = Arrays.copyOf(basket, basket.length + 1);
+            grown[basket.length] = item;
+            return grown;
+        }
+        // Full baskets drop their oldest title, bounding the pairs a heavy borrower adds
+        int[] shifted = Arrays.copyOfRange(basket, 1, basket.length + 1);
+        shifted[basket.length - 1] = item;
+        return shifted;
+    }
+
+    private long[][] toRows(PairCounts counts, int items) {
+        int[] degree = new int[items];
+        counts.forEach((a, b, count) -> {
+            degree[a]++;
+            degree[b]++;
+        });
+        long[][] built = new long[items][];
+        for (int i = 0; i < items; i++) {
+            built[i] = degree[i] == 0 ? null : new long[degree[i]];
+        }
+        int[] filled = new int[items];
+        counts.forEach((a, b, count) -> {
+            built[a][filled[a]++] = pack(count, b);
+            built[b][filled[b]++] = pack(count, a);
+        });
+        IntStream.range(0, items).parallel().forEach(i -> {
+            if (built[i] != null) {
+                built[i] = topNeighbours(built[i]);
+            }
+        });
+        return built;
+    }
+
+    private long[] merge(long[] row, Map<Integer, Integer> deltas) {
+        Map<Integer, Integer> merged = new LinkedHashMap<>();
+        if (row != null) {
+            for (long packed : row) {
+                merged.put(partner(packed), count(packed));
+            }
+        }
+        deltas.forEach((partner, delta) -> merged.merge(partner, delta, Integer::sum));
+        long[] packed = new long[merged.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : merged.entrySet()) {
+            packed[i++] = pack(entry.getValue(), entry.getKey());
+        }
+        return topNeighbours(packed);
+    }
+
+    /**
+     * Sorts a row by count, highest first, and keeps only the top partners.
+     * Ties go to the partner with the lower id, which was borrowed first.
+     */
+    private long[] topNeighbours(long[] row) {
+        Arrays.sort(row);
+        int size = Math.min(row.length, maxNeighbours);
+        long[] top = new long[size];
+        for (int i = 0; i < size; i++) {
+            top[i] = row[row.length - 1 - i];
+        }
+        return top;
+    }
+
+    private static long pack(int count, int partner) {
+        return ((long) count << 32) | (Integer.MAX_VALUE - partner);
+    }
+
+    private static int count(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int partner(long packed) {
+        return Integer.MAX_VALUE - (int) packed;
+    }
+
+    private static boolean contains(int[] basket, int item) {
+        for (int member : basket) {
+            if (member == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the pairs in a range of baskets, splitting large ranges in half.
+     */
+    private static final class CountPairs extends RecursiveTask<PairCounts> {
+        private final int[][] baskets;
+        private final int from;
+        private final int to;
+
+        CountPairs(int[][] baskets, int from, int to) {
+            this.baskets = baskets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PairCounts compute() {
+            if (to - from <= LEAF_BASKETS) {
+                PairCounts counts = new PairCounts();
+                for (int i = from; i < to; i++) {
+                    int[] basket = baskets[i];
+                    for (int a = 0; a < basket.length; a++) {
+                        for (int b = a + 1; b < basket.length; b++) {
+                            counts.increment(basket[a], basket[b]);
+                        }
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            CountPairs left = new CountPairs(baskets, from, middle);
+            left.fork();
+            PairCounts right = new CountPairs(baskets, middle, to).compute();
+            PairCounts joined = left.join();
+            // Merge the smaller table into the larger one
+            if (joined.size() < right.size()) {
+                right.addAll(joined);
+                return right;
+            }
+            joined.addAll(right);
+            return joined;
+        }
+    }
+
+    /**
+     * One title borrowed by one member.
+     * @param memberEmail The member's email address.
+     * @param isbn The title's ISBN.
+     */
+    public record Borrowing(String memberEmail, String isbn) {
+    }
+
+    /**
+     * A title borrowed together with the one asked about.
+     * @param isbn The recommended title's ISBN.
+     * @param count How many members borrowed both titles.
+     */
+    public record Recommendation(String isbn, int count) {
+    }
+}
@@ -0,0 +1,101 @@
+package edu.trincoll.recommendation;
+
+/**
+ * Open-addressing hash map from an unordered pair of item ids to how often the two were
+ * borrowed by the same member. Keys and counts live in two primitive arrays, so counting
+ * millions of pairs creates no per-pair objects. Not thread-safe.
+ */
+final class PairCounts {
+
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+
+    PairCounts() {
+        this(1 << 10);
+    }
+
+    PairCounts(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expected / MAX_LOAD)) - 1) << 1;
+        this.keys = new long[capacity];
+        this.counts = new int[capacity];
+    }
+
+    void increment(int a, int b) {
+        add(key(a, b), 1);
+    }
+
+    void addAll(PairCounts other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != EMPTY) {
+                add(other.keys[i], other.counts[i]);
+            }
+        }
+    }
+
+    void forEach(PairConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept((int) (keys[i] >>> 32), (int) keys[i], counts[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void add(long key, int count) {
+        int slot = slot(keys, key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot] += count;
+        if (size > keys.length * MAX_LOAD) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int slot(long[] table, long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int mask = table.length - 1;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Packs a pair with the smaller id first, so (a, b) and (b, a) share a key.
+     * The larger id is at least 1, so a packed key is never {@link #EMPTY}.
+     */
+    private static long key(int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        return ((long) low << 32) | high;
+    }
+
+    @FunctionalInterface
+    interface PairConsumer {
+        void accept(int a, int b, int count);
+    }
+}
@@ -0,0 +1,104 @@
+package edu.trincoll.recommendation;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.recommendation.CoOccurrenceEngine.Borrowing;
+import edu.trincoll.recommendation.CoOccurrenceEngine.Recommendation;
+import edu.trincoll.repository.LoanRepository;
+import edu.trincoll.service.CirculationListener;
+import edu.trincoll.service.LoanArchiver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * "Members who borrowed this also borrowed" recommendations.
+ * The co-occurrence matrix is built from the loan history, archived loans included, when
+ * the application starts and again on a schedule; checkouts in between are folded in
+ * every refresh interval.
+ */
+@Service
+public class RecommendationService implements CirculationListener {
+
+    private final LoanRepository loanRepository;
+    private final LoanArchiver loanArchiver;
+    private final CoOccurrenceEngine engine;
+
+    /**
+     * Constructs a new RecommendationService.
+     * @param loanRepository The repository the loan history is read from.
+     * @param loanArchiver The archive older loans are read from.
+     * @param maxNeighbours The number of recommendations kept for each title.
+     * @param maxBasketSize The number of most recent titles per member that pairs are counted over.
+     */
+    @Autowired
+    public RecommendationService(LoanRepository loanRepository,
+                                 LoanArchiver loanArchiver,
+                                 @Value("${library.recommendations.max-neighbours:50}") int maxNeighbours,
+                                 @Value("${library.recommendations.max-basket-size:200}") int maxBasketSize) {
+        this(loanRepository, loanArchiver, new CoOccurrenceEngine(maxNeighbours, maxBasketSize, ForkJoinPool.commonPool()));
+    }
+
+    RecommendationService(LoanRepository loanRepository, LoanArchiver loanArchiver, CoOccurrenceEngine engine) {
+        this.loanRepository = loanRepository;
+        this.loanArchiver = loanArchiver;
+        this.engine = engine;
+    }
+
+    /**
+     * Rebuilds the matrix from the full borrowing history. The history is read after the
+     * engine starts capturing checkouts, so none made during the read are lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${library.recommendations.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        engine.rebuild(this::loadHistory);
+    }
+
+    private List<Borrowing> loadHistory() {
+        List<HistoryEntry> history = new ArrayList<>();
+        loanArchiver.findArchivedLoans(loan -> true).forEach(loan ->
+                history.add(new HistoryEntry(loan.getCheckedOutOn(), new Borrowing(loan.getMemberEmail(), loan.getIsbn()))));
+        for (Object[] row : loanRepository.findBorrowings()) {
+            history.add(new HistoryEntry((LocalDate) row[0], new Borrowing((String) row[1], (String) row[2])));
+        }
+        // Oldest first, so capped baskets keep each member's most recent titles
+        history.sort(Comparator.comparing(HistoryEntry::checkedOutOn));
+        return history.stream().map(HistoryEntry::borrowing).toList();
+    }
+
+    /**
+     * Serves the checkouts recorded since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${library.recommendations.refresh-interval:10s}")
+    public void refresh() {
+        engine.refresh();
+    }
+
+    @Override
+    public void onCheckout(Member member, Book book, LocalDate dueDate) {
+        engine.record(member.getEmail(), book.getIsbn());
+    }
+
+    /**
+     * Returns the titles most often borrowed by members who also borrowed a title.
+     * @param isbn The title to recommend from.
+     * @param limit The most recommendations to return.
+     * @return The recommendations, most often borrowed together first.
+     */
+    public List<Recommendation> recommend(String isbn, int limit) {
+        return engine.recommend(isbn, limit);
+    }
+
+    private record HistoryEntry(LocalDate checkedOutOn, Borrowing borrowing) {
+    }
+}
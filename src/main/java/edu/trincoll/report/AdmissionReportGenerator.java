@@ -0,0 +1,36 @@
+package edu.trincoll.report;
+
+import edu.trincoll.admission.AdaptiveConcurrencyLimiter;
+import edu.trincoll.admission.Priority;
+
+/**
+ * Report generator for admission control.
+ * Shows the current concurrency limit; for each priority, how many operations were
+ * admitted and how many were shed; and the baseline latency of each operation.
+ */
+public class AdmissionReportGenerator implements ReportGenerator {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public AdmissionReportGenerator(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public String generateReport() {
+        AdaptiveConcurrencyLimiter.Stats stats = limiter.stats();
+        StringBuilder report = new StringBuilder("ADMISSION CONTROL REPORT\n");
+        report.append("========================\n");
+        report.append(String.format("Limit: %d - In flight: %d - Rejected: %d\n",
+                stats.limit(), stats.inFlight(), stats.totalRejected()));
+        for (Priority priority : Priority.values()) {
+            report.append(String.format("%s (up to %d in flight) - Admitted: %d - Rejected: %d\n",
+                    priority, priority.allowance(stats.limit()),
+                    stats.admitted().get(priority), stats.rejected().get(priority)));
+        }
+        stats.baselineLatencies().forEach((operation, latency) ->
+                report.append(String.format("%s - Baseline latency: %.3f ms\n",
+                        operation, latency.toNanos() / 1_000_000.0)));
+        return report.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package edu.trincoll.report;
+
+import edu.trincoll.analytics.CirculationAnalytics;
+import edu.trincoll.analytics.CirculationAnalytics.Window;
+import edu.trincoll.analytics.CirculationAnalytics.WindowStats;
+import edu.trincoll.model.MembershipType;
+/**
+ * Report generator for recent circulation activity.
+ * Shows per-minute checkout and return rates by membership type, limit
+ * rejections and late-fee revenue over the last minute, 15 minutes and hour.
+ */
+public class CirculationReportGenerator implements ReportGenerator {
+
+    private final CirculationAnalytics circulationAnalytics;
+
+    public CirculationReportGenerator(CirculationAnalytics circulationAnalytics) {
+        this.circulationAnalytics = circulationAnalytics;
+    }
+
+    @Override
+    public String generateReport() {
+        StringBuilder report = new StringBuilder("CIRCULATION REPORT\n");
+        report.append("==================\n");
+        for (Window window : Window.values()) {
+            WindowStats stats = circulationAnalytics.snapshot(window);
+            report.append(String.format("Last %d min:\n", window.minutes()));
+            for (MembershipType type : MembershipType.values()) {
+                report.append(String.format("  %s - Checkouts/min: %.2f - Returns/min: %.2f\n",
+                        type, stats.checkoutsPerMinute(type), stats.returnsPerMinute(type)));
+            }
+            report.append(String.format("  Limit rejections: %d - Unavailable rejections: %d - Late fees: $%.2f\n",
+                    stats.limitRejections(), stats.unavailableRejections(), stats.lateFeeRevenue()));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package edu.trincoll.report;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates several reports concurrently, one virtual thread per report.
+ * All reports share a deadline, so the dashboard takes as long as its slowest
+ * report instead of the sum of all of them. If any report fails or misses the
+ * deadline, the remaining reports are cancelled and the dashboard fails without
+ * waiting for them, so a report that ignores interruption cannot hold it past
+ * the deadline.
+ */
+public class DashboardGenerator {
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final Map<String, ReportGenerator> generators;
+
+    public DashboardGenerator(Map<String, ReportGenerator> generators) {
+        this.generators = generators;
+    }
+
+    /**
+     * Generates every report on the dashboard.
+     * @param timeout The longest any single report may take.
+     * @return The generated reports keyed by report type, in the order they were requested.
+     */
+    public Map<String, String> generateDashboard(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<String> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<String>, String> reportTypes = new LinkedHashMap<>();
+        Map<String, String> reports = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, ReportGenerator> entry : generators.entrySet()) {
+                ReportGenerator generator = entry.getValue();
+                reportTypes.put(completion.submit(generator::generateReport), entry.getKey());
+            }
+            for (int i = 0; i < reportTypes.size(); i++) {
+                Future<String> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new IllegalStateException("Dashboard timed out after " + timeout.toMillis() + " ms");
+                }
+                reports.put(reportTypes.get(done), result(done, reportTypes.get(done)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dashboard generation was interrupted", e);
+        } finally {
+            // Interrupt whatever is still running, but do not wait for it to notice
+            reportTypes.keySet().forEach(future -> future.cancel(true));
+            executor.shutdownNow();
+        }
+
+        Map<String, String> ordered = new LinkedHashMap<>();
+        generators.keySet().forEach(type -> ordered.put(type, reports.get(type)));
+        return ordered;
+    }
+
+    private static String result(Future<String> future, String reportType) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Report failed: " + reportType, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package edu.trincoll.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Changes to the set of overdue books since a previous report.
+ * @param newlyOverdue Books that became overdue since the previous report.
+ * @param newlyReturned Books that were overdue at the previous report and have been returned since.
+ * @param nextToken The token to pass to the next incremental report.
+ * @param fullResync True if the previous token was too old, so newlyOverdue lists every overdue book.
+ */
+public record IncrementalOverdueReport(List<Item> newlyOverdue,
+                                       List<Item> newlyReturned,
+                                       String nextToken,
+                                       boolean fullResync) {
+
+    /**
+     * An overdue loan.
+     * @param isbn The ISBN of the book.
+     * @param title The title of the book.
+     * @param author The author of the book.
+     * @param dueDate The date the book was due.
+     * @param checkedOutBy The email of the member who has the book.
+     */
+    public record Item(String isbn, String title, String author, LocalDate dueDate, String checkedOutBy) {
+    }
+
+    public String toReportString() {
+        StringBuilder report = new StringBuilder("OVERDUE CHANGES REPORT\n");
+        report.append("======================\n");
+        if (fullResync) {
+            report.append("(full report)\n");
+        }
+        report.append("Newly overdue:\n");
+        for (Item item : newlyOverdue) {
+            report.append(String.format("%s by %s - Due: %s - Checked out by: %s\n",
+                    item.title(), item.author(), item.dueDate(), item.checkedOutBy()));
+        }
+        report.append("Returned:\n");
+        for (Item item : newlyReturned) {
+            report.append(String.format("%s by %s - Due: %s - Returned by: %s\n",
+                    item.title(), item.author(), item.dueDate(), item.checkedOutBy()));
+        }
+        report.append("Next token: ").append(nextToken).append('\n');
+        return report.toString();
+    }
+}
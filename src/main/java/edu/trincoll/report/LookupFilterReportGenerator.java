@@ -0,0 +1,33 @@
+package edu.trincoll.report;
+
+import edu.trincoll.index.KeyFilter;
+import edu.trincoll.index.LookupFilters;
+
+/**
+ * Report generator for the ISBN and member email lookup filters.
+ * Shows each filter's size, configured and estimated false-positive rates, and how many
+ * lookups it answered without a database round trip.
+ */
+public class LookupFilterReportGenerator implements ReportGenerator {
+
+    private final LookupFilters lookupFilters;
+
+    public LookupFilterReportGenerator(LookupFilters lookupFilters) {
+        this.lookupFilters = lookupFilters;
+    }
+
+    @Override
+    public String generateReport() {
+        StringBuilder report = new StringBuilder("LOOKUP FILTER REPORT\n");
+        report.append("====================\n");
+        for (KeyFilter filter : new KeyFilter[] {lookupFilters.isbns(), lookupFilters.emails()}) {
+            KeyFilter.Stats stats = filter.stats();
+            report.append(String.format("%s - Keys: %d (%d bytes) - FP rate configured: %.4f, estimated: %.4f, observed: %.4f\n",
+                    stats.name(), stats.keys(), stats.sizeInBytes(), stats.configuredFalsePositiveRate(),
+                    stats.estimatedFalsePositiveRate(), stats.observedFalsePositiveRate()));
+            report.append(String.format("  Lookups: %d - Rejected in memory: %d - False positives: %d\n",
+                    stats.lookups(), stats.rejected(), stats.falsePositives()));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package edu.trincoll.report;
+
+import edu.trincoll.analytics.BorrowingTrends;
+import edu.trincoll.analytics.DecayingTopK;
+
+import java.util.List;
+
+/**
+ * Report generator for the most borrowed titles and most active authors.
+ * Counts are approximate, decayed over time, and shown with their error bound.
+ */
+public class MostBorrowedReportGenerator implements ReportGenerator {
+
+    static final int TOP = 10;
+
+    private final BorrowingTrends borrowingTrends;
+
+    public MostBorrowedReportGenerator(BorrowingTrends borrowingTrends) {
+        this.borrowingTrends = borrowingTrends;
+    }
+
+    @Override
+    public String generateReport() {
+        StringBuilder report = new StringBuilder("MOST BORROWED REPORT\n");
+        report.append("====================\n");
+        report.append("Titles:\n");
+        append(report, borrowingTrends.topTitles(TOP), true);
+        report.append("Authors:\n");
+        append(report, borrowingTrends.topAuthors(TOP), false);
+        return report.toString();
+    }
+
+    private static void append(StringBuilder report, List<DecayingTopK.Estimate> estimates, boolean withKey) {
+        int rank = 1;
+        for (DecayingTopK.Estimate estimate : estimates) {
+            String name = withKey ? estimate.label() + " (" + estimate.key() + ")" : estimate.label();
+            report.append(String.format("%d. %s - ~%.1f checkouts (+/-%.1f)\n",
+                    rank++, name, estimate.count(), estimate.errorBound()));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package edu.trincoll.report;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.service.BookStatusListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change log of checkouts and returns that answers "what changed in the overdue
+ * list since the last report" without rescanning the overdue backlog.
+ * Open loans are indexed by due date, so books that became overdue since the last
+ * report are a range lookup; returns of overdue books are kept in a bounded log
+ * of sequence-numbered events. A token records the last sequence number and date seen,
+ * so report cost is proportional to the changes rather than to the number of overdue books.
+ * Sequence numbers restart with the application, so tokens also carry the instance's start
+ * time, and a token from another instance gets a full report.
+ */
+@Component
+public class OverdueChangeTracker implements BookStatusListener {
+
+    private static final int DEFAULT_LOG_CAPACITY = 10_000;
+
+    private final BookRepository bookRepository;
+    private final int logCapacity;
+    private final String epoch;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, OpenLoan> openLoans = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<DueKey, OpenLoan> byDueDate = new ConcurrentSkipListMap<>();
+    private final Deque<ReturnEvent> returns = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger returnCount = new AtomicInteger();
+    private final AtomicLong oldestRetainedSequence = new AtomicLong(1);
+
+    @Autowired
+    public OverdueChangeTracker(BookRepository bookRepository) {
+        this(bookRepository, DEFAULT_LOG_CAPACITY);
+    }
+
+    OverdueChangeTracker(BookRepository bookRepository, int logCapacity) {
+        this(bookRepository, logCapacity, Long.toString(System.currentTimeMillis(), 36));
+    }
+
+    OverdueChangeTracker(BookRepository bookRepository, int logCapacity, String epoch) {
+        this.bookRepository = bookRepository;
+        this.logCapacity = logCapacity;
+        this.epoch = epoch;
+    }
+
+    /**
+     * Loads the books that are checked out when the application starts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        for (Book book : bookRepository.findByStatus(BookStatus.CHECKED_OUT)) {
+            if (book.getDueDate() != null) {
+                open(book);
+            }
+        }
+    }
+
+    @Override
+    public void onStatusChange(Book book, BookStatus previousStatus) {
+        if (book.getStatus() == BookStatus.CHECKED_OUT) {
+            open(book);
+        } else if (previousStatus == BookStatus.CHECKED_OUT) {
+            close(book.getIsbn(), LocalDate.now());
+        }
+    }
+
+    /**
+     * Returns the overdue changes since a previous report.
+     * @param sinceToken The token from the previous report, or null for a full report.
+     * @return The changes and the token for the next report.
+     */
+    public IncrementalOverdueReport changesSince(String sinceToken) {
+        return changesSince(sinceToken, LocalDate.now());
+    }
+
+    IncrementalOverdueReport changesSince(String sinceToken, LocalDate today) {
+        long currentSequence;
+        synchronized (returns) {
+            currentSequence = sequence.get();
+        }
+        String nextToken = epoch + ":" + currentSequence + ":" + today.toEpochDay();
+        Token since = Token.parse(sinceToken);
+        // A token from another instance, or numbered past this one, says nothing about this change log
+        if (since == null || !since.epoch().equals(epoch) || since.sequence() > currentSequence
+                || since.sequence() + 1 < oldestRetainedSequence.get()) {
+            return new IncrementalOverdueReport(
+                    items(byDueDate.headMap(DueKey.lowest(today))), List.of(), nextToken, true);
+        }
+
+        List<IncrementalOverdueReport.Item> newlyOverdue =
+                items(byDueDate.subMap(DueKey.lowest(since.asOf()), DueKey.lowest(today)));
+        List<IncrementalOverdueReport.Item> newlyReturned = new ArrayList<>();
+        // Walk back from the newest return until reaching events the caller has already seen
+        var iterator = returns.descendingIterator();
+        while (iterator.hasNext()) {
+            ReturnEvent event = iterator.next();
+            if (event.sequence() <= since.sequence()) {
+                break;
+            }
+            if (event.sequence() <= currentSequence && event.loan().dueDate().isBefore(since.asOf())) {
+                newlyReturned.add(event.loan().toItem());
+            }
+        }
+        return new IncrementalOverdueReport(newlyOverdue, newlyReturned.reversed(), nextToken, false);
+    }
+
+    private void open(Book book) {
+        OpenLoan loan = new OpenLoan(book.getIsbn(), book.getTitle(), book.getAuthor(),
+                book.getDueDate(), book.getCheckedOutBy());
+        OpenLoan previous = openLoans.put(book.getIsbn(), loan);
+        if (previous != null) {
+            byDueDate.remove(previous.key());
+        }
+        byDueDate.put(loan.key(), loan);
+    }
+
+    private void close(String isbn, LocalDate returnedOn) {
+        OpenLoan loan = openLoans.remove(isbn);
+        if (loan == null) {
+            return;
+        }
+        byDueDate.remove(loan.key());
+        // Only overdue returns can ever appear in a report
+        if (loan.dueDate().isBefore(returnedOn)) {
+            // Numbering and appending together means a report never sees a number before its event
+            synchronized (returns) {
+                returns.addLast(new ReturnEvent(sequence.incrementAndGet(), loan));
+            }
+            if (returnCount.incrementAndGet() > logCapacity) {
+                ReturnEvent dropped = returns.pollFirst();
+                if (dropped != null) {
+                    returnCount.decrementAndGet();
+                    oldestRetainedSequence.accumulateAndGet(dropped.sequence() + 1, Math::max);
+                }
+            }
+        }
+    }
+
+    private static List<IncrementalOverdueReport.Item> items(ConcurrentNavigableMap<DueKey, OpenLoan> loans) {
+        return loans.values().stream().map(OpenLoan::toItem).toList();
+    }
+
+    private record OpenLoan(String isbn, String title, String author, LocalDate dueDate, String checkedOutBy) {
+        DueKey key() {
+            return new DueKey(dueDate, isbn);
+        }
+
+        IncrementalOverdueReport.Item toItem() {
+            return new IncrementalOverdueReport.Item(isbn, title, author, dueDate, checkedOutBy);
+        }
+    }
+
+    private record ReturnEvent(long sequence, OpenLoan loan) {
+    }
+
+    private record DueKey(LocalDate dueDate, String isbn) implements Comparable<DueKey> {
+        static DueKey lowest(LocalDate dueDate) {
+            return new DueKey(dueDate, "");
+        }
+
+        @Override
+        public int compareTo(DueKey other) {
+            int byDate = dueDate.compareTo(other.dueDate);
+            return byDate != 0 ? byDate : isbn.compareTo(other.isbn);
+        }
+    }
+
+    private record Token(String epoch, long sequence, LocalDate asOf) {
+        static Token parse(String token) {
+            if (token == null || token.isBlank()) {
+                return null;
+            }
+            String[] parts = token.split(":");
+            if (parts.length != 3 || parts[0].isEmpty()) {
+                throw new IllegalArgumentException("Invalid report token: " + token);
+            }
+            try {
+                return new Token(parts[0], Long.parseLong(parts[1]), LocalDate.ofEpochDay(Long.parseLong(parts[2])));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid report token: " + token, e);
+            }
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package edu.trincoll.report;
 
+import edu.trincoll.admission.AdaptiveConcurrencyLimiter;
+import edu.trincoll.analytics.BorrowingTrends;
+import edu.trincoll.analytics.CirculationAnalytics;
+import edu.trincoll.index.LookupFilters;
+import edu.trincoll.instrumentation.SqlStatementRecorder;
 import edu.trincoll.repository.BookRepository;
 import edu.trincoll.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 /**
  * Factory for creating report generator instances.
  * Provides the appropriate report generator based on report type.
@@ -12,10 +22,36 @@ public class ReportGeneratorFactory {
 
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
+    private final OverdueChangeTracker overdueChangeTracker;
+    private final CirculationAnalytics circulationAnalytics;
+    private final BorrowingTrends borrowingTrends;
+    private final SqlStatementRecorder sqlStatementRecorder;
+    private final LookupFilters lookupFilters;
+    private final AdaptiveConcurrencyLimiter admissionLimiter;
 
     public ReportGeneratorFactory(BookRepository bookRepository, MemberRepository memberRepository) {
+        this(bookRepository, memberRepository, new OverdueChangeTracker(bookRepository),
+                new CirculationAnalytics(), new BorrowingTrends(), new SqlStatementRecorder(),
+                LookupFilters.passThrough(), AdaptiveConcurrencyLimiter.withDefaults());
+    }
+
+    @Autowired
+    public ReportGeneratorFactory(BookRepository bookRepository,
+                                  MemberRepository memberRepository,
+                                  OverdueChangeTracker overdueChangeTracker,
+                                  CirculationAnalytics circulationAnalytics,
+                                  BorrowingTrends borrowingTrends,
+                                  SqlStatementRecorder sqlStatementRecorder,
+                                  LookupFilters lookupFilters,
+                                  AdaptiveConcurrencyLimiter admissionLimiter) {
         this.bookRepository = bookRepository;
         this.memberRepository = memberRepository;
+        this.overdueChangeTracker = overdueChangeTracker;
+        this.circulationAnalytics = circulationAnalytics;
+        this.borrowingTrends = borrowingTrends;
+        this.sqlStatementRecorder = sqlStatementRecorder;
+        this.lookupFilters = lookupFilters;
+        this.admissionLimiter = admissionLimiter;
     }
 
     public ReportGenerator getReportGenerator(String reportType) {
@@ -23,7 +59,24 @@ public class ReportGeneratorFactory {
             case "overdue" -> new OverdueReportGenerator(bookRepository);
             case "available" -> new AvailabilityReportGenerator(bookRepository);
             case "members" -> new MemberReportGenerator(memberRepository);
+            case "circulation" -> new CirculationReportGenerator(circulationAnalytics);
+            case "most-borrowed" -> new MostBorrowedReportGenerator(borrowingTrends);
+            case "sql" -> new SqlStatementReportGenerator(sqlStatementRecorder);
+            case "lookup-filters" -> new LookupFilterReportGenerator(lookupFilters);
+            case "admission" -> new AdmissionReportGenerator(admissionLimiter);
             default -> throw new IllegalArgumentException("Invalid report type: " + reportType);
         };
     }
-}
\ No newline at end of file
+
+    public IncrementalOverdueReport getIncrementalOverdueReport(String sinceToken) {
+        return overdueChangeTracker.changesSince(sinceToken);
+    }
+
+    public DashboardGenerator getDashboardGenerator(Collection<String> reportTypes) {
+        Map<String, ReportGenerator> generators = new LinkedHashMap<>();
+        for (String reportType : reportTypes) {
+            generators.put(reportType, getReportGenerator(reportType));
+        }
+        return new DashboardGenerator(generators);
+    }
+}
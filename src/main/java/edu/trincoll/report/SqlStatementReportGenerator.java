@@ -0,0 +1,29 @@
+package edu.trincoll.report;
+
+import edu.trincoll.instrumentation.SqlStatementRecorder;
+import edu.trincoll.instrumentation.SqlStatementRecorder.OperationSqlStats;
+
+/**
+ * Report generator for the SQL statements each facade operation executes.
+ * Shows call counts, average and worst-case statements per call, and average SQL time.
+ */
+public class SqlStatementReportGenerator implements ReportGenerator {
+
+    private final SqlStatementRecorder sqlStatementRecorder;
+
+    public SqlStatementReportGenerator(SqlStatementRecorder sqlStatementRecorder) {
+        this.sqlStatementRecorder = sqlStatementRecorder;
+    }
+
+    @Override
+    public String generateReport() {
+        StringBuilder report = new StringBuilder("SQL STATEMENT REPORT\n");
+        report.append("====================\n");
+        for (OperationSqlStats stats : sqlStatementRecorder.snapshot().values()) {
+            report.append(String.format("%s - Calls: %d - Statements/call: %.1f (max %d) - SQL time/call: %.3f ms\n",
+                    stats.operation(), stats.invocations(), stats.averageStatements(),
+                    stats.maxStatements(), stats.averageSqlTime().toNanos() / 1_000_000.0));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.BookCopy;
+import edu.trincoll.model.BookStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookCopyRepository extends JpaRepository<BookCopy, Long> {
+
+    @Query("select c from BookCopy c join fetch c.book where c.barcode = :barcode")
+    Optional<BookCopy> findByBarcode(@Param("barcode") String barcode);
+
+    long countByBookId(Long bookId);
+
+    long countByBookIdAndStatus(Long bookId, BookStatus status);
+
+    @Query("select c.id from BookCopy c where c.book.id = :bookId and c.status = :status")
+    List<Long> findIdsByBookIdAndStatus(@Param("bookId") Long bookId,
+                                        @Param("status") BookStatus status,
+                                        Pageable pageable);
+
+    /**
+     * Atomically claims an available copy. Only one concurrent caller can
+     * succeed for a given copy because the update is conditional on its status.
+     * @return 1 if the copy was claimed, 0 if another checkout got there first.
+     */
+    @Modifying
+    @Transactional
+    @Query("update BookCopy c set c.status = edu.trincoll.model.BookStatus.CHECKED_OUT, " +
+            "c.checkedOutBy = :memberEmail, c.dueDate = :dueDate " +
+            "where c.id = :id and c.status = edu.trincoll.model.BookStatus.AVAILABLE")
+    int claim(@Param("id") Long id,
+              @Param("memberEmail") String memberEmail,
+              @Param("dueDate") LocalDate dueDate);
+
+    /**
+     * Atomically releases a checked-out copy back to the shelf.
+     * @return 1 if the copy was released, 0 if it was not checked out.
+     */
+    @Modifying
+    @Transactional
+    @Query("update BookCopy c set c.status = edu.trincoll.model.BookStatus.AVAILABLE, " +
+            "c.checkedOutBy = null, c.dueDate = null " +
+            "where c.id = :id and c.status = edu.trincoll.model.BookStatus.CHECKED_OUT")
+    int release(@Param("id") Long id);
+}
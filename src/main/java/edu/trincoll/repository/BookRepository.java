@@ -2,24 +2,51 @@ package edu.trincoll.repository;
 
 import edu.trincoll.model.Book;
 import edu.trincoll.model.BookStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookSearchRepository {
 
     Optional<Book> findByIsbn(String isbn);
 
+    Optional<Book> findByNormalizedIsbn(String normalizedIsbn);
+
     List<Book> findByStatus(BookStatus status);
 
     List<Book> findByAuthor(String author);
 
+    List<Book> findByAuthorIn(Collection<String> authors);
+
+    @Query("select b.author, count(b) from Book b group by b.author")
+    List<Object[]> countBooksByAuthor();
+
     List<Book> findByTitleContainingIgnoreCase(String title);
 
+    @Query("select b.id from Book b where lower(b.title) like lower(concat('%', :title, '%'))")
+    List<Long> findIdsByTitleContainingIgnoreCase(@Param("title") String title);
+
+    @Query("select b.id from Book b where b.author = :author")
+    List<Long> findIdsByAuthor(@Param("author") String author);
+
+    @Query("select b.isbn from Book b")
+    List<String> findAllIsbns();
+
+    @Query("select b.id, b.status from Book b")
+    List<Object[]> findIdsAndStatuses();
+
+    @Query("select b.id, b.isbn, b.title, b.author, b.publicationDate, b.status from Book b"
+            + " where b.id > :afterId order by b.id")
+    List<Object[]> findCatalogRowsAfter(@Param("afterId") long afterId, Pageable pageable);
+
     List<Book> findByDueDateBefore(LocalDate date);
 
     List<Book> findByCheckedOutBy(String memberEmail);
@@ -0,0 +1,40 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.BookStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Criteria for a compound book search. Every criterion is optional; a null
+ * value means the search does not filter on it.
+ * @param title Case-insensitive fragment the title must contain.
+ * @param author Exact author name.
+ * @param status Required book status.
+ * @param publishedFrom Earliest publication date, inclusive.
+ * @param publishedTo Latest publication date, inclusive.
+ * @param sortOrder Order of the results; null keeps the database order.
+ */
+public record BookSearchCriteria(String title,
+                                 String author,
+                                 BookStatus status,
+                                 LocalDate publishedFrom,
+                                 LocalDate publishedTo,
+                                 SortOrder sortOrder) {
+
+    public enum SortOrder {
+        TITLE("b.title asc"),
+        AUTHOR("b.author asc, b.title asc"),
+        PUBLICATION_DATE("b.publicationDate asc"),
+        PUBLICATION_DATE_DESC("b.publicationDate desc");
+
+        private final String orderBy;
+
+        SortOrder(String orderBy) {
+            this.orderBy = orderBy;
+        }
+
+        String orderBy() {
+            return orderBy;
+        }
+    }
+}
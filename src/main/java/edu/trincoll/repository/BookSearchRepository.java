@@ -0,0 +1,13 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Book;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for compound book searches.
+ */
+public interface BookSearchRepository {
+
+    List<Book> search(BookSearchCriteria criteria);
+}
@@ -0,0 +1,105 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compound book search backed by a cache of query shapes.
+ * A shape is the set of criteria that are present plus the sort order, so there
+ * are only a few hundred possible queries. Each shape's JPQL is built once; because
+ * the text is identical for every search with that shape, Hibernate's query plan
+ * cache also reuses its parsed and translated form.
+ */
+public class BookSearchRepositoryImpl implements BookSearchRepository {
+
+    private static final int TITLE = 1;
+    private static final int AUTHOR = 1 << 1;
+    private static final int STATUS = 1 << 2;
+    private static final int PUBLISHED_FROM = 1 << 3;
+    private static final int PUBLISHED_TO = 1 << 4;
+    private static final int SORT_SHIFT = 5;
+
+    private final EntityManager entityManager;
+    private final ConcurrentMap<Integer, String> queryShapes = new ConcurrentHashMap<>();
+
+    public BookSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Book> search(BookSearchCriteria criteria) {
+        String jpql = queryShapes.computeIfAbsent(shapeOf(criteria), BookSearchRepositoryImpl::buildQuery);
+        TypedQuery<Book> query = entityManager.createQuery(jpql, Book.class);
+        if (criteria.title() != null) {
+            query.setParameter("title", "%" + criteria.title().toLowerCase(Locale.ROOT) + "%");
+        }
+        if (criteria.author() != null) {
+            query.setParameter("author", criteria.author());
+        }
+        if (criteria.status() != null) {
+            query.setParameter("status", criteria.status());
+        }
+        if (criteria.publishedFrom() != null) {
+            query.setParameter("publishedFrom", criteria.publishedFrom());
+        }
+        if (criteria.publishedTo() != null) {
+            query.setParameter("publishedTo", criteria.publishedTo());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Returns the number of distinct query shapes built so far.
+     * @return The size of the query shape cache.
+     */
+    int cachedShapes() {
+        return queryShapes.size();
+    }
+
+    static int shapeOf(BookSearchCriteria criteria) {
+        int shape = 0;
+        if (criteria.title() != null) shape |= TITLE;
+        if (criteria.author() != null) shape |= AUTHOR;
+        if (criteria.status() != null) shape |= STATUS;
+        if (criteria.publishedFrom() != null) shape |= PUBLISHED_FROM;
+        if (criteria.publishedTo() != null) shape |= PUBLISHED_TO;
+        if (criteria.sortOrder() != null) shape |= (criteria.sortOrder().ordinal() + 1) << SORT_SHIFT;
+        return shape;
+    }
+
+    static String buildQuery(int shape) {
+        StringBuilder jpql = new StringBuilder("select b from Book b");
+        String separator = " where ";
+        // Equality predicates first, so they line up with the status and author indexes
+        if ((shape & STATUS) != 0) {
+            jpql.append(separator).append("b.status = :status");
+            separator = " and ";
+        }
+        if ((shape & AUTHOR) != 0) {
+            jpql.append(separator).append("b.author = :author");
+            separator = " and ";
+        }
+        if ((shape & PUBLISHED_FROM) != 0) {
+            jpql.append(separator).append("b.publicationDate >= :publishedFrom");
+            separator = " and ";
+        }
+        if ((shape & PUBLISHED_TO) != 0) {
+            jpql.append(separator).append("b.publicationDate <= :publishedTo");
+            separator = " and ";
+        }
+        if ((shape & TITLE) != 0) {
+            jpql.append(separator).append("lower(b.title) like :title");
+        }
+        int sort = shape >>> SORT_SHIFT;
+        if (sort != 0) {
+            jpql.append(" order by ").append(BookSearchCriteria.SortOrder.values()[sort - 1].orderBy());
+        }
+        return jpql.toString();
+    }
+}
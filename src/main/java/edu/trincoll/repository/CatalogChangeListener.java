@@ -0,0 +1,47 @@
+package edu.trincoll.repository;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Notified after a book or member row is inserted, updated or deleted, whichever
+ * repository implementation made the change. In-process caches built from the catalog
+ * implement this to stay current between rebuilds; each method receives the entity and
+ * should ignore types it does not cache.
+ */
+public interface CatalogChangeListener {
+
+    default void onInsert(Object entity) {
+    }
+
+    default void onUpdate(Object entity) {
+    }
+
+    default void onDelete(Object entity) {
+    }
+
+    /**
+     * Creates a listener that forwards each change to every listener bean, in order.
+     * The beans are looked up on each change rather than once, because repositories and
+     * Hibernate create their listeners before the caches that depend on them exist.
+     * @param listeners The listener beans.
+     * @return A listener that notifies all of them.
+     */
+    static CatalogChangeListener forEachOf(ObjectProvider<? extends CatalogChangeListener> listeners) {
+        return new CatalogChangeListener() {
+            @Override
+            public void onInsert(Object entity) {
+                listeners.orderedStream().forEach(listener -> listener.onInsert(entity));
+            }
+
+            @Override
+            public void onUpdate(Object entity) {
+                listeners.orderedStream().forEach(listener -> listener.onUpdate(entity));
+            }
+
+            @Override
+            public void onDelete(Object entity) {
+                listeners.orderedStream().forEach(listener -> listener.onDelete(entity));
+            }
+        };
+    }
+}
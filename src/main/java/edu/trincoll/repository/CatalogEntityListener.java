@@ -0,0 +1,39 @@
+package edu.trincoll.repository;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that reports every inserted, updated or deleted book or member to
+ * the {@link CatalogChangeListener} beans. It is attached to both entities in
+ * META-INF/orm.xml, so the model does not import this package. The in-memory
+ * repositories report the same changes directly, so the caches see them under either
+ * profile.
+ */
+@Component
+public class CatalogEntityListener {
+
+    private final CatalogChangeListener listeners;
+
+    public CatalogEntityListener(ObjectProvider<CatalogChangeListener> listeners) {
+        this.listeners = CatalogChangeListener.forEachOf(listeners);
+    }
+
+    @PostPersist
+    public void postPersist(Object entity) {
+        listeners.onInsert(entity);
+    }
+
+    @PostUpdate
+    public void postUpdate(Object entity) {
+        listeners.onUpdate(entity);
+    }
+
+    @PostRemove
+    public void postRemove(Object entity) {
+        listeners.onDelete(entity);
+    }
+}
@@ -0,0 +1,28 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Loan;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LoanRepository extends JpaRepository<Loan, Long> {
+
+    Optional<Loan> findFirstByIsbnAndMemberEmailAndReturnedOnIsNull(String isbn, String memberEmail);
+
+    List<Loan> findByMemberEmailAndReturnedOnIsNull(String memberEmail);
+
+    List<Loan> findByMemberEmail(String memberEmail);
+
+    List<Loan> findByIsbn(String isbn);
+
+    List<Loan> findByReturnedOnBeforeOrderById(LocalDate date, Pageable pageable);
+
+    @Query("select l.checkedOutOn, l.memberEmail, l.isbn from Loan l")
+    List<Object[]> findBorrowings();
+}
@@ -3,6 +3,7 @@ package edu.trincoll.repository;
 import edu.trincoll.model.Member;
 import edu.trincoll.model.MembershipType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +14,9 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
 
     Optional<Member> findByEmail(String email);
 
+    @Query("select m.email from Member m")
+    List<String> findAllEmails();
+
     List<Member> findByMembershipType(MembershipType membershipType);
 
     List<Member> findByBooksCheckedOutGreaterThan(int count);
@@ -0,0 +1,20 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.catalog.IsbnCodec;
+import edu.trincoll.model.Book;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * JPA entity listener that writes a book's normalized ISBN from its ISBN on every insert
+ * and update, so the unique normalized_isbn column can be queried directly. It is attached
+ * to Book in META-INF/orm.xml; the in-memory repository fills the column the same way.
+ */
+public class NormalizedIsbnListener {
+
+    @PrePersist
+    @PreUpdate
+    public void normalize(Book book) {
+        book.setNormalizedIsbn(IsbnCodec.normalize(book.getIsbn()));
+    }
+}
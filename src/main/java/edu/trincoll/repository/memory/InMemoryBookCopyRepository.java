@@ -0,0 +1,133 @@
+package edu.trincoll.repository.memory;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookCopy;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookCopyRepository;
+import edu.trincoll.repository.CatalogChangeListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link BookCopyRepository} for the {@code in-memory} profile.
+ * It has to move together with the book repository, since each copy refers to its book.
+ * A copy stores only its book's id and is given the book's current state whenever it is
+ * read, as the JPA repository's fetch join does. Claims and releases are conditional
+ * updates under the copy's row lock, so only one concurrent claim of a copy succeeds.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryBookCopyRepository extends InMemoryRepository<BookCopy> implements BookCopyRepository {
+
+    private final InMemoryBookRepository books;
+    private final UniqueIndex<String> byBarcode = new UniqueIndex<>("barcode");
+    private final SecondaryIndex<Long> byBook = SecondaryIndex.hashed();
+    private final SecondaryIndex<BookKey> byBookAndStatus = SecondaryIndex.hashed();
+
+    public InMemoryBookCopyRepository(InMemoryBookRepository books) {
+        super(new CatalogChangeListener() { });
+        this.books = books;
+    }
+
+    @Override
+    protected Long idOf(BookCopy copy) {
+        return copy.getId();
+    }
+
+    @Override
+    protected void assignId(BookCopy copy, Long id) {
+        copy.setId(id);
+    }
+
+    @Override
+    protected BookCopy copy(BookCopy copy) {
+        Long bookId = bookId(copy);
+        Book book = bookId == null ? null : books.findById(bookId).orElseGet(() -> {
+            Book reference = new Book();
+            reference.setId(bookId);
+            return reference;
+        });
+        BookCopy result = new BookCopy(book, copy.getBarcode());
+        result.setId(copy.getId());
+        result.setStatus(copy.getStatus());
+        result.setCheckedOutBy(copy.getCheckedOutBy());
+        result.setDueDate(copy.getDueDate());
+        return result;
+    }
+
+    @Override
+    protected void reindex(Long id, BookCopy previous, BookCopy current) {
+        byBarcode.claim(id, valueOf(current, BookCopy::getBarcode));
+        byBarcode.release(id, valueOf(previous, BookCopy::getBarcode), valueOf(current, BookCopy::getBarcode));
+        byBook.update(id, bookId(previous), bookId(current));
+        byBookAndStatus.update(id, key(previous), key(current));
+    }
+
+    @Override
+    public Optional<BookCopy> findByBarcode(String barcode) {
+        Long id = byBarcode.get(barcode);
+        return id == null ? Optional.empty() : findById(id).filter(copy -> barcode.equals(copy.getBarcode()));
+    }
+
+    @Override
+    public long countByBookId(Long bookId) {
+        return byBook.count(bookId);
+    }
+
+    @Override
+    public long countByBookIdAndStatus(Long bookId, BookStatus status) {
+        return byBookAndStatus.count(new BookKey(bookId, status));
+    }
+
+    @Override
+    public List<Long> findIdsByBookIdAndStatus(Long bookId, BookStatus status, Pageable pageable) {
+        Stream<Long> ids = byBookAndStatus.get(new BookKey(bookId, status)).sorted();
+        if (pageable.isPaged()) {
+            ids = ids.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return ids.toList();
+    }
+
+    @Override
+    public int claim(Long id, String memberEmail, LocalDate dueDate) {
+        return changeStatus(id, BookStatus.AVAILABLE, BookStatus.CHECKED_OUT, memberEmail, dueDate);
+    }
+
+    @Override
+    public int release(Long id) {
+        return changeStatus(id, BookStatus.CHECKED_OUT, BookStatus.AVAILABLE, null, null);
+    }
+
+    private int changeStatus(Long id, BookStatus from, BookStatus to, String checkedOutBy, LocalDate dueDate) {
+        int[] updated = new int[1];
+        update(id, copy -> {
+            if (copy.getStatus() != from) {
+                return copy;
+            }
+            copy.setStatus(to);
+            copy.setCheckedOutBy(checkedOutBy);
+            copy.setDueDate(dueDate);
+            updated[0] = 1;
+            return copy;
+        });
+        return updated[0];
+    }
+
+    private static Long bookId(BookCopy copy) {
+        return copy == null || copy.getBook() == null ? null : copy.getBook().getId();
+    }
+
+    private static BookKey key(BookCopy copy) {
+        Long bookId = bookId(copy);
+        return bookId == null ? null : new BookKey(bookId, copy.getStatus());
+    }
+
+    private record BookKey(Long bookId, BookStatus status) {
+    }
+}
@@ -0,0 +1,240 @@
+package edu.trincoll.repository.memory;
+
+import edu.trincoll.catalog.IsbnCodec;
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.BookSearchCriteria;
+import edu.trincoll.repository.CatalogChangeListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link BookRepository} for the {@code in-memory} profile.
+ * ISBNs, as written and normalized, are held in unique indexes; status, author and borrower in hash indexes; and due
+ * dates in a sorted index, so overdue lookups read only the books due before the date.
+ * Title searches scan the rows without copying them.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryBookRepository extends InMemoryRepository<Book> implements BookRepository {
+
+    private static final Comparator<Book> BY_TITLE = Comparator.comparing(Book::getTitle);
+
+    private final UniqueIndex<String> byIsbn = new UniqueIndex<>("ISBN");
+    private final UniqueIndex<String> byNormalizedIsbn = new UniqueIndex<>("normalized ISBN");
+    private final SecondaryIndex<BookStatus> byStatus = SecondaryIndex.hashed();
+    private final SecondaryIndex<String> byAuthor = SecondaryIndex.hashed();
+    private final SecondaryIndex<String> byBorrower = SecondaryIndex.hashed();
+    private final SecondaryIndex<LocalDate> byDueDate = SecondaryIndex.sorted();
+
+    @Autowired
+    public InMemoryBookRepository(ObjectProvider<CatalogChangeListener> listeners) {
+        this(CatalogChangeListener.forEachOf(listeners));
+    }
+
+    public InMemoryBookRepository(CatalogChangeListener listener) {
+        super(listener);
+    }
+
+    @Override
+    protected Long idOf(Book book) {
+        return book.getId();
+    }
+
+    @Override
+    protected void assignId(Book book, Long id) {
+        book.setId(id);
+    }
+
+    @Override
+    protected Book copy(Book book) {
+        Book copy = new Book(book.getIsbn(), book.getTitle(), book.getAuthor(), book.getPublicationDate());
+        copy.setId(book.getId());
+        copy.setNormalizedIsbn(IsbnCodec.normalize(book.getIsbn()));
+        copy.setStatus(book.getStatus());
+        copy.setCheckedOutBy(book.getCheckedOutBy());
+        copy.setDueDate(book.getDueDate());
+        copy.setReservedFor(book.getReservedFor());
+        copy.setVersion(book.getVersion());
+        return copy;
+    }
+
+    @Override
+    protected Long versionOf(Book book) {
+        return book.getVersion();
+    }
+
+    @Override
+    protected void assignVersion(Book book, long version) {
+        book.setVersion(version);
+    }
+
+    @Override
+    protected void reindex(Long id, Book previous, Book current) {
+        // Equal ISBNs normalize equally, so once the normalized claim succeeds the other cannot fail
+        byNormalizedIsbn.claim(id, valueOf(current, Book::getNormalizedIsbn));
+        byIsbn.claim(id, valueOf(current, Book::getIsbn));
+        byNormalizedIsbn.release(id, valueOf(previous, Book::getNormalizedIsbn),
+                valueOf(current, Book::getNormalizedIsbn));
+        byIsbn.release(id, valueOf(previous, Book::getIsbn), valueOf(current, Book::getIsbn));
+        byStatus.update(id, valueOf(previous, Book::getStatus), valueOf(current, Book::getStatus));
+        byAuthor.update(id, valueOf(previous, Book::getAuthor), valueOf(current, Book::getAuthor));
+        byBorrower.update(id, valueOf(previous, Book::getCheckedOutBy), valueOf(current, Book::getCheckedOutBy));
+        byDueDate.update(id, valueOf(previous, Book::getDueDate), valueOf(current, Book::getDueDate));
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        Long id = byIsbn.get(isbn);
+        return id == null ? Optional.empty() : findById(id).filter(book -> isbn.equals(book.getIsbn()));
+    }
+
+    @Override
+    public Optional<Book> findByNormalizedIsbn(String normalizedIsbn) {
+        Long id = byNormalizedIsbn.get(normalizedIsbn);
+        return id == null ? Optional.empty()
+                : findById(id).filter(book -> normalizedIsbn.equals(book.getNormalizedIsbn()));
+    }
+
+    @Override
+    public List<Book> findByStatus(BookStatus status) {
+        return select(byStatus.get(status), book -> book.getStatus() == status);
+    }
+
+    @Override
+    public List<Book> findByAuthor(String author) {
+        return select(byAuthor.get(author), book -> Objects.equals(book.getAuthor(), author));
+    }
+
+    @Override
+    public List<Book> findByAuthorIn(Collection<String> authors) {
+        return select(authors.stream().distinct().flatMap(byAuthor::get), book -> authors.contains(book.getAuthor()));
+    }
+
+    @Override
+    public List<Object[]> countBooksByAuthor() {
+        return byAuthor.entries().stream()
+                .map(entry -> new Object[] {entry.getKey(), (long) entry.getValue().size()})
+                .toList();
+    }
+
+    @Override
+    public List<Book> findByTitleContainingIgnoreCase(String title) {
+        return select(findIdsByTitleContainingIgnoreCase(title).stream(), titleContains(title));
+    }
+
+    @Override
+    public List<Long> findIdsByTitleContainingIgnoreCase(String title) {
+        return scan().filter(titleContains(title)).map(Book::getId).sorted().toList();
+    }
+
+    @Override
+    public List<Long> findIdsByAuthor(String author) {
+        return byAuthor.get(author).sorted().toList();
+    }
+
+    @Override
+    public List<String> findAllIsbns() {
+        return scan().map(Book::getIsbn).toList();
+    }
+
+    @Override
+    public List<Object[]> findIdsAndStatuses() {
+        return scan().map(book -> new Object[] {book.getId(), book.getStatus()}).toList();
+    }
+
+    @Override
+    public List<Object[]> findCatalogRowsAfter(long afterId, Pageable pageable) {
+        Stream<Book> rows = scan().filter(book -> book.getId() > afterId).sorted(Comparator.comparing(Book::getId));
+        if (pageable.isPaged()) {
+            rows = rows.limit(pageable.getPageSize());
+        }
+        return rows.map(book -> new Object[] {book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor(),
+                book.getPublicationDate(), book.getStatus()}).toList();
+    }
+
+    @Override
+    public List<Book> findByDueDateBefore(LocalDate date) {
+        return select(byDueDate.below(date), book -> book.getDueDate() != null && book.getDueDate().isBefore(date));
+    }
+
+    @Override
+    public List<Book> findByCheckedOutBy(String memberEmail) {
+        return select(byBorrower.get(memberEmail), book -> Objects.equals(book.getCheckedOutBy(), memberEmail));
+    }
+
+    @Override
+    public long countByStatus(BookStatus status) {
+        return byStatus.count(status);
+    }
+
+    @Override
+    public List<Book> search(BookSearchCriteria criteria) {
+        // Start from the narrowest equality index, as the JPQL shape leads with these predicates
+        Stream<Long> candidates;
+        if (criteria.author() != null) {
+            candidates = byAuthor.get(criteria.author());
+        } else if (criteria.status() != null) {
+            candidates = byStatus.get(criteria.status());
+        } else {
+            candidates = scan().map(Book::getId);
+        }
+        List<Book> books = select(candidates, matches(criteria));
+        if (criteria.sortOrder() != null) {
+            books.sort(comparator(criteria.sortOrder()));
+        }
+        return books;
+    }
+
+    private static Predicate<Book> matches(BookSearchCriteria criteria) {
+        Predicate<Book> matches = book -> true;
+        if (criteria.title() != null) {
+            matches = matches.and(titleContains(criteria.title()));
+        }
+        if (criteria.author() != null) {
+            matches = matches.and(book -> criteria.author().equals(book.getAuthor()));
+        }
+        if (criteria.status() != null) {
+            matches = matches.and(book -> book.getStatus() == criteria.status());
+        }
+        if (criteria.publishedFrom() != null) {
+            matches = matches.and(book -> book.getPublicationDate() != null
+                    && !book.getPublicationDate().isBefore(criteria.publishedFrom()));
+        }
+        if (criteria.publishedTo() != null) {
+            matches = matches.and(book -> book.getPublicationDate() != null
+                    && !book.getPublicationDate().isAfter(criteria.publishedTo()));
+        }
+        return matches;
+    }
+
+    private static Comparator<Book> comparator(BookSearchCriteria.SortOrder sortOrder) {
+        Comparator<Book> byPublicationDate = Comparator.comparing(Book::getPublicationDate,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        return switch (sortOrder) {
+            case TITLE -> BY_TITLE;
+            case AUTHOR -> Comparator.comparing(Book::getAuthor).thenComparing(BY_TITLE);
+            case PUBLICATION_DATE -> byPublicationDate;
+            case PUBLICATION_DATE_DESC -> byPublicationDate.reversed();
+        };
+    }
+
+    private static Predicate<Book> titleContains(String fragment) {
+        String lower = fragment.toLowerCase(Locale.ROOT);
+        return book -> book.getTitle() != null && book.getTitle().toLowerCase(Locale.ROOT).contains(lower);
+    }
+}
@@ -0,0 +1,97 @@
+package edu.trincoll.repository.memory;
+
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.CatalogChangeListener;
+import edu.trincoll.repository.MemberRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory {@link MemberRepository} for the {@code in-memory} profile.
+ * Emails are held in a unique index, membership types in a hash index, and checked-out
+ * counts in a sorted index so that finding heavy borrowers reads only the matching members.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryMemberRepository extends InMemoryRepository<Member> implements MemberRepository {
+
+    private final UniqueIndex<String> byEmail = new UniqueIndex<>("email");
+    private final SecondaryIndex<MembershipType> byMembershipType = SecondaryIndex.hashed();
+    private final SecondaryIndex<Integer> byBooksCheckedOut = SecondaryIndex.sorted();
+
+    @Autowired
+    public InMemoryMemberRepository(ObjectProvider<CatalogChangeListener> listeners) {
+        this(CatalogChangeListener.forEachOf(listeners));
+    }
+
+    public InMemoryMemberRepository(CatalogChangeListener listener) {
+        super(listener);
+    }
+
+    @Override
+    protected Long idOf(Member member) {
+        return member.getId();
+    }
+
+    @Override
+    protected void assignId(Member member, Long id) {
+        member.setId(id);
+    }
+
+    @Override
+    protected Member copy(Member member) {
+        Member copy = new Member(member.getName(), member.getEmail(), member.getMembershipType());
+        copy.setId(member.getId());
+        copy.setMemberSince(member.getMemberSince());
+        copy.setBooksCheckedOut(member.getBooksCheckedOut());
+        copy.setVersion(member.getVersion());
+        return copy;
+    }
+
+    @Override
+    protected Long versionOf(Member member) {
+        return member.getVersion();
+    }
+
+    @Override
+    protected void assignVersion(Member member, long version) {
+        member.setVersion(version);
+    }
+
+    @Override
+    protected void reindex(Long id, Member previous, Member current) {
+        byEmail.claim(id, valueOf(current, Member::getEmail));
+        byEmail.release(id, valueOf(previous, Member::getEmail), valueOf(current, Member::getEmail));
+        byMembershipType.update(id, valueOf(previous, Member::getMembershipType),
+                valueOf(current, Member::getMembershipType));
+        byBooksCheckedOut.update(id, valueOf(previous, Member::getBooksCheckedOut),
+                valueOf(current, Member::getBooksCheckedOut));
+    }
+
+    @Override
+    public Optional<Member> findByEmail(String email) {
+        Long id = byEmail.get(email);
+        return id == null ? Optional.empty() : findById(id).filter(member -> email.equals(member.getEmail()));
+    }
+
+    @Override
+    public List<String> findAllEmails() {
+        return scan().map(Member::getEmail).toList();
+    }
+
+    @Override
+    public List<Member> findByMembershipType(MembershipType membershipType) {
+        return select(byMembershipType.get(membershipType), member -> member.getMembershipType() == membershipType);
+    }
+
+    @Override
+    public List<Member> findByBooksCheckedOutGreaterThan(int count) {
+        return select(byBooksCheckedOut.above(count), member -> member.getBooksCheckedOut() > count);
+    }
+}
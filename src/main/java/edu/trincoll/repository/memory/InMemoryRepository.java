@@ -0,0 +1,357 @@
+package edu.trincoll.repository.memory;
+
+import edu.trincoll.repository.CatalogChangeListener;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link JpaRepository} kept entirely in memory.
+ * Rows live in a concurrent hash map keyed by id. Each row is stored as a private copy
+ * and every read returns a fresh copy, so callers can change what they read without
+ * affecting other readers, and a change is seen only once it is saved, as with a
+ * detached entity. Secondary indexes are updated inside the row's compute, so writes to
+ * the same row are applied one at a time and reads never block. Results come back in id
+ * order, matching a primary-key scan. Saves and deletes are reported to a
+ * {@link CatalogChangeListener} once applied, as JPA entity callbacks are. Versioned
+ * entities are checked like JPA's optimistic locking: saving a copy whose version is not
+ * the stored one fails, and each update moves the version on. Transactions are not
+ * emulated: a save is visible at once and is not rolled back.
+ * @param <T> The entity type.
+ */
+public abstract class InMemoryRepository<T> implements JpaRepository<T, Long> {
+
+    private final ConcurrentMap<Long, T> rows = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final CatalogChangeListener listener;
+
+    /**
+     * Constructs a new InMemoryRepository.
+     * @param listener Told of each insert, update and delete, like a JPA entity listener.
+     */
+    protected InMemoryRepository(CatalogChangeListener listener) {
+        this.listener = listener;
+    }
+
+    protected abstract Long idOf(T entity);
+
+    protected abstract void assignId(T entity, Long id);
+
+    protected abstract T copy(T entity);
+
+    /**
+     * Returns the optimistic-lock version of an entity, or null if its type is not versioned.
+     */
+    protected Long versionOf(T entity) {
+        return null;
+    }
+
+    protected void assignVersion(T entity, long version) {
+    }
+
+    /**
+     * Brings the unique and secondary indexes up to date for one row.
+     * Called while the row is locked; must throw before changing anything if a unique value is taken.
+     * @param id The row's id.
+     * @param previous The row as stored before the change, or null for an insert.
+     * @param current The row as it will be stored, or null for a delete.
+     */
+    protected abstract void reindex(Long id, T previous, T current);
+
+    @Override
+    public <S extends T> S save(S entity) {
+        Long id = idOf(entity);
+        if (id == null) {
+            id = sequence.incrementAndGet();
+        } else {
+            sequence.accumulateAndGet(id, Math::max);
+        }
+        T stored = copy(entity);
+        assignId(stored, id);
+        Long version = versionOf(entity);
+        boolean[] inserted = new boolean[1];
+        rows.compute(id, (key, previous) -> {
+            if (previous != null && version != null) {
+                if (!version.equals(versionOf(previous))) {
+                    throw new ObjectOptimisticLockingFailureException(entity.getClass(), key);
+                }
+                assignVersion(stored, version + 1);
+            }
+            reindex(key, previous, stored);
+            inserted[0] = previous == null;
+            return stored;
+        });
+        assignId(entity, id);
+        if (version != null) {
+            assignVersion(entity, versionOf(stored));
+        }
+        if (inserted[0]) {
+            listener.onInsert(entity);
+        } else {
+            listener.onUpdate(entity);
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Optional<T> findById(Long id) {
+        return Optional.ofNullable(id == null ? null : rows.get(id)).map(this::copy);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return rows.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return select(rows.keySet().stream(), row -> true);
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<Long> ids) {
+        return select(StreamSupport.stream(ids.spliterator(), false).distinct(), row -> true);
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        List<T> all = findAll();
+        all.sort(comparator(sort));
+        return all;
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> all = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(new ArrayList<>(all.subList(from, to)), pageable, all.size());
+    }
+
+    @Override
+    public long count() {
+        return rows.size();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        List<T> deleted = new ArrayList<>(1);
+        rows.computeIfPresent(id, (key, previous) -> {
+            reindex(key, previous, null);
+            deleted.add(copy(previous));
+            return null;
+        });
+        deleted.forEach(listener::onDelete);
+    }
+
+    @Override
+    public void delete(T entity) {
+        Long id = idOf(entity);
+        if (id != null) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        rows.keySet().forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public T getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public T getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public T getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("No row with id " + id));
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw queryByExampleUnsupported();
+    }
+
+    /**
+     * Returns copies of the rows with the given ids that still match a condition, in id order.
+     * Ids usually come from an index; the condition re-checks each row, since a row may
+     * change between reading the index and reading the row.
+     */
+    protected List<T> select(Stream<Long> ids, Predicate<? super T> condition) {
+        return ids.sorted()
+                .map(rows::get)
+                .filter(row -> row != null && condition.test(row))
+                .map(this::copy)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Returns the stored rows, without copying, for scans that only read them.
+     */
+    protected Stream<T> scan() {
+        return rows.values().stream();
+    }
+
+    /**
+     * Replaces one row through a function of its stored value, under the row's lock.
+     * Like a bulk update query, this does not notify the listener.
+     * @return The row as stored afterwards, or null if there is no such row.
+     */
+    protected T update(Long id, Function<T, T> change) {
+        return rows.computeIfPresent(id, (key, previous) -> {
+            T current = change.apply(copy(previous));
+            reindex(key, previous, current);
+            return current;
+        });
+    }
+
+    /**
+     * Reads a column of a row that may be null, for use in {@link #reindex}.
+     */
+    protected static <E, V> V valueOf(E entity, Function<E, V> column) {
+        return entity == null ? null : column.apply(entity);
+    }
+
+    private static <T> Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<T> byProperty = (a, b) -> compareValues(
+                    new BeanWrapperImpl(a).getPropertyValue(order.getProperty()),
+                    new BeanWrapperImpl(b).getPropertyValue(order.getProperty()),
+                    order);
+            comparator = comparator.thenComparing(byProperty);
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b, Sort.Order order) {
+        if (a == null || b == null) {
+            boolean nullsFirst = switch (order.getNullHandling()) {
+                case NULLS_FIRST -> true;
+                case NULLS_LAST -> false;
+                // H2 sorts nulls as the lowest values
+                case NATIVE -> order.isAscending();
+            };
+            if (a == b) {
+                return 0;
+            }
+            return (a == null) == nullsFirst ? -1 : 1;
+        }
+        int compared = order.isIgnoreCase() && a instanceof String first && b instanceof String second
+                ? first.compareToIgnoreCase(second)
+                : ((Comparable) a).compareTo(b);
+        return order.isAscending() ? compared : -compared;
+    }
+
+    private static UnsupportedOperationException queryByExampleUnsupported() {
+        return new UnsupportedOperationException("Query by example is not supported by in-memory repositories");
+    }
+}
@@ -0,0 +1,24 @@
+package edu.trincoll.repository.memory;
+
+import edu.trincoll.repository.BookCopyRepository;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Swaps the book, member and copy repositories for in-memory ones under the
+ * {@code in-memory} profile. The remaining repositories are still created by Spring Data
+ * JPA; declaring them here replaces Spring Boot's default repository scan, which would
+ * otherwise create JPA versions of the swapped repositories as well.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("in-memory")
+@EnableJpaRepositories(basePackageClasses = BookRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {BookRepository.class, MemberRepository.class, BookCopyRepository.class}))
+public class InMemoryRepositoryConfiguration {
+}
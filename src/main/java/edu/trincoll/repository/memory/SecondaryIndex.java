@@ -0,0 +1,86 @@
+package edu.trincoll.repository.memory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Maps a column value to the ids of the rows holding it.
+ * Each key's id set is created and dropped inside the map's per-key compute, so concurrent
+ * updates to different rows with the same value never lose an id. Null values are not indexed.
+ * @param <K> The indexed column's type.
+ */
+final class SecondaryIndex<K> {
+
+    private final ConcurrentMap<K, Set<Long>> entries;
+
+    private SecondaryIndex(ConcurrentMap<K, Set<Long>> entries) {
+        this.entries = entries;
+    }
+
+    static <K> SecondaryIndex<K> hashed() {
+        return new SecondaryIndex<>(new ConcurrentHashMap<>());
+    }
+
+    static <K extends Comparable<? super K>> SecondaryIndex<K> sorted() {
+        return new SecondaryIndex<>(new ConcurrentSkipListMap<>());
+    }
+
+    void update(Long id, K previous, K current) {
+        if (previous != null && previous.equals(current)) {
+            return;
+        }
+        if (previous != null) {
+            entries.computeIfPresent(previous, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (current != null) {
+            entries.compute(current, (key, ids) -> {
+                Set<Long> updated = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                updated.add(id);
+                return updated;
+            });
+        }
+    }
+
+    Stream<Long> get(K key) {
+        Set<Long> ids = entries.get(key);
+        return ids == null ? Stream.empty() : ids.stream();
+    }
+
+    long count(K key) {
+        Set<Long> ids = entries.get(key);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * Returns the ids of rows whose value is strictly below a bound. Only for sorted indexes.
+     */
+    Stream<Long> below(K bound) {
+        return navigable().headMap(bound, false).values().stream().flatMap(Set::stream);
+    }
+
+    /**
+     * Returns the ids of rows whose value is strictly above a bound. Only for sorted indexes.
+     */
+    Stream<Long> above(K bound) {
+        return navigable().tailMap(bound, false).values().stream().flatMap(Set::stream);
+    }
+
+    Set<Map.Entry<K, Set<Long>>> entries() {
+        return entries.entrySet();
+    }
+
+    private ConcurrentNavigableMap<K, Set<Long>> navigable() {
+        if (entries instanceof ConcurrentNavigableMap<K, Set<Long>> navigable) {
+            return navigable;
+        }
+        throw new IllegalStateException("Range queries need a sorted index");
+    }
+}
@@ -0,0 +1,48 @@
+package edu.trincoll.repository.memory;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps a unique column value to the id of the one row holding it.
+ * A value is claimed with a single putIfAbsent, so two rows racing for the same value
+ * cannot both succeed; the loser gets the same exception a unique constraint would raise.
+ * @param <K> The indexed column's type.
+ */
+final class UniqueIndex<K> {
+
+    private final String column;
+    private final ConcurrentMap<K, Long> entries = new ConcurrentHashMap<>();
+
+    UniqueIndex(String column) {
+        this.column = column;
+    }
+
+    /**
+     * Claims a row's new value, throwing before anything changes if another row holds it.
+     */
+    void claim(Long id, K current) {
+        if (current == null) {
+            return;
+        }
+        Long holder = entries.putIfAbsent(current, id);
+        if (holder != null && !holder.equals(id)) {
+            throw new DataIntegrityViolationException("Duplicate " + column + ": " + current);
+        }
+    }
+
+    /**
+     * Releases a row's previous value once the row no longer holds it.
+     */
+    void release(Long id, K previous, K current) {
+        if (previous != null && !previous.equals(current)) {
+            entries.remove(previous, id);
+        }
+    }
+
+    Long get(K key) {
+        return key == null ? null : entries.get(key);
+    }
+}
@@ -0,0 +1,108 @@
+package edu.trincoll.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Burkhard-Keller tree over strings under Levenshtein distance.
+ * A query within distance k only descends into children whose edge distance
+ * lies in [d - k, d + k], which prunes most of the tree for small k. Distances are
+ * computed with a bound of k plus the node's largest edge, since past that no
+ * child can be visited and the node itself is no match.
+ * Inserts are serialized; lookups are lock-free and may run during inserts.
+ */
+public class BkTree {
+
+    private volatile Node root;
+    private volatile int size;
+
+    /**
+     * Adds a term to the tree. Adding a term that is already present has no effect.
+     * @param term The term to add.
+     * @return True if the term was added, false if it was already present.
+     */
+    public synchronized boolean add(String term) {
+        if (root == null) {
+            root = new Node(term);
+            size++;
+            return true;
+        }
+        Node node = root;
+        while (true) {
+            int distance = Levenshtein.distance(term, node.term);
+            if (distance == 0) {
+                return false;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(term));
+                node.maxEdge = Math.max(node.maxEdge, distance);
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds every term within an edit distance of the query.
+     * @param query The term to search for.
+     * @param maxDistance The largest edit distance to accept.
+     * @return The matching terms with their distances, in no particular order.
+     */
+    public List<Match> search(String query, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        Node start = root;
+        if (start == null) {
+            return matches;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(start);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = Levenshtein.distance(query, node.term, maxDistance + node.maxEdge);
+            if (distance <= maxDistance) {
+                matches.add(new Match(node.term, distance));
+            }
+            int low = distance - maxDistance;
+            int high = distance + maxDistance;
+            for (var entry : node.children.entrySet()) {
+                int edge = entry.getKey();
+                if (edge >= low && edge <= high) {
+                    pending.push(entry.getValue());
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of distinct terms in the tree.
+     * @return The number of terms.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A term found by a search and its distance from the query.
+     * @param term The matching term.
+     * @param distance The edit distance from the query.
+     */
+    public record Match(String term, int distance) {
+    }
+
+    private static final class Node {
+        private final String term;
+        private final ConcurrentMap<Integer, Node> children = new ConcurrentHashMap<>();
+        private volatile int maxEdge;
+
+        Node(String term) {
+            this.term = term;
+        }
+    }
+}
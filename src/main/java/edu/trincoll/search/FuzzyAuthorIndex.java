@@ -0,0 +1,188 @@
+package edu.trincoll.search;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.CatalogChangeListener;
+import edu.trincoll.service.CirculationListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of distinct author names for typo-tolerant author search.
+ * Names are normalized to lower case and stored in a {@link BkTree}; matches are
+ * ranked by edit distance, then by popularity (titles held plus checkouts).
+ * The index is built when the application starts and grows as books are added and
+ * checked out. Authors new to the index since the previous rebuild started are kept
+ * aside and replayed into each new index, so a book whose insert was not yet committed
+ * when the authors were loaded does not lose its author when the new index replaces
+ * the old one.
+ */
+@Component
+public class FuzzyAuthorIndex implements CirculationListener, CatalogChangeListener {
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Set<String> recentAuthors = ConcurrentHashMap.newKeySet();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructs a new FuzzyAuthorIndex.
+     * @param bookRepository The repository the distinct authors are loaded from.
+     */
+    public FuzzyAuthorIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Rebuilds the index from the authors currently in the catalog.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Set<String> sincePreviousRebuild;
+        Set<String> sinceThisRebuild = ConcurrentHashMap.newKeySet();
+        lock.writeLock().lock();
+        try {
+            sincePreviousRebuild = recentAuthors;
+            recentAuthors = sinceThisRebuild;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Snapshot rebuilt = new Snapshot();
+        for (Object[] row : bookRepository.countBooksByAuthor()) {
+            rebuilt.add((String) row[0], ((Number) row[1]).longValue());
+        }
+        sincePreviousRebuild.forEach(rebuilt::addIfAbsent);
+        lock.writeLock().lock();
+        try {
+            // No insert can run here, so every new author is either in the set or reaches the new index
+            sinceThisRebuild.forEach(rebuilt::addIfAbsent);
+            snapshot = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the authors whose names are within an edit distance of the query.
+     * @param author The author name as typed, in any case.
+     * @param maxDistance The largest number of typos to tolerate.
+     * @param limit The maximum number of authors to return.
+     * @return Matching authors, closest and most popular first.
+     */
+    public List<AuthorMatch> search(String author, int maxDistance, int limit) {
+        Snapshot current = snapshot();
+        List<AuthorMatch> matches = new ArrayList<>();
+        for (BkTree.Match match : current.tree.search(normalize(author), maxDistance)) {
+            Entry entry = current.entries.get(match.term());
+            matches.add(new AuthorMatch(List.copyOf(entry.names), match.distance(), entry.popularity.sum()));
+        }
+        matches.sort(Comparator.comparingInt(AuthorMatch::distance)
+                .thenComparing(Comparator.comparingLong(AuthorMatch::popularity).reversed()));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Returns the number of distinct authors in the index.
+     * @return The number of indexed authors.
+     */
+    public int size() {
+        return snapshot().tree.size();
+    }
+
+    /**
+     * Counts a checkout towards the author's popularity, adding the author if it is new.
+     * @param member The member who checked out the book.
+     * @param book The book that was checked out.
+     * @param dueDate The date the book is due for return.
+     */
+    @Override
+    public void onCheckout(Member member, Book book, LocalDate dueDate) {
+        snapshot().add(book.getAuthor(), 1);
+    }
+
+    /**
+     * Counts an inserted book towards its author's popularity, adding the author if it is new.
+     * Before the index is first built only a new author is recorded, for the build to replay.
+     * @param entity The inserted entity.
+     */
+    @Override
+    public void onInsert(Object entity) {
+        if (!(entity instanceof Book book)) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null || current.add(book.getAuthor(), 1)) {
+                recentAuthors.add(book.getAuthor());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static String normalize(String author) {
+        return author.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * An author found by a fuzzy search.
+     * @param names Every spelling of the author's name in the catalog, which differ only in case.
+     * @param distance The edit distance from the query.
+     * @param popularity The author's popularity score.
+     */
+    public record AuthorMatch(List<String> names, int distance, long popularity) {
+    }
+
+    private static final class Snapshot {
+        private final BkTree tree = new BkTree();
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+        boolean add(String author, long popularity) {
+            String key = normalize(author);
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+            entry.names.add(author);
+            entry.popularity.add(popularity);
+            return tree.add(key);
+        }
+
+        void addIfAbsent(String author) {
+            // The load may already have counted the book, so a replayed author only fills a gap
+            if (!entries.containsKey(normalize(author))) {
+                add(author, 1);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Set<String> names = ConcurrentHashMap.newKeySet();
+        private final LongAdder popularity = new LongAdder();
+    }
+}
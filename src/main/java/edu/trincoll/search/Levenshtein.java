@@ -0,0 +1,58 @@
+package edu.trincoll.search;
+
+/**
+ * Bounded Levenshtein edit distance.
+ */
+public final class Levenshtein {
+
+    private Levenshtein() {
+    }
+
+    /**
+     * Computes the edit distance between two strings, giving up early once it
+     * is certain to exceed a bound.
+     * @param a The first string.
+     * @param b The second string.
+     * @param maxDistance The largest distance the caller is interested in.
+     * @return The edit distance, or {@code maxDistance + 1} if it is larger than the bound.
+     */
+    public static int distance(CharSequence a, CharSequence b, int maxDistance) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], maxDistance + 1);
+    }
+
+    /**
+     * Computes the exact edit distance between two strings.
+     * @param a The first string.
+     * @param b The second string.
+     * @return The edit distance.
+     */
+    public static int distance(CharSequence a, CharSequence b) {
+        return distance(a, b, Math.max(a.length(), b.length()));
+    }
+}
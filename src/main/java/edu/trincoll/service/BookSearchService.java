@@ -1,23 +1,86 @@
 package edu.trincoll.service;
 
+import edu.trincoll.catalog.IsbnCodec;
+import edu.trincoll.catalog.OffHeapCatalog;
+import edu.trincoll.index.BookStatusIndex;
+import edu.trincoll.index.LookupFilters;
+import edu.trincoll.index.RoaringBitmap;
 import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
 import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.BookSearchCriteria;
+import edu.trincoll.search.FuzzyAuthorIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Service
 public class BookSearchService {
 
+    private static final int MAX_FUZZY_AUTHORS = 20;
+    private static final int ANY_FIELD_AUTHOR_DISTANCE = 1;
+
     private final BookRepository bookRepository;
+    private final FuzzyAuthorIndex fuzzyAuthorIndex;
+    private final BookStatusIndex bookStatusIndex;
+    private final LookupFilters lookupFilters;
+    private final OffHeapCatalog offHeapCatalog;
     /**
-     * Constructs a new BookSearchService.
+     * Constructs a new BookSearchService that answers ISBN searches from the off-heap catalog when it is enabled.
      * @param bookRepository The repository for accessing book data.
+     * @param fuzzyAuthorIndex The index used for typo-tolerant author searches.
+     * @param bookStatusIndex The index used to filter and count books by status.
+     * @param lookupFilters The filters that reject unknown ISBNs without a database lookup.
+     * @param offHeapCatalog The off-heap catalog, if {@code library.catalog.off-heap.enabled} is set.
      */
-    public BookSearchService(BookRepository bookRepository) {
+    @Autowired
+    public BookSearchService(BookRepository bookRepository,
+                             FuzzyAuthorIndex fuzzyAuthorIndex,
+                             BookStatusIndex bookStatusIndex,
+                             LookupFilters lookupFilters,
+                             ObjectProvider<OffHeapCatalog> offHeapCatalog) {
+        this(bookRepository, fuzzyAuthorIndex, bookStatusIndex, lookupFilters, offHeapCatalog.getIfAvailable());
+    }
 
+    private BookSearchService(BookRepository bookRepository,
+                              FuzzyAuthorIndex fuzzyAuthorIndex,
+                              BookStatusIndex bookStatusIndex,
+                              LookupFilters lookupFilters,
+                              OffHeapCatalog offHeapCatalog) {
         this.bookRepository = bookRepository;
+        this.fuzzyAuthorIndex = fuzzyAuthorIndex;
+        this.bookStatusIndex = bookStatusIndex;
+        this.lookupFilters = lookupFilters;
+        this.offHeapCatalog = offHeapCatalog;
+    }
+    /**
+     * Creates a BookSearchService outside the Spring context, with every dependency given.
+     * @param bookRepository The repository for accessing book data.
+     * @param fuzzyAuthorIndex The index used for typo-tolerant author searches.
+     * @param bookStatusIndex The index used to filter and count books by status.
+     * @param lookupFilters The filters that reject unknown ISBNs without a database lookup.
+     * @param offHeapCatalog The catalog ISBN searches are resolved through, or null to use the lookup filters.
+     * @return The new service.
+     */
+    public static BookSearchService of(BookRepository bookRepository,
+                                       FuzzyAuthorIndex fuzzyAuthorIndex,
+                                       BookStatusIndex bookStatusIndex,
+                                       LookupFilters lookupFilters,
+                                       OffHeapCatalog offHeapCatalog) {
+        return new BookSearchService(bookRepository, fuzzyAuthorIndex, bookStatusIndex, lookupFilters, offHeapCatalog);
     }
     /**
      * Searches for books by title.
@@ -28,6 +91,38 @@ public class BookSearchService {
 
         return bookRepository.findByTitleContainingIgnoreCase(title);
     }
+    /**
+     * Searches for books by title that currently have a given status.
+     * Only the books that pass the status filter are loaded.
+     * @param title The title to search for (case-insensitive, partial match).
+     * @param status The status the books must have.
+     * @return A list of matching books in id order, or empty list if none found.
+     */
+    public List<Book> searchByTitle(String title, BookStatus status) {
+
+        return loadWithStatus(bookRepository.findIdsByTitleContainingIgnoreCase(title), status);
+    }
+    /**
+     * Searches for books by author that currently have a given status.
+     * @param author The author name to search for.
+     * @param status The status the books must have.
+     * @return A list of matching books in id order, or empty list if none found.
+     */
+    public List<Book> searchByAuthor(String author, BookStatus status) {
+
+        return loadWithStatus(bookRepository.findIdsByAuthor(author), status);
+    }
+    /**
+     * Counts the books with a status, from the status index once it is built.
+     * @param status The status to count.
+     * @return The number of books with the status.
+     */
+    public long countByStatus(BookStatus status) {
+        if (bookStatusIndex.isReady()) {
+            return bookStatusIndex.count(status);
+        }
+        return bookRepository.countByStatus(status);
+    }
     /**
      * Searches for books by author.
      * @param author The author name to search for.
@@ -38,12 +133,173 @@ public class BookSearchService {
         return bookRepository.findByAuthor(author);
     }
     /**
-     * Searches for a book by ISBN.
-     * @param isbn The ISBN to search for (exact match).
+     * Searches for books by author, tolerating typos and differences in case.
+     * @param author The author name as typed.
+     * @param maxDistance The largest number of typos to tolerate.
+     * @return Books by the matching authors, closest and most popular authors first.
+     */
+    public List<Book> searchByAuthorFuzzy(String author, int maxDistance) {
+        List<FuzzyAuthorIndex.AuthorMatch> matches = fuzzyAuthorIndex.search(author, maxDistance, MAX_FUZZY_AUTHORS);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> rank = new HashMap<>();
+        for (int i = 0; i < matches.size(); i++) {
+            for (String name : matches.get(i).names()) {
+                rank.put(name, i);
+            }
+        }
+        return bookRepository.findByAuthorIn(rank.keySet()).stream()
+                .sorted(Comparator.comparingInt(book -> rank.getOrDefault(book.getAuthor(), Integer.MAX_VALUE)))
+                .toList();
+    }
+    /**
+     * Searches for a book by ISBN. Once the off-heap catalog is loaded, a valid ISBN is
+     * resolved to a book id there, so it matches in either its ISBN-10 or ISBN-13 form and
+     * an unknown ISBN costs no query. A hit still loads the row by primary key, because
+     * callers change and save the book and need its current state and version, which the
+     * catalog does not hold. Otherwise the ISBN is looked up as written and then
+     * by its unique normalized form, unless the lookup filter has never seen it.
+     * @param isbn The ISBN to search for.
      * @return An Optional containing the book if found, or empty Optional if not found.
      */
     public Optional<Book> searchByIsbn(String isbn) {
+        long key = IsbnCodec.encode(isbn);
+        if (offHeapCatalog != null && offHeapCatalog.isLoaded() && key != IsbnCodec.INVALID) {
+            // The catalog keeps an ISBN that was edited until it is reloaded, so check the row
+            return offHeapCatalog.findByIsbn(isbn)
+                    .flatMap(entry -> bookRepository.findById(entry.id()))
+                    .filter(book -> IsbnCodec.encode(book.getIsbn()) == key);
+        }
+        return lookupFilters.isbns().lookup(IsbnCodec.normalize(isbn), normalized -> bookRepository.findByIsbn(isbn)
+                .or(() -> bookRepository.findByNormalizedIsbn(normalized)));
+    }
+    /**
+     * Searches every field at once, for a search box that does not ask which field is meant.
+     * An ISBN-shaped term is looked up as an ISBN. Any other term is searched as a title
+     * fragment and, on a virtual thread, as a typo-tolerant author name, so the search takes
+     * as long as the slower of the two rather than both. A book found by both is listed once.
+     * @param term The term as typed.
+     * @return Matching books, most relevant first: exact title and author matches, then
+     * titles starting with the term, then other matches.
+     * @throws IllegalArgumentException if the term is blank.
+     */
+    public List<Book> searchAnyField(String term) {
+        if (term == null || term.isBlank()) {
+            throw new IllegalArgumentException("Search term must not be blank");
+        }
+        String trimmed = term.trim();
+        if (IsbnCodec.encode(trimmed) != IsbnCodec.INVALID) {
+            return searchByIsbn(trimmed).map(List::of).orElse(List.of());
+        }
+        List<Book> titleHits;
+        List<Book> authorHits;
+        // Closing the executor waits for the author search, so it never outlives this call
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<Book>> authorSearch = executor.submit(
+                    () -> searchByAuthorFuzzy(trimmed, ANY_FIELD_AUTHOR_DISTANCE));
+            titleHits = searchByTitle(trimmed);
+            authorHits = result(authorSearch);
+        }
+        return rank(trimmed, titleHits, authorHits);
+    }
+    /**
+     * Searches for books by one kind of search term.
+     * @param searchTerm The term to search for.
+     * @param searchType One of "title", "author", "isbn", "available" (available books by title)
+     * or "any" (see {@link #searchAnyField}).
+     * @return A list of matching books, or empty list if none found.
+     */
+    public List<Book> search(String searchTerm, String searchType) {
+        if ("title".equalsIgnoreCase(searchType)) {
+            return searchByTitle(searchTerm);
+        } else if ("author".equalsIgnoreCase(searchType)) {
+            return searchByAuthor(searchTerm);
+        } else if ("isbn".equalsIgnoreCase(searchType)) {
+            return searchByIsbn(searchTerm)
+                    .map(List::of)
+                    .orElse(List.of());
+        } else if ("available".equalsIgnoreCase(searchType)) {
+            return searchByTitle(searchTerm, BookStatus.AVAILABLE);
+        } else if ("any".equalsIgnoreCase(searchType)) {
+            return searchAnyField(searchTerm);
+        } else {
+            throw new IllegalArgumentException("Invalid search type");
+        }
+    }
+    /**
+     * Searches for books matching every given criterion.
+     * @param criteria The optional title, author, status, publication date range and sort order.
+     * @return A list of books matching all criteria, or empty list if none found.
+     */
+    public List<Book> search(BookSearchCriteria criteria) {
+
+        return bookRepository.search(criteria);
+    }
+
+    private static List<Book> rank(String term, List<Book> titleHits, List<Book> authorHits) {
+        String lowerTerm = term.toLowerCase(Locale.ROOT);
+        Map<String, Book> books = new LinkedHashMap<>();
+        Map<String, Integer> scores = new HashMap<>();
+        for (Book book : titleHits) {
+            String title = book.getTitle().toLowerCase(Locale.ROOT);
+            int score = title.equals(lowerTerm) ? 4 : title.startsWith(lowerTerm) ? 3 : 2;
+            books.putIfAbsent(book.getIsbn(), book);
+            scores.merge(book.getIsbn(), score, Math::max);
+        }
+        for (Book book : authorHits) {
+            int score = book.getAuthor().equalsIgnoreCase(term) ? 3 : 1;
+            books.putIfAbsent(book.getIsbn(), book);
+            // A book matching on both fields ranks above one matching on either
+            scores.merge(book.getIsbn(), score, Integer::sum);
+        }
+        return books.values().stream()
+                .sorted(Comparator.comparing((Book book) -> scores.get(book.getIsbn())).reversed()
+                        .thenComparing(Book::getTitle)
+                        .thenComparing(Book::getIsbn))
+                .toList();
+    }
+
+    private static List<Book> result(Future<List<Book>> search) {
+        try {
+            return search.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+    }
 
-        return bookRepository.findByIsbn(isbn);
+    private List<Book> loadWithStatus(List<Long> bookIds, BookStatus status) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        if (!bookStatusIndex.isReady()) {
+            return bookRepository.findAllById(bookIds).stream()
+                    .filter(book -> book.getStatus() == status)
+                    .sorted(Comparator.comparing(Book::getId))
+                    .toList();
+        }
+        BookStatusIndex.Filtered filtered = bookStatusIndex.filter(bookIds, status);
+        RoaringBitmap candidates = filtered.matching().or(filtered.unknown());
+        List<Long> ids = new ArrayList<>((int) candidates.cardinality());
+        candidates.forEach(id -> ids.add(Integer.toUnsignedLong(id)));
+        List<Book> books = new ArrayList<>();
+        for (Book book : bookRepository.findAllById(ids)) {
+            // Books the index has not seen yet are checked directly and indexed for next time
+            if (filtered.unknown().contains(book.getId().intValue())) {
+                bookStatusIndex.track(book);
+                if (book.getStatus() != status) {
+                    continue;
+                }
+            }
+            books.add(book);
+        }
+        books.sort(Comparator.comparing(Book::getId));
+        return books;
     }
-}
\ No newline at end of file
+}
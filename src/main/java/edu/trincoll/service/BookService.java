@@ -3,49 +3,76 @@ package edu.trincoll.service;
 import edu.trincoll.model.Book;
 import edu.trincoll.model.BookStatus;
 import edu.trincoll.model.Member;
-import edu.trincoll.repository.BookRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
 /**
  * Service for managing book checkout and return operations.
- * Handles book status updates and persistence.
+ * Handles book status updates; callers persist the book and then publish the change.
  */
 public class BookService {
     /**
-     * Repository for book data access.
+     * Listeners notified of every status change.
      */
-    private final BookRepository bookRepository;
+    private final List<BookStatusListener> statusListeners;
     /**
-     * Constructs a new BookService.
-     * @param bookRepository The repository for accessing book data.
+     * Constructs a new BookService that publishes status changes.
+     * @param statusListeners The listeners notified after each status change is saved.
      */
-    public BookService(BookRepository bookRepository) {
-        this.bookRepository = bookRepository;
+    public BookService(List<BookStatusListener> statusListeners) {
+        this.statusListeners = statusListeners;
     }
     /**
-     * Checks out a book to a member with a specified loan period.
+     * Marks a book as checked out without saving it, for callers that persist it themselves.
      * @param book The book to check out.
      * @param member The member checking out the book.
      * @param loanPeriodDays The number of days the book can be borrowed.
+     * @return The book's status before the change, to pass to {@link #publishStatusChange}.
      */
-    public void checkoutBook(Book book, Member member, int loanPeriodDays) {
+    public BookStatus prepareCheckout(Book book, Member member, int loanPeriodDays) {
+        BookStatus previousStatus = book.getStatus();
         book.setStatus(BookStatus.CHECKED_OUT);
         book.setCheckedOutBy(member.getEmail());
         book.setDueDate(LocalDate.now().plusDays(loanPeriodDays));
-        bookRepository.save(book);
+        book.setReservedFor(null);
+        return previousStatus;
     }
     /**
-     * Returns a book to the library and marks it as available.
+     * Marks a book as available without saving it, for callers that persist it themselves.
      * @param book The book being returned.
+     * @return The book's status before the change, to pass to {@link #publishStatusChange}.
      */
-    public void returnBook(Book book) {
+    public BookStatus prepareReturn(Book book) {
+        BookStatus previousStatus = book.getStatus();
         book.setStatus(BookStatus.AVAILABLE);
         book.setCheckedOutBy(null);
         book.setDueDate(null);
-        bookRepository.save(book);
+        return previousStatus;
+    }
+    /**
+     * Marks a book as reserved without saving it, for callers that persist it themselves.
+     * @param book The book being returned.
+     * @param memberEmail The email of the member the book is reserved for.
+     * @return The book's status before the change, to pass to {@link #publishStatusChange}.
+     */
+    public BookStatus prepareReservation(Book book, String memberEmail) {
+        BookStatus previousStatus = book.getStatus();
+        book.setStatus(BookStatus.RESERVED);
+        book.setCheckedOutBy(null);
+        book.setDueDate(null);
+        book.setReservedFor(memberEmail);
+        return previousStatus;
+    }
+    /**
+     * Notifies status listeners of a change made with one of the prepare methods, once it is saved.
+     * @param book The book whose status changed.
+     * @param previousStatus The status before the change.
+     */
+    public void publishStatusChange(Book book, BookStatus previousStatus) {
+        statusListeners.forEach(listener -> listener.onStatusChange(book, previousStatus));
     }
 
     /**
@@ -56,4 +83,18 @@ public class BookService {
     public boolean isAvailable(Book book) {
         return book.getStatus() == BookStatus.AVAILABLE;
     }
+
+    /**
+     * Checks if a book can be checked out by a specific member.
+     * A reserved book is only available to the member it is reserved for.
+     * @param book The book to check.
+     * @param member The member who wants to check out the book.
+     * @return True if the member may check out the book, false otherwise.
+     */
+    public boolean isAvailableFor(Book book, Member member) {
+        if (book.getStatus() == BookStatus.RESERVED) {
+            return member.getEmail().equals(book.getReservedFor());
+        }
+        return isAvailable(book);
+    }
 }
@@ -0,0 +1,11 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+
+/**
+ * Receives every book status change made by {@link BookService}, after it has been saved.
+ */
+public interface BookStatusListener {
+    void onStatusChange(Book book, BookStatus previousStatus);
+}
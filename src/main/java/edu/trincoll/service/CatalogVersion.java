@@ -0,0 +1,96 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.CatalogChangeListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A counter that increases whenever a book or member is inserted, updated or deleted, and
+ * whenever a book's status changes. Responses built from the catalog are tagged with the
+ * version read before they were built, so a client holding that tag has an up-to-date copy
+ * until the version moves on. A change made inside a transaction advances the version when
+ * the transaction commits, so a response built before the change is visible never carries
+ * the new version. Versions restart with the application, so tags also carry the
+ * instance's start time.
+ */
+@Component
+public class CatalogVersion implements BookStatusListener, CatalogChangeListener {
+
+    private final String epoch;
+    private final AtomicLong version = new AtomicLong();
+
+    public CatalogVersion() {
+        this(Long.toString(System.currentTimeMillis(), 36));
+    }
+
+    CatalogVersion(String epoch) {
+        this.epoch = epoch;
+    }
+
+    /**
+     * Moves to a new version. Call after the change has been saved, never before,
+     * or a response built in between would be tagged with the new version.
+     */
+    public void advance() {
+        version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Returns an entity tag for a response built from the current version.
+     * @return The quoted tag.
+     */
+    public String etag() {
+        return "\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    /**
+     * Returns an entity tag for a response built from the current version and something else it depends on.
+     * @param qualifier The other input, such as the date a date-dependent response was built for.
+     * @return The quoted tag.
+     */
+    public String etag(Object qualifier) {
+        return "\"" + epoch + "-" + version.get() + "-" + qualifier + "\"";
+    }
+
+    @Override
+    public void onStatusChange(Book book, BookStatus previousStatus) {
+        advance();
+    }
+
+    @Override
+    public void onInsert(Object entity) {
+        advanceAfterCommit();
+    }
+
+    @Override
+    public void onUpdate(Object entity) {
+        advanceAfterCommit();
+    }
+
+    @Override
+    public void onDelete(Object entity) {
+        advanceAfterCommit();
+    }
+
+    private void advanceAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance();
+            }
+        });
+    }
+}
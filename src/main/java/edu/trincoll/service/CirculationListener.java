@@ -0,0 +1,21 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+
+import java.time.LocalDate;
+
+/**
+ * Receives the outcome of circulation operations performed by {@link LibraryFacade}.
+ * Listeners are called after the checkout or return has been saved.
+ */
+public interface CirculationListener {
+    default void onCheckout(Member member, Book book, LocalDate dueDate) {
+    }
+
+    default void onReturn(Member member, Book book, double lateFee) {
+    }
+
+    default void onCheckoutRejected(Member member, Book book, RejectionReason reason) {
+    }
+}
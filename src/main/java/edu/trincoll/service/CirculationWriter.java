@@ -0,0 +1,12 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+
+/**
+ * Persists the book and member changes made by one checkout or return.
+ * Implementations return only once the changes are durable.
+ */
+public interface CirculationWriter {
+    void write(Book book, Member member);
+}
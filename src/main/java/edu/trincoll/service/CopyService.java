@@ -0,0 +1,135 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookCopy;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookCopyRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for managing the physical copies that belong to a title.
+ * Keeps an in-memory available-copy count per title so availability checks
+ * are O(1), and allocates copies with a conditional update so concurrent
+ * checkouts never lock the title or scan its copies.
+ */
+@Service
+public class CopyService {
+
+    private static final int CLAIM_BATCH_SIZE = 8;
+
+    private final BookCopyRepository bookCopyRepository;
+    private final ConcurrentMap<Long, AtomicInteger> availableCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new CopyService.
+     * @param bookCopyRepository The repository for accessing copy data.
+     */
+    public CopyService(BookCopyRepository bookCopyRepository) {
+        this.bookCopyRepository = bookCopyRepository;
+    }
+
+    /**
+     * Adds a new copy of a title to the collection.
+     * @param book The title the copy belongs to.
+     * @param barcode The unique barcode of the physical copy.
+     * @return The saved copy.
+     */
+    public BookCopy addCopy(Book book, String barcode) {
+        // Load the count before saving, so a cold count does not include the new copy twice
+        AtomicInteger available = availableCount(book.getId());
+        BookCopy copy = bookCopyRepository.save(new BookCopy(book, barcode));
+        available.incrementAndGet();
+        return copy;
+    }
+
+    /**
+     * Finds a copy by its barcode, with its title loaded.
+     * @param barcode The barcode to search for.
+     * @return An Optional containing the copy if found, or empty Optional if not found.
+     */
+    public Optional<BookCopy> findByBarcode(String barcode) {
+        return bookCopyRepository.findByBarcode(barcode);
+    }
+
+    /**
+     * Returns the number of copies of a title that are on the shelf.
+     * @param book The title to check.
+     * @return The number of available copies.
+     */
+    public int availableCopies(Book book) {
+        return availableCount(book.getId()).get();
+    }
+
+    /**
+     * Checks out any available copy of a title to a member.
+     * @param book The title to check out.
+     * @param member The member checking out the copy.
+     * @param loanPeriodDays The number of days the copy can be borrowed.
+     * @return The claimed copy, or empty Optional if no copy is available.
+     */
+    public Optional<BookCopy> claimCopy(Book book, Member member, int loanPeriodDays) {
+        AtomicInteger available = availableCount(book.getId());
+        if (!tryDecrement(available)) {
+            return Optional.empty();
+        }
+        LocalDate dueDate = LocalDate.now().plusDays(loanPeriodDays);
+        // The count reserved a copy for this claim, so keep reading fresh candidates until
+        // one is won; every lost race is a copy some other claim took
+        while (true) {
+            List<Long> candidates = bookCopyRepository.findIdsByBookIdAndStatus(
+                    book.getId(), BookStatus.AVAILABLE, PageRequest.of(0, CLAIM_BATCH_SIZE));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            // Start at a random candidate so concurrent checkouts rarely race for the same row
+            int start = ThreadLocalRandom.current().nextInt(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                Long copyId = candidates.get((start + i) % candidates.size());
+                if (bookCopyRepository.claim(copyId, member.getEmail(), dueDate) == 1) {
+                    return bookCopyRepository.findById(copyId);
+                }
+            }
+        }
+        available.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a checked-out copy to the shelf.
+     * @param copy The copy being returned.
+     * @return True if the copy was released, false if it was not checked out.
+     */
+    public boolean releaseCopy(BookCopy copy) {
+        if (bookCopyRepository.release(copy.getId()) != 1) {
+            return false;
+        }
+        availableCount(copy.getBook().getId()).incrementAndGet();
+        return true;
+    }
+
+    private AtomicInteger availableCount(Long bookId) {
+        return availableCounts.computeIfAbsent(bookId, id ->
+                new AtomicInteger((int) bookCopyRepository.countByBookIdAndStatus(id, BookStatus.AVAILABLE)));
+    }
+
+    private static boolean tryDecrement(AtomicInteger counter) {
+        int current;
+        do {
+            current = counter.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - 1));
+        return true;
+    }
+}
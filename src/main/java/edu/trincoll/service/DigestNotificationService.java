@@ -0,0 +1,201 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notification service that groups checkout and return notifications per member
+ * and sends them as one digest once the member's window closes.
+ * Memory is bounded: when too many members have an open digest, new messages are
+ * sent immediately instead of buffered, and a digest that reaches its item limit
+ * is sent early. Open digests are flushed on shutdown, and messages arriving after
+ * shutdown are sent immediately.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "library.notifications.digest", name = "enabled", havingValue = "true")
+public class DigestNotificationService implements NotificationService {
+
+    private final NotificationService delegate;
+    private final Duration window;
+    private final int maxPendingMembers;
+    private final int maxItemsPerDigest;
+    private final ConcurrentMap<String, PendingDigest> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-digest");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean stopped;
+
+    /**
+     * Constructs a new DigestNotificationService.
+     * @param delegate The service that delivers single notifications and the combined digests.
+     * @param window How long a member's digest stays open after its first message.
+     * @param maxPendingMembers The maximum number of members with an open digest.
+     * @param maxItemsPerDigest The maximum number of messages in one digest.
+     */
+    public DigestNotificationService(@Qualifier("emailNotificationService") NotificationService delegate,
+                                     @Value("${library.notifications.digest.window:30s}") Duration window,
+                                     @Value("${library.notifications.digest.max-pending-members:10000}") int maxPendingMembers,
+                                     @Value("${library.notifications.digest.max-items:50}") int maxItemsPerDigest) {
+        this.delegate = delegate;
+        this.window = window;
+        this.maxPendingMembers = maxPendingMembers;
+        this.maxItemsPerDigest = maxItemsPerDigest;
+    }
+
+    /**
+     * Adds a checkout message to the member's digest.
+     * @param member The member who checked out the book.
+     * @param book The book that was checked out.
+     * @param dueDate The date the book is due for return.
+     */
+    @Override
+    public void sendCheckoutNotification(Member member, Book book, LocalDate dueDate) {
+        if (!enqueue(member, "You have checked out " + book.getTitle() + " (due " + dueDate + ")")) {
+            delegate.sendCheckoutNotification(member, book, dueDate);
+        }
+    }
+
+    /**
+     * Adds a return message to the member's digest.
+     * @param member The member who returned the book.
+     * @param book The book that was returned.
+     * @param lateFee The late fee amount, or 0.0 if returned on time.
+     */
+    @Override
+    public void sendReturnNotification(Member member, Book book, double lateFee) {
+        String message = "You have returned " + book.getTitle();
+        if (lateFee > 0) {
+            message += " (late fee: $" + String.format("%.2f", lateFee) + ")";
+        }
+        if (!enqueue(member, message)) {
+            delegate.sendReturnNotification(member, book, lateFee);
+        }
+    }
+
+    /**
+     * Sends a hold notification immediately, since the hold is only kept for a limited time.
+     * @param member The member the book is reserved for.
+     * @param book The book that is being held.
+     */
+    @Override
+    public void sendHoldAvailableNotification(Member member, Book book) {
+        delegate.sendHoldAvailableNotification(member, book);
+    }
+
+    /**
+     * Sends a digest straight through; it is already combined.
+     * @param member The member receiving the digest.
+     * @param messages The individual notification messages, in the order they occurred.
+     */
+    @Override
+    public void sendDigestNotification(Member member, List<String> messages) {
+        delegate.sendDigestNotification(member, messages);
+    }
+
+    /**
+     * Sends every open digest now.
+     */
+    public void flushAll() {
+        pending.keySet().forEach(this::flush);
+    }
+
+    /**
+     * Returns the number of members with an open digest.
+     * @return The number of pending digests.
+     */
+    public int pendingDigests() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        scheduler.shutdownNow();
+        flushAll();
+    }
+
+    private boolean enqueue(Member member, String message) {
+        if (stopped) {
+            return false;
+        }
+        boolean[] opened = new boolean[1];
+        boolean[] full = new boolean[1];
+        PendingDigest digest = pending.compute(member.getEmail(), (email, existing) -> {
+            if (existing == null) {
+                if (pending.size() >= maxPendingMembers) {
+                    return null;
+                }
+                existing = new PendingDigest(member);
+                opened[0] = true;
+            }
+            existing.messages.add(message);
+            full[0] = existing.messages.size() >= maxItemsPerDigest;
+            return existing;
+        });
+        if (digest == null) {
+            return false;
+        }
+        if (full[0]) {
+            flush(member.getEmail());
+        } else if (opened[0]) {
+            try {
+                scheduler.schedule(() -> flush(member.getEmail(), digest), window.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shut down between the check above and now; nothing will close the window, so send it
+                flush(member.getEmail(), digest);
+            }
+        }
+        return true;
+    }
+
+    private void flush(String email) {
+        PendingDigest digest = pending.remove(email);
+        if (digest != null) {
+            send(digest);
+        }
+    }
+
+    private void flush(String email, PendingDigest digest) {
+        // Only flush the digest this task was scheduled for, not a newer one for the same member
+        if (pending.remove(email, digest)) {
+            send(digest);
+        }
+    }
+
+    private void send(PendingDigest digest) {
+        // Removal from the map happens under the same lock as every append, so the digest is complete
+        delegate.sendDigestNotification(digest.member, List.copyOf(digest.messages));
+    }
+
+    /**
+     * Messages waiting to be sent to one member.
+     */
+    private static final class PendingDigest {
+        private final Member member;
+        private final List<String> messages = new ArrayList<>();
+
+        PendingDigest(Member member) {
+            this.member = member;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Circulation writer that saves the book and member immediately on the caller's thread,
+ * in one transaction, so a version conflict on either leaves both unchanged.
+ * Used unless group commit is enabled.
+ */
+@Component
+@ConditionalOnProperty(prefix = "library.circulation.group-commit", name = "enabled",
+        havingValue = "false", matchIfMissing = true)
+public class DirectCirculationWriter implements CirculationWriter {
+
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+
+    /**
+     * Constructs a new DirectCirculationWriter.
+     * @param bookRepository The repository for saving books.
+     * @param memberRepository The repository for saving members.
+     */
+    public DirectCirculationWriter(BookRepository bookRepository, MemberRepository memberRepository) {
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+    }
+
+    @Override
+    @Transactional
+    public void write(Book book, Member member) {
+        bookRepository.save(book);
+        memberRepository.save(member);
+    }
+}
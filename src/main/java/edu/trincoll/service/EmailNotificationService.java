@@ -5,6 +5,7 @@ import edu.trincoll.model.Member;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.List;
 /**
  * Email-based implementation of the notification service.
  * Sends notifications to members via email for checkout and return operations.
@@ -35,4 +36,28 @@ public class EmailNotificationService implements NotificationService {
         System.out.println("Subject: Book returned");
         System.out.println("Message: You have returned " + book.getTitle());
     }
+    /**
+     * Sends an email telling a member that a book they placed a hold on is ready.
+     * @param member The member the book is reserved for.
+     * @param book The book that is being held.
+     */
+    @Override
+    public void sendHoldAvailableNotification(Member member, Book book) {
+        System.out.println("Sending email to: " + member.getEmail());
+        System.out.println("Subject: Book on hold is available");
+        System.out.println("Message: " + book.getTitle() + " is being held for you");
+    }
+    /**
+     * Sends one email combining several notifications for a member.
+     * @param member The member receiving the digest.
+     * @param messages The individual notification messages, in the order they occurred.
+     */
+    @Override
+    public void sendDigestNotification(Member member, List<String> messages) {
+        System.out.println("Sending email to: " + member.getEmail());
+        System.out.println("Subject: Library activity (" + messages.size() + " updates)");
+        for (String message : messages) {
+            System.out.println("Message: " + message);
+        }
+    }
 }
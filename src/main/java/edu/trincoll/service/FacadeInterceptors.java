@@ -0,0 +1,42 @@
+package edu.trincoll.service;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Adds cross-cutting behaviour around the operations of a {@link LibraryFacade} bean.
+ * Every interceptor shares one proxy: the first call creates it and later calls add to it,
+ * so instrumentation and admission control can be stacked in either registration order.
+ * Only methods declared by the facade itself are intercepted.
+ */
+public final class FacadeInterceptors {
+
+    private FacadeInterceptors() {
+    }
+
+    /**
+     * Wraps a facade so an interceptor runs around each of its operations.
+     * @param facade The facade bean, or a proxy made by an earlier call.
+     * @param interceptor The interceptor to run.
+     * @param outermost Whether the interceptor runs before the ones already added.
+     * @return The proxy to use in place of the facade.
+     */
+    public static Object addInterceptor(Object facade, MethodInterceptor interceptor, boolean outermost) {
+        MethodInterceptor facadeOnly = invocation -> invocation.getMethod().getDeclaringClass() == LibraryFacade.class
+                ? interceptor.invoke(invocation)
+                : invocation.proceed();
+        if (facade instanceof Advised advised && !advised.isFrozen()) {
+            if (outermost) {
+                advised.addAdvice(0, facadeOnly);
+            } else {
+                advised.addAdvice(facadeOnly);
+            }
+            return facade;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(facade);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(facadeOnly);
+        return proxyFactory.getProxy();
+    }
+}
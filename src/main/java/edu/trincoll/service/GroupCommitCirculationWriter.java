@@ -0,0 +1,234 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circulation writer that commits the writes of concurrent requests together.
+ * Writes are queued and a single flusher thread saves everything that arrived within
+ * one flush interval, or up to the batch size, in one transaction. Callers block until
+ * their batch has committed, so latency is bounded by the flush interval while commit
+ * overhead is shared by the whole batch. Several writes of the same book or member object
+ * in a batch are coalesced into one save of the latest state; two writes of different
+ * copies read at the same version are a conflict, since the second was read before the
+ * first committed, so the batch is retried one write at a time and the stale write fails
+ * its optimistic lock. If a batch fails, its writes
+ * are retried one transaction each, so one bad write only fails its own caller. On
+ * shutdown, writes still queued are committed; if the flusher does not finish within the
+ * shutdown timeout, they fail instead so no caller waits forever.
+ */
+@Component
+@ConditionalOnProperty(prefix = "library.circulation.group-commit", name = "enabled", havingValue = "true")
+public class GroupCommitCirculationWriter implements CirculationWriter {
+
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+    private final TransactionOperations transactions;
+    private final long flushIntervalNanos;
+    private final int maxBatchSize;
+    private final Duration shutdownTimeout;
+    private static final PendingWrite SHUTDOWN = new PendingWrite(null, null);
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new GroupCommitCirculationWriter.
+     * @param bookRepository The repository for saving books.
+     * @param memberRepository The repository for saving members.
+     * @param transactionManager The transaction manager each batch commits through.
+     * @param flushInterval The longest a write waits for its batch to fill.
+     * @param maxBatchSize The number of writes that triggers a flush straight away.
+     * @param shutdownTimeout The longest shutdown waits for the flusher before failing the writes still queued.
+     */
+    @Autowired
+    public GroupCommitCirculationWriter(BookRepository bookRepository,
+                                        MemberRepository memberRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${library.circulation.group-commit.flush-interval:5ms}") Duration flushInterval,
+                                        @Value("${library.circulation.group-commit.max-batch-size:128}") int maxBatchSize,
+                                        @Value("${library.circulation.group-commit.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this(bookRepository, memberRepository, new TransactionTemplate(transactionManager),
+                flushInterval, maxBatchSize, shutdownTimeout);
+    }
+
+    GroupCommitCirculationWriter(BookRepository bookRepository,
+                                 MemberRepository memberRepository,
+                                 TransactionOperations transactions,
+                                 Duration flushInterval,
+                                 int maxBatchSize) {
+        this(bookRepository, memberRepository, transactions, flushInterval, maxBatchSize, Duration.ofSeconds(10));
+    }
+
+    GroupCommitCirculationWriter(BookRepository bookRepository,
+                                 MemberRepository memberRepository,
+                                 TransactionOperations transactions,
+                                 Duration flushInterval,
+                                 int maxBatchSize,
+                                 Duration shutdownTimeout) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Group commit batch size must be positive");
+        }
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+        this.transactions = transactions;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.flusher = Thread.ofPlatform().name("circulation-group-commit").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public void write(Book book, Member member) {
+        if (!running) {
+            throw new IllegalStateException("Group commit writer is shut down");
+        }
+        PendingWrite write = new PendingWrite(book, member);
+        queue.add(write);
+        // Shutdown may have drained the queue between the check above and the add; if the
+        // write is still there nobody will flush it, and if it is gone it is being flushed
+        if (!running && queue.remove(write)) {
+            throw new IllegalStateException("Group commit writer is shut down");
+        }
+        try {
+            write.done.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        queue.add(SHUTDOWN);
+        boolean stopped = flusher.join(shutdownTimeout);
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.remove(SHUTDOWN);
+        if (!stopped) {
+            // The flusher is stuck on a batch; let it stop once that batch ends
+            queue.add(SHUTDOWN);
+            IllegalStateException failure = new IllegalStateException(
+                    "Group commit writer shut down before the write was committed");
+            remaining.forEach(write -> write.done.completeExceptionally(failure));
+        } else if (!remaining.isEmpty()) {
+            // Writes that raced with shutdown are still committed before the context closes
+            flush(remaining);
+        }
+    }
+
+    private void flushLoop() {
+        boolean stopping = false;
+        while (!stopping) {
+            List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+            try {
+                PendingWrite first = queue.take();
+                stopping = first == SHUTDOWN;
+                if (!stopping) {
+                    batch.add(first);
+                }
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (!stopping && batch.size() < maxBatchSize) {
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    stopping = next == SHUTDOWN;
+                    if (!stopping) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopping = true;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        try {
+            transactions.executeWithoutResult(status -> saveCoalesced(batch));
+            batch.forEach(write -> write.done.complete(null));
+        } catch (RuntimeException batchFailure) {
+            for (PendingWrite write : batch) {
+                try {
+                    transactions.executeWithoutResult(status -> {
+                        bookRepository.save(write.book);
+                        memberRepository.save(write.member);
+                    });
+                    write.done.complete(null);
+                } catch (RuntimeException e) {
+                    write.done.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void saveCoalesced(List<PendingWrite> batch) {
+        // Later writes in the batch carry the newer state, so they replace earlier ones
+        Map<Object, Book> books = new LinkedHashMap<>();
+        Map<Object, Member> members = new LinkedHashMap<>();
+        Map<Object, Object> unsaved = new IdentityHashMap<>();
+        for (PendingWrite write : batch) {
+            Book earlierBook = books.put(keyOf(write.book.getId(), write.book, unsaved), write.book);
+            Member earlierMember = members.put(keyOf(write.member.getId(), write.member, unsaved), write.member);
+            if (earlierBook != null && earlierBook != write.book && earlierBook.getVersion() == write.book.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Book.class, write.book.getId());
+            }
+            if (earlierMember != null && earlierMember != write.member
+                    && earlierMember.getVersion() == write.member.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Member.class, write.member.getId());
+            }
+        }
+        bookRepository.saveAll(List.copyOf(books.values()));
+        memberRepository.saveAll(List.copyOf(members.values()));
+    }
+
+    private static Object keyOf(Long id, Object entity, Map<Object, Object> unsaved) {
+        return id != null ? id : unsaved.computeIfAbsent(entity, key -> new Object());
+    }
+
+    /**
+     * A queued write and the future its caller waits on.
+     */
+    private static final class PendingWrite {
+        private final Book book;
+        private final Member member;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingWrite(Book book, Member member) {
+            this.book = book;
+            this.member = member;
+        }
+    }
+}
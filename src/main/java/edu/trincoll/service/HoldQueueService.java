@@ -0,0 +1,192 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.policy.CheckoutPolicyFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for managing per-ISBN hold queues.
+ * Holds are served first-come, first-served within a membership type, and
+ * membership types are served in the order of their checkout policy's hold priority.
+ * Every operation is O(1) and only contends with other operations on the same ISBN.
+ */
+@Service
+public class HoldQueueService {
+
+    private static final MembershipType[] PRIORITY_ORDER = Arrays.stream(MembershipType.values())
+            .sorted(Comparator.comparingInt(type ->
+                    CheckoutPolicyFactory.getCheckoutPolicy(type).getHoldPriority()))
+            .toArray(MembershipType[]::new);
+
+    private final ConcurrentMap<String, HoldQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Places a hold for a member on a book.
+     * @param isbn The ISBN of the book.
+     * @param memberEmail The email of the member placing the hold.
+     * @param membershipType The membership type, which determines the hold priority.
+     * @return True if the hold was placed, false if the member already has a hold on the book.
+     */
+    public boolean placeHold(String isbn, String memberEmail, MembershipType membershipType) {
+        boolean[] placed = new boolean[1];
+        queues.compute(isbn, (key, queue) -> {
+            HoldQueue holds = queue != null ? queue : new HoldQueue();
+            placed[0] = holds.offer(memberEmail, membershipType);
+            return holds;
+        });
+        return placed[0];
+    }
+
+    /**
+     * Removes and returns the next member waiting for a book.
+     * @param isbn The ISBN of the book.
+     * @return The email of the next member in the queue, or empty Optional if nobody is waiting.
+     */
+    public Optional<String> nextHold(String isbn) {
+        HoldQueue holds = queues.get(isbn);
+        if (holds == null) {
+            return Optional.empty();
+        }
+        Optional<String> next = holds.poll();
+        removeIfEmpty(isbn, holds);
+        return next;
+    }
+
+    /**
+     * Puts a hold taken by {@link #nextHold} back at the head of its queue, for a caller
+     * that could not serve it.
+     * @param isbn The ISBN of the book.
+     * @param memberEmail The email of the member whose hold was taken.
+     * @param membershipType The membership type the hold was placed with.
+     */
+    public void restoreHold(String isbn, String memberEmail, MembershipType membershipType) {
+        queues.compute(isbn, (key, queue) -> {
+            HoldQueue holds = queue != null ? queue : new HoldQueue();
+            holds.offerFirst(memberEmail, membershipType);
+            return holds;
+        });
+    }
+
+    /**
+     * Cancels a member's hold on a book.
+     * @param isbn The ISBN of the book.
+     * @param memberEmail The email of the member cancelling the hold.
+     * @return True if a hold was cancelled, false if the member had no hold on the book.
+     */
+    public boolean cancelHold(String isbn, String memberEmail) {
+        HoldQueue holds = queues.get(isbn);
+        if (holds == null || !holds.cancel(memberEmail)) {
+            return false;
+        }
+        removeIfEmpty(isbn, holds);
+        return true;
+    }
+
+    /**
+     * Returns the number of members waiting for a book.
+     * @param isbn The ISBN of the book.
+     * @return The number of active holds on the book.
+     */
+    public int holdCount(String isbn) {
+        HoldQueue holds = queues.get(isbn);
+        return holds == null ? 0 : holds.size();
+    }
+
+    private void removeIfEmpty(String isbn, HoldQueue holds) {
+        if (holds.isEmpty()) {
+            queues.computeIfPresent(isbn, (key, queue) -> queue.isEmpty() ? null : queue);
+        }
+    }
+
+    /**
+     * Hold queue for a single ISBN with one lock-free FIFO per membership type.
+     * Cancelled holds are left in their FIFO and skipped when they reach the head.
+     */
+    private static final class HoldQueue {
+        private final Map<MembershipType, Deque<Hold>> fifos = new EnumMap<>(MembershipType.class);
+        private final ConcurrentMap<String, Hold> waiting = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        HoldQueue() {
+            for (MembershipType type : MembershipType.values()) {
+                fifos.put(type, new ConcurrentLinkedDeque<>());
+            }
+        }
+
+        boolean offer(String memberEmail, MembershipType membershipType) {
+            Hold hold = new Hold(memberEmail);
+            if (waiting.putIfAbsent(memberEmail, hold) != null) {
+                return false;
+            }
+            size.incrementAndGet();
+            fifos.get(membershipType).offer(hold);
+            return true;
+        }
+
+        void offerFirst(String memberEmail, MembershipType membershipType) {
+            Hold hold = new Hold(memberEmail);
+            if (waiting.putIfAbsent(memberEmail, hold) == null) {
+                size.incrementAndGet();
+                fifos.get(membershipType).offerFirst(hold);
+            }
+        }
+
+        Optional<String> poll() {
+            for (MembershipType type : PRIORITY_ORDER) {
+                Queue<Hold> fifo = fifos.get(type);
+                Hold hold;
+                while ((hold = fifo.poll()) != null) {
+                    if (waiting.remove(hold.memberEmail(), hold)) {
+                        size.decrementAndGet();
+                        return Optional.of(hold.memberEmail());
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+
+        boolean cancel(String memberEmail) {
+            if (waiting.remove(memberEmail) == null) {
+                return false;
+            }
+            size.decrementAndGet();
+            return true;
+        }
+
+        int size() {
+            return size.get();
+        }
+
+        boolean isEmpty() {
+            return size.get() == 0;
+        }
+    }
+
+    /**
+     * A single hold. Holds compare by identity, so a hold that was cancelled and
+     * placed again is not mistaken for the stale entry left in the FIFO.
+     */
+    private static final class Hold {
+        private final String memberEmail;
+
+        Hold(String memberEmail) {
+            this.memberEmail = memberEmail;
+        }
+
+        String memberEmail() {
+            return memberEmail;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package edu.trincoll.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-expiring store of operation results keyed by client-supplied idempotency keys.
+ * The first call for a key runs the operation; repeats within the time-to-live get the
+ * original result without running it again, and concurrent repeats wait for the first
+ * call instead of racing it. Failed operations are not remembered, so a retry after an
+ * exception runs again. The oldest keys are evicted once the store is full.
+ */
+@Component
+public class IdempotencyStore {
+
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+    static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder replayed = new LongAdder();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    /**
+     * Constructs a new IdempotencyStore with the default time-to-live and capacity.
+     */
+    public IdempotencyStore() {
+        this(DEFAULT_TTL, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructs a new IdempotencyStore.
+     * @param ttl How long a result is replayed for repeated keys.
+     * @param maxEntries The maximum number of keys remembered at once.
+     */
+    @Autowired
+    public IdempotencyStore(@Value("${library.idempotency.ttl:10m}") Duration ttl,
+                            @Value("${library.idempotency.max-entries:100000}") int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    IdempotencyStore(Duration ttl, int maxEntries, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Idempotency store capacity must be positive");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs an operation once per key, replaying its result for repeated keys.
+     * @param key The idempotency key, already scoped to the operation.
+     * @param operation The operation to run the first time the key is seen.
+     * @return The result of the first successful run for the key.
+     */
+    public String execute(String key, Supplier<String> operation) {
+        long now = clock.getAsLong();
+        Entry entry = new Entry(key, now);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, entry)) != null) {
+            if (!existing.isExpired(now, ttlNanos)) {
+                replayed.increment();
+                return await(existing);
+            }
+            entries.remove(key, existing);
+        }
+        insertionOrder.add(entry);
+        evict(now);
+
+        try {
+            String result = operation.get();
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of calls answered from the store instead of running the operation.
+     * @return The number of replayed results.
+     */
+    public long replayedCount() {
+        return replayed.sum();
+    }
+
+    /**
+     * Returns the number of keys currently remembered.
+     * @return The number of stored keys.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (entries.size() > maxEntries || oldest.isExpired(now, ttlNanos))) {
+            if (insertionOrder.remove(oldest)) {
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+
+    private static String await(Entry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The result, or pending result, of the first call for a key.
+     */
+    private static final class Entry {
+        private final String key;
+        private final long createdAt;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        Entry(String key, long createdAt) {
+            this.key = key;
+            this.createdAt = createdAt;
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            return now - createdAt >= ttlNanos;
+        }
+    }
+}
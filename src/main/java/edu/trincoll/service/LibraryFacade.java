@@ -1,20 +1,29 @@
 package edu.trincoll.service;
 
 import edu.trincoll.model.Book;
+import edu.trincoll.model.BookCopy;
 import edu.trincoll.model.BookStatus;
 import edu.trincoll.model.Member;
 import edu.trincoll.policy.CheckoutPolicy;
 import edu.trincoll.policy.CheckoutPolicyFactory;
 import edu.trincoll.policy.LateFeeCalculator;
 import edu.trincoll.policy.LateFeeCalculatorFactory;
+import edu.trincoll.report.DashboardGenerator;
+import edu.trincoll.report.IncrementalOverdueReport;
 import edu.trincoll.report.ReportGenerator;
 import edu.trincoll.report.ReportGeneratorFactory;
 import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.BookSearchCriteria;
 import edu.trincoll.repository.MemberRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * AI Collaboration Summary:
@@ -43,6 +52,9 @@ import java.util.List;
 @Service
 public class LibraryFacade {
 
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String CONFLICT_MESSAGE = "Book or member was changed by another request, please try again";
+
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
     private final BookService bookService;
@@ -50,6 +62,11 @@ public class LibraryFacade {
     private final BookSearchService bookSearchService;
     private final NotificationService notificationService;
     private final ReportGeneratorFactory reportGeneratorFactory;
+    private final HoldQueueService holdQueueService;
+    private final CopyService copyService;
+    private final IdempotencyStore idempotencyStore;
+    private final CirculationWriter circulationWriter;
+    private final List<CirculationListener> circulationListeners;
 
     public LibraryFacade(BookRepository bookRepository,
                          MemberRepository memberRepository,
@@ -57,7 +74,12 @@ public class LibraryFacade {
                          MemberService memberService,
                          BookSearchService bookSearchService,
                          NotificationService notificationService,
-                         ReportGeneratorFactory reportGeneratorFactory) {
+                         ReportGeneratorFactory reportGeneratorFactory,
+                         HoldQueueService holdQueueService,
+                         CopyService copyService,
+                         IdempotencyStore idempotencyStore,
+                         CirculationWriter circulationWriter,
+                         List<CirculationListener> circulationListeners) {
         this.bookRepository = bookRepository;
         this.memberRepository = memberRepository;
         this.bookService = bookService;
@@ -65,34 +87,57 @@ public class LibraryFacade {
         this.bookSearchService = bookSearchService;
         this.notificationService = notificationService;
         this.reportGeneratorFactory = reportGeneratorFactory;
+        this.holdQueueService = holdQueueService;
+        this.copyService = copyService;
+        this.idempotencyStore = idempotencyStore;
+        this.circulationWriter = circulationWriter;
+        this.circulationListeners = circulationListeners;
     }
 
     public String checkoutBook(String isbn, String memberEmail) {
-        Book book = bookRepository.findByIsbn(isbn)
+        return retryOnConflict(() -> attemptCheckout(isbn, memberEmail));
+    }
+
+    private String attemptCheckout(String isbn, String memberEmail) {
+        Book book = bookSearchService.searchByIsbn(isbn)
                 .orElseThrow(() -> new IllegalArgumentException("Book not found"));
 
-        Member member = memberRepository.findByEmail(memberEmail)
+        Member member = memberService.findByEmail(memberEmail)
                 .orElseThrow(() -> new IllegalArgumentException("Member not found"));
 
-        if (!bookService.isAvailable(book)) {
-            return "Book is not available";
+        if (!bookService.isAvailableFor(book, member)) {
+            return reject(member, book, RejectionReason.BOOK_NOT_AVAILABLE);
         }
 
         CheckoutPolicy policy = CheckoutPolicyFactory.getCheckoutPolicy(member.getMembershipType());
 
         if (member.getBooksCheckedOut() >= policy.getMaxBooks()) {
-            return "Member has reached checkout limit";
+            return reject(member, book, RejectionReason.CHECKOUT_LIMIT_REACHED);
         }
 
-        bookService.checkoutBook(book, member, policy.getLoanPeriodDays());
-        memberService.incrementCheckoutCount(member);
+        BookStatus previousStatus = bookService.prepareCheckout(book, member, policy.getLoanPeriodDays());
+        memberService.recordCheckout(member);
+        circulationWriter.write(book, member);
+        bookService.publishStatusChange(book, previousStatus);
         notificationService.sendCheckoutNotification(member, book, book.getDueDate());
+        circulationListeners.forEach(listener -> listener.onCheckout(member, book, book.getDueDate()));
 
         return "Book checked out successfully. Due date: " + book.getDueDate();
     }
 
+    public String checkoutBook(String isbn, String memberEmail, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return checkoutBook(isbn, memberEmail);
+        }
+        return idempotencyStore.execute("checkout:" + idempotencyKey, () -> checkoutBook(isbn, memberEmail));
+    }
+
     public String returnBook(String isbn) {
-        Book book = bookRepository.findByIsbn(isbn)
+        return retryOnConflict(() -> attemptReturn(isbn));
+    }
+
+    private String attemptReturn(String isbn) {
+        Book book = bookSearchService.searchByIsbn(isbn)
                 .orElseThrow(() -> new IllegalArgumentException("Book not found"));
 
         if (book.getStatus() != BookStatus.CHECKED_OUT) {
@@ -100,20 +145,28 @@ public class LibraryFacade {
         }
 
         String memberEmail = book.getCheckedOutBy();
-        Member member = memberRepository.findByEmail(memberEmail)
+        Member member = memberService.findByEmail(memberEmail)
                 .orElseThrow(() -> new IllegalArgumentException("Member not found"));
 
-        double lateFee = 0.0;
-        if (book.getDueDate().isBefore(LocalDate.now())) {
-            long daysLate = LocalDate.now().toEpochDay() - book.getDueDate().toEpochDay();
-            LateFeeCalculator feeCalculator = LateFeeCalculatorFactory.getLateFeeCalculator(
-                    member.getMembershipType());
-            lateFee = feeCalculator.calculateLateFee(daysLate);
-        }
+        double lateFee = calculateLateFee(member, book.getDueDate());
 
-        bookService.returnBook(book);
-        memberService.decrementCheckoutCount(member);
+        Optional<Member> nextPatron = nextHoldMember(isbn);
+        BookStatus previousStatus = nextPatron.isPresent()
+                ? bookService.prepareReservation(book, nextPatron.get().getEmail())
+                : bookService.prepareReturn(book);
+        memberService.recordReturn(member);
+        try {
+            circulationWriter.write(book, member);
+        } catch (OptimisticLockingFailureException e) {
+            // The hold was taken for a return that did not happen
+            nextPatron.ifPresent(patron ->
+                    holdQueueService.restoreHold(isbn, patron.getEmail(), patron.getMembershipType()));
+            throw e;
+        }
+        bookService.publishStatusChange(book, previousStatus);
         notificationService.sendReturnNotification(member, book, lateFee);
+        circulationListeners.forEach(listener -> listener.onReturn(member, book, lateFee));
+        nextPatron.ifPresent(patron -> notificationService.sendHoldAvailableNotification(patron, book));
 
         if (lateFee > 0) {
             return "Book returned. Late fee: $" + String.format("%.2f", lateFee);
@@ -122,22 +175,178 @@ public class LibraryFacade {
         return "Book returned successfully";
     }
 
+    public String returnBook(String isbn, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return returnBook(isbn);
+        }
+        return idempotencyStore.execute("return:" + idempotencyKey, () -> returnBook(isbn));
+    }
+
+    public String checkoutCopy(String isbn, String memberEmail) {
+        Book book = bookSearchService.searchByIsbn(isbn)
+                .orElseThrow(() -> new IllegalArgumentException("Book not found"));
+
+        Member member = memberService.findByEmail(memberEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Member not found"));
+
+        CheckoutPolicy policy = CheckoutPolicyFactory.getCheckoutPolicy(member.getMembershipType());
+
+        if (member.getBooksCheckedOut() >= policy.getMaxBooks()) {
+            return reject(member, book, RejectionReason.CHECKOUT_LIMIT_REACHED);
+        }
+
+        Optional<BookCopy> claimed = copyService.claimCopy(book, member, policy.getLoanPeriodDays());
+        if (claimed.isEmpty()) {
+            return reject(member, book, RejectionReason.NO_COPIES_AVAILABLE);
+        }
+
+        BookCopy copy = claimed.get();
+        memberService.incrementCheckoutCount(member);
+        notificationService.sendCheckoutNotification(member, book, copy.getDueDate());
+        circulationListeners.forEach(listener -> listener.onCheckout(member, book, copy.getDueDate()));
+
+        return "Copy " + copy.getBarcode() + " checked out successfully. Due date: " + copy.getDueDate();
+    }
+
+    public String returnCopy(String barcode) {
+        BookCopy copy = copyService.findByBarcode(barcode)
+                .orElseThrow(() -> new IllegalArgumentException("Copy not found"));
+
+        if (copy.getStatus() != BookStatus.CHECKED_OUT) {
+            return "Copy is not checked out";
+        }
+
+        Member member = memberRepository.findByEmail(copy.getCheckedOutBy())
+                .orElseThrow(() -> new IllegalArgumentException("Member not found"));
+
+        double lateFee = calculateLateFee(member, copy.getDueDate());
+
+        if (!copyService.releaseCopy(copy)) {
+            return "Copy is not checked out";
+        }
+        memberService.decrementCheckoutCount(member);
+        notificationService.sendReturnNotification(member, copy.getBook(), lateFee);
+        circulationListeners.forEach(listener -> listener.onReturn(member, copy.getBook(), lateFee));
+
+        if (lateFee > 0) {
+            return "Copy returned. Late fee: $" + String.format("%.2f", lateFee);
+        }
+
+        return "Copy returned successfully";
+    }
+
+    public int availableCopies(String isbn) {
+        Book book = bookSearchService.searchByIsbn(isbn)
+                .orElseThrow(() -> new IllegalArgumentException("Book not found"));
+        return copyService.availableCopies(book);
+    }
+
+    public String placeHold(String isbn, String memberEmail) {
+        Book book = bookSearchService.searchByIsbn(isbn)
+                .orElseThrow(() -> new IllegalArgumentException("Book not found"));
+
+        Member member = memberService.findByEmail(memberEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Member not found"));
+
+        if (bookService.isAvailable(book)) {
+            return "Book is available for checkout";
+        }
+
+        if (memberEmail.equals(book.getCheckedOutBy()) || memberEmail.equals(book.getReservedFor())) {
+            return "Member already has this book";
+        }
+
+        if (!holdQueueService.placeHold(isbn, memberEmail, member.getMembershipType())) {
+            return "Member already has a hold on this book";
+        }
+
+        return "Hold placed successfully";
+    }
+
     public List<Book> searchBooks(String searchTerm, String searchType) {
+        return bookSearchService.search(searchTerm, searchType);
+    }
+
+    public List<Book> searchBooks(String searchTerm, String searchType, BookStatus status) {
         if ("title".equalsIgnoreCase(searchType)) {
-            return bookSearchService.searchByTitle(searchTerm);
+            return bookSearchService.searchByTitle(searchTerm, status);
         } else if ("author".equalsIgnoreCase(searchType)) {
-            return bookSearchService.searchByAuthor(searchTerm);
-        } else if ("isbn".equalsIgnoreCase(searchType)) {
-            return bookSearchService.searchByIsbn(searchTerm)
-                    .map(List::of)
-                    .orElse(List.of());
-        } else {
-            throw new IllegalArgumentException("Invalid search type");
+            return bookSearchService.searchByAuthor(searchTerm, status);
         }
+        return searchBooks(searchTerm, searchType).stream()
+                .filter(book -> book.getStatus() == status)
+                .toList();
+    }
+
+    public long countBooksByStatus(BookStatus status) {
+        return bookSearchService.countByStatus(status);
+    }
+
+    public List<Book> searchBooksByAuthorFuzzy(String author, int maxDistance) {
+        return bookSearchService.searchByAuthorFuzzy(author, maxDistance);
+    }
+
+    public List<Book> searchBooks(BookSearchCriteria criteria) {
+        return bookSearchService.search(criteria);
     }
 
     public String generateReport(String reportType) {
         ReportGenerator generator = reportGeneratorFactory.getReportGenerator(reportType);
         return generator.generateReport();
     }
+
+    public IncrementalOverdueReport generateIncrementalOverdueReport(String sinceToken) {
+        return reportGeneratorFactory.getIncrementalOverdueReport(sinceToken);
+    }
+
+    public Map<String, String> generateDashboard(List<String> reportTypes) {
+        return generateDashboard(reportTypes, DashboardGenerator.DEFAULT_TIMEOUT);
+    }
+
+    public Map<String, String> generateDashboard(List<String> reportTypes, Duration timeout) {
+        return reportGeneratorFactory.getDashboardGenerator(reportTypes).generateDashboard(timeout);
+    }
+
+    /**
+     * Runs a checkout or return again when another request changed its book or member
+     * between the read and the write. Each attempt reads fresh copies, so a retry sees
+     * the other request's outcome and decides again.
+     */
+    private String retryOnConflict(Supplier<String> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    return CONFLICT_MESSAGE;
+                }
+            }
+        }
+    }
+
+    private String reject(Member member, Book book, RejectionReason reason) {
+        circulationListeners.forEach(listener -> listener.onCheckoutRejected(member, book, reason));
+        return reason.getMessage();
+    }
+
+    private double calculateLateFee(Member member, LocalDate dueDate) {
+        if (!dueDate.isBefore(LocalDate.now())) {
+            return 0.0;
+        }
+        long daysLate = LocalDate.now().toEpochDay() - dueDate.toEpochDay();
+        LateFeeCalculator feeCalculator = LateFeeCalculatorFactory.getLateFeeCalculator(
+                member.getMembershipType());
+        return feeCalculator.calculateLateFee(daysLate);
+    }
+
+    private Optional<Member> nextHoldMember(String isbn) {
+        Optional<String> next;
+        while ((next = holdQueueService.nextHold(isbn)).isPresent()) {
+            Optional<Member> patron = memberRepository.findByEmail(next.get());
+            if (patron.isPresent()) {
+                return patron;
+            }
+        }
+        return Optional.empty();
+    }
 }
\ No newline at end of file
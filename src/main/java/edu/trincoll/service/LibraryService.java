@@ -1,12 +1,26 @@
 package edu.trincoll.service;
 
+import edu.trincoll.admission.AdaptiveConcurrencyLimiter;
+import edu.trincoll.analytics.BorrowingTrends;
+import edu.trincoll.analytics.CirculationAnalytics;
+import edu.trincoll.index.BookStatusIndex;
+import edu.trincoll.index.LookupFilters;
+import edu.trincoll.instrumentation.SqlStatementRecorder;
 import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookCopyRepository;
 import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.BookSearchCriteria;
 import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.report.IncrementalOverdueReport;
+import edu.trincoll.report.OverdueChangeTracker;
 import edu.trincoll.report.ReportGeneratorFactory;
+import edu.trincoll.search.FuzzyAuthorIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Legacy LibraryService that delegates to LibraryFacade.
@@ -20,20 +34,42 @@ public class LibraryService {
      * The facade that coordinates all library operations.
      */
     private final LibraryFacade libraryFacade;
+    /**
+     * Constructs a new LibraryService around the application's shared facade,
+     * so state such as hold queues is the same for every caller.
+     * @param libraryFacade The facade that coordinates all library operations.
+     */
+    @Autowired
+    public LibraryService(LibraryFacade libraryFacade) {
+        this.libraryFacade = libraryFacade;
+    }
     /**
      * Constructs a new LibraryService with the required repositories.
      * Creates and wires all services needed by the facade.
      * @param bookRepository The repository for accessing book data.
      * @param memberRepository The repository for accessing member data.
+     * @param bookCopyRepository The repository for accessing book copy data.
      */
     public LibraryService(BookRepository bookRepository,
-                          MemberRepository memberRepository) {
+                          MemberRepository memberRepository,
+                          BookCopyRepository bookCopyRepository) {
         // Create all the services that LibraryFacade needs
-        BookService bookService = new BookService(bookRepository);
+        OverdueChangeTracker overdueChangeTracker = new OverdueChangeTracker(bookRepository);
+        BookStatusIndex bookStatusIndex = new BookStatusIndex(bookRepository);
+        BookService bookService = new BookService(List.of(overdueChangeTracker, bookStatusIndex));
         MemberService memberService = new MemberService(memberRepository);
-        BookSearchService bookSearchService = new BookSearchService(bookRepository);
+        BookSearchService bookSearchService = BookSearchService.of(bookRepository,
+                new FuzzyAuthorIndex(bookRepository), bookStatusIndex, LookupFilters.passThrough(), null);
         NotificationService notificationService = new EmailNotificationService();
-        ReportGeneratorFactory reportGeneratorFactory = new ReportGeneratorFactory(bookRepository, memberRepository);
+        CirculationAnalytics circulationAnalytics = new CirculationAnalytics();
+        BorrowingTrends borrowingTrends = new BorrowingTrends();
+        ReportGeneratorFactory reportGeneratorFactory = new ReportGeneratorFactory(bookRepository, memberRepository,
+                overdueChangeTracker, circulationAnalytics, borrowingTrends, new SqlStatementRecorder(),
+                LookupFilters.passThrough(), AdaptiveConcurrencyLimiter.withDefaults());
+        HoldQueueService holdQueueService = new HoldQueueService();
+        CopyService copyService = new CopyService(bookCopyRepository);
+        IdempotencyStore idempotencyStore = new IdempotencyStore();
+        CirculationWriter circulationWriter = new DirectCirculationWriter(bookRepository, memberRepository);
 
         // Create the facade
         this.libraryFacade = new LibraryFacade(
@@ -43,7 +79,12 @@ public class LibraryService {
                 memberService,
                 bookSearchService,
                 notificationService,
-                reportGeneratorFactory
+                reportGeneratorFactory,
+                holdQueueService,
+                copyService,
+                idempotencyStore,
+                circulationWriter,
+                List.of(circulationAnalytics, borrowingTrends)
         );
     }
     /**
@@ -63,6 +104,51 @@ public class LibraryService {
     public String returnBook(String isbn) {
         return libraryFacade.returnBook(isbn);
     }
+    /**
+     * Checks out a book, replaying the original result if the request is a retry.
+     * @param isbn The ISBN of the book to check out.
+     * @param memberEmail The email address of the member checking out the book.
+     * @param idempotencyKey A key identifying the request across retries, or null to always run it.
+     * @return A success message, or an error message if checkout fails.
+     */
+    public String checkoutBook(String isbn, String memberEmail, String idempotencyKey) {
+        return libraryFacade.checkoutBook(isbn, memberEmail, idempotencyKey);
+    }
+    /**
+     * Returns a book, replaying the original result if the request is a retry.
+     * @param isbn The ISBN of the book being returned.
+     * @param idempotencyKey A key identifying the request across retries, or null to always run it.
+     * @return A success message, or an error message if return fails.
+     */
+    public String returnBook(String isbn, String idempotencyKey) {
+        return libraryFacade.returnBook(isbn, idempotencyKey);
+    }
+    /**
+     * Checks out any available copy of a multi-copy title.
+     * @param isbn The ISBN of the title to check out.
+     * @param memberEmail The email address of the member checking out the copy.
+     * @return A success message including the copy's barcode, or an error message if checkout fails.
+     */
+    public String checkoutCopy(String isbn, String memberEmail) {
+        return libraryFacade.checkoutCopy(isbn, memberEmail);
+    }
+    /**
+     * Returns a copy of a multi-copy title.
+     * @param barcode The barcode of the copy being returned.
+     * @return A success message, or an error message if return fails.
+     */
+    public String returnCopy(String barcode) {
+        return libraryFacade.returnCopy(barcode);
+    }
+    /**
+     * Places a hold on a book that is currently unavailable.
+     * @param isbn The ISBN of the book to hold.
+     * @param memberEmail The email address of the member placing the hold.
+     * @return A success message, or an explanation if no hold was placed.
+     */
+    public String placeHold(String isbn, String memberEmail) {
+        return libraryFacade.placeHold(isbn, memberEmail);
+    }
     /**
      * Searches for books based on specified criteria.
      * @param searchTerm The text to search for.
@@ -72,6 +158,42 @@ public class LibraryService {
     public List<Book> searchBooks(String searchTerm, String searchType) {
         return libraryFacade.searchBooks(searchTerm, searchType);
     }
+    /**
+     * Searches for books by author, tolerating typos and differences in case.
+     * @param author The author name as typed.
+     * @param maxDistance The largest number of typos to tolerate.
+     * @return Books by the closest matching authors, or empty list if none found.
+     */
+    public List<Book> searchBooksByAuthorFuzzy(String author, int maxDistance) {
+        return libraryFacade.searchBooksByAuthorFuzzy(author, maxDistance);
+    }
+    /**
+     * Searches for books that currently have a given status.
+     * Title and author searches are filtered through the status index before any book is loaded.
+     * @param searchTerm The text to search for.
+     * @param searchType The type of search ("title", "author", "isbn", or "available").
+     * @param status The status the books must have.
+     * @return A list of matching books with the status, or empty list if none found.
+     */
+    public List<Book> searchBooks(String searchTerm, String searchType, BookStatus status) {
+        return libraryFacade.searchBooks(searchTerm, searchType, status);
+    }
+    /**
+     * Counts the books with a status.
+     * @param status The status to count.
+     * @return The number of books with the status.
+     */
+    public long countBooksByStatus(BookStatus status) {
+        return libraryFacade.countBooksByStatus(status);
+    }
+    /**
+     * Searches for books matching several criteria at once.
+     * @param criteria The optional title, author, status, publication date range and sort order.
+     * @return A list of books matching all criteria, or empty list if none found.
+     */
+    public List<Book> searchBooks(BookSearchCriteria criteria) {
+        return libraryFacade.searchBooks(criteria);
+    }
 
     /**
      * Generates a report about the library's current state.
@@ -81,4 +203,22 @@ public class LibraryService {
     public String generateReport(String reportType) {
         return libraryFacade.generateReport(reportType);
     }
-}
\ No newline at end of file
+
+    /**
+     * Generates only the changes to the overdue list since a previous report.
+     * @param sinceToken The token returned by the previous report, or null for a full report.
+     * @return The newly overdue and newly returned books, and the token for the next report.
+     */
+    public IncrementalOverdueReport generateIncrementalOverdueReport(String sinceToken) {
+        return libraryFacade.generateIncrementalOverdueReport(sinceToken);
+    }
+
+    /**
+     * Generates several reports concurrently for the admin dashboard.
+     * @param reportTypes The report types to include, in display order.
+     * @return The generated reports keyed by report type.
+     */
+    public Map<String, String> generateDashboard(List<String> reportTypes) {
+        return libraryFacade.generateDashboard(reportTypes);
+    }
+}
@@ -0,0 +1,274 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Loan;
+import edu.trincoll.repository.LoanRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves closed loans out of the loans table into compressed, month-bucketed
+ * archive files, keeping the hot table limited to active and recent loans.
+ * Each batch writes one new file per checkout month, named for the month and the
+ * batch's first loan id, so a query for some months opens only their files.
+ * Next to each file is a plain-text index of the members whose loans it holds,
+ * so a member's history opens only the files that mention them.
+ * Archived loans remain queryable through {@link #findArchivedLoans(Predicate)}.
+ */
+@Component
+public class LoanArchiver {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String FILE_PREFIX = "loans-";
+    private static final String FILE_SUFFIX = ".tsv.gz";
+    private static final String INDEX_SUFFIX = ".members";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final LoanRepository loanRepository;
+    private final Path archiveDirectory;
+    private final int archiveAfterMonths;
+
+    /**
+     * Constructs a new LoanArchiver.
+     * @param loanRepository The repository for accessing loans.
+     * @param archiveDirectory The directory the compressed archive files are written to.
+     * @param archiveAfterMonths How many months a loan stays in the hot table after it is returned.
+     */
+    public LoanArchiver(LoanRepository loanRepository,
+                        @Value("${library.loans.archive-dir:data/loan-archive}") Path archiveDirectory,
+                        @Value("${library.loans.archive-after-months:6}") int archiveAfterMonths) {
+        this.loanRepository = loanRepository;
+        this.archiveDirectory = archiveDirectory;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    /**
+     * Archives loans that were returned more than the configured number of months ago.
+     * @return The number of loans archived.
+     */
+    @Scheduled(cron = "${library.loans.archive-cron:0 30 2 * * *}")
+    public int archiveClosedLoans() {
+        return archiveLoansReturnedBefore(LocalDate.now().minusMonths(archiveAfterMonths));
+    }
+
+    /**
+     * Archives every loan returned before a cutoff date.
+     * Each file is written and synced under a temporary name and then renamed into
+     * place, index first, so a crash never leaves a partial file among the archives
+     * or an archive without its index. Loans are
+     * deleted only after their files are in place, so a crash can at worst archive
+     * a loan twice, and {@link #findArchivedLoans(Predicate)} ignores the duplicate.
+     * @param cutoff Loans returned before this date are archived.
+     * @return The number of loans archived.
+     */
+    public int archiveLoansReturnedBefore(LocalDate cutoff) {
+        int archived = 0;
+        List<Loan> batch;
+        while (!(batch = loanRepository.findByReturnedOnBeforeOrderById(cutoff, PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+            Map<Integer, List<Loan>> byMonth = new TreeMap<>();
+            for (Loan loan : batch) {
+                byMonth.computeIfAbsent(loan.getLoanMonth(), month -> new ArrayList<>()).add(loan);
+            }
+            byMonth.forEach(this::write);
+            loanRepository.deleteAllInBatch(batch);
+            archived += batch.size();
+        }
+        return archived;
+    }
+
+    /**
+     * Searches every archive file for loans matching a filter.
+     * @param filter The condition archived loans must satisfy.
+     * @return The matching archived loans, oldest month first.
+     */
+    public List<Loan> findArchivedLoans(Predicate<Loan> filter) {
+        return findArchivedLoans(Integer.MIN_VALUE, Integer.MAX_VALUE, filter);
+    }
+
+    /**
+     * Searches the archive files for some checkout months for loans matching a filter.
+     * Files for other months are never opened.
+     * @param firstMonth The earliest checkout month to search, as yyyyMM (see {@link Loan#monthOf}).
+     * @param lastMonth The latest checkout month to search, as yyyyMM.
+     * @param filter The condition archived loans must satisfy.
+     * @return The matching archived loans, oldest month first.
+     */
+    public List<Loan> findArchivedLoans(int firstMonth, int lastMonth, Predicate<Loan> filter) {
+        return search(archive -> archive.month() >= firstMonth && archive.month() <= lastMonth, filter);
+    }
+
+    /**
+     * Returns a member's archived loans. Only the files whose index lists the member are opened.
+     * @param memberEmail The email of the member.
+     * @return The member's archived loans, oldest month first.
+     */
+    public List<Loan> findArchivedLoansOf(String memberEmail) {
+        return search(archive -> archive.mentions(memberEmail), loan -> loan.getMemberEmail().equals(memberEmail));
+    }
+
+    private List<Loan> search(Predicate<ArchiveFile> files, Predicate<Loan> filter) {
+        if (!Files.isDirectory(archiveDirectory)) {
+            return List.of();
+        }
+        List<Loan> matches = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        try (Stream<Path> listing = Files.list(archiveDirectory)) {
+            List<ArchiveFile> archives = listing.map(ArchiveFile::of)
+                    .filter(Objects::nonNull)
+                    .filter(files)
+                    .sorted(Comparator.comparingInt(ArchiveFile::month).thenComparingLong(ArchiveFile::firstLoanId))
+                    .toList();
+            for (ArchiveFile archive : archives) {
+                for (Loan loan : read(archive.path())) {
+                    if (seen.add(loan.getId()) && filter.test(loan)) {
+                        matches.add(loan);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read loan archive", e);
+        }
+        return matches;
+    }
+
+    private void write(int loanMonth, List<Loan> loans) {
+        // A batch that is archived again after a crash has the same first id, so it replaces its own files
+        String name = FILE_PREFIX + loanMonth + "-" + loans.get(0).getId();
+        List<String> members = loans.stream().map(Loan::getMemberEmail).distinct().sorted().toList();
+        writeAtomically(archiveDirectory.resolve(name + INDEX_SUFFIX), loanMonth, Files::newOutputStream, members);
+        writeAtomically(archiveDirectory.resolve(name + FILE_SUFFIX), loanMonth,
+                temp -> new GZIPOutputStream(Files.newOutputStream(temp)),
+                loans.stream().map(LoanArchiver::format).toList());
+    }
+
+    private static void writeAtomically(Path file, int loanMonth, OutputOpener opener, List<String> lines) {
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(opener.open(temp), StandardCharsets.UTF_8))) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException("Failed to archive loans for " + loanMonth, e);
+        }
+    }
+
+    private static List<Loan> read(Path file) throws IOException {
+        List<Loan> loans = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    loans.add(parse(line));
+                }
+            }
+        }
+        return loans;
+    }
+
+    @FunctionalInterface
+    private interface OutputOpener {
+        OutputStream open(Path temp) throws IOException;
+    }
+
+    /**
+     * An archive file and what its name says about it.
+     * @param path The file.
+     * @param month The checkout month of the loans in it, as yyyyMM.
+     * @param firstLoanId The id of the first loan in it.
+     */
+    private record ArchiveFile(Path path, int month, long firstLoanId) {
+
+        static ArchiveFile of(Path path) {
+            String name = path.getFileName().toString();
+            if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+                return null;
+            }
+            String[] parts = name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()).split("-");
+            if (parts.length != 2) {
+                return null;
+            }
+            try {
+                return new ArchiveFile(path, Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        boolean mentions(String memberEmail) {
+            String name = path.getFileName().toString();
+            Path index = path.resolveSibling(name.substring(0, name.length() - FILE_SUFFIX.length()) + INDEX_SUFFIX);
+            try (Stream<String> members = Files.lines(index, StandardCharsets.UTF_8)) {
+                return members.anyMatch(memberEmail::equals);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read loan archive index " + index, e);
+            }
+        }
+    }
+
+    private static String format(Loan loan) {
+        return String.join("\t",
+                String.valueOf(loan.getId()),
+                loan.getIsbn(),
+                loan.getMemberEmail(),
+                loan.getCheckedOutOn().toString(),
+                String.valueOf(loan.getDueDate()),
+                String.valueOf(loan.getReturnedOn()),
+                String.valueOf(loan.getLateFee()));
+    }
+
+    private static Loan parse(String line) {
+        String[] fields = line.split("\t", -1);
+        Loan loan = new Loan(fields[1], fields[2], LocalDate.parse(fields[3]), parseDate(fields[4]));
+        loan.setId(Long.valueOf(fields[0]));
+        loan.setReturnedOn(parseDate(fields[5]));
+        loan.setLateFee(Double.parseDouble(fields[6]));
+        return loan;
+    }
+
+    private static LocalDate parseDate(String value) {
+        return "null".equals(value) ? null : LocalDate.parse(value);
+    }
+}
@@ -0,0 +1,82 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Loan;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.LoanRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service that records a loan for every checkout and closes it on return.
+ * Closed loans are moved out of the loans table by {@link LoanArchiver}, so
+ * member history combines the hot table with the compressed archive.
+ */
+@Service
+public class LoanHistoryService implements CirculationListener {
+
+    private final LoanRepository loanRepository;
+    private final LoanArchiver loanArchiver;
+
+    /**
+     * Constructs a new LoanHistoryService.
+     * @param loanRepository The repository for accessing active and recent loans.
+     * @param loanArchiver The archiver holding loans moved to cold storage.
+     */
+    public LoanHistoryService(LoanRepository loanRepository, LoanArchiver loanArchiver) {
+        this.loanRepository = loanRepository;
+        this.loanArchiver = loanArchiver;
+    }
+
+    /**
+     * Opens a loan for a checkout.
+     * @param member The member who checked out the book.
+     * @param book The book that was checked out.
+     * @param dueDate The date the book is due for return.
+     */
+    @Override
+    public void onCheckout(Member member, Book book, LocalDate dueDate) {
+        loanRepository.save(new Loan(book.getIsbn(), member.getEmail(), LocalDate.now(), dueDate));
+    }
+
+    /**
+     * Closes the member's open loan for the returned book.
+     * @param member The member who returned the book.
+     * @param book The book that was returned.
+     * @param lateFee The late fee charged for the return.
+     */
+    @Override
+    public void onReturn(Member member, Book book, double lateFee) {
+        loanRepository.findFirstByIsbnAndMemberEmailAndReturnedOnIsNull(book.getIsbn(), member.getEmail())
+                .ifPresent(loan -> {
+                    loan.setReturnedOn(LocalDate.now());
+                    loan.setLateFee(lateFee);
+                    loanRepository.save(loan);
+                });
+    }
+
+    /**
+     * Returns the loans a member currently has open.
+     * @param memberEmail The email of the member.
+     * @return The member's active loans.
+     */
+    public List<Loan> activeLoans(String memberEmail) {
+        return loanRepository.findByMemberEmailAndReturnedOnIsNull(memberEmail);
+    }
+
+    /**
+     * Returns a member's full loan history, including archived loans, newest first.
+     * @param memberEmail The email of the member.
+     * @return All loans recorded for the member.
+     */
+    public List<Loan> loanHistory(String memberEmail) {
+        List<Loan> history = new ArrayList<>(loanRepository.findByMemberEmail(memberEmail));
+        history.addAll(loanArchiver.findArchivedLoansOf(memberEmail));
+        history.sort(Comparator.comparing(Loan::getCheckedOutOn).reversed());
+        return history;
+    }
+}
@@ -1,8 +1,12 @@
 package edu.trincoll.service;
 
+import edu.trincoll.index.LookupFilters;
 import edu.trincoll.model.Member;
 import edu.trincoll.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+
+import java.util.Optional;
 /**
  * Service for managing library member operations.
  * Handles member checkout counts and checkout eligibility.
@@ -11,21 +15,45 @@ import org.springframework.stereotype.Service;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final LookupFilters lookupFilters;
 
     public MemberService(MemberRepository memberRepository) {
+        this(memberRepository, LookupFilters.passThrough());
+    }
+
+    @Autowired
+    public MemberService(MemberRepository memberRepository, LookupFilters lookupFilters) {
         this.memberRepository = memberRepository;
+        this.lookupFilters = lookupFilters;
+    }
+
+    /**
+     * Finds a member by email. Emails the lookup filter has never seen are not looked up.
+     * @param email The member's email address.
+     * @return The member, or empty if there is none with that email.
+     */
+    public Optional<Member> findByEmail(String email) {
+        return lookupFilters.emails().lookup(email, memberRepository::findByEmail);
     }
 
     public void incrementCheckoutCount(Member member) {
-        member.setBooksCheckedOut(member.getBooksCheckedOut() + 1);
+        recordCheckout(member);
         memberRepository.save(member);
     }
 
     public void decrementCheckoutCount(Member member) {
-        member.setBooksCheckedOut(member.getBooksCheckedOut() - 1);
+        recordReturn(member);
         memberRepository.save(member);
     }
 
+    public void recordCheckout(Member member) {
+        member.setBooksCheckedOut(member.getBooksCheckedOut() + 1);
+    }
+
+    public void recordReturn(Member member) {
+        member.setBooksCheckedOut(member.getBooksCheckedOut() - 1);
+    }
+
     public boolean canCheckout(Member member, int maxBooks) {
         return member.getBooksCheckedOut() < maxBooks;
     }
@@ -4,8 +4,11 @@ import edu.trincoll.model.Book;
 import edu.trincoll.model.Member;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public interface NotificationService {
     void sendCheckoutNotification(Member member, Book book, LocalDate dueDate);
     void sendReturnNotification(Member member, Book book, double lateFee);
+    void sendHoldAvailableNotification(Member member, Book book);
+    void sendDigestNotification(Member member, List<String> messages);
 }
\ No newline at end of file
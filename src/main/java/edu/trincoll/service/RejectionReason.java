@@ -0,0 +1,20 @@
+package edu.trincoll.service;
+
+/**
+ * Reasons a checkout can be refused, with the message returned to the caller.
+ */
+public enum RejectionReason {
+    BOOK_NOT_AVAILABLE("Book is not available"),
+    CHECKOUT_LIMIT_REACHED("Member has reached checkout limit"),
+    NO_COPIES_AVAILABLE("No copies available");
+
+    private final String message;
+
+    RejectionReason(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
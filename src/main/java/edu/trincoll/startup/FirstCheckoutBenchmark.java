@@ -0,0 +1,86 @@
+package edu.trincoll.startup;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.LibraryFacade;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+
+/**
+ * Measures time from JVM launch to the first successful checkout, the point at which a
+ * freshly scaled-out instance is actually useful. Disabled unless
+ * {@code library.startup.benchmark.enabled} is set; the {@code startupBenchmark} Gradle
+ * task turns it on, and also uses it as the class data sharing training run.
+ * The properties are read at runtime rather than through a condition, so the bean
+ * survives AOT processing.
+ */
+@Component
+public class FirstCheckoutBenchmark {
+
+    static final String RESULT_PREFIX = "Time to first successful checkout: ";
+    private static final String ISBN = "978-0-000000-00-1";
+    private static final String EMAIL = "startup-benchmark@library.local";
+
+    private final ObjectProvider<LibraryFacade> libraryFacade;
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+    private final boolean enabled;
+    private final boolean exitWhenDone;
+
+    /**
+     * Constructs a new FirstCheckoutBenchmark.
+     * @param libraryFacade The facade, resolved only when the benchmark runs so lazy startup is measured.
+     * @param bookRepository The repository the benchmark book is saved to.
+     * @param memberRepository The repository the benchmark member is saved to.
+     * @param enabled Whether the benchmark runs at startup.
+     * @param exitWhenDone Whether the application exits once the benchmark has run.
+     */
+    public FirstCheckoutBenchmark(ObjectProvider<LibraryFacade> libraryFacade,
+                                  BookRepository bookRepository,
+                                  MemberRepository memberRepository,
+                                  @Value("${library.startup.benchmark.enabled:false}") boolean enabled,
+                                  @Value("${library.startup.benchmark.exit:false}") boolean exitWhenDone) {
+        this.libraryFacade = libraryFacade;
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+        this.enabled = enabled;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long millis = runFirstCheckout();
+        System.out.println("Application ready in: " + event.getTimeTaken().toMillis() + " ms");
+        System.out.println(RESULT_PREFIX + millis + " ms");
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(event.getApplicationContext(), () -> 0));
+        }
+    }
+
+    /**
+     * Checks out a freshly saved book and returns the time since the JVM started.
+     * @return Milliseconds from JVM start until the checkout succeeded.
+     */
+    long runFirstCheckout() {
+        memberRepository.save(new Member("Startup Benchmark", EMAIL, MembershipType.REGULAR));
+        bookRepository.save(new Book(ISBN, "Startup Benchmark", "Benchmark", LocalDate.now()));
+        String result = libraryFacade.getObject().checkoutBook(ISBN, EMAIL);
+        if (!result.startsWith("Book checked out successfully")) {
+            throw new IllegalStateException("Benchmark checkout failed: " + result);
+        }
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
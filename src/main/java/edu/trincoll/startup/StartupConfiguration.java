@@ -0,0 +1,38 @@
+package edu.trincoll.startup;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Startup settings shared by every profile.
+ * When lazy initialization is on (the {@code fast-startup} profile), beans that react to
+ * application events or run on a schedule are still created eagerly: a lazy bean is
+ * never registered for {@code ApplicationReadyEvent} or its {@code @Scheduled} methods,
+ * so caches it seeds at startup would silently stay empty.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerLifecycleBeans() {
+        return (beanName, beanDefinition, beanType) -> hasLifecycleMethod(beanType);
+    }
+
+    static boolean hasLifecycleMethod(Class<?> beanType) {
+        return Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS))
+                .anyMatch(StartupConfiguration::isLifecycleMethod);
+    }
+
+    private static boolean isLifecycleMethod(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, EventListener.class)
+                || AnnotatedElementUtils.hasAnnotation(method, Scheduled.class);
+    }
+}
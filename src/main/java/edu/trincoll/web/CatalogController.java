@@ -0,0 +1,79 @@
+package edu.trincoll.web;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.service.CatalogVersion;
+import edu.trincoll.service.LibraryFacade;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Book search and catalog reports over HTTP, with conditional requests.
+ * Responses carry an ETag derived from the {@link CatalogVersion} read before they are
+ * built. A request whose If-None-Match matches the current tag gets 304 Not Modified
+ * before the facade, and so any repository, is called. Only reports computed purely from
+ * saved books and members are tagged; the overdue report's tag also carries the date,
+ * since the same catalog is overdue by different amounts on different days. Metrics reports
+ * change without catalog writes and are always rebuilt.
+ */
+@RestController
+@RequestMapping("/api")
+public class CatalogController {
+
+    private static final Set<String> CATALOG_REPORTS = Set.of("overdue", "available", "members");
+
+    private final LibraryFacade libraryFacade;
+    private final CatalogVersion catalogVersion;
+
+    public CatalogController(LibraryFacade libraryFacade, CatalogVersion catalogVersion) {
+        this.libraryFacade = libraryFacade;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @GetMapping("/books")
+    public ResponseEntity<List<Book>> searchBooks(@RequestParam("q") String searchTerm,
+                                                  @RequestParam(name = "type", defaultValue = "any") String searchType,
+                                                  WebRequest request) {
+        if (request.checkNotModified(catalogVersion.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(libraryFacade.searchBooks(searchTerm, searchType));
+    }
+
+    @GetMapping(path = "/reports/{reportType}", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> generateReport(@PathVariable String reportType, WebRequest request) {
+        String normalized = reportType.toLowerCase(Locale.ROOT);
+        if (!CATALOG_REPORTS.contains(normalized)) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(libraryFacade.generateReport(reportType));
+        }
+        String etag = normalized.equals("overdue") ? catalogVersion.etag(LocalDate.now()) : catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(libraryFacade.generateReport(reportType));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+}
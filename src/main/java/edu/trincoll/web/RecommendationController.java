@@ -0,0 +1,41 @@
+package edu.trincoll.web;
+
+import edu.trincoll.recommendation.CoOccurrenceEngine.Recommendation;
+import edu.trincoll.recommendation.RecommendationService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * "Members who borrowed this also borrowed" recommendations over HTTP.
+ * Recommendations change with checkouts as well as catalog writes, so they are never tagged
+ * or cached.
+ */
+@RestController
+@RequestMapping("/api")
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+
+    public RecommendationController(RecommendationService recommendationService) {
+        this.recommendationService = recommendationService;
+    }
+
+    @GetMapping("/books/{isbn}/recommendations")
+    public ResponseEntity<List<Recommendation>> recommend(@PathVariable String isbn,
+                                                          @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(recommendationService.recommend(isbn, limit));
+    }
+}
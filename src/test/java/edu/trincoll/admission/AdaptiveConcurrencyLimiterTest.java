@@ -0,0 +1,164 @@
+package edu.trincoll.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(10, 2, 100, 2.0, 0.9, clock::get);
+
+    @Test
+    @DisplayName("Should grow the limit while latency stays near the baseline and the limit is in use")
+    void shouldGrowWhenHealthy() {
+        for (int round = 0; round < 100; round++) {
+            runConcurrently(10, 10);
+        }
+
+        assertThat(limiter.stats().limit()).isGreaterThan(10);
+        assertThat(limiter.stats().baselineLatencies().get("CRITICAL").toMillis()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while most of it is unused")
+    void shouldNotGrowWhenIdle() {
+        for (int round = 0; round < 100; round++) {
+            runConcurrently(1, 10);
+        }
+
+        assertThat(limiter.stats().limit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should cut the limit when latency rises, but not below the minimum")
+    void shouldBackOffWhenSlow() {
+        runConcurrently(1, 10);
+        for (int i = 0; i < 5; i++) {
+            runConcurrently(1, 50);
+        }
+
+        assertThat(limiter.stats().limit()).isEqualTo(5);
+
+        for (int i = 0; i < 20; i++) {
+            runConcurrently(1, 500);
+        }
+
+        assertThat(limiter.stats().limit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should cut the limit once for a burst of slow operations that started together")
+    void shouldCutOncePerRoundTrip() {
+        runConcurrently(1, 10);
+        runConcurrently(8, 50);
+
+        assertThat(limiter.stats().limit()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should hold the limit under a steady mix of fast and slow operations, and still cut it when one slows")
+    void shouldJudgeEachOperationAgainstItsOwnBaseline() {
+        for (int round = 0; round < 200; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> reports = acquire("generateReport", Priority.LOW, 1);
+            List<AdaptiveConcurrencyLimiter.Permit> checkouts = acquire("checkoutBook", Priority.CRITICAL, 4);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            checkouts.forEach(AdaptiveConcurrencyLimiter.Permit::close);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(490));
+            reports.forEach(AdaptiveConcurrencyLimiter.Permit::close);
+        }
+
+        int steadyLimit = limiter.stats().limit();
+        assertThat(steadyLimit).isGreaterThanOrEqualTo(10);
+        assertThat(limiter.stats().baselineLatencies())
+                .containsEntry("checkoutBook", Duration.ofMillis(10))
+                .containsEntry("generateReport", Duration.ofMillis(500));
+
+        List<AdaptiveConcurrencyLimiter.Permit> checkouts = acquire("checkoutBook", Priority.CRITICAL, 1);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        checkouts.forEach(AdaptiveConcurrencyLimiter.Permit::close);
+
+        assertThat(limiter.stats().limit()).isLessThan(steadyLimit);
+    }
+
+    @Test
+    @DisplayName("Should shed low-priority work before critical work")
+    void shouldShedLowPriorityFirst() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permits.add(limiter.acquire(Priority.LOW));
+        }
+
+        assertThatThrownBy(() -> limiter.acquire(Priority.LOW))
+                .isInstanceOf(OperationRejectedException.class)
+                .hasMessageContaining("LOW");
+        for (int i = 0; i < 3; i++) {
+            permits.add(limiter.acquire(Priority.NORMAL));
+        }
+        assertThatThrownBy(() -> limiter.acquire(Priority.NORMAL)).isInstanceOf(OperationRejectedException.class);
+        permits.add(limiter.acquire(Priority.CRITICAL));
+        permits.add(limiter.acquire(Priority.CRITICAL));
+        assertThatThrownBy(() -> limiter.acquire(Priority.CRITICAL)).isInstanceOf(OperationRejectedException.class);
+
+        AdaptiveConcurrencyLimiter.Stats stats = limiter.stats();
+        assertThat(stats.inFlight()).isEqualTo(10);
+        assertThat(stats.rejected()).containsEntry(Priority.LOW, 1L).containsEntry(Priority.NORMAL, 1L)
+                .containsEntry(Priority.CRITICAL, 1L);
+        assertThat(stats.admitted()).containsEntry(Priority.LOW, 5L).containsEntry(Priority.CRITICAL, 2L);
+        assertThat(stats.totalRejected()).isEqualTo(3);
+
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::close);
+        assertThat(limiter.stats().inFlight()).isZero();
+        assertThat(limiter.acquire(Priority.LOW)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should release a permit only once")
+    void shouldReleaseOnce() {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(Priority.NORMAL);
+        limiter.acquire(Priority.NORMAL);
+
+        permit.close();
+        permit.close();
+
+        assertThat(limiter.stats().inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should classify circulation as critical and reports and broad searches as low priority")
+    void shouldClassifyOperations() {
+        assertThat(Priority.of("checkoutBook", new Object[] {"978-1", "a@b.com"})).isEqualTo(Priority.CRITICAL);
+        assertThat(Priority.of("returnCopy", new Object[] {"C-1"})).isEqualTo(Priority.CRITICAL);
+        assertThat(Priority.of("searchBooks", new Object[] {"978-1", "isbn"})).isEqualTo(Priority.NORMAL);
+        assertThat(Priority.of("searchBooks", new Object[] {"Tolkien", "author"})).isEqualTo(Priority.LOW);
+        assertThat(Priority.of("generateReport", new Object[] {"overdue"})).isEqualTo(Priority.LOW);
+        assertThat(Priority.of("availableCopies", new Object[] {"978-1"})).isEqualTo(Priority.NORMAL);
+    }
+
+    private void runConcurrently(int operations, long latencyMillis) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < operations; i++) {
+            permits.add(limiter.acquire(Priority.CRITICAL));
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::close);
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquire(String operation, Priority priority, int operations) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < operations; i++) {
+            permits.add(limiter.acquire(operation, priority));
+        }
+        return permits;
+    }
+}
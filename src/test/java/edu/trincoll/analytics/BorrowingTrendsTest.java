@@ -0,0 +1,149 @@
+package edu.trincoll.analytics;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Borrowing Trends Tests")
+class BorrowingTrendsTest {
+
+    private static final Duration LONG_HALF_LIFE = Duration.ofDays(365_000);
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final Member member = new Member("Reader", "reader@example.com", MembershipType.REGULAR);
+
+    @Test
+    @DisplayName("Count-min estimates should never undercount and stay within epsilon*N of exact counts")
+    void sketchShouldStayWithinErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.01);
+        Map<String, Integer> exact = new HashMap<>();
+        Random random = new Random(41);
+        for (int i = 0; i < 50_000; i++) {
+            String key = "isbn-" + zipf(random, 5_000);
+            sketch.add(key, 1);
+            exact.merge(key, 1, Integer::sum);
+        }
+
+        long outsideBound = exact.entrySet().stream()
+                .filter(entry -> {
+                    double estimate = sketch.estimate(entry.getKey());
+                    assertThat(estimate).isGreaterThanOrEqualTo(entry.getValue());
+                    return estimate - entry.getValue() > sketch.errorBound();
+                })
+                .count();
+
+        assertThat(sketch.total()).isEqualTo(50_000);
+        assertThat(outsideBound).isLessThanOrEqualTo((long) (exact.size() * sketch.delta()));
+    }
+
+    @Test
+    @DisplayName("Space-saving should track every key above N/m within N/m of its exact count")
+    void spaceSavingShouldTrackHeavyHitters() {
+        SpaceSaving summary = new SpaceSaving(50);
+        Map<String, Integer> exact = new HashMap<>();
+        Random random = new Random(7);
+        int total = 20_000;
+        for (int i = 0; i < total; i++) {
+            String key = "k" + zipf(random, 2_000);
+            summary.add(key, key, 1);
+            exact.merge(key, 1, Integer::sum);
+        }
+        double bound = (double) total / summary.capacity();
+
+        Map<String, SpaceSaving.Counter> tracked = new HashMap<>();
+        summary.top(summary.capacity()).forEach(counter -> tracked.put(counter.key(), counter));
+
+        exact.forEach((key, count) -> {
+            if (count > bound) {
+                assertThat(tracked).containsKey(key);
+            }
+        });
+        tracked.forEach((key, counter) -> {
+            int trueCount = exact.get(key);
+            assertThat(counter.count()).isGreaterThanOrEqualTo(trueCount);
+            assertThat(counter.count() - trueCount).isLessThanOrEqualTo(bound);
+            assertThat(counter.count() - counter.error()).isLessThanOrEqualTo(trueCount);
+        });
+    }
+
+    @Test
+    @DisplayName("Should rank the most borrowed titles and authors like exact counts do")
+    void shouldMatchExactTopTitlesAndAuthors() {
+        BorrowingTrends trends = new BorrowingTrends(LONG_HALF_LIFE, 100, now::get);
+        Map<String, Integer> exactTitles = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            int n = zipf(random, 3_000);
+            Book book = new Book("978-" + n, "Title " + n, "Author " + (n % 500), LocalDate.now());
+            trends.onCheckout(member, book, LocalDate.now());
+            exactTitles.merge(book.getIsbn(), 1, Integer::sum);
+        }
+
+        List<String> exactTop = exactTitles.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(5)
+                .map(Map.Entry::getKey)
+                .toList();
+        List<DecayingTopK.Estimate> top = trends.topTitles(5);
+
+        assertThat(top).extracting(DecayingTopK.Estimate::key).containsExactlyElementsOf(exactTop);
+        for (DecayingTopK.Estimate estimate : top) {
+            int trueCount = exactTitles.get(estimate.key());
+            assertThat(estimate.count()).isGreaterThanOrEqualTo(trueCount - 1e-6);
+            assertThat(estimate.count() - trueCount).isLessThanOrEqualTo(estimate.errorBound() + 1e-6);
+        }
+        assertThat(trends.topAuthors(1)).extracting(DecayingTopK.Estimate::label).containsExactly("Author 0");
+    }
+
+    @Test
+    @DisplayName("Should halve counts every half-life and let recent demand overtake old demand")
+    void shouldDecayOldCheckouts() {
+        DecayingTopK topK = new DecayingTopK(10, 0.01, 0.01, Duration.ofHours(1), now::get);
+        for (int i = 0; i < 8; i++) {
+            topK.record("old", "Old");
+        }
+        now.addAndGet(Duration.ofHours(1).toMillis());
+
+        assertThat(topK.estimate("old")).isCloseTo(4.0, within(1e-9));
+
+        now.addAndGet(Duration.ofHours(2).toMillis());
+        for (int i = 0; i < 3; i++) {
+            topK.record("new", "New");
+        }
+
+        assertThat(topK.top(2)).extracting(DecayingTopK.Estimate::key).containsExactly("new", "old");
+        assertThat(topK.total()).isCloseTo(4.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should keep counts consistent across a rescale of the decay landmark")
+    void shouldSurviveRescale() {
+        DecayingTopK topK = new DecayingTopK(10, 0.01, 0.01, Duration.ofMinutes(1), now::get);
+        topK.record("a", "A");
+        now.addAndGet(Duration.ofMinutes(60).toMillis());
+        topK.record("b", "B");
+
+        assertThat(topK.estimate("b")).isCloseTo(1.0, within(1e-9));
+        assertThat(topK.estimate("a")).isCloseTo(Math.pow(2, -60), within(1e-12));
+    }
+
+    /**
+     * Draws from a skewed distribution so a few keys dominate, like real borrowing.
+     */
+    private static int zipf(Random random, int n) {
+        return (int) Math.floor(Math.pow(n + 1, random.nextDouble())) - 1;
+    }
+}
@@ -0,0 +1,125 @@
+package edu.trincoll.analytics;
+
+import edu.trincoll.analytics.CirculationAnalytics.Window;
+import edu.trincoll.analytics.CirculationAnalytics.WindowStats;
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.report.CirculationReportGenerator;
+import edu.trincoll.service.RejectionReason;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Circulation Analytics Tests")
+class CirculationAnalyticsTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000 * MINUTE);
+    private final Member student = new Member("Student", "student@example.com", MembershipType.STUDENT);
+    private final Member premium = new Member("Premium", "premium@example.com", MembershipType.PREMIUM);
+    private final Book book = new Book("978-1", "Title", "Author", LocalDate.now());
+
+    private CirculationAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new CirculationAnalytics(now::get);
+    }
+
+    @Test
+    @DisplayName("Should count checkouts and returns per membership type")
+    void shouldCountByMembershipType() {
+        analytics.onCheckout(student, book, LocalDate.now());
+        analytics.onCheckout(student, book, LocalDate.now());
+        analytics.onCheckout(premium, book, LocalDate.now());
+        analytics.onReturn(student, book, 0.0);
+
+        WindowStats stats = analytics.snapshot(Window.ONE_MINUTE);
+
+        assertThat(stats.checkouts().get(MembershipType.STUDENT)).isEqualTo(2);
+        assertThat(stats.checkouts().get(MembershipType.PREMIUM)).isEqualTo(1);
+        assertThat(stats.checkouts().get(MembershipType.REGULAR)).isZero();
+        assertThat(stats.returns().get(MembershipType.STUDENT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should separate limit rejections and sum late fees")
+    void shouldTrackRejectionsAndLateFees() {
+        analytics.onCheckoutRejected(student, book, RejectionReason.CHECKOUT_LIMIT_REACHED);
+        analytics.onCheckoutRejected(student, book, RejectionReason.BOOK_NOT_AVAILABLE);
+        analytics.onReturn(student, book, 1.25);
+        analytics.onReturn(premium, book, 0.75);
+
+        WindowStats stats = analytics.snapshot(Window.ONE_MINUTE);
+
+        assertThat(stats.limitRejections()).isEqualTo(1);
+        assertThat(stats.unavailableRejections()).isEqualTo(1);
+        assertThat(stats.lateFeeRevenue()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should drop events that fall out of each window")
+    void shouldSlideWindows() {
+        analytics.onCheckout(student, book, LocalDate.now());
+        now.addAndGet(10 * MINUTE);
+        analytics.onCheckout(student, book, LocalDate.now());
+        now.addAndGet(10 * MINUTE);
+
+        assertThat(analytics.snapshot(Window.ONE_MINUTE).checkouts().get(MembershipType.STUDENT)).isZero();
+        assertThat(analytics.snapshot(Window.FIFTEEN_MINUTES).checkouts().get(MembershipType.STUDENT)).isEqualTo(1);
+        assertThat(analytics.snapshot(Window.ONE_HOUR).checkouts().get(MembershipType.STUDENT)).isEqualTo(2);
+        assertThat(analytics.snapshot(Window.ONE_HOUR).checkoutsPerMinute(MembershipType.STUDENT)).isEqualTo(2 / 60.0);
+    }
+
+    @Test
+    @DisplayName("Should reuse a ring slot once its minute is more than an hour old")
+    void shouldRecycleStaleBuckets() {
+        analytics.onCheckout(student, book, LocalDate.now());
+        now.addAndGet(61 * MINUTE);
+        analytics.onCheckout(premium, book, LocalDate.now());
+
+        WindowStats stats = analytics.snapshot(Window.ONE_HOUR);
+
+        assertThat(stats.checkouts().get(MembershipType.STUDENT)).isZero();
+        assertThat(stats.checkouts().get(MembershipType.PREMIUM)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not lose counts under concurrent updates")
+    void shouldCountConcurrently() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 1_000; j++) {
+                    analytics.onCheckout(student, book, LocalDate.now());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(analytics.snapshot(Window.ONE_MINUTE).checkouts().get(MembershipType.STUDENT)).isEqualTo(8_000);
+    }
+
+    @Test
+    @DisplayName("Should render every window in the circulation report")
+    void shouldGenerateCirculationReport() {
+        analytics.onCheckout(premium, book, LocalDate.now());
+        analytics.onCheckoutRejected(premium, book, RejectionReason.CHECKOUT_LIMIT_REACHED);
+
+        String report = new CirculationReportGenerator(analytics).generateReport();
+
+        assertThat(report).contains("CIRCULATION REPORT", "Last 1 min:", "Last 15 min:", "Last 60 min:",
+                "PREMIUM - Checkouts/min: 1.00", "Limit rejections: 1");
+    }
+}
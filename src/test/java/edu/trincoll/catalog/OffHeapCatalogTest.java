@@ -0,0 +1,179 @@
+package edu.trincoll.catalog;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.index.BookStatusIndex;
+import edu.trincoll.index.LookupFilters;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.search.FuzzyAuthorIndex;
+import edu.trincoll.service.BookSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Off-Heap Catalog Tests")
+class OffHeapCatalogTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private OffHeapCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new OffHeapCatalog(bookRepository, 16);
+    }
+
+    @Test
+    @DisplayName("Should encode ISBN-10 and ISBN-13 spellings to the same key")
+    void shouldEncodeIsbns() {
+        assertThat(IsbnCodec.encode("0-306-40615-2")).isEqualTo(9780306406157L);
+        assertThat(IsbnCodec.encode("978-0-306-40615-7")).isEqualTo(9780306406157L);
+        assertThat(IsbnCodec.encode("080442957X")).isEqualTo(9780804429573L);
+        assertThat(IsbnCodec.encode("not an isbn")).isEqualTo(IsbnCodec.INVALID);
+        assertThat(IsbnCodec.decode(9780306406157L)).isEqualTo("9780306406157");
+    }
+
+    @Test
+    @DisplayName("Should load books from the repository and find them by ISBN")
+    void shouldLoadAndFindByIsbn() {
+        when(bookRepository.findCatalogRowsAfter(eq(0L), any())).thenReturn(List.<Object[]>of(new Object[] {
+                1L, "978-0-306-40615-7", "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1), BookStatus.AVAILABLE}));
+
+        catalog.load();
+
+        assertThat(catalog.isLoaded()).isTrue();
+        assertThat(catalog.findByIsbn("0-306-40615-2")).hasValueSatisfying(found -> {
+            assertThat(found.id()).isEqualTo(1L);
+            assertThat(found.isbn()).isEqualTo("978-0-306-40615-7");
+            assertThat(found.title()).isEqualTo("Clean Code");
+            assertThat(found.author()).isEqualTo("Robert Martin");
+            assertThat(found.publicationDate()).isEqualTo(LocalDate.of(2008, 8, 1));
+            assertThat(found.status()).isEqualTo(BookStatus.AVAILABLE);
+        });
+        assertThat(catalog.findByIsbn("978-9-999999-99-9")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep two books stored under spellings of the same ISBN, preferring the exact spelling")
+    void shouldKeepBothSpellingsOfAnIsbn() {
+        catalog.put(book(1, "0-306-40615-2", "First Printing", "Robert Martin"));
+        catalog.put(book(2, "978-0-306-40615-7", "Second Printing", "Robert Martin"));
+
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(catalog.findByIsbn("0-306-40615-2")).map(CatalogBook::title).hasValue("First Printing");
+        assertThat(catalog.findByIsbn("978-0-306-40615-7")).map(CatalogBook::title).hasValue("Second Printing");
+        assertThat(catalog.findByIsbn("9780306406157")).map(CatalogBook::id).hasValue(1L);
+        assertThat(catalog.searchByAuthor("Robert Martin")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should follow inserts and deletes")
+    void shouldFollowInsertsAndDeletes() {
+        Book book = book(1, "978-0-306-40615-7", "Clean Code", "Robert Martin");
+
+        catalog.onInsert(book);
+        assertThat(catalog.findByIsbn("978-0-306-40615-7")).isPresent();
+
+        catalog.onDelete(book);
+        assertThat(catalog.findByIsbn("978-0-306-40615-7")).isEmpty();
+        assertThat(catalog.size()).isZero();
+        assertThat(catalog.countByStatus(BookStatus.AVAILABLE)).isZero();
+
+        catalog.onInsert(book(2, "978-0-306-40615-7", "Clean Code, 2nd Edition", "Robert Martin"));
+        assertThat(catalog.findByIsbn("0-306-40615-2")).map(CatalogBook::id).hasValue(2L);
+        assertThat(catalog.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should resolve ISBN searches through the loaded catalog in either ISBN form")
+    void shouldAnswerIsbnSearchesFromCatalog() {
+        Book book = book(1, "978-0-306-40615-7", "Clean Code", "Robert Martin");
+        when(bookRepository.findCatalogRowsAfter(eq(0L), any())).thenReturn(List.of());
+        catalog.load();
+        catalog.onInsert(book);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        BookSearchService searchService = BookSearchService.of(bookRepository, new FuzzyAuthorIndex(bookRepository),
+                new BookStatusIndex(bookRepository), LookupFilters.passThrough(), catalog);
+
+        assertThat(searchService.searchByIsbn("0306406152")).contains(book);
+        assertThat(searchService.searchByIsbn("978-1-111111-11-3")).isEmpty();
+        verify(bookRepository, never()).findByIsbn(anyString());
+    }
+
+    @Test
+    @DisplayName("Should skip books whose ISBN cannot be encoded")
+    void shouldSkipInvalidIsbns() {
+        assertThat(catalog.put(book(1, "ISBN-PENDING", "Draft", "Anon"))).isFalse();
+        assertThat(catalog.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should follow status changes in place")
+    void shouldTrackStatusChanges() {
+        Book book = book(1, "978-0-306-40615-7", "Clean Code", "Robert Martin");
+        catalog.put(book);
+
+        book.setStatus(BookStatus.CHECKED_OUT);
+        catalog.onStatusChange(book, BookStatus.AVAILABLE);
+
+        assertThat(catalog.statusOf("9780306406157")).isEqualTo(BookStatus.CHECKED_OUT);
+        assertThat(catalog.countByStatus(BookStatus.CHECKED_OUT)).isEqualTo(1);
+        assertThat(catalog.countByStatus(BookStatus.AVAILABLE)).isZero();
+        assertThat(catalog.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should grow past its initial capacity and search by author")
+    void shouldGrowAndSearchByAuthor() {
+        for (int i = 0; i < 5_000; i++) {
+            catalog.put(book(i, String.format("978-1-%06d-00-0", i), "Title " + i, "Author " + (i % 50)));
+        }
+
+        assertThat(catalog.size()).isEqualTo(5_000);
+        assertThat(catalog.findByIsbn("978-1-004999-00-0")).map(CatalogBook::title).hasValue("Title 4999");
+        assertThat(catalog.searchByAuthor("Author 7")).hasSize(100)
+                .allMatch(found -> found.author().equals("Author 7"));
+        assertThat(catalog.searchByAuthor("Nobody")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should use less memory than the equivalent entities")
+    void shouldReportSmallerFootprint() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            books.add(book(i, String.format("978-1-%06d-00-0", i), "Collected Essays Volume " + i, "Author " + (i % 200)));
+        }
+        books.forEach(catalog::put);
+
+        CatalogFootprint footprint = catalog.footprint();
+
+        assertThat(footprint.books()).isEqualTo(10_000);
+        assertThat(footprint.offHeapBytes()).isLessThan(footprint.estimatedEntityHeapBytes());
+        assertThat(footprint.estimatedEntityHeapBytes())
+                .isEqualTo(books.stream().mapToLong(OffHeapCatalog::estimateEntityBytes).sum());
+    }
+
+    private static Book book(long id, String isbn, String title, String author) {
+        Book book = new Book(isbn, title, author, LocalDate.of(2008, 8, 1));
+        book.setId(id);
+        return book;
+    }
+}
@@ -0,0 +1,132 @@
+package edu.trincoll.federation;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Federated Library Tests")
+class FederatedLibraryTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+
+    @Mock
+    private BookRepository downtownBooks;
+
+    @Mock
+    private BookRepository campusBooks;
+
+    @Mock
+    private MemberRepository members;
+
+    @Test
+    @DisplayName("Should merge branch results and keep one book per ISBN, preferring an available copy")
+    void shouldMergeAndDeduplicateByIsbn() {
+        Book downtownCopy = book("978-1", "Clean Code", BookStatus.CHECKED_OUT);
+        Book campusCopy = book("978-1", "Clean Code", BookStatus.AVAILABLE);
+        Book cleanArchitecture = book("978-2", "Clean Architecture", BookStatus.AVAILABLE);
+        when(downtownBooks.findByTitleContainingIgnoreCase("Clean")).thenReturn(List.of(downtownCopy));
+        when(campusBooks.findByTitleContainingIgnoreCase("Clean")).thenReturn(List.of(campusCopy, cleanArchitecture));
+
+        FederatedResult<List<BranchBook>> result = federation(TIMEOUT).searchBooks("Clean", "title");
+
+        assertThat(result.value()).containsExactly(
+                new BranchBook("Campus", campusCopy),
+                new BranchBook("Campus", cleanArchitecture));
+        assertThat(result.isPartial()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return partial results instead of waiting for a slow branch")
+    void shouldDegradeWhenBranchIsSlow() {
+        Book cleanCode = book("978-1", "Clean Code", BookStatus.AVAILABLE);
+        when(downtownBooks.findByTitleContainingIgnoreCase("Clean")).thenReturn(List.of(cleanCode));
+        when(campusBooks.findByTitleContainingIgnoreCase("Clean")).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return List.of();
+        });
+
+        long start = System.nanoTime();
+        FederatedResult<List<BranchBook>> result = federation(TIMEOUT).searchBooks("Clean", "title");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(result.value()).extracting(BranchBook::book).containsExactly(cleanCode);
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.unavailableBranches()).containsExactly("Campus");
+    }
+
+    @Test
+    @DisplayName("Should leave out a failing branch but reject an invalid search everywhere")
+    void shouldHandleBranchFailures() {
+        when(downtownBooks.findByAuthor("Robert Martin")).thenReturn(List.of());
+        when(campusBooks.findByAuthor("Robert Martin")).thenThrow(new IllegalStateException("connection refused"));
+        FederatedLibrary federation = federation(TIMEOUT);
+
+        FederatedResult<List<BranchBook>> result = federation.searchBooks("Robert Martin", "author");
+
+        assertThat(result.unavailableBranches()).containsExactly("Campus");
+        assertThatThrownBy(() -> federation.searchBooks("x", "invalid"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid search type");
+    }
+
+    @Test
+    @DisplayName("Should join each branch's report into one section per branch")
+    void shouldCombineReports() {
+        when(downtownBooks.countByStatus(BookStatus.AVAILABLE)).thenReturn(3L);
+        when(campusBooks.countByStatus(BookStatus.AVAILABLE)).thenReturn(5L);
+
+        FederatedResult<String> report = federation(TIMEOUT).generateReport("available");
+
+        assertThat(report.value()).isEqualTo("== Downtown ==\nAvailable books: 3\n== Campus ==\nAvailable books: 5\n");
+        assertThat(report.isPartial()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep the branch of a checked-out copy when no branch has one available")
+    void shouldReportBranchOfKeptCopy() {
+        Book downtownCopy = book("978-1", "Clean Code", BookStatus.CHECKED_OUT);
+        when(downtownBooks.findByTitleContainingIgnoreCase("Clean")).thenReturn(List.of(downtownCopy));
+        when(campusBooks.findByTitleContainingIgnoreCase("Clean"))
+                .thenReturn(List.of(book("978-1", "Clean Code", BookStatus.CHECKED_OUT)));
+
+        FederatedResult<List<BranchBook>> result = federation(TIMEOUT).searchBooks("Clean", "title");
+
+        assertThat(result.value()).containsExactly(new BranchBook("Downtown", downtownCopy));
+    }
+
+    @Test
+    @DisplayName("Should reject reports that are not computed from a branch's own data")
+    void shouldRejectApplicationReports() {
+        assertThatThrownBy(() -> federation(TIMEOUT).generateReport("admission"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Report type is not available across branches: admission");
+        verifyNoInteractions(downtownBooks, campusBooks);
+    }
+
+    private FederatedLibrary federation(Duration timeout) {
+        return new FederatedLibrary(List.of(
+                new Branch("Downtown", downtownBooks, members, timeout),
+                new Branch("Campus", campusBooks, members, timeout)));
+    }
+
+    private static Book book(String isbn, String title, BookStatus status) {
+        Book book = new Book(isbn, title, "Robert Martin", LocalDate.of(2008, 8, 1));
+        book.setStatus(status);
+        return book;
+    }
+}
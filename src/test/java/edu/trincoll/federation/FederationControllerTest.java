@@ -0,0 +1,59 @@
+package edu.trincoll.federation;
+
+import edu.trincoll.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Federation Controller Tests")
+class FederationControllerTest {
+
+    @Mock
+    private FederatedLibrary federatedLibrary;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FederationController(federatedLibrary)).build();
+    }
+
+    @Test
+    @DisplayName("Should return the merged hits with their branches and flag a partial result")
+    void shouldSearchAcrossBranches() throws Exception {
+        Book book = new Book("978-1", "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1));
+        when(federatedLibrary.searchBooks("clean", "any"))
+                .thenReturn(new FederatedResult<>(List.of(new BranchBook("main", book)), List.of("Campus")));
+
+        mockMvc.perform(get("/api/federation/books").param("q", "clean"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.value[0].branch").value("main"))
+                .andExpect(jsonPath("$.value[0].book.isbn").value("978-1"))
+                .andExpect(jsonPath("$.unavailableBranches[0]").value("Campus"))
+                .andExpect(jsonPath("$.partial").value(true));
+    }
+
+    @Test
+    @DisplayName("Should answer a report that cannot be federated with 400")
+    void shouldRejectNonBranchReports() throws Exception {
+        when(federatedLibrary.generateReport("sql"))
+                .thenThrow(new IllegalArgumentException("Report type is not available across branches: sql"));
+
+        mockMvc.perform(get("/api/federation/reports/sql"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Report type is not available across branches: sql"));
+    }
+}
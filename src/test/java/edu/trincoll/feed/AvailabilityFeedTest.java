@@ -0,0 +1,187 @@
+package edu.trincoll.feed;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Availability Feed Tests")
+class AvailabilityFeedTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final Queue<Runnable> deliveries = new ArrayDeque<>();
+    private final AvailabilityFeed feed = new AvailabilityFeed(2, Runnable::run, deliveries::add, CLOCK);
+
+    @Test
+    @DisplayName("Should deliver changes only to subscribers watching the book or every book")
+    void shouldFilterByIsbn() {
+        List<AvailabilityChange> watcher = new ArrayList<>();
+        List<AvailabilityChange> other = new ArrayList<>();
+        List<AvailabilityChange> everything = new ArrayList<>();
+        feed.subscribe(Set.of("978-1", "978-2"), watcher::add);
+        feed.subscribe(Set.of("978-3"), other::add);
+        feed.subscribe(Set.of(), everything::add);
+
+        publish("978-1", BookStatus.AVAILABLE, BookStatus.CHECKED_OUT);
+        publish("978-4", BookStatus.AVAILABLE, BookStatus.CHECKED_OUT);
+        deliverAll();
+
+        assertThat(watcher).extracting(AvailabilityChange::isbn).containsExactly("978-1");
+        assertThat(other).isEmpty();
+        assertThat(everything).extracting(AvailabilityChange::sequence).containsExactly(1L, 2L);
+        assertThat(watcher.get(0).previousStatus()).isEqualTo(BookStatus.AVAILABLE);
+        assertThat(watcher.get(0).status()).isEqualTo(BookStatus.CHECKED_OUT);
+    }
+
+    @Test
+    @DisplayName("Should ignore saves that leave the status unchanged")
+    void shouldIgnoreUnchangedStatus() {
+        List<AvailabilityChange> received = new ArrayList<>();
+        feed.subscribe(Set.of(), received::add);
+
+        publish("978-1", BookStatus.AVAILABLE, BookStatus.AVAILABLE);
+        deliverAll();
+
+        assertThat(received).isEmpty();
+        assertThat(feed.latestSequence()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should schedule one delivery task per subscriber and deliver in order")
+    void shouldBatchDeliveries() {
+        List<AvailabilityChange> received = new ArrayList<>();
+        feed.subscribe(Set.of("978-1"), received::add);
+
+        publish("978-1", BookStatus.AVAILABLE, BookStatus.CHECKED_OUT);
+        publish("978-1", BookStatus.CHECKED_OUT, BookStatus.AVAILABLE);
+
+        assertThat(deliveries).hasSize(1);
+        deliverAll();
+        assertThat(received).extracting(AvailabilityChange::status)
+                .containsExactly(BookStatus.CHECKED_OUT, BookStatus.AVAILABLE);
+    }
+
+    @Test
+    @DisplayName("Should evict a subscriber whose buffer is full without affecting others")
+    void shouldEvictSlowConsumers() {
+        AtomicBoolean evicted = new AtomicBoolean();
+        List<AvailabilityChange> fast = new ArrayList<>();
+        AvailabilityFeed.Subscription slow = feed.subscribe(Set.of("978-1"), new AvailabilityFeed.Sink() {
+            @Override
+            public void send(AvailabilityChange change) {
+            }
+
+            @Override
+            public void evicted() {
+                evicted.set(true);
+            }
+        });
+
+        publish("978-1", BookStatus.AVAILABLE, BookStatus.CHECKED_OUT);
+        publish("978-1", BookStatus.CHECKED_OUT, BookStatus.AVAILABLE);
+        // Hold back the slow subscriber's delivery task, leaving its buffer of two full
+        Runnable slowDelivery = deliveries.poll();
+        feed.subscribe(Set.of("978-1"), fast::add);
+        publish("978-1", BookStatus.AVAILABLE, BookStatus.CHECKED_OUT);
+        deliverAll();
+
+        assertThat(slow.isOpen()).isFalse();
+        assertThat(evicted).isTrue();
+        assertThat(feed.evictionCount()).isEqualTo(1);
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+        assertThat(fast).extracting(AvailabilityChange::sequence).containsExactly(3L);
+        slowDelivery.run();
+    }
+
+    @Test
+    @DisplayName("Should stop delivering after a subscription is closed or its sink fails")
+    void shouldRemoveClosedSubscriptions() {
+        List<AvailabilityChange> received = new ArrayList<>();
+        AvailabilityFeed.Subscription closed = feed.subscribe(Set.of("978-1"), received::add);
+        AvailabilityFeed.Subscription failing = feed.subscribe(Set.of(), change -> {
+            throw new IOException("Broken pipe");
+        });
+
+        closed.close();
+        publish("978-1", BookStatus.AVAILABLE, BookStatus.CHECKED_OUT);
+        deliverAll();
+
+        assertThat(received).isEmpty();
+        assertThat(failing.isOpen()).isFalse();
+        assertThat(feed.subscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fan changes out on the dispatch task, numbered in the order they were published")
+    void shouldDispatchOffThePublishingThread() {
+        Queue<Runnable> dispatches = new ArrayDeque<>();
+        AvailabilityFeed queued = new AvailabilityFeed(2, dispatches::add, Runnable::run, CLOCK);
+        List<AvailabilityChange> received = new ArrayList<>();
+        queued.subscribe(Set.of(), received::add);
+
+        queued.onStatusChange(book("978-1", BookStatus.CHECKED_OUT), BookStatus.AVAILABLE);
+        queued.onStatusChange(book("978-2", BookStatus.CHECKED_OUT), BookStatus.AVAILABLE);
+
+        assertThat(received).isEmpty();
+        assertThat(dispatches).hasSize(1);
+        dispatches.poll().run();
+        assertThat(received).extracting(AvailabilityChange::isbn).containsExactly("978-1", "978-2");
+        assertThat(received).extracting(AvailabilityChange::sequence).containsExactly(1L, 2L);
+        assertThat(queued.latestSequence()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop changes and close subscriptions instead of throwing once shut down")
+    void shouldNotThrowAfterShutdown() {
+        ExecutorService delivery = Executors.newSingleThreadExecutor();
+        delivery.shutdown();
+        AvailabilityFeed shutDown = new AvailabilityFeed(2, Runnable::run, delivery, CLOCK);
+        AvailabilityFeed.Subscription subscription = shutDown.subscribe(Set.of(), change -> { });
+
+        shutDown.onStatusChange(book("978-1", BookStatus.CHECKED_OUT), BookStatus.AVAILABLE);
+
+        assertThat(subscription.isOpen()).isFalse();
+        assertThat(shutDown.subscriberCount()).isZero();
+
+        shutDown.subscribe(Set.of(), change -> { });
+        shutDown.heartbeat();
+        assertThat(shutDown.subscriberCount()).isZero();
+
+        shutDown.destroy();
+        shutDown.onStatusChange(book("978-2", BookStatus.CHECKED_OUT), BookStatus.AVAILABLE);
+        assertThat(shutDown.latestSequence()).isEqualTo(1);
+    }
+
+    private static Book book(String isbn, BookStatus status) {
+        Book book = new Book(isbn, "Title " + isbn, "Author", null);
+        book.setStatus(status);
+        return book;
+    }
+
+    private void publish(String isbn, BookStatus previousStatus, BookStatus status) {
+        feed.onStatusChange(book(isbn, status), previousStatus);
+    }
+
+    private void deliverAll() {
+        Runnable delivery;
+        while ((delivery = deliveries.poll()) != null) {
+            delivery.run();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.trincoll.index;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.CatalogChangeListener;
+import edu.trincoll.repository.memory.InMemoryBookRepository;
+import edu.trincoll.search.FuzzyAuthorIndex;
+import edu.trincoll.service.BookSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Book Status Index Tests")
+class BookStatusIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookStatusIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookStatusIndex(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should build from the id and status projection")
+    void shouldRebuildFromRepository() {
+        when(bookRepository.findIdsAndStatuses()).thenReturn(List.of(
+                new Object[]{1L, BookStatus.AVAILABLE},
+                new Object[]{2L, BookStatus.CHECKED_OUT},
+                new Object[]{3L, BookStatus.AVAILABLE}));
+
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.count(BookStatus.AVAILABLE)).isEqualTo(2);
+        assertThat(index.count(BookStatus.CHECKED_OUT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should move a book between bitmaps on status change")
+    void shouldFollowStatusChanges() {
+        when(bookRepository.findIdsAndStatuses()).thenReturn(List.<Object[]>of(new Object[]{1L, BookStatus.AVAILABLE}));
+        index.rebuild();
+        Book book = book(1L, BookStatus.CHECKED_OUT);
+
+        index.onStatusChange(book, BookStatus.AVAILABLE);
+
+        assertThat(index.count(BookStatus.AVAILABLE)).isZero();
+        assertThat(index.count(BookStatus.CHECKED_OUT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count books saved and deleted after the rebuild")
+    void shouldFollowInsertsAndDeletes() {
+        BookStatusIndex[] holder = new BookStatusIndex[1];
+        InMemoryBookRepository repository = new InMemoryBookRepository(new CatalogChangeListener() {
+            @Override
+            public void onInsert(Object entity) {
+                holder[0].onInsert(entity);
+            }
+
+            @Override
+            public void onDelete(Object entity) {
+                holder[0].onDelete(entity);
+            }
+        });
+        BookStatusIndex liveIndex = new BookStatusIndex(repository);
+        holder[0] = liveIndex;
+        repository.save(new Book("978-0-1", "Java 1", "Author", LocalDate.of(2020, 1, 1)));
+        liveIndex.rebuild();
+
+        Book added = repository.save(new Book("978-0-2", "Java 2", "Author", LocalDate.of(2020, 1, 1)));
+
+        assertThat(liveIndex.count(BookStatus.AVAILABLE)).isEqualTo(2);
+
+        repository.delete(added);
+
+        assertThat(liveIndex.count(BookStatus.AVAILABLE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should split hits into matching and never-seen ids")
+    void shouldFilterHits() {
+        when(bookRepository.findIdsAndStatuses()).thenReturn(List.of(
+                new Object[]{1L, BookStatus.AVAILABLE},
+                new Object[]{2L, BookStatus.CHECKED_OUT}));
+        index.rebuild();
+
+        BookStatusIndex.Filtered filtered = index.filter(List.of(1L, 2L, 9L), BookStatus.AVAILABLE);
+
+        assertThat(filtered.matching().toArray()).containsExactly(1);
+        assertThat(filtered.unknown().toArray()).containsExactly(9);
+    }
+
+    @Test
+    @DisplayName("Should load only books that pass the status filter")
+    void shouldSearchThroughIndex() {
+        when(bookRepository.findIdsAndStatuses()).thenReturn(List.of(
+                new Object[]{1L, BookStatus.AVAILABLE},
+                new Object[]{2L, BookStatus.CHECKED_OUT},
+                new Object[]{3L, BookStatus.AVAILABLE}));
+        index.rebuild();
+        BookSearchService searchService = BookSearchService.of(
+                bookRepository, new FuzzyAuthorIndex(bookRepository), index, LookupFilters.passThrough(), null);
+        Book first = book(1L, BookStatus.AVAILABLE);
+        Book unseen = book(4L, BookStatus.AVAILABLE);
+        when(bookRepository.findIdsByTitleContainingIgnoreCase("Java")).thenReturn(List.of(1L, 2L, 4L));
+        when(bookRepository.findAllById(List.of(1L, 4L))).thenReturn(List.of(unseen, first));
+
+        List<Book> results = searchService.searchByTitle("Java", BookStatus.AVAILABLE);
+
+        assertThat(results).containsExactly(first, unseen);
+        assertThat(index.count(BookStatus.AVAILABLE)).isEqualTo(3);
+        assertThat(searchService.countByStatus(BookStatus.AVAILABLE)).isEqualTo(3);
+        verify(bookRepository, never()).countByStatus(BookStatus.AVAILABLE);
+    }
+
+    private static Book book(long id, BookStatus status) {
+        Book book = new Book("978-0-" + id, "Java " + id, "Author", LocalDate.of(2020, 1, 1));
+        book.setId(id);
+        book.setStatus(status);
+        return book;
+    }
+}
@@ -0,0 +1,166 @@
+package edu.trincoll.index;
+
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.memory.InMemoryMemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Key Filter Tests")
+class KeyFilterTest {
+
+    private final List<String> stored = new ArrayList<>(List.of("978-1", "978-2"));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should let every lookup through until the filter is built")
+    void shouldPassThroughBeforeBuild() {
+        KeyFilter filter = new KeyFilter("isbn", () -> stored, 100, 0.01);
+
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.lookup("978-404", this::load)).isEmpty();
+        assertThat(loads).hasValue(1);
+        assertThat(filter.stats().falsePositives()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer unknown keys in memory and load known ones")
+    void shouldRejectUnknownKeys() {
+        KeyFilter filter = new KeyFilter("isbn", () -> stored, 100, 0.01);
+        filter.rebuild();
+
+        assertThat(filter.lookup("978-1", this::load)).contains("978-1");
+        assertThat(filter.lookup("978-404", this::load)).isEmpty();
+
+        KeyFilter.Stats stats = filter.stats();
+        assertThat(loads).hasValue(1);
+        assertThat(stats.lookups()).isEqualTo(2);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.keys()).isEqualTo(2);
+        assertThat(stats.configuredFalsePositiveRate()).isEqualTo(0.01);
+    }
+
+    @Test
+    @DisplayName("Should accept inserted keys straight away and drop deleted keys on rebuild")
+    void shouldFollowInsertsAndDeletes() {
+        KeyFilter filter = new KeyFilter("isbn", () -> stored, 100, 0.01);
+        filter.rebuild();
+
+        stored.add("978-3");
+        filter.add("978-3");
+        assertThat(filter.mightContain("978-3")).isTrue();
+
+        stored.remove("978-2");
+        filter.rebuild();
+        filter.rebuild();
+        assertThat(filter.mightContain("978-2")).isFalse();
+        assertThat(filter.mightContain("978-3")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should queue each new key once and skip keys the filter already holds")
+    void shouldNotQueueKnownKeys() {
+        KeyFilter filter = new KeyFilter("isbn", () -> stored, 100, 0.01);
+        filter.add("978-3");
+        filter.add("978-3");
+        assertThat(filter.pendingKeys()).isEqualTo(1);
+
+        filter.rebuild();
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("978-1");
+        }
+        assertThat(filter.pendingKeys()).isZero();
+
+        filter.add("978-4");
+        assertThat(filter.pendingKeys()).isEqualTo(1);
+        assertThat(filter.mightContain("978-4")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep a key inserted before a rebuild that could not yet see it")
+    void shouldKeepUncommittedInsertAcrossRebuild() {
+        KeyFilter filter = new KeyFilter("isbn", () -> stored, 100, 0.01);
+        filter.rebuild();
+
+        // Inserted and recorded, but not yet visible to the rebuild's query
+        filter.add("978-9");
+        filter.rebuild();
+
+        assertThat(filter.mightContain("978-9")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep every key added while rebuilds run")
+    void shouldKeepKeysAddedDuringRebuilds() throws Exception {
+        Set<String> committed = ConcurrentHashMap.newKeySet();
+        KeyFilter filter = new KeyFilter("isbn", () -> List.copyOf(committed), 100, 0.01);
+        filter.rebuild();
+        int writers = 4;
+        int keysPerWriter = 2_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                int first = writer * keysPerWriter;
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    for (int key = first; key < first + keysPerWriter; key++) {
+                        committed.add("key-" + key);
+                        filter.add("key-" + key);
+                    }
+                    return null;
+                }));
+            }
+            tasks.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    filter.rebuild();
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int key = 0; key < writers * keysPerWriter; key++) {
+            assertThat(filter.mightContain("key-" + key)).as("key-%d", key).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass a member's new email once the member is saved")
+    void shouldFollowUpdatedKeys() {
+        KeyFilter emails = new KeyFilter("email", () -> stored, 100, 0.01);
+        LookupFilters filters = new LookupFilters(new KeyFilter("isbn", List::of, 100, 0.01), emails);
+        InMemoryMemberRepository members = new InMemoryMemberRepository(filters);
+        Member member = members.save(new Member("Ada", "ada@old.example"));
+        emails.rebuild();
+
+        member.setEmail("ada@new.example");
+        members.save(member);
+
+        assertThat(emails.mightContain("ada@new.example")).isTrue();
+    }
+
+    private Optional<String> load(String key) {
+        loads.incrementAndGet();
+        return stored.contains(key) ? Optional.of(key) : Optional.empty();
+    }
+}
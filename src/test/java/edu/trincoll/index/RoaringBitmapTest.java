@@ -0,0 +1,77 @@
+package edu.trincoll.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Roaring Bitmap Tests")
+class RoaringBitmapTest {
+
+    @Test
+    @DisplayName("Should add, remove and find values across chunks")
+    void shouldAddAndRemove() {
+        RoaringBitmap bitmap = RoaringBitmap.of(1, 5, 70_000, -1);
+
+        bitmap.remove(5);
+        bitmap.remove(12);
+
+        assertThat(bitmap.contains(1)).isTrue();
+        assertThat(bitmap.contains(5)).isFalse();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.contains(-1)).isTrue();
+        assertThat(bitmap.cardinality()).isEqualTo(3);
+        assertThat(bitmap.toArray()).containsExactly(1, 70_000, -1);
+    }
+
+    @Test
+    @DisplayName("Should switch dense chunks to bitmaps and back")
+    void shouldConvertContainers() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i * 2);
+        }
+        for (int i = 0; i < 9_000; i++) {
+            bitmap.remove(i * 2);
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(1_000);
+        assertThat(bitmap.contains(18_000)).isTrue();
+        assertThat(bitmap.contains(17_998)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match set semantics for and, andNot and or")
+    void shouldMatchSetOperations() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            int range = round % 2 == 0 ? 200_000 : 20_000;
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            RoaringBitmap a = new RoaringBitmap();
+            RoaringBitmap b = new RoaringBitmap();
+            for (int i = 0; i < 15_000; i++) {
+                int x = random.nextInt(range);
+                int y = random.nextInt(range);
+                a.add(x);
+                expectedA.set(x);
+                b.add(y);
+                expectedB.set(y);
+            }
+
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            BitSet andNot = (BitSet) expectedA.clone();
+            andNot.andNot(expectedB);
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+
+            assertThat(a.and(b).toArray()).containsExactly(and.stream().toArray());
+            assertThat(a.andNot(b).toArray()).containsExactly(andNot.stream().toArray());
+            assertThat(a.or(b).toArray()).containsExactly(or.stream().toArray());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.trincoll.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Scalable Bloom Filter Tests")
+class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added key as absent")
+    void shouldHaveNoFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        IntStream.range(0, 50_000).forEach(i -> filter.add("978-" + i));
+
+        assertThat(IntStream.range(0, 50_000).allMatch(i -> filter.mightContain("978-" + i))).isTrue();
+        // Keys that already test positive are not counted again
+        assertThat(filter.size()).isBetween(49_000, 50_000);
+    }
+
+    @Test
+    @DisplayName("Should keep the measured false-positive rate under the configured rate as it grows")
+    void shouldStayUnderFalsePositiveRate() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        IntStream.range(0, 20_000).forEach(i -> filter.add("member" + i + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("stranger" + i + "@example.com"))
+                .count();
+
+        assertThat(filter.stageCount()).isGreaterThan(1);
+        assertThat(falsePositives / 100_000.0).isLessThan(0.01);
+        assertThat(filter.estimatedFalsePositiveRate()).isLessThan(0.01);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizes")
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> new ScalableBloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScalableBloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,94 @@
+package edu.trincoll.instrumentation;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.LibraryFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for facade operations against the real H2/JPA stack.
+ * A change that makes an operation run more statements, or run the same statement
+ * repeatedly as an N+1 does, fails here rather than in production.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlbudget;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.edu.trincoll=INFO"
+})
+@DisplayName("SQL Statement Budget Tests")
+class SqlStatementBudgetTest {
+
+    // Measured: a checkout runs 7 statements and a return 9; each budget allows one more
+    private static final int CHECKOUT_BUDGET = 8;
+    private static final int RETURN_BUDGET = 10;
+    private static final int N_PLUS_ONE_REPEATS = 3;
+
+    @Autowired
+    private LibraryFacade libraryFacade;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    private String isbn;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        isbn = "978-" + suffix;
+        email = suffix + "@example.com";
+        bookRepository.save(new Book(isbn, "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1)));
+        memberRepository.save(new Member("Budget Reader", email));
+    }
+
+    @Test
+    @DisplayName("Checkout should stay within its statement budget without repeated statements")
+    void checkoutShouldStayWithinBudget() {
+        AtomicReference<String> result = new AtomicReference<>();
+        SqlCapture capture = recorder.capture(() -> result.set(libraryFacade.checkoutBook(isbn, email)));
+
+        assertThat(result.get()).startsWith("Book checked out successfully");
+        assertThat(capture.count()).as("statements: %s", capture.statements()).isLessThanOrEqualTo(CHECKOUT_BUDGET);
+        assertThat(capture.repeatedStatements(N_PLUS_ONE_REPEATS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Return should stay within its statement budget without repeated statements")
+    void returnShouldStayWithinBudget() {
+        assertThat(libraryFacade.checkoutBook(isbn, email)).startsWith("Book checked out successfully");
+
+        AtomicReference<String> result = new AtomicReference<>();
+        SqlCapture capture = recorder.capture(() -> result.set(libraryFacade.returnBook(isbn)));
+
+        assertThat(result.get()).isEqualTo("Book returned successfully");
+        assertThat(capture.count()).as("statements: %s", capture.statements()).isLessThanOrEqualTo(RETURN_BUDGET);
+        assertThat(capture.repeatedStatements(N_PLUS_ONE_REPEATS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should expose per-operation statement counts at runtime")
+    void shouldRecordRuntimeMetrics() {
+        libraryFacade.checkoutBook(isbn, email);
+
+        assertThat(recorder.snapshot().get("checkoutBook").statements()).isPositive();
+        assertThat(libraryFacade.generateReport("sql")).contains("checkoutBook - Calls:");
+    }
+}
@@ -0,0 +1,108 @@
+package edu.trincoll.instrumentation;
+
+import edu.trincoll.instrumentation.SqlStatementRecorder.OperationScope;
+import edu.trincoll.instrumentation.SqlStatementRecorder.OperationSqlStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SQL Statement Recorder Tests")
+class SqlStatementRecorderTest {
+
+    private final SqlStatementRecorder recorder = new SqlStatementRecorder();
+
+    @Test
+    @DisplayName("Should total statements per operation across runs")
+    void shouldTotalPerOperation() {
+        try (OperationScope ignored = recorder.begin("checkoutBook")) {
+            recorder.record("select", 1_000_000);
+            recorder.record("update", 3_000_000);
+        }
+        try (OperationScope ignored = recorder.begin("checkoutBook")) {
+            recorder.record("select", 2_000_000);
+        }
+
+        OperationSqlStats stats = recorder.snapshot().get("checkoutBook");
+
+        assertThat(stats.invocations()).isEqualTo(2);
+        assertThat(stats.statements()).isEqualTo(3);
+        assertThat(stats.maxStatements()).isEqualTo(2);
+        assertThat(stats.averageStatements()).isEqualTo(1.5);
+        assertThat(stats.averageSqlTime()).isEqualTo(Duration.ofMillis(3));
+    }
+
+    @Test
+    @DisplayName("Should attribute nested operations to the outer one and ignore statements outside any")
+    void shouldAttributeNestedToOuter() {
+        recorder.record("select outside", 1);
+        try (OperationScope ignored = recorder.begin("returnBook")) {
+            try (OperationScope nested = recorder.begin("returnBook")) {
+                recorder.record("select", 1);
+            }
+            recorder.record("update", 1);
+        }
+
+        Map<String, OperationSqlStats> snapshot = recorder.snapshot();
+
+        assertThat(snapshot).containsOnlyKeys("returnBook");
+        assertThat(snapshot.get("returnBook").invocations()).isEqualTo(1);
+        assertThat(snapshot.get("returnBook").statements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should capture statements and find ones repeated like an N+1")
+    void shouldFindRepeatedStatements() {
+        SqlCapture capture = recorder.capture(() -> {
+            recorder.record("select * from member", 1);
+            for (int i = 0; i < 3; i++) {
+                recorder.record("select * from book where id=?", 1);
+            }
+        });
+
+        assertThat(capture.count()).isEqualTo(4);
+        assertThat(capture.repeatedStatements(3)).containsExactly(Map.entry("select * from book where id=?", 3L));
+        assertThat(recorder.snapshot()).isEmpty();
+        assertThatThrownBy(() -> recorder.capture(() -> recorder.capture(() -> { })))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should record each execution through an instrumented data source")
+    void shouldRecordThroughDataSource() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement prepared = mock(PreparedStatement.class);
+        Statement plain = mock(Statement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("select * from book where isbn=?")).thenReturn(prepared);
+        when(connection.createStatement()).thenReturn(plain);
+        DataSource dataSource = new InstrumentedDataSource(target, recorder);
+
+        SqlCapture capture = recorder.capture(() -> {
+            try (Connection c = dataSource.getConnection()) {
+                PreparedStatement statement = c.prepareStatement("select * from book where isbn=?");
+                statement.setString(1, "978-1");
+                statement.executeQuery();
+                c.createStatement().execute("delete from loan");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(capture.statements()).containsExactly("select * from book where isbn=?", "delete from loan");
+        verify(prepared).setString(1, "978-1");
+        verify(prepared).executeQuery();
+        verify(connection).close();
+    }
+}
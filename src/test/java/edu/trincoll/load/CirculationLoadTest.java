@@ -0,0 +1,64 @@
+package edu.trincoll.load;
+
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.LibraryFacade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a seeded concurrent workload against the full H2/JPA stack.
+ * Excluded from the regular test task; run it with {@code ./gradlew loadTest},
+ * overriding the defaults with {@code -Pload.kiosks=...}, {@code -Pload.seed=...} and so on.
+ * <p>
+ * Admission control is switched off, so every operation reaches the repositories instead
+ * of some being shed as errors, and kiosks really do race for the same books and members.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.edu.trincoll=INFO",
+        "library.admission.enabled=false"
+})
+@DisplayName("Circulation Load Test")
+class CirculationLoadTest {
+
+    @Autowired
+    private LibraryFacade libraryFacade;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("Should keep circulation invariants under concurrent kiosks")
+    void shouldKeepInvariantsUnderLoad() throws InterruptedException {
+        WorkloadGenerator generator = new WorkloadGenerator(
+                Long.getLong("load.seed", 42L),
+                Integer.getInteger("load.members", 2_000),
+                Integer.getInteger("load.books", 5_000),
+                new WorkloadGenerator.Mix(
+                        Integer.getInteger("load.mix.checkout", 40),
+                        Integer.getInteger("load.mix.return", 35),
+                        Integer.getInteger("load.mix.search", 20),
+                        Integer.getInteger("load.mix.report", 5)));
+        LoadDriver driver = new LoadDriver(libraryFacade, bookRepository, memberRepository);
+        driver.seed(generator);
+
+        LoadReport report = driver.run(generator,
+                Integer.getInteger("load.kiosks", 500),
+                Integer.getInteger("load.operations-per-kiosk", 200));
+
+        System.out.println(report);
+        assertThat(report.operations()).isPositive();
+        assertThat(report.violations()).isEmpty();
+    }
+}
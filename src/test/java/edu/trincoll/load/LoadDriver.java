@@ -0,0 +1,222 @@
+package edu.trincoll.load;
+
+import edu.trincoll.load.WorkloadGenerator.Operation;
+import edu.trincoll.load.WorkloadGenerator.OperationStream;
+import edu.trincoll.load.WorkloadGenerator.OperationType;
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.policy.CheckoutPolicyFactory;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.LibraryFacade;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Drives a generated workload against {@link LibraryFacade} from many kiosk threads at once.
+ * Every kiosk starts together, runs its own reproducible operation sequence and records
+ * per-operation latency. Double checkouts are detected while the run is in progress;
+ * member counters are audited against the books table once every kiosk has finished.
+ */
+public class LoadDriver {
+
+    private final LibraryFacade libraryFacade;
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+
+    /**
+     * Constructs a new LoadDriver.
+     * @param libraryFacade The facade the workload is run against.
+     * @param bookRepository The repository used to seed and audit books.
+     * @param memberRepository The repository used to seed and audit members.
+     */
+    public LoadDriver(LibraryFacade libraryFacade, BookRepository bookRepository, MemberRepository memberRepository) {
+        this.libraryFacade = libraryFacade;
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+    }
+
+    /**
+     * Saves the generator's members and books.
+     * @param generator The workload to seed.
+     */
+    public void seed(WorkloadGenerator generator) {
+        memberRepository.saveAll(generator.members());
+        bookRepository.saveAll(generator.books());
+    }
+
+    /**
+     * Runs the workload and audits the resulting state.
+     * @param generator The workload to run.
+     * @param kiosks The number of concurrent kiosk threads.
+     * @param operationsPerKiosk The number of operations each kiosk performs.
+     * @return The throughput, latency and invariant report.
+     * @throws InterruptedException If interrupted while waiting for the kiosks.
+     */
+    public LoadReport run(WorkloadGenerator generator, int kiosks, int operationsPerKiosk) throws InterruptedException {
+        RunState state = new RunState();
+        Kiosk[] workers = new Kiosk[kiosks];
+        List<Thread> threads = new ArrayList<>(kiosks);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < kiosks; i++) {
+            workers[i] = new Kiosk(generator.forKiosk(i), operationsPerKiosk, state);
+            Kiosk worker = workers[i];
+            threads.add(Thread.ofPlatform().name("kiosk-" + i).start(() -> {
+                try {
+                    start.await();
+                    worker.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        audit(state.violations);
+        return report(workers, elapsed, state);
+    }
+
+    private LoadReport report(Kiosk[] workers, Duration elapsed, RunState state) {
+        Map<OperationType, LoadReport.Percentiles> latencies = new EnumMap<>(OperationType.class);
+        List<long[]> all = new ArrayList<>();
+        for (OperationType type : OperationType.values()) {
+            long[] merged = Arrays.stream(workers)
+                    .flatMapToLong(worker -> Arrays.stream(worker.latencies(type)))
+                    .sorted()
+                    .toArray();
+            latencies.put(type, LoadReport.Percentiles.of(merged));
+            all.add(merged);
+        }
+        long[] overall = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new LoadReport(elapsed, overall.length, state.errors.sum(), latencies,
+                LoadReport.Percentiles.of(overall), List.copyOf(state.violations));
+    }
+
+    private void audit(List<String> violations) {
+        Map<String, Long> heldByMember = bookRepository.findByStatus(BookStatus.CHECKED_OUT).stream()
+                .filter(book -> book.getCheckedOutBy() != null)
+                .collect(Collectors.groupingBy(Book::getCheckedOutBy, Collectors.counting()));
+        for (Member member : memberRepository.findAll()) {
+            int count = member.getBooksCheckedOut();
+            int max = CheckoutPolicyFactory.getCheckoutPolicy(member.getMembershipType()).getMaxBooks();
+            long held = heldByMember.getOrDefault(member.getEmail(), 0L);
+            if (count < 0) {
+                violations.add("Negative booksCheckedOut for " + member.getEmail() + ": " + count);
+            }
+            if (count > max || held > max) {
+                violations.add("Member over limit " + member.getEmail() + ": count=" + count + " held=" + held + " max=" + max);
+            }
+            if (count != held) {
+                violations.add("booksCheckedOut mismatch for " + member.getEmail() + ": count=" + count + " held=" + held);
+            }
+        }
+    }
+
+    /**
+     * State shared by every kiosk during a run.
+     */
+    private static final class RunState {
+        private final ConcurrentMap<String, AtomicInteger> outstanding = new ConcurrentHashMap<>();
+        private final Queue<String> onLoan = new ConcurrentLinkedQueue<>();
+        private final List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        private final LongAdder errors = new LongAdder();
+
+        AtomicInteger outstanding(String isbn) {
+            return outstanding.computeIfAbsent(isbn, key -> new AtomicInteger());
+        }
+    }
+
+    /**
+     * One simulated kiosk running its operation sequence.
+     */
+    private final class Kiosk {
+        private final OperationStream operations;
+        private final int count;
+        private final RunState state;
+        private final long[] nanos;
+        private final OperationType[] types;
+
+        Kiosk(OperationStream operations, int count, RunState state) {
+            this.operations = operations;
+            this.count = count;
+            this.state = state;
+            this.nanos = new long[count];
+            this.types = new OperationType[count];
+        }
+
+        void run() {
+            for (int i = 0; i < count; i++) {
+                Operation operation = operations.next();
+                long started = System.nanoTime();
+                try {
+                    execute(operation);
+                } catch (RuntimeException e) {
+                    state.errors.increment();
+                }
+                nanos[i] = System.nanoTime() - started;
+                types[i] = operation.type();
+            }
+        }
+
+        long[] latencies(OperationType type) {
+            return IntStream.range(0, count)
+                    .filter(i -> types[i] == type)
+                    .mapToLong(i -> nanos[i])
+                    .toArray();
+        }
+
+        private void execute(Operation operation) {
+            switch (operation.type()) {
+                case CHECKOUT -> checkout(operation.isbn(), operation.memberEmail());
+                case RETURN -> giveBack(operation.isbn());
+                case SEARCH -> libraryFacade.searchBooks(operation.searchTerm(), operation.searchType());
+                case REPORT -> libraryFacade.generateReport(operation.reportType());
+            }
+        }
+
+        private void checkout(String isbn, String memberEmail) {
+            String result = libraryFacade.checkoutBook(isbn, memberEmail);
+            if (result.startsWith("Book checked out successfully")) {
+                int holders = state.outstanding(isbn).incrementAndGet();
+                if (holders > 1) {
+                    state.violations.add("Double checkout of " + isbn + " (" + holders + " concurrent holders)");
+                }
+                state.onLoan.add(isbn);
+            }
+        }
+
+        private void giveBack(String fallbackIsbn) {
+            String polled = state.onLoan.poll();
+            String isbn = polled != null ? polled : fallbackIsbn;
+            // Release the slot before the return commits, so a checkout that follows it is not flagged
+            AtomicInteger holders = state.outstanding(isbn);
+            holders.decrementAndGet();
+            String result = libraryFacade.returnBook(isbn);
+            if (!result.startsWith("Book returned")) {
+                holders.incrementAndGet();
+            }
+        }
+    }
+}
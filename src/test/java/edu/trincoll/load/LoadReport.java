@@ -0,0 +1,76 @@
+package edu.trincoll.load;
+
+import edu.trincoll.load.WorkloadGenerator.OperationType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a load run.
+ * @param elapsed Wall-clock time of the run.
+ * @param operations Total operations attempted.
+ * @param errors Operations that threw an exception.
+ * @param latencies Latency percentiles per operation type.
+ * @param overall Latency percentiles across all operations.
+ * @param violations Descriptions of every invariant violation found.
+ */
+public record LoadReport(Duration elapsed,
+                         long operations,
+                         long errors,
+                         Map<OperationType, Percentiles> latencies,
+                         Percentiles overall,
+                         List<String> violations) {
+
+    public double throughput() {
+        return operations / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+    }
+
+    /**
+     * Returns the invariant violations found per operation attempted.
+     * @return Violations over operations, or zero if nothing ran.
+     */
+    public double violationRate() {
+        return operations == 0 ? 0.0 : (double) violations.size() / operations;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("LOAD TEST REPORT\n");
+        report.append("================\n");
+        report.append(String.format("Operations: %d in %d ms (%.0f ops/s), errors: %d\n",
+                operations, elapsed.toMillis(), throughput(), errors));
+        report.append(String.format("%-9s %s\n", "ALL", overall));
+        latencies.forEach((type, percentiles) ->
+                report.append(String.format("%-9s %s\n", type, percentiles)));
+        report.append(String.format("Invariant violations: %d (%.4f%% of operations)\n",
+                violations.size(), violationRate() * 100));
+        violations.stream().limit(20).forEach(violation -> report.append("  ").append(violation).append('\n'));
+        return report.toString();
+    }
+
+    /**
+     * Latency percentiles for a set of operations, in microseconds.
+     */
+    public record Percentiles(long count, long p50, long p99, long p999, long max) {
+
+        static Percentiles of(long[] sortedNanos) {
+            if (sortedNanos.length == 0) {
+                return new Percentiles(0, 0, 0, 0, 0);
+            }
+            return new Percentiles(sortedNanos.length,
+                    micros(sortedNanos, 0.50), micros(sortedNanos, 0.99), micros(sortedNanos, 0.999),
+                    sortedNanos[sortedNanos.length - 1] / 1_000);
+        }
+
+        private static long micros(long[] sortedNanos, double quantile) {
+            int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1_000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%dus p99=%dus p999=%dus max=%dus", count, p50, p99, p999, max);
+        }
+    }
+}
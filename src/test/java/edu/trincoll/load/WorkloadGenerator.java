@@ -0,0 +1,163 @@
+package edu.trincoll.load;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a reproducible synthetic library: members spread across membership
+ * types, a catalog of books, and a stream of operations drawn at configured ratios.
+ * The same seed always produces the same members, books and per-kiosk operation sequence.
+ */
+public class WorkloadGenerator {
+
+    private static final String[] TITLE_WORDS = {
+            "Silent", "River", "Garden", "Winter", "Empire", "Shadow", "Harbor", "Letters",
+            "Machine", "Orchard", "Signal", "Compass", "Lantern", "Meadow", "Archive", "Voyage"
+    };
+    private static final String[] SURNAMES = {
+            "Adams", "Baker", "Chen", "Diaz", "Evans", "Fischer", "Garcia", "Hughes",
+            "Ito", "Jones", "Khan", "Lopez", "Miller", "Nguyen", "Okafor", "Patel"
+    };
+    private static final String[] SEARCH_TYPES = {"title", "author", "isbn", "available"};
+    private static final String[] REPORT_TYPES = {"overdue", "available", "members"};
+
+    private final long seed;
+    private final int memberCount;
+    private final int bookCount;
+    private final Mix mix;
+
+    /**
+     * Constructs a new WorkloadGenerator.
+     * @param seed The seed every generated value is derived from.
+     * @param memberCount The number of members to generate.
+     * @param bookCount The number of books to generate.
+     * @param mix The relative weights of each operation type.
+     */
+    public WorkloadGenerator(long seed, int memberCount, int bookCount, Mix mix) {
+        if (memberCount <= 0 || bookCount <= 0) {
+            throw new IllegalArgumentException("Workload needs at least one member and one book");
+        }
+        this.seed = seed;
+        this.memberCount = memberCount;
+        this.bookCount = bookCount;
+        this.mix = mix;
+    }
+
+    /**
+     * Generates the members, cycling through membership types so each is represented.
+     * @return The generated members, not yet saved.
+     */
+    public List<Member> members() {
+        MembershipType[] types = MembershipType.values();
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            members.add(new Member("Member " + i, email(i), types[i % types.length]));
+        }
+        return members;
+    }
+
+    /**
+     * Generates the catalog.
+     * @return The generated books, not yet saved.
+     */
+    public List<Book> books() {
+        Random random = new Random(seed);
+        List<Book> books = new ArrayList<>(bookCount);
+        for (int i = 0; i < bookCount; i++) {
+            String title = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " "
+                    + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + i;
+            String author = SURNAMES[random.nextInt(SURNAMES.length)];
+            LocalDate published = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(365 * 70));
+            books.add(new Book(isbn(i), title, author, published));
+        }
+        return books;
+    }
+
+    /**
+     * Returns the operation stream for one kiosk.
+     * @param kiosk The kiosk index, which selects an independent but reproducible sequence.
+     * @return The kiosk's operation source.
+     */
+    public OperationStream forKiosk(int kiosk) {
+        return new OperationStream(new Random(seed * 31 + kiosk));
+    }
+
+    static String email(int index) {
+        return "member" + index + "@load.test";
+    }
+
+    static String isbn(int index) {
+        return String.format("978-0-%06d-00-0", index);
+    }
+
+    /**
+     * The relative weights of each operation type.
+     * @param checkout Weight of checkouts.
+     * @param returns Weight of returns.
+     * @param search Weight of searches.
+     * @param report Weight of report generation.
+     */
+    public record Mix(int checkout, int returns, int search, int report) {
+        public Mix {
+            if (checkout < 0 || returns < 0 || search < 0 || report < 0
+                    || checkout + returns + search + report == 0) {
+                throw new IllegalArgumentException("Operation weights must be non-negative and not all zero");
+            }
+        }
+
+        int total() {
+            return checkout + returns + search + report;
+        }
+    }
+
+    public enum OperationType {
+        CHECKOUT, RETURN, SEARCH, REPORT
+    }
+
+    /**
+     * A single generated operation. Fields not used by the operation type are null.
+     */
+    public record Operation(OperationType type, String isbn, String memberEmail,
+                            String searchTerm, String searchType, String reportType) {
+    }
+
+    /**
+     * A reproducible sequence of operations for one kiosk.
+     */
+    public final class OperationStream {
+        private final Random random;
+
+        private OperationStream(Random random) {
+            this.random = random;
+        }
+
+        public Operation next() {
+            int pick = random.nextInt(mix.total());
+            String isbn = isbn(random.nextInt(bookCount));
+            if ((pick -= mix.checkout()) < 0) {
+                return new Operation(OperationType.CHECKOUT, isbn, email(random.nextInt(memberCount)), null, null, null);
+            }
+            if ((pick -= mix.returns()) < 0) {
+                return new Operation(OperationType.RETURN, isbn, null, null, null, null);
+            }
+            if (pick - mix.search() < 0) {
+                String searchType = SEARCH_TYPES[random.nextInt(SEARCH_TYPES.length)];
+                String term = switch (searchType) {
+                    case "title" -> TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+                    case "author" -> SURNAMES[random.nextInt(SURNAMES.length)];
+                    case "isbn" -> isbn;
+                    default -> "";
+                };
+                return new Operation(OperationType.SEARCH, null, null, term, searchType, null);
+            }
+            return new Operation(OperationType.REPORT, null, null, null, null,
+                    REPORT_TYPES[random.nextInt(REPORT_TYPES.length)]);
+        }
+    }
+}
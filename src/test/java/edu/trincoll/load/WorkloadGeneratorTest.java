@@ -0,0 +1,76 @@
+package edu.trincoll.load;
+
+import edu.trincoll.load.WorkloadGenerator.Mix;
+import edu.trincoll.load.WorkloadGenerator.Operation;
+import edu.trincoll.load.WorkloadGenerator.OperationStream;
+import edu.trincoll.load.WorkloadGenerator.OperationType;
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Workload Generator Tests")
+class WorkloadGeneratorTest {
+
+    @Test
+    @DisplayName("Should generate the same workload for the same seed")
+    void shouldBeReproducible() {
+        WorkloadGenerator first = new WorkloadGenerator(7, 30, 50, new Mix(4, 3, 2, 1));
+        WorkloadGenerator second = new WorkloadGenerator(7, 30, 50, new Mix(4, 3, 2, 1));
+
+        assertThat(first.books()).extracting(Book::getTitle)
+                .containsExactlyElementsOf(second.books().stream().map(Book::getTitle).toList());
+        assertThat(take(first.forKiosk(3), 100)).isEqualTo(take(second.forKiosk(3), 100));
+        assertThat(take(first.forKiosk(3), 100)).isNotEqualTo(take(first.forKiosk(4), 100));
+    }
+
+    @Test
+    @DisplayName("Should spread members across every membership type")
+    void shouldCoverMembershipTypes() {
+        List<Member> members = new WorkloadGenerator(1, 9, 1, new Mix(1, 0, 0, 0)).members();
+
+        assertThat(members).extracting(Member::getMembershipType)
+                .containsOnly(MembershipType.values())
+                .hasSize(9);
+        assertThat(members).extracting(Member::getEmail).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should draw operations in proportion to the mix")
+    void shouldFollowMix() {
+        OperationStream stream = new WorkloadGenerator(11, 10, 10, new Mix(50, 30, 20, 0)).forKiosk(0);
+        Map<OperationType, Integer> counts = new EnumMap<>(OperationType.class);
+        for (Operation operation : take(stream, 10_000)) {
+            counts.merge(operation.type(), 1, Integer::sum);
+        }
+
+        assertThat(counts.get(OperationType.CHECKOUT)).isBetween(4_700, 5_300);
+        assertThat(counts.get(OperationType.RETURN)).isBetween(2_700, 3_300);
+        assertThat(counts.get(OperationType.SEARCH)).isBetween(1_700, 2_300);
+        assertThat(counts).doesNotContainKey(OperationType.REPORT);
+    }
+
+    @Test
+    @DisplayName("Should reject a mix with no operations")
+    void shouldRejectEmptyMix() {
+        assertThatThrownBy(() -> new Mix(0, 0, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Operation> take(OperationStream stream, int count) {
+        List<Operation> operations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            operations.add(stream.next());
+        }
+        return operations;
+    }
+}
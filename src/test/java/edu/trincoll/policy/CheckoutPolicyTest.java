@@ -49,6 +49,15 @@ class CheckoutPolicyTest {
         assertThat(studentPolicy).isInstanceOf(StudentPolicy.class);
     }
 
+    @Test
+    @DisplayName("Premium holds should be served before student and regular holds")
+    void holdPriorityShouldFavourPremiumMembers() {
+        assertThat(new PremiumPolicy().getHoldPriority())
+                .isLessThan(new StudentPolicy().getHoldPriority());
+        assertThat(new StudentPolicy().getHoldPriority())
+                .isLessThan(new RegularPolicy().getHoldPriority());
+    }
+
     @Test
     @DisplayName("Should allow checkout when under limit")
     void shouldAllowCheckoutWhenUnderLimit() {
@@ -0,0 +1,130 @@
+package edu.trincoll.recommendation;
+
+import edu.trincoll.recommendation.CoOccurrenceEngine.Borrowing;
+import edu.trincoll.recommendation.CoOccurrenceEngine.Recommendation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Co-occurrence Engine Tests")
+class CoOccurrenceEngineTest {
+
+    private final CoOccurrenceEngine engine = new CoOccurrenceEngine(10, 200, ForkJoinPool.commonPool());
+
+    @Test
+    @DisplayName("Should recommend titles borrowed by the same members, most frequent first")
+    void shouldRankByCoOccurrence() {
+        engine.rebuild(List.of(
+                new Borrowing("ana@example.com", "clean-code"),
+                new Borrowing("ana@example.com", "refactoring"),
+                new Borrowing("ana@example.com", "ddd"),
+                new Borrowing("ben@example.com", "clean-code"),
+                new Borrowing("ben@example.com", "refactoring"),
+                new Borrowing("ben@example.com", "clean-code"),
+                new Borrowing("cy@example.com", "ddd")));
+
+        assertThat(engine.recommend("clean-code", 5)).containsExactly(
+                new Recommendation("refactoring", 2),
+                new Recommendation("ddd", 1));
+        assertThat(engine.recommend("refactoring", 1)).containsExactly(new Recommendation("clean-code", 2));
+        assertThat(engine.recommend("unknown", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match exact pair counts from a brute-force count over a large parallel build")
+    void shouldMatchBruteForceCounts() {
+        Random random = new Random(45);
+        List<Borrowing> history = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            history.add(new Borrowing("member" + random.nextInt(2_000), "isbn" + random.nextInt(300)));
+        }
+        CoOccurrenceEngine unbounded = new CoOccurrenceEngine(300, 200, ForkJoinPool.commonPool());
+
+        unbounded.rebuild(history);
+
+        Map<String, Set<String>> baskets = new HashMap<>();
+        history.forEach(b -> baskets.computeIfAbsent(b.memberEmail(), m -> new LinkedHashSet<>()).add(b.isbn()));
+        Map<String, Integer> expected = new HashMap<>();
+        baskets.values().forEach(basket -> basket.forEach(a -> basket.forEach(b -> {
+            if (!a.equals(b)) {
+                expected.merge(a + "|" + b, 1, Integer::sum);
+            }
+        })));
+        for (int i = 0; i < 300; i += 37) {
+            String isbn = "isbn" + i;
+            List<Recommendation> recommendations = unbounded.recommend(isbn, 300);
+            assertThat(recommendations).isNotEmpty();
+            for (Recommendation recommendation : recommendations) {
+                assertThat(recommendation.count()).isEqualTo(expected.get(isbn + "|" + recommendation.isbn()));
+            }
+            assertThat(recommendations).isSortedAccordingTo((a, b) -> Integer.compare(b.count(), a.count()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fold recorded checkouts in on refresh")
+    void shouldUpdateIncrementally() {
+        engine.rebuild(List.of(
+                new Borrowing("ana@example.com", "clean-code"),
+                new Borrowing("ana@example.com", "refactoring")));
+
+        engine.record("ana@example.com", "ddd");
+        engine.record("ana@example.com", "ddd");
+        assertThat(engine.recommend("ddd", 5)).isEmpty();
+
+        engine.refresh();
+
+        assertThat(engine.recommend("ddd", 5)).containsExactlyInAnyOrder(
+                new Recommendation("clean-code", 1),
+                new Recommendation("refactoring", 1));
+        assertThat(engine.recommend("clean-code", 5)).containsExactly(
+                new Recommendation("refactoring", 1),
+                new Recommendation("ddd", 1));
+    }
+
+    @Test
+    @DisplayName("Should keep only the top partners and the most recent titles of a basket")
+    void shouldBoundRowsAndBaskets() {
+        CoOccurrenceEngine bounded = new CoOccurrenceEngine(2, 3, ForkJoinPool.commonPool());
+
+        bounded.rebuild(List.of(
+                new Borrowing("ana@example.com", "a"),
+                new Borrowing("ana@example.com", "b"),
+                new Borrowing("ana@example.com", "c"),
+                new Borrowing("ana@example.com", "d"),
+                new Borrowing("ben@example.com", "b"),
+                new Borrowing("ben@example.com", "c"),
+                new Borrowing("ben@example.com", "d")));
+
+        assertThat(bounded.recommend("a", 5)).isEmpty();
+        assertThat(bounded.recommend("b", 5)).hasSize(2).allMatch(r -> r.count() == 2);
+    }
+
+    @Test
+    @DisplayName("Should keep a checkout recorded while the history is being read, counted once")
+    void shouldKeepCheckoutsRecordedWhileLoading() {
+        engine.rebuild(() -> {
+            // Recorded after its member's other loans were read, and once also read itself
+            engine.record("ana@example.com", "ddd");
+            engine.record("ben@example.com", "refactoring");
+            return List.of(
+                    new Borrowing("ana@example.com", "clean-code"),
+                    new Borrowing("ben@example.com", "clean-code"),
+                    new Borrowing("ben@example.com", "refactoring"));
+        });
+
+        assertThat(engine.recommend("clean-code", 5)).containsExactlyInAnyOrder(
+                new Recommendation("refactoring", 1),
+                new Recommendation("ddd", 1));
+    }
+}
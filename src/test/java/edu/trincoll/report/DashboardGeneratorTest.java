@@ -0,0 +1,117 @@
+package edu.trincoll.report;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Dashboard Generator Tests")
+class DashboardGeneratorTest {
+
+    @Test
+    @DisplayName("Should run reports concurrently and keep the requested order")
+    void shouldRunReportsConcurrently() {
+        Map<String, ReportGenerator> generators = new LinkedHashMap<>();
+        generators.put("overdue", slowReport("overdue report", 300));
+        generators.put("available", slowReport("available report", 300));
+        generators.put("members", slowReport("members report", 300));
+
+        long start = System.nanoTime();
+        Map<String, String> dashboard = new DashboardGenerator(generators).generateDashboard(Duration.ofSeconds(5));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(dashboard).containsExactly(
+                Map.entry("overdue", "overdue report"),
+                Map.entry("available", "available report"),
+                Map.entry("members", "members report"));
+        assertThat(elapsedMillis).isLessThan(800);
+    }
+
+    @Test
+    @DisplayName("Should cancel the remaining reports when one fails")
+    void shouldCancelRemainingReportsOnFailure() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Map<String, ReportGenerator> generators = new LinkedHashMap<>();
+        generators.put("slow", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "slow report";
+        });
+        generators.put("broken", () -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("database unavailable");
+        });
+
+        assertThatThrownBy(() -> new DashboardGenerator(generators).generateDashboard(Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("broken")
+                .hasRootCauseMessage("database unavailable");
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fail when a report misses the timeout")
+    void shouldFailWhenReportTimesOut() {
+        Map<String, ReportGenerator> generators = new LinkedHashMap<>();
+        generators.put("fast", () -> "fast report");
+        generators.put("stuck", slowReport("stuck report", 10_000));
+
+        assertThatThrownBy(() -> new DashboardGenerator(generators).generateDashboard(Duration.ofMillis(200)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("timed out");
+    }
+
+    @Test
+    @DisplayName("Should return at the deadline even when a report ignores interruption")
+    void shouldNotWaitForReportIgnoringInterruption() {
+        CountDownLatch release = new CountDownLatch(1);
+        Map<String, ReportGenerator> generators = new LinkedHashMap<>();
+        generators.put("stubborn", () -> {
+            while (true) {
+                try {
+                    release.await();
+                    return "stubborn report";
+                } catch (InterruptedException e) {
+                    // Ignored, as a report blocked in non-interruptible I/O would be
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        try {
+            assertThatThrownBy(() -> new DashboardGenerator(generators).generateDashboard(Duration.ofMillis(200)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("timed out");
+            assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis()).isLessThan(1_000);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static ReportGenerator slowReport(String report, long millis) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return report;
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package edu.trincoll.report;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Overdue Change Tracker Tests")
+class OverdueChangeTrackerTest {
+
+    private static final LocalDate DAY_ONE = LocalDate.now();
+    private static final LocalDate DAY_TWO = DAY_ONE.plusDays(1);
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private OverdueChangeTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new OverdueChangeTracker(bookRepository, 2);
+    }
+
+    @Test
+    @DisplayName("Should list every overdue book when there is no token")
+    void shouldGiveFullReportWithoutToken() {
+        Book overdue = checkout("978-1", "Old Book", DAY_ONE.minusDays(3));
+        when(bookRepository.findByStatus(BookStatus.CHECKED_OUT)).thenReturn(List.of(overdue));
+        tracker.seed();
+        checkout("978-2", "New Book", DAY_ONE.plusDays(10));
+
+        IncrementalOverdueReport report = tracker.changesSince(null, DAY_ONE);
+
+        assertThat(report.fullResync()).isTrue();
+        assertThat(report.newlyOverdue()).extracting(IncrementalOverdueReport.Item::isbn).containsExactly("978-1");
+    }
+
+    @Test
+    @DisplayName("Should only report books that became overdue since the token")
+    void shouldReportNewlyOverdueBooks() {
+        checkout("978-1", "Long Overdue", DAY_ONE.minusDays(5));
+        checkout("978-2", "Due Today", DAY_ONE);
+        checkout("978-3", "Due Later", DAY_ONE.plusDays(7));
+        String token = tracker.changesSince(null, DAY_ONE).nextToken();
+
+        IncrementalOverdueReport report = tracker.changesSince(token, DAY_TWO);
+
+        assertThat(report.fullResync()).isFalse();
+        assertThat(report.newlyOverdue()).extracting(IncrementalOverdueReport.Item::isbn).containsExactly("978-2");
+        assertThat(report.newlyReturned()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report overdue books returned since the token")
+    void shouldReportNewlyReturnedBooks() {
+        Book overdue = checkout("978-1", "Long Overdue", DAY_ONE.minusDays(5));
+        Book onTime = checkout("978-2", "On Time", DAY_ONE.plusDays(5));
+        String token = tracker.changesSince(null, DAY_ONE).nextToken();
+
+        giveBack(overdue);
+        giveBack(onTime);
+        IncrementalOverdueReport report = tracker.changesSince(token, DAY_ONE);
+
+        assertThat(report.newlyReturned()).extracting(IncrementalOverdueReport.Item::isbn).containsExactly("978-1");
+        assertThat(tracker.changesSince(report.nextToken(), DAY_ONE).newlyReturned()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full report when the token is older than the change log")
+    void shouldResyncWhenTokenIsTooOld() {
+        String token = tracker.changesSince(null, DAY_ONE).nextToken();
+        for (int i = 0; i < 3; i++) {
+            giveBack(checkout("978-" + i, "Book " + i, DAY_ONE.minusDays(5)));
+        }
+        checkout("978-9", "Still Out", DAY_ONE.minusDays(1));
+
+        IncrementalOverdueReport report = tracker.changesSince(token, DAY_ONE);
+
+        assertThat(report.fullResync()).isTrue();
+        assertThat(report.newlyOverdue()).extracting(IncrementalOverdueReport.Item::isbn).containsExactly("978-9");
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full report for a token from before a restart")
+    void shouldResyncAfterRestart() {
+        OverdueChangeTracker before = new OverdueChangeTracker(bookRepository, 100, "first");
+        Book overdue = checkout("978-1", "Long Overdue", DAY_ONE.minusDays(5));
+        before.onStatusChange(overdue, BookStatus.AVAILABLE);
+        for (int i = 0; i < 3; i++) {
+            Book returned = checkout("978-" + (i + 2), "Book " + i, DAY_ONE.minusDays(5));
+            before.onStatusChange(returned, BookStatus.AVAILABLE);
+            returned.setStatus(BookStatus.AVAILABLE);
+            before.onStatusChange(returned, BookStatus.CHECKED_OUT);
+        }
+        String token = before.changesSince(null, DAY_ONE).nextToken();
+
+        OverdueChangeTracker after = new OverdueChangeTracker(bookRepository, 100, "second");
+        when(bookRepository.findByStatus(BookStatus.CHECKED_OUT)).thenReturn(List.of(overdue));
+        after.seed();
+        IncrementalOverdueReport report = after.changesSince(token, DAY_ONE);
+
+        // The old token's sequence is ahead of the new instance's, which alone would hide every return to come
+        assertThat(report.fullResync()).isTrue();
+        assertThat(report.newlyOverdue()).extracting(IncrementalOverdueReport.Item::isbn).containsExactly("978-1");
+        assertThat(after.changesSince(report.nextToken(), DAY_ONE).fullResync()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed token")
+    void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> tracker.changesSince("not-a-token", DAY_ONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid report token");
+    }
+
+    private Book checkout(String isbn, String title, LocalDate dueDate) {
+        Book book = new Book(isbn, title, "Some Author", LocalDate.of(2008, 8, 1));
+        book.setStatus(BookStatus.CHECKED_OUT);
+        book.setCheckedOutBy("john@example.com");
+        book.setDueDate(dueDate);
+        tracker.onStatusChange(book, BookStatus.AVAILABLE);
+        return book;
+    }
+
+    private void giveBack(Book book) {
+        book.setStatus(BookStatus.AVAILABLE);
+        book.setCheckedOutBy(null);
+        book.setDueDate(null);
+        tracker.onStatusChange(book, BookStatus.CHECKED_OUT);
+    }
+}
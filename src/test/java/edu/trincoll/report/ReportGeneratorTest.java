@@ -11,8 +11,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -76,6 +78,68 @@ class ReportGeneratorTest {
         assertThat(report).isEqualTo("Total members: 100");
     }
 
+    @Test
+    @DisplayName("Should generate circulation report")
+    void shouldGenerateCirculationReport() {
+        String report = factory.getReportGenerator("circulation").generateReport();
+
+        assertThat(report).startsWith("CIRCULATION REPORT").contains("Limit rejections: 0");
+    }
+
+    @Test
+    @DisplayName("Should generate most borrowed report")
+    void shouldGenerateMostBorrowedReport() {
+        String report = factory.getReportGenerator("most-borrowed").generateReport();
+
+        assertThat(report).startsWith("MOST BORROWED REPORT").contains("Titles:", "Authors:");
+    }
+
+    @Test
+    @DisplayName("Should generate SQL statement report")
+    void shouldGenerateSqlStatementReport() {
+        String report = factory.getReportGenerator("sql").generateReport();
+
+        assertThat(report).startsWith("SQL STATEMENT REPORT");
+    }
+
+    @Test
+    @DisplayName("Should generate lookup filter report")
+    void shouldGenerateLookupFilterReport() {
+        String report = factory.getReportGenerator("lookup-filters").generateReport();
+
+        assertThat(report).startsWith("LOOKUP FILTER REPORT").contains("isbn - Keys: 0", "email - Keys: 0");
+    }
+
+    @Test
+    @DisplayName("Should generate admission control report")
+    void shouldGenerateAdmissionReport() {
+        String report = factory.getReportGenerator("admission").generateReport();
+
+        assertThat(report).startsWith("ADMISSION CONTROL REPORT").contains("Limit: 50", "LOW (up to 25 in flight)");
+    }
+
+    @Test
+    @DisplayName("Should generate several reports as one dashboard")
+    void shouldGenerateDashboard() {
+        when(bookRepository.countByStatus(BookStatus.AVAILABLE)).thenReturn(42L);
+        when(memberRepository.count()).thenReturn(100L);
+
+        Map<String, String> dashboard = factory.getDashboardGenerator(List.of("available", "members"))
+                .generateDashboard(Duration.ofSeconds(5));
+
+        assertThat(dashboard).containsExactly(
+                Map.entry("available", "Available books: 42"),
+                Map.entry("members", "Total members: 100"));
+    }
+
+    @Test
+    @DisplayName("Should reject a dashboard with an invalid report type before running any report")
+    void shouldRejectDashboardWithInvalidReportType() {
+        assertThatThrownBy(() -> factory.getDashboardGenerator(List.of("available", "invalid")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid report type");
+    }
+
     @Test
     @DisplayName("Should throw exception for invalid report type")
     void shouldThrowExceptionForInvalidReportType() {
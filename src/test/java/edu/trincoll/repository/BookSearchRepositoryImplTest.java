@@ -0,0 +1,100 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Book Search Repository Tests")
+class BookSearchRepositoryImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Book> query;
+
+    private BookSearchRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BookSearchRepositoryImpl(entityManager);
+    }
+
+    @Test
+    @DisplayName("Should build one query combining every given criterion")
+    void shouldCombineCriteria() {
+        when(entityManager.createQuery(anyString(), eq(Book.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+
+        repository.search(new BookSearchCriteria("Code", "Robert Martin", BookStatus.AVAILABLE,
+                null, null, BookSearchCriteria.SortOrder.TITLE));
+
+        verify(entityManager).createQuery(
+                "select b from Book b where b.status = :status and b.author = :author " +
+                        "and lower(b.title) like :title order by b.title asc", Book.class);
+        verify(query).setParameter("title", "%code%");
+        verify(query).setParameter("author", "Robert Martin");
+        verify(query).setParameter("status", BookStatus.AVAILABLE);
+    }
+
+    @Test
+    @DisplayName("Should search a publication date range without other criteria")
+    void shouldSearchDateRange() {
+        LocalDate from = LocalDate.of(2000, 1, 1);
+        LocalDate to = LocalDate.of(2010, 12, 31);
+        when(entityManager.createQuery(anyString(), eq(Book.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+
+        repository.search(new BookSearchCriteria(null, null, null, from, to, null));
+
+        verify(entityManager).createQuery(
+                "select b from Book b where b.publicationDate >= :publishedFrom " +
+                        "and b.publicationDate <= :publishedTo", Book.class);
+        verify(query).setParameter("publishedFrom", from);
+        verify(query).setParameter("publishedTo", to);
+    }
+
+    @Test
+    @DisplayName("Should reuse the cached query for searches with the same shape")
+    void shouldReuseCachedQueryShape() {
+        when(entityManager.createQuery(anyString(), eq(Book.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+
+        repository.search(new BookSearchCriteria("Code", null, BookStatus.AVAILABLE, null, null, null));
+        repository.search(new BookSearchCriteria("Refactoring", null, BookStatus.CHECKED_OUT, null, null, null));
+        repository.search(new BookSearchCriteria(null, "Kent Beck", null, null, null, null));
+
+        assertThat(repository.cachedShapes()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should give different sort orders different shapes")
+    void shouldDistinguishSortOrders() {
+        BookSearchCriteria byTitle = new BookSearchCriteria("Code", null, null, null, null,
+                BookSearchCriteria.SortOrder.TITLE);
+        BookSearchCriteria byDate = new BookSearchCriteria("Code", null, null, null, null,
+                BookSearchCriteria.SortOrder.PUBLICATION_DATE_DESC);
+
+        assertThat(BookSearchRepositoryImpl.shapeOf(byTitle)).isNotEqualTo(BookSearchRepositoryImpl.shapeOf(byDate));
+        assertThat(BookSearchRepositoryImpl.buildQuery(BookSearchRepositoryImpl.shapeOf(byDate)))
+                .endsWith("order by b.publicationDate desc");
+    }
+}
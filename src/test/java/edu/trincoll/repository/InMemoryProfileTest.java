@@ -0,0 +1,56 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.memory.InMemoryBookRepository;
+import edu.trincoll.repository.memory.InMemoryMemberRepository;
+import edu.trincoll.service.LibraryFacade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the whole application under the {@code in-memory} profile, so a bean that only
+ * works with the JPA repositories fails here rather than on a kiosk node.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inmemoryprofile;DB_CLOSE_DELAY=-1",
+        "logging.level.edu.trincoll=INFO"
+})
+@ActiveProfiles("in-memory")
+@DisplayName("In-Memory Profile Tests")
+class InMemoryProfileTest {
+
+    @Autowired
+    private LibraryFacade libraryFacade;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("Should check a book out and back in through the facade on the in-memory repositories")
+    void shouldCirculateThroughFacade() {
+        assertThat(bookRepository).isInstanceOf(InMemoryBookRepository.class);
+        assertThat(memberRepository).isInstanceOf(InMemoryMemberRepository.class);
+        bookRepository.save(new Book("978-0132350884", "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1)));
+        memberRepository.save(new Member("Kiosk Reader", "kiosk@example.com"));
+
+        assertThat(libraryFacade.checkoutBook("978-0132350884", "kiosk@example.com"))
+                .startsWith("Book checked out successfully");
+        assertThat(bookRepository.findByIsbn("978-0132350884")).map(Book::getStatus).contains(BookStatus.CHECKED_OUT);
+
+        assertThat(libraryFacade.returnBook("978-0132350884")).isEqualTo("Book returned successfully");
+        assertThat(bookRepository.findByIsbn("978-0132350884")).map(Book::getStatus).contains(BookStatus.AVAILABLE);
+        assertThat(memberRepository.findByEmail("kiosk@example.com")).map(Member::getBooksCheckedOut).contains(0);
+    }
+}
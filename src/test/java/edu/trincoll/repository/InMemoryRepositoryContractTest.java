@@ -0,0 +1,92 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.repository.memory.InMemoryBookCopyRepository;
+import edu.trincoll.repository.memory.InMemoryBookRepository;
+import edu.trincoll.repository.memory.InMemoryMemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("In-Memory Repository Contract Tests")
+class InMemoryRepositoryContractTest extends RepositoryContractTest {
+
+    private final List<String> changes = new ArrayList<>();
+    private final InMemoryBookRepository bookRepository = new InMemoryBookRepository(new CatalogChangeListener() {
+        @Override
+        public void onInsert(Object entity) {
+            changes.add("insert " + ((Book) entity).getIsbn());
+        }
+
+        @Override
+        public void onUpdate(Object entity) {
+            changes.add("update " + ((Book) entity).getIsbn());
+        }
+
+        @Override
+        public void onDelete(Object entity) {
+            changes.add("delete " + ((Book) entity).getIsbn());
+        }
+    });
+    private final InMemoryMemberRepository memberRepository = new InMemoryMemberRepository(new CatalogChangeListener() { });
+    private final InMemoryBookCopyRepository bookCopyRepository = new InMemoryBookCopyRepository(bookRepository);
+
+    @Override
+    protected BookRepository books() {
+        return bookRepository;
+    }
+
+    @Override
+    protected MemberRepository members() {
+        return memberRepository;
+    }
+
+    @Override
+    protected BookCopyRepository copies() {
+        return bookCopyRepository;
+    }
+
+    @Test
+    @DisplayName("Should isolate stored rows from changes that are not saved")
+    void shouldCopyRowsInAndOut() {
+        Book read = bookRepository.findByIsbn("978-1").orElseThrow();
+        read.setTitle("Changed");
+
+        assertThat(bookRepository.findByIsbn("978-1")).map(Book::getTitle).contains("Clean Code");
+        assertThat(bookRepository.findByTitleContainingIgnoreCase("changed")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject saving a copy read before another save, as optimistic locking does")
+    void shouldRejectStaleCopies() {
+        Book first = bookRepository.findByIsbn("978-1").orElseThrow();
+        Book second = bookRepository.findByIsbn("978-1").orElseThrow();
+        first.setTitle("First");
+        second.setTitle("Second");
+
+        bookRepository.save(first);
+
+        assertThatThrownBy(() -> bookRepository.save(second))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(first.getVersion()).isEqualTo(1);
+        assertThat(bookRepository.findByIsbn("978-1")).map(Book::getTitle).contains("First");
+    }
+
+    @Test
+    @DisplayName("Should report inserts, updates and deletes to the change listener")
+    void shouldReportChanges() {
+        Book book = bookRepository.findByIsbn("978-1").orElseThrow();
+        bookRepository.save(book);
+        bookRepository.delete(book);
+        bookRepository.deleteById(book.getId());
+
+        assertThat(changes).containsExactly(
+                "insert 978-1", "insert 978-2", "insert 978-3", "update 978-1", "delete 978-1");
+    }
+}
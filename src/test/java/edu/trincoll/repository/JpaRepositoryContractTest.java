@@ -0,0 +1,52 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Book;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@DisplayName("JPA Repository Contract Tests")
+class JpaRepositoryContractTest extends RepositoryContractTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
+    @MockitoBean
+    private CatalogChangeListener changeListener;
+
+    @Override
+    protected BookRepository books() {
+        return bookRepository;
+    }
+
+    @Override
+    protected MemberRepository members() {
+        return memberRepository;
+    }
+
+    @Override
+    protected BookCopyRepository copies() {
+        return bookCopyRepository;
+    }
+
+    @Test
+    @DisplayName("Should report inserts through the listener registered in orm.xml")
+    void shouldReportInsertsToChangeListeners() {
+        Book book = bookRepository.saveAndFlush(new Book("978-7", "Dune", "Frank Herbert", LocalDate.of(1965, 8, 1)));
+
+        verify(changeListener).onInsert(book);
+    }
+}
@@ -0,0 +1,193 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookCopy;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Query behaviour every book, member and copy repository implementation must share.
+ * Run against the JPA repositories and the in-memory ones. Marked transactional here because a test
+ * context only rolls back inherited test methods when their declaring class asks for it.
+ */
+@Transactional
+abstract class RepositoryContractTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    private Book cleanCode;
+    private Book refactoring;
+
+    protected abstract BookRepository books();
+
+    protected abstract MemberRepository members();
+
+    protected abstract BookCopyRepository copies();
+
+    @BeforeEach
+    void seed() {
+        cleanCode = books().save(new Book("978-1", "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1)));
+        books().save(new Book("978-2", "Clean Architecture", "Robert Martin", LocalDate.of(2017, 9, 1)));
+        refactoring = books().save(new Book("978-3", "Refactoring", "Martin Fowler", LocalDate.of(1999, 7, 1)));
+        members().save(new Member("Ada", "ada@example.com", MembershipType.PREMIUM));
+        members().save(new Member("Bob", "bob@example.com", MembershipType.STUDENT));
+    }
+
+    @Test
+    @DisplayName("Should find books by ISBN, author and title fragment")
+    void shouldFindBooks() {
+        assertThat(books().findByIsbn("978-3")).map(Book::getTitle).contains("Refactoring");
+        assertThat(books().findByIsbn("978-404")).isEmpty();
+        assertThat(books().findByNormalizedIsbn("9783")).map(Book::getTitle).contains("Refactoring");
+        assertThat(books().findByAuthor("Robert Martin")).extracting(Book::getIsbn)
+                .containsExactlyInAnyOrder("978-1", "978-2");
+        assertThat(books().findByAuthorIn(List.of("Martin Fowler", "Nobody"))).extracting(Book::getIsbn)
+                .containsExactly("978-3");
+        assertThat(books().findByTitleContainingIgnoreCase("CLEAN")).hasSize(2);
+        assertThat(books().findIdsByTitleContainingIgnoreCase("factor")).containsExactly(refactoring.getId());
+        assertThat(books().findIdsByAuthor("Robert Martin")).hasSize(2);
+        assertThat(books().findAllIsbns()).containsExactlyInAnyOrder("978-1", "978-2", "978-3");
+        assertThat(books().countBooksByAuthor())
+                .extracting(row -> row[0] + "=" + row[1])
+                .containsExactlyInAnyOrder("Robert Martin=2", "Martin Fowler=1");
+    }
+
+    @Test
+    @DisplayName("Should keep status, borrower and due date queries in step with saved changes")
+    void shouldFollowStatusChanges() {
+        checkOut(cleanCode, "ada@example.com", TODAY.minusDays(3));
+        checkOut(refactoring, "ada@example.com", TODAY.plusDays(10));
+
+        assertThat(books().countByStatus(BookStatus.CHECKED_OUT)).isEqualTo(2);
+        assertThat(books().countByStatus(BookStatus.AVAILABLE)).isEqualTo(1);
+        assertThat(books().findByStatus(BookStatus.CHECKED_OUT)).extracting(Book::getIsbn)
+                .containsExactlyInAnyOrder("978-1", "978-3");
+        assertThat(books().findByCheckedOutBy("ada@example.com")).hasSize(2);
+        assertThat(books().findByDueDateBefore(TODAY)).extracting(Book::getIsbn).containsExactly("978-1");
+        assertThat(books().findIdsAndStatuses())
+                .extracting(row -> row[1])
+                .containsExactlyInAnyOrder(BookStatus.CHECKED_OUT, BookStatus.AVAILABLE, BookStatus.CHECKED_OUT);
+
+        Book returned = books().findByIsbn("978-1").orElseThrow();
+        returned.setStatus(BookStatus.AVAILABLE);
+        returned.setCheckedOutBy(null);
+        returned.setDueDate(null);
+        books().save(returned);
+
+        assertThat(books().countByStatus(BookStatus.CHECKED_OUT)).isEqualTo(1);
+        assertThat(books().findByDueDateBefore(TODAY)).isEmpty();
+        assertThat(books().findByCheckedOutBy("ada@example.com")).extracting(Book::getIsbn).containsExactly("978-3");
+    }
+
+    @Test
+    @DisplayName("Should combine search criteria and sort the results")
+    void shouldSearchByCriteria() {
+        checkOut(refactoring, "bob@example.com", TODAY);
+
+        assertThat(books().search(new BookSearchCriteria(null, "Robert Martin", BookStatus.AVAILABLE,
+                null, null, BookSearchCriteria.SortOrder.PUBLICATION_DATE_DESC)))
+                .extracting(Book::getIsbn).containsExactly("978-2", "978-1");
+        assertThat(books().search(new BookSearchCriteria("clean", null, null,
+                LocalDate.of(2010, 1, 1), null, BookSearchCriteria.SortOrder.TITLE)))
+                .extracting(Book::getIsbn).containsExactly("978-2");
+        assertThat(books().search(new BookSearchCriteria(null, null, BookStatus.CHECKED_OUT,
+                null, null, null)))
+                .extracting(Book::getIsbn).containsExactly("978-3");
+        assertThat(books().search(new BookSearchCriteria(null, null, null, null, null,
+                BookSearchCriteria.SortOrder.AUTHOR)))
+                .extracting(Book::getIsbn).containsExactly("978-3", "978-2", "978-1");
+    }
+
+    @Test
+    @DisplayName("Should reject a second book with the same ISBN")
+    void shouldEnforceUniqueIsbn() {
+        assertThatThrownBy(() -> books().save(new Book("978-1", "Copy", "Someone", LocalDate.of(2020, 1, 1))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a second book whose ISBN differs only in hyphens and spaces")
+    void shouldEnforceUniqueNormalizedIsbn() {
+        assertThatThrownBy(() -> books().saveAndFlush(new Book("978 1", "Copy", "Someone", LocalDate.of(2020, 1, 1))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Should follow an edited ISBN in normalized lookups")
+    void shouldRenormalizeEditedIsbn() {
+        Book book = books().findByIsbn("978-3").orElseThrow();
+        book.setIsbn("978-0-201-48567-7");
+        books().saveAndFlush(book);
+
+        assertThat(books().findByNormalizedIsbn("9780201485677")).map(Book::getTitle).contains("Refactoring");
+        assertThat(books().findByNormalizedIsbn("9783")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop deleted books from every query")
+    void shouldDeleteFromQueries() {
+        books().delete(books().findByIsbn("978-3").orElseThrow());
+
+        assertThat(books().findByIsbn("978-3")).isEmpty();
+        assertThat(books().findByAuthor("Martin Fowler")).isEmpty();
+        assertThat(books().countByStatus(BookStatus.AVAILABLE)).isEqualTo(2);
+        assertThat(books().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should find members by email, membership type and books checked out")
+    void shouldFindMembers() {
+        Member ada = members().findByEmail("ada@example.com").orElseThrow();
+        ada.setBooksCheckedOut(4);
+        members().save(ada);
+
+        assertThat(members().findByEmail("nobody@example.com")).isEmpty();
+        assertThat(members().findAllEmails()).containsExactlyInAnyOrder("ada@example.com", "bob@example.com");
+        assertThat(members().findByMembershipType(MembershipType.STUDENT)).extracting(Member::getName)
+                .containsExactly("Bob");
+        assertThat(members().findByBooksCheckedOutGreaterThan(3)).extracting(Member::getName).containsExactly("Ada");
+        assertThat(members().findByBooksCheckedOutGreaterThan(4)).isEmpty();
+        assertThatThrownBy(() -> members().save(new Member("Eve", "bob@example.com")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Should claim an available copy once and count copies by status")
+    void shouldClaimCopies() {
+        BookCopy first = copies().save(new BookCopy(cleanCode, "C-1"));
+        copies().save(new BookCopy(cleanCode, "C-2"));
+
+        assertThat(copies().findByBarcode("C-1")).map(copy -> copy.getBook().getIsbn()).contains("978-1");
+        assertThat(copies().countByBookId(cleanCode.getId())).isEqualTo(2);
+        assertThat(copies().findIdsByBookIdAndStatus(cleanCode.getId(), BookStatus.AVAILABLE, PageRequest.of(0, 1)))
+                .hasSize(1);
+
+        assertThat(copies().claim(first.getId(), "ada@example.com", TODAY)).isEqualTo(1);
+        assertThat(copies().claim(first.getId(), "bob@example.com", TODAY)).isZero();
+        assertThat(copies().countByBookIdAndStatus(cleanCode.getId(), BookStatus.CHECKED_OUT)).isEqualTo(1);
+        assertThat(copies().release(first.getId())).isEqualTo(1);
+        assertThat(copies().release(first.getId())).isZero();
+        assertThat(copies().countByBookIdAndStatus(cleanCode.getId(), BookStatus.AVAILABLE)).isEqualTo(2);
+    }
+
+    private void checkOut(Book book, String memberEmail, LocalDate dueDate) {
+        Book stored = books().findByIsbn(book.getIsbn()).orElseThrow();
+        stored.setStatus(BookStatus.CHECKED_OUT);
+        stored.setCheckedOutBy(memberEmail);
+        stored.setDueDate(dueDate);
+        books().save(stored);
+    }
+}
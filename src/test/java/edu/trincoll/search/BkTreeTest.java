@@ -0,0 +1,89 @@
+package edu.trincoll.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BK-Tree Tests")
+class BkTreeTest {
+
+    @Test
+    @DisplayName("Levenshtein distance should count insertions, deletions and substitutions")
+    void levenshteinShouldCountEdits() {
+        assertThat(Levenshtein.distance("tolkien", "tolkein")).isEqualTo(2);
+        assertThat(Levenshtein.distance("kitten", "sitting")).isEqualTo(3);
+        assertThat(Levenshtein.distance("", "abc")).isEqualTo(3);
+        assertThat(Levenshtein.distance("martin", "martin")).isZero();
+    }
+
+    @Test
+    @DisplayName("Bounded Levenshtein distance should stop past the bound")
+    void boundedLevenshteinShouldStopPastBound() {
+        assertThat(Levenshtein.distance("kitten", "sitting", 1)).isEqualTo(2);
+        assertThat(Levenshtein.distance("a", "abcdef", 2)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should find the misspelled author")
+    void shouldFindMisspelledAuthor() {
+        BkTree tree = new BkTree();
+        List.of("j.r.r. tolkien", "robert martin", "martin fowler", "kent beck").forEach(tree::add);
+
+        assertThat(tree.search("j.r.r. tolkein", 2))
+                .containsExactly(new BkTree.Match("j.r.r. tolkien", 2));
+        assertThat(tree.search("kent beck", 0))
+                .containsExactly(new BkTree.Match("kent beck", 0));
+    }
+
+    @Test
+    @DisplayName("Should ignore duplicate terms")
+    void shouldIgnoreDuplicates() {
+        BkTree tree = new BkTree();
+
+        assertThat(tree.add("kent beck")).isTrue();
+        assertThat(tree.add("kent beck")).isFalse();
+        assertThat(tree.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return exactly the terms a brute-force scan finds")
+    void shouldMatchBruteForce() {
+        Random random = new Random(42);
+        List<String> terms = new ArrayList<>();
+        BkTree tree = new BkTree();
+        for (int i = 0; i < 2_000; i++) {
+            String term = randomWord(random);
+            terms.add(term);
+            tree.add(term);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            String query = randomWord(random);
+            for (int k = 0; k <= 2; k++) {
+                int maxDistance = k;
+                List<String> expected = terms.stream()
+                        .distinct()
+                        .filter(term -> Levenshtein.distance(query, term) <= maxDistance)
+                        .toList();
+
+                assertThat(tree.search(query, maxDistance))
+                        .extracting(BkTree.Match::term)
+                        .containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    private static String randomWord(Random random) {
+        int length = 3 + random.nextInt(5);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(6)));
+        }
+        return word.toString();
+    }
+}
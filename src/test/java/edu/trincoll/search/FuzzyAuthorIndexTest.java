@@ -0,0 +1,109 @@
+package edu.trincoll.search;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Fuzzy Author Index Tests")
+class FuzzyAuthorIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private FuzzyAuthorIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(bookRepository.countBooksByAuthor()).thenReturn(List.of(
+                new Object[]{"J.R.R. Tolkien", 12L},
+                new Object[]{"Tolkien", 1L},
+                new Object[]{"Robert Martin", 4L},
+                new Object[]{"Robert Marin", 1L}));
+        index = new FuzzyAuthorIndex(bookRepository);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should match regardless of case and typos")
+    void shouldMatchRegardlessOfCaseAndTypos() {
+        List<FuzzyAuthorIndex.AuthorMatch> matches = index.search("tolkein", 2, 10);
+
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).names()).containsExactly("Tolkien");
+        assertThat(matches.get(0).distance()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should rank closer authors first, then more popular ones")
+    void shouldRankByDistanceThenPopularity() {
+        List<FuzzyAuthorIndex.AuthorMatch> matches = index.search("robert martn", 2, 10);
+
+        assertThat(matches).extracting(match -> match.names().get(0))
+                .containsExactly("Robert Martin", "Robert Marin");
+    }
+
+    @Test
+    @DisplayName("Should count checkouts towards popularity and learn new authors")
+    void shouldCountCheckoutsTowardsPopularity() {
+        Book book = new Book("978-1", "Test-Driven Development", "Kent Beck", LocalDate.of(2002, 11, 1));
+        Member member = new Member("John Doe", "john@example.com");
+
+        index.onCheckout(member, book, LocalDate.now().plusDays(14));
+        index.onCheckout(member, book, LocalDate.now().plusDays(14));
+
+        List<FuzzyAuthorIndex.AuthorMatch> matches = index.search("kent bek", 1, 10);
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).popularity()).isEqualTo(2);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should find the author of a book added after the index was built")
+    void shouldLearnAuthorsOfInsertedBooks() {
+        index.onInsert(new Book("978-9", "Dune", "Frank Herbert", LocalDate.of(1965, 8, 1)));
+        index.onInsert(new Member("Ada", "ada@example.com"));
+
+        List<FuzzyAuthorIndex.AuthorMatch> matches = index.search("frank hebert", 1, 10);
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).names()).containsExactly("Frank Herbert");
+        assertThat(matches.get(0).popularity()).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should keep authors of books inserted while the index is rebuilt")
+    void shouldKeepAuthorsInsertedDuringRebuild() {
+        when(bookRepository.countBooksByAuthor()).thenAnswer(invocation -> {
+            // Not yet committed when the authors are loaded
+            index.onInsert(new Book("978-9", "Dune", "Frank Herbert", LocalDate.of(1965, 8, 1)));
+            return List.<Object[]>of(new Object[]{"Robert Martin", 4L});
+        });
+
+        index.rebuild();
+
+        assertThat(index.search("frank herbert", 0, 10)).extracting(match -> match.names().get(0))
+                .containsExactly("Frank Herbert");
+        assertThat(index.size()).isEqualTo(2);
+
+        when(bookRepository.countBooksByAuthor()).thenReturn(List.<Object[]>of(new Object[]{"Robert Martin", 4L}));
+        index.rebuild();
+
+        // Replayed once more in case the insert was still uncommitted, then dropped
+        assertThat(index.size()).isEqualTo(2);
+        index.rebuild();
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,170 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookCopy;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookCopyRepository;
+import edu.trincoll.repository.CatalogChangeListener;
+import edu.trincoll.repository.memory.InMemoryBookCopyRepository;
+import edu.trincoll.repository.memory.InMemoryBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Copy Service Tests")
+class CopyServiceTest {
+
+    @Mock
+    private BookCopyRepository bookCopyRepository;
+
+    private CopyService copyService;
+    private Book book;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        copyService = new CopyService(bookCopyRepository);
+
+        book = new Book("978-0-123456-78-9", "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1));
+        book.setId(1L);
+
+        member = new Member("John Doe", "john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should claim an available copy and decrement the available count")
+    void shouldClaimAvailableCopy() {
+        BookCopy copy = new BookCopy(book, "C-2");
+        copy.setId(2L);
+        when(bookCopyRepository.countByBookIdAndStatus(1L, BookStatus.AVAILABLE)).thenReturn(2L);
+        when(bookCopyRepository.findIdsByBookIdAndStatus(eq(1L), eq(BookStatus.AVAILABLE), any()))
+                .thenReturn(List.of(2L));
+        when(bookCopyRepository.claim(2L, member.getEmail(), LocalDate.now().plusDays(14))).thenReturn(1);
+        when(bookCopyRepository.findById(2L)).thenReturn(Optional.of(copy));
+
+        Optional<BookCopy> claimed = copyService.claimCopy(book, member, 14);
+
+        assertThat(claimed).contains(copy);
+        assertThat(copyService.availableCopies(book)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject checkout without touching copies when none are available")
+    void shouldRejectWhenNoCopiesAvailable() {
+        when(bookCopyRepository.countByBookIdAndStatus(1L, BookStatus.AVAILABLE)).thenReturn(0L);
+
+        Optional<BookCopy> claimed = copyService.claimCopy(book, member, 14);
+
+        assertThat(claimed).isEmpty();
+        verify(bookCopyRepository, never()).findIdsByBookIdAndStatus(anyLong(), any(), any());
+        verify(bookCopyRepository, never()).claim(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should try another candidate when a copy is claimed concurrently")
+    void shouldRetryWhenCopyClaimedConcurrently() {
+        when(bookCopyRepository.countByBookIdAndStatus(1L, BookStatus.AVAILABLE)).thenReturn(1L);
+        when(bookCopyRepository.findIdsByBookIdAndStatus(eq(1L), eq(BookStatus.AVAILABLE), any()))
+                .thenReturn(List.of(2L, 3L));
+        when(bookCopyRepository.claim(anyLong(), eq(member.getEmail()), any())).thenReturn(0, 1);
+        when(bookCopyRepository.findById(anyLong())).thenReturn(Optional.of(new BookCopy(book, "C-3")));
+
+        Optional<BookCopy> claimed = copyService.claimCopy(book, member, 14);
+
+        assertThat(claimed).isPresent();
+        verify(bookCopyRepository, times(2)).claim(anyLong(), eq(member.getEmail()), any());
+    }
+
+    @Test
+    @DisplayName("Should restore the available count when every claim loses the race")
+    void shouldRestoreCountWhenAllClaimsFail() {
+        when(bookCopyRepository.countByBookIdAndStatus(1L, BookStatus.AVAILABLE)).thenReturn(1L);
+        when(bookCopyRepository.findIdsByBookIdAndStatus(eq(1L), eq(BookStatus.AVAILABLE), any()))
+                .thenReturn(List.of());
+
+        Optional<BookCopy> claimed = copyService.claimCopy(book, member, 14);
+
+        assertThat(claimed).isEmpty();
+        assertThat(copyService.availableCopies(book)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should increment the available count when a copy is released")
+    void shouldIncrementCountOnRelease() {
+        BookCopy copy = new BookCopy(book, "C-2");
+        copy.setId(2L);
+        when(bookCopyRepository.countByBookIdAndStatus(1L, BookStatus.AVAILABLE)).thenReturn(0L);
+        when(bookCopyRepository.release(2L)).thenReturn(1);
+
+        assertThat(copyService.releaseCopy(copy)).isTrue();
+        assertThat(copyService.availableCopies(book)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count a copy added before the available count was loaded once")
+    void shouldCountCopyAddedToColdCount() {
+        CopyService inMemory = inMemoryCopyService();
+
+        inMemory.addCopy(book, "C-1");
+
+        assertThat(inMemory.availableCopies(book)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give every concurrent checkout a copy while copies remain")
+    void shouldClaimEveryCopyConcurrently() throws Exception {
+        CopyService inMemory = inMemoryCopyService();
+        int copies = 32;
+        for (int i = 0; i < copies; i++) {
+            inMemory.addCopy(book, "C-" + i);
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<BookCopy>>> claims = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(copies);
+        try {
+            for (int i = 0; i < copies; i++) {
+                claims.add(executor.submit(() -> {
+                    start.await();
+                    return inMemory.claimCopy(book, member, 14);
+                }));
+            }
+            start.countDown();
+            List<String> barcodes = new ArrayList<>();
+            for (Future<Optional<BookCopy>> claim : claims) {
+                barcodes.add(claim.get().orElseThrow().getBarcode());
+            }
+
+            assertThat(barcodes).doesNotHaveDuplicates().hasSize(copies);
+            assertThat(inMemory.availableCopies(book)).isZero();
+            assertThat(inMemory.claimCopy(book, member, 14)).isEmpty();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CopyService inMemoryCopyService() {
+        InMemoryBookRepository books = new InMemoryBookRepository(new CatalogChangeListener() { });
+        books.save(book);
+        return new CopyService(new InMemoryBookCopyRepository(books));
+    }
+}
@@ -0,0 +1,132 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Digest Notification Service Tests")
+class DigestNotificationServiceTest {
+
+    @Mock
+    private NotificationService emailNotificationService;
+
+    private Member john;
+    private Member jane;
+
+    @BeforeEach
+    void setUp() {
+        john = new Member("John Doe", "john@example.com");
+        jane = new Member("Jane Smith", "jane@example.com");
+    }
+
+    @Test
+    @DisplayName("Should combine a member's notifications into one digest")
+    void shouldCombineNotificationsPerMember() {
+        DigestNotificationService digests = new DigestNotificationService(
+                emailNotificationService, Duration.ofMinutes(5), 100, 50);
+
+        for (int i = 1; i <= 15; i++) {
+            digests.sendCheckoutNotification(john, book("Book " + i), LocalDate.now().plusDays(14));
+        }
+        digests.sendReturnNotification(jane, book("Clean Code"), 2.5);
+        digests.flushAll();
+
+        verify(emailNotificationService).sendDigestNotification(eq(john), argThat(messages -> messages.size() == 15));
+        verify(emailNotificationService).sendDigestNotification(jane,
+                List.of("You have returned Clean Code (late fee: $2.50)"));
+        verify(emailNotificationService, never()).sendCheckoutNotification(any(), any(), any());
+        assertThat(digests.pendingDigests()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should send the digest when the window closes")
+    void shouldSendDigestWhenWindowCloses() {
+        DigestNotificationService digests = new DigestNotificationService(
+                emailNotificationService, Duration.ofMillis(50), 100, 50);
+
+        digests.sendCheckoutNotification(john, book("Clean Code"), LocalDate.now().plusDays(14));
+        digests.sendCheckoutNotification(john, book("Refactoring"), LocalDate.now().plusDays(14));
+
+        verify(emailNotificationService, timeout(2_000))
+                .sendDigestNotification(eq(john), argThat(messages -> messages.size() == 2));
+        assertThat(digests.pendingDigests()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should send immediately instead of buffering when too many digests are open")
+    void shouldBypassDigestWhenPendingLimitReached() {
+        DigestNotificationService digests = new DigestNotificationService(
+                emailNotificationService, Duration.ofMinutes(5), 1, 50);
+        Book book = book("Clean Code");
+        LocalDate dueDate = LocalDate.now().plusDays(14);
+
+        digests.sendCheckoutNotification(john, book, dueDate);
+        digests.sendCheckoutNotification(jane, book, dueDate);
+
+        verify(emailNotificationService).sendCheckoutNotification(jane, book, dueDate);
+        assertThat(digests.pendingDigests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should send a digest early once it reaches the item limit")
+    void shouldFlushDigestAtItemLimit() {
+        DigestNotificationService digests = new DigestNotificationService(
+                emailNotificationService, Duration.ofMinutes(5), 100, 3);
+
+        for (int i = 1; i <= 3; i++) {
+            digests.sendCheckoutNotification(john, book("Book " + i), LocalDate.now().plusDays(14));
+        }
+
+        verify(emailNotificationService).sendDigestNotification(eq(john), anyList());
+        assertThat(digests.pendingDigests()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should flush open digests on shutdown")
+    void shouldFlushOnShutdown() {
+        DigestNotificationService digests = new DigestNotificationService(
+                emailNotificationService, Duration.ofMinutes(5), 100, 50);
+
+        digests.sendCheckoutNotification(john, book("Clean Code"), LocalDate.now().plusDays(14));
+        digests.shutdown();
+
+        verify(emailNotificationService).sendDigestNotification(eq(john), anyList());
+    }
+
+    @Test
+    @DisplayName("Should send immediately after shutdown instead of opening a digest")
+    void shouldSendImmediatelyAfterShutdown() {
+        DigestNotificationService digests = new DigestNotificationService(
+                emailNotificationService, Duration.ofMinutes(5), 100, 50);
+        Book book = book("Clean Code");
+        LocalDate dueDate = LocalDate.now().plusDays(14);
+
+        digests.shutdown();
+        digests.sendCheckoutNotification(john, book, dueDate);
+        digests.sendReturnNotification(john, book, 0.0);
+
+        verify(emailNotificationService).sendCheckoutNotification(john, book, dueDate);
+        verify(emailNotificationService).sendReturnNotification(john, book, 0.0);
+        assertThat(digests.pendingDigests()).isZero();
+    }
+
+    private static Book book(String title) {
+        return new Book("978-0-" + title.hashCode(), title, "Some Author", LocalDate.of(2008, 8, 1));
+    }
+}
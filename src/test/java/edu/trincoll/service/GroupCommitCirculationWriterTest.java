@@ -0,0 +1,227 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Group Commit Circulation Writer Tests")
+class GroupCommitCirculationWriterTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    private final AtomicInteger transactions = new AtomicInteger();
+    private final TransactionOperations countingTransactions = new TransactionOperations() {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            transactions.incrementAndGet();
+            return action.doInTransaction(null);
+        }
+    };
+
+    private GroupCommitCirculationWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should commit concurrent writes in shared transactions")
+    void shouldGroupConcurrentWrites() throws Exception {
+        writer = new GroupCommitCirculationWriter(bookRepository, memberRepository,
+                countingTransactions, Duration.ofMillis(50), 64);
+        int writers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                long id = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    writer.write(book(id), member(id));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(transactions.get()).isLessThan(writers);
+        verify(bookRepository, atLeastOnce()).saveAll(anyIterable());
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    @DisplayName("Should save an entity written twice in one batch only once")
+    void shouldCoalesceRepeatedEntities() throws Exception {
+        writer = new GroupCommitCirculationWriter(bookRepository, memberRepository,
+                countingTransactions, Duration.ofMinutes(1), 2);
+        Book newerBook = book(1);
+        newerBook.setVersion(1);
+        Member newerMember = member(1);
+        newerMember.setVersion(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> checkout = executor.submit(() -> writer.write(book(1), member(1)));
+            Future<?> later = executor.submit(() -> writer.write(newerBook, newerMember));
+            checkout.get(5, TimeUnit.SECONDS);
+            later.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(transactions).hasValue(1);
+        verify(bookRepository).saveAll(argThat(books -> sizeOf(books) == 1));
+        verify(memberRepository).saveAll(argThat(members -> sizeOf(members) == 1));
+    }
+
+    @Test
+    @DisplayName("Should not coalesce two copies read at the same version")
+    void shouldSaveConflictingCopiesSeparately() throws Exception {
+        writer = new GroupCommitCirculationWriter(bookRepository, memberRepository,
+                countingTransactions, Duration.ofMinutes(1), 2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> writer.write(book(1), member(1)));
+            Future<?> second = executor.submit(() -> writer.write(book(1), member(2)));
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // One failed batch, then one transaction per write, so the repository can reject the stale copy
+        assertThat(transactions).hasValue(3);
+        verify(bookRepository, never()).saveAll(anyIterable());
+        verify(bookRepository, times(2)).save(any(Book.class));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch one write at a time")
+    void shouldIsolateFailedWrites() {
+        writer = new GroupCommitCirculationWriter(bookRepository, memberRepository,
+                countingTransactions, Duration.ZERO, 64);
+        Member bad = member(2);
+        when(bookRepository.saveAll(anyIterable())).thenThrow(new IllegalStateException("batch failed"));
+        when(memberRepository.save(any(Member.class))).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == bad) {
+                throw new IllegalArgumentException("constraint violated");
+            }
+            return invocation.getArgument(0);
+        });
+
+        writer.write(book(1), member(1));
+        assertThatThrownBy(() -> writer.write(book(2), bad))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("constraint violated");
+    }
+
+    @Test
+    @DisplayName("Should refuse writes after shutdown")
+    void shouldRefuseWritesAfterShutdown() throws InterruptedException {
+        writer = new GroupCommitCirculationWriter(bookRepository, memberRepository,
+                countingTransactions, Duration.ZERO, 64);
+        writer.shutdown();
+
+        assertThatThrownBy(() -> writer.write(book(1), member(1)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail queued writes instead of waiting forever for a stuck flusher")
+    void shouldFailQueuedWritesWhenShutdownTimesOut() throws Exception {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionOperations stuckTransactions = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                flushing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return action.doInTransaction(null);
+            }
+        };
+        writer = new GroupCommitCirculationWriter(bookRepository, memberRepository,
+                stuckTransactions, Duration.ZERO, 1, Duration.ofMillis(100));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> stuck = executor.submit(() -> writer.write(book(1), member(1)));
+            flushing.await();
+            Future<?> queued = executor.submit(() -> writer.write(book(2), member(2)));
+
+            writer.shutdown();
+
+            assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            release.countDown();
+            stuck.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static int sizeOf(Iterable<?> entities) {
+        int size = 0;
+        for (Object ignored : entities) {
+            size++;
+        }
+        return size;
+    }
+
+    private static Book book(long id) {
+        Book book = new Book("978-0-" + id, "Title " + id, "Author", LocalDate.of(2020, 1, 1));
+        book.setId(id);
+        return book;
+    }
+
+    private static Member member(long id) {
+        Member member = new Member("Member " + id, "member" + id + "@example.com");
+        member.setId(id);
+        return member;
+    }
+}
@@ -0,0 +1,100 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.MembershipType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Hold Queue Service Tests")
+class HoldQueueServiceTest {
+
+    private static final String ISBN = "978-0-123456-78-9";
+
+    private HoldQueueService holdQueueService;
+
+    @BeforeEach
+    void setUp() {
+        holdQueueService = new HoldQueueService();
+    }
+
+    @Test
+    @DisplayName("Should serve holds in FIFO order within a membership type")
+    void shouldServeHoldsInFifoOrder() {
+        holdQueueService.placeHold(ISBN, "a@example.com", MembershipType.REGULAR);
+        holdQueueService.placeHold(ISBN, "b@example.com", MembershipType.REGULAR);
+        holdQueueService.placeHold(ISBN, "c@example.com", MembershipType.REGULAR);
+
+        assertThat(holdQueueService.nextHold(ISBN)).contains("a@example.com");
+        assertThat(holdQueueService.nextHold(ISBN)).contains("b@example.com");
+        assertThat(holdQueueService.nextHold(ISBN)).contains("c@example.com");
+        assertThat(holdQueueService.nextHold(ISBN)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve premium, then student, then regular holds")
+    void shouldServeHoldsByMembershipPriority() {
+        holdQueueService.placeHold(ISBN, "regular@example.com", MembershipType.REGULAR);
+        holdQueueService.placeHold(ISBN, "student@example.com", MembershipType.STUDENT);
+        holdQueueService.placeHold(ISBN, "premium@example.com", MembershipType.PREMIUM);
+
+        assertThat(holdQueueService.nextHold(ISBN)).contains("premium@example.com");
+        assertThat(holdQueueService.nextHold(ISBN)).contains("student@example.com");
+        assertThat(holdQueueService.nextHold(ISBN)).contains("regular@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate hold from the same member")
+    void shouldRejectDuplicateHold() {
+        assertThat(holdQueueService.placeHold(ISBN, "a@example.com", MembershipType.REGULAR)).isTrue();
+        assertThat(holdQueueService.placeHold(ISBN, "a@example.com", MembershipType.REGULAR)).isFalse();
+        assertThat(holdQueueService.holdCount(ISBN)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip cancelled holds and honour a hold placed again")
+    void shouldSkipCancelledHolds() {
+        holdQueueService.placeHold(ISBN, "a@example.com", MembershipType.REGULAR);
+        holdQueueService.placeHold(ISBN, "b@example.com", MembershipType.REGULAR);
+
+        assertThat(holdQueueService.cancelHold(ISBN, "a@example.com")).isTrue();
+        holdQueueService.placeHold(ISBN, "a@example.com", MembershipType.REGULAR);
+
+        assertThat(holdQueueService.holdCount(ISBN)).isEqualTo(2);
+        assertThat(holdQueueService.nextHold(ISBN)).contains("b@example.com");
+        assertThat(holdQueueService.nextHold(ISBN)).contains("a@example.com");
+        assertThat(holdQueueService.holdCount(ISBN)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand out every hold exactly once under concurrent access")
+    void shouldHandOutEveryHoldOnceUnderConcurrency() throws InterruptedException {
+        int holds = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < holds; i++) {
+            String email = "member" + i + "@example.com";
+            MembershipType type = MembershipType.values()[i % MembershipType.values().length];
+            executor.execute(() -> holdQueueService.placeHold(ISBN, email, type));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        Set<String> served = ConcurrentHashMap.newKeySet();
+        ExecutorService pollExecutor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < holds; i++) {
+            pollExecutor.execute(() -> holdQueueService.nextHold(ISBN).ifPresent(served::add));
+        }
+        pollExecutor.shutdown();
+        assertThat(pollExecutor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(served).hasSize(holds);
+        assertThat(holdQueueService.holdCount(ISBN)).isZero();
+    }
+}
@@ -0,0 +1,105 @@
+package edu.trincoll.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Idempotency Store Tests")
+class IdempotencyStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(Duration.ofMinutes(1), 3, now::get);
+    }
+
+    @Test
+    @DisplayName("Should run the operation once and replay its result")
+    void shouldReplayResult() {
+        String first = store.execute("checkout:a", () -> "result " + runs.incrementAndGet());
+        String second = store.execute("checkout:a", () -> "result " + runs.incrementAndGet());
+
+        assertThat(first).isEqualTo("result 1");
+        assertThat(second).isEqualTo("result 1");
+        assertThat(store.replayedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run the operation again once the key has expired")
+    void shouldExpireKeys() {
+        store.execute("checkout:a", () -> "result " + runs.incrementAndGet());
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertThat(store.execute("checkout:a", () -> "result " + runs.incrementAndGet())).isEqualTo("result 2");
+    }
+
+    @Test
+    @DisplayName("Should not remember failed operations")
+    void shouldNotCacheExceptions() {
+        assertThatThrownBy(() -> store.execute("checkout:a", () -> {
+            throw new IllegalArgumentException("Book not found");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(store.execute("checkout:a", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest keys when full")
+    void shouldEvictOldestKeys() {
+        for (String key : new String[]{"a", "b", "c", "d"}) {
+            store.execute(key, () -> key + runs.incrementAndGet());
+        }
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.execute("a", () -> "a" + runs.incrementAndGet())).isEqualTo("a5");
+        assertThat(store.execute("d", () -> "d" + runs.incrementAndGet())).isEqualTo("d4");
+    }
+
+    @Test
+    @DisplayName("Should make concurrent retries wait for the first call")
+    void shouldDeduplicateInFlightCalls() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> store.execute("return:a", () -> {
+                started.countDown();
+                await(release);
+                return "returned " + runs.incrementAndGet();
+            }));
+            started.await();
+            Future<String> retry = executor.submit(() -> store.execute("return:a", () -> "returned " + runs.incrementAndGet()));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("returned 1");
+            assertThat(retry.get(5, TimeUnit.SECONDS)).isEqualTo("returned 1");
+            assertThat(runs).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import edu.trincoll.model.Book;
 import edu.trincoll.model.BookStatus;
 import edu.trincoll.model.Member;
 import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.BookCopyRepository;
 import edu.trincoll.repository.BookRepository;
 import edu.trincoll.repository.MemberRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,8 +14,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +35,9 @@ class LibraryServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private BookCopyRepository bookCopyRepository;
+
     @InjectMocks
     private LibraryService libraryService;
 
@@ -90,6 +96,47 @@ class LibraryServiceTest {
         ));
     }
 
+    @Test
+    @DisplayName("Should decide again when another request checked the book out first")
+    void shouldRetryCheckoutAfterConflict() {
+        Book takenMeanwhile = new Book(availableBook.getIsbn(), "Clean Code", "Robert Martin",
+                LocalDate.of(2008, 8, 1));
+        takenMeanwhile.setId(1L);
+        takenMeanwhile.setStatus(BookStatus.CHECKED_OUT);
+        takenMeanwhile.setCheckedOutBy(premiumMember.getEmail());
+        when(bookRepository.findByIsbn(availableBook.getIsbn()))
+                .thenReturn(Optional.of(availableBook), Optional.of(takenMeanwhile));
+        when(memberRepository.findByEmail(regularMember.getEmail()))
+                .thenReturn(Optional.of(regularMember));
+        when(bookRepository.save(any(Book.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Book.class, 1L));
+
+        String result = libraryService.checkoutBook(availableBook.getIsbn(), regularMember.getEmail());
+
+        assertThat(result).isEqualTo("Book is not available");
+        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(memberRepository, never()).save(any(Member.class));
+    }
+
+    @Test
+    @DisplayName("Should replay the original checkout result for a retried request")
+    void shouldReplayRetriedCheckout() {
+        when(bookRepository.findByIsbn(availableBook.getIsbn()))
+                .thenReturn(Optional.of(availableBook));
+        when(memberRepository.findByEmail(regularMember.getEmail()))
+                .thenReturn(Optional.of(regularMember));
+        when(bookRepository.save(any(Book.class))).thenReturn(availableBook);
+        when(memberRepository.save(any(Member.class))).thenReturn(regularMember);
+
+        String first = libraryService.checkoutBook(availableBook.getIsbn(), regularMember.getEmail(), "kiosk-7-42");
+        String retry = libraryService.checkoutBook(availableBook.getIsbn(), regularMember.getEmail(), "kiosk-7-42");
+
+        assertThat(first).contains("Book checked out successfully");
+        assertThat(retry).isEqualTo(first);
+        verify(bookRepository, times(1)).findByIsbn(availableBook.getIsbn());
+        verify(bookRepository, times(1)).save(any(Book.class));
+    }
+
     @Test
     @DisplayName("Should apply correct loan period for premium member")
     void shouldApplyPremiumLoanPeriod() {
@@ -255,6 +302,66 @@ class LibraryServiceTest {
         assertThat(results.get(0).getTitle()).isEqualTo("Clean Code");
     }
 
+    @Test
+    @DisplayName("Should return only available books for an available search")
+    void shouldSearchAvailableBooks() {
+        Book checkedOutBook = new Book("978-0-132350-88-4", "Clean Architecture", "Robert Martin",
+                LocalDate.of(2017, 9, 1));
+        checkedOutBook.setId(2L);
+        checkedOutBook.setStatus(BookStatus.CHECKED_OUT);
+        when(bookRepository.findIdsByTitleContainingIgnoreCase("Clean")).thenReturn(List.of(1L, 2L));
+        when(bookRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(checkedOutBook, availableBook));
+
+        List<Book> results = libraryService.searchBooks("Clean", "available");
+
+        assertThat(results).containsExactly(availableBook);
+    }
+
+    @Test
+    @DisplayName("Should look up ISBN-shaped input in an any-field search")
+    void shouldSearchAnyFieldByIsbn() {
+        when(bookRepository.findByIsbn("978-0-123456-78-9")).thenReturn(Optional.of(availableBook));
+
+        List<Book> results = libraryService.searchBooks(" 978-0-123456-78-9 ", "any");
+
+        assertThat(results).containsExactly(availableBook);
+        verify(bookRepository, never()).findByTitleContainingIgnoreCase(any());
+    }
+
+    @Test
+    @DisplayName("Should find an ISBN typed without the hyphens it is stored with")
+    void shouldSearchIsbnIgnoringHyphens() {
+        Book book = new Book("978-0132350884", "Clean Code", "Robert Martin", null);
+        when(bookRepository.findByNormalizedIsbn("9780132350884")).thenReturn(Optional.of(book));
+
+        List<Book> results = libraryService.searchBooks("9780132350884", "any");
+
+        assertThat(results).containsExactly(book);
+    }
+
+    @Test
+    @DisplayName("Should reject a blank any-field search")
+    void shouldRejectBlankAnyFieldSearch() {
+        assertThatThrownBy(() -> libraryService.searchBooks("   ", "any"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Search term must not be blank");
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should merge title and author hits once each, most relevant first")
+    void shouldSearchAnyFieldByTitleAndAuthor() {
+        Book biography = new Book("978-1-111111-11-1", "Robert Martin", "A Biographer", null);
+        Book reader = new Book("978-2-222222-22-2", "The Robert Martin Reader", "Robert Martin", null);
+        when(bookRepository.findByTitleContainingIgnoreCase("Robert Martin")).thenReturn(List.of(biography, reader));
+        when(bookRepository.countBooksByAuthor()).thenReturn(List.<Object[]>of(new Object[] {"Robert Martin", 2L}));
+        when(bookRepository.findByAuthorIn(any())).thenReturn(List.of(availableBook, reader));
+
+        List<Book> results = libraryService.searchBooks("Robert Martin", "any");
+
+        assertThat(results).containsExactly(reader, biography, availableBook);
+    }
+
     @Test
     @DisplayName("Should throw exception for invalid search type")
     void shouldThrowExceptionForInvalidSearchType() {
@@ -264,4 +371,97 @@ class LibraryServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Invalid search type");
     }
+
+    @Test
+    @DisplayName("Should place hold on checked out book")
+    void shouldPlaceHoldOnCheckedOutBook() {
+        // Arrange
+        availableBook.setStatus(BookStatus.CHECKED_OUT);
+        availableBook.setCheckedOutBy(regularMember.getEmail());
+        when(bookRepository.findByIsbn(availableBook.getIsbn()))
+                .thenReturn(Optional.of(availableBook));
+        when(memberRepository.findByEmail(premiumMember.getEmail()))
+                .thenReturn(Optional.of(premiumMember));
+
+        // Act
+        String first = libraryService.placeHold(availableBook.getIsbn(), premiumMember.getEmail());
+        String second = libraryService.placeHold(availableBook.getIsbn(), premiumMember.getEmail());
+
+        // Assert
+        assertThat(first).isEqualTo("Hold placed successfully");
+        assertThat(second).isEqualTo("Member already has a hold on this book");
+    }
+
+    @Test
+    @DisplayName("Should not place hold on available book")
+    void shouldNotPlaceHoldOnAvailableBook() {
+        // Arrange
+        when(bookRepository.findByIsbn(availableBook.getIsbn()))
+                .thenReturn(Optional.of(availableBook));
+        when(memberRepository.findByEmail(regularMember.getEmail()))
+                .thenReturn(Optional.of(regularMember));
+
+        // Act
+        String result = libraryService.placeHold(availableBook.getIsbn(), regularMember.getEmail());
+
+        // Assert
+        assertThat(result).isEqualTo("Book is available for checkout");
+    }
+
+    @Test
+    @DisplayName("Should reserve returned book for next patron in hold queue")
+    void shouldReserveReturnedBookForNextHold() {
+        // Arrange
+        availableBook.setStatus(BookStatus.CHECKED_OUT);
+        availableBook.setCheckedOutBy(regularMember.getEmail());
+        availableBook.setDueDate(LocalDate.now().plusDays(7));
+        regularMember.setBooksCheckedOut(1);
+
+        when(bookRepository.findByIsbn(availableBook.getIsbn()))
+                .thenReturn(Optional.of(availableBook));
+        when(memberRepository.findByEmail(regularMember.getEmail()))
+                .thenReturn(Optional.of(regularMember));
+        when(memberRepository.findByEmail(studentMember.getEmail()))
+                .thenReturn(Optional.of(studentMember));
+        when(memberRepository.findByEmail(premiumMember.getEmail()))
+                .thenReturn(Optional.of(premiumMember));
+        libraryService.placeHold(availableBook.getIsbn(), studentMember.getEmail());
+        libraryService.placeHold(availableBook.getIsbn(), premiumMember.getEmail());
+
+        // Act
+        String result = libraryService.returnBook(availableBook.getIsbn());
+
+        // Assert
+        assertThat(result).isEqualTo("Book returned successfully");
+        verify(bookRepository).save(argThat(book ->
+                book.getStatus() == BookStatus.RESERVED &&
+                book.getReservedFor().equals(premiumMember.getEmail()) &&
+                book.getCheckedOutBy() == null
+        ));
+    }
+
+    @Test
+    @DisplayName("Should only let the reserving patron check out a reserved book")
+    void shouldOnlyCheckoutReservedBookForReservingPatron() {
+        // Arrange
+        availableBook.setStatus(BookStatus.RESERVED);
+        availableBook.setReservedFor(premiumMember.getEmail());
+        when(bookRepository.findByIsbn(availableBook.getIsbn()))
+                .thenReturn(Optional.of(availableBook));
+        when(memberRepository.findByEmail(regularMember.getEmail()))
+                .thenReturn(Optional.of(regularMember));
+        when(memberRepository.findByEmail(premiumMember.getEmail()))
+                .thenReturn(Optional.of(premiumMember));
+        when(bookRepository.save(any(Book.class))).thenReturn(availableBook);
+        when(memberRepository.save(any(Member.class))).thenReturn(premiumMember);
+
+        // Act
+        String otherResult = libraryService.checkoutBook(availableBook.getIsbn(), regularMember.getEmail());
+        String holderResult = libraryService.checkoutBook(availableBook.getIsbn(), premiumMember.getEmail());
+
+        // Assert
+        assertThat(otherResult).isEqualTo("Book is not available");
+        assertThat(holderResult).contains("Book checked out successfully");
+        assertThat(availableBook.getReservedFor()).isNull();
+    }
 }
@@ -0,0 +1,149 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Loan;
+import edu.trincoll.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Loan Archiver Tests")
+class LoanArchiverTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @TempDir
+    Path archiveDirectory;
+
+    private LoanArchiver loanArchiver;
+
+    @BeforeEach
+    void setUp() {
+        loanArchiver = new LoanArchiver(loanRepository, archiveDirectory, 6);
+    }
+
+    @Test
+    @DisplayName("Should move closed loans into month-bucketed compressed files")
+    void shouldArchiveClosedLoansByMonth() {
+        Loan january = closedLoan(1L, "john@example.com", LocalDate.of(2025, 1, 10));
+        Loan february = closedLoan(2L, "jane@example.com", LocalDate.of(2025, 2, 3));
+        when(loanRepository.findByReturnedOnBeforeOrderById(eq(CUTOFF), any()))
+                .thenReturn(List.of(january, february), List.of());
+
+        int archived = loanArchiver.archiveLoansReturnedBefore(CUTOFF);
+
+        assertThat(archived).isEqualTo(2);
+        assertThat(archiveDirectory.resolve("loans-202501-1.tsv.gz")).exists();
+        assertThat(archiveDirectory.resolve("loans-202502-2.tsv.gz")).exists();
+        verify(loanRepository).deleteAllInBatch(List.of(january, february));
+    }
+
+    @Test
+    @DisplayName("Should keep archived loans queryable across appended batches")
+    void shouldQueryArchivedLoansAcrossBatches() {
+        Loan first = closedLoan(1L, "john@example.com", LocalDate.of(2025, 1, 10));
+        Loan second = closedLoan(2L, "jane@example.com", LocalDate.of(2025, 1, 12));
+        Loan third = closedLoan(3L, "john@example.com", LocalDate.of(2025, 1, 20));
+        when(loanRepository.findByReturnedOnBeforeOrderById(eq(CUTOFF), any()))
+                .thenReturn(List.of(first), List.of(), List.of(second, third), List.of());
+
+        loanArchiver.archiveLoansReturnedBefore(CUTOFF);
+        loanArchiver.archiveLoansReturnedBefore(CUTOFF);
+
+        List<Loan> johnsLoans = loanArchiver.findArchivedLoans(
+                loan -> loan.getMemberEmail().equals("john@example.com"));
+
+        assertThat(johnsLoans).extracting(Loan::getId).containsExactly(1L, 3L);
+        assertThat(johnsLoans.get(0).getReturnedOn()).isEqualTo(LocalDate.of(2025, 1, 24));
+        assertThat(johnsLoans.get(0).getLateFee()).isEqualTo(1.5);
+    }
+
+    @Test
+    @DisplayName("Should open only the files whose index lists the member")
+    void shouldSkipFilesForOtherMembers() throws Exception {
+        Loan johns = closedLoan(1L, "john@example.com", LocalDate.of(2025, 1, 10));
+        Loan janes = closedLoan(2L, "jane@example.com", LocalDate.of(2025, 2, 3));
+        when(loanRepository.findByReturnedOnBeforeOrderById(eq(CUTOFF), any()))
+                .thenReturn(List.of(johns, janes), List.of());
+        loanArchiver.archiveLoansReturnedBefore(CUTOFF);
+        Files.writeString(archiveDirectory.resolve("loans-202502-2.tsv.gz"), "not gzip");
+
+        assertThat(archiveDirectory.resolve("loans-202501-1.members")).hasContent("john@example.com");
+        assertThat(loanArchiver.findArchivedLoansOf("john@example.com")).extracting(Loan::getId).containsExactly(1L);
+        assertThat(loanArchiver.findArchivedLoansOf("nobody@example.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should open only the files for the requested months")
+    void shouldSkipFilesForOtherMonths() throws Exception {
+        Loan january = closedLoan(1L, "john@example.com", LocalDate.of(2025, 1, 10));
+        Loan february = closedLoan(2L, "john@example.com", LocalDate.of(2025, 2, 3));
+        when(loanRepository.findByReturnedOnBeforeOrderById(eq(CUTOFF), any()))
+                .thenReturn(List.of(january, february), List.of());
+        loanArchiver.archiveLoansReturnedBefore(CUTOFF);
+        Files.writeString(archiveDirectory.resolve("loans-202502-2.tsv.gz"), "not gzip");
+
+        List<Loan> loans = loanArchiver.findArchivedLoans(202501, 202501, loan -> true);
+
+        assertThat(loans).extracting(Loan::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should ignore a partial file and archive a batch again without duplicates after a crash")
+    void shouldRecoverFromInterruptedRun() throws Exception {
+        Loan first = closedLoan(1L, "john@example.com", LocalDate.of(2025, 1, 10));
+        Loan second = closedLoan(2L, "john@example.com", LocalDate.of(2025, 1, 12));
+        Files.writeString(archiveDirectory.resolve("loans-202501-1.tsv.gz.tmp"), "truncated");
+        when(loanRepository.findByReturnedOnBeforeOrderById(eq(CUTOFF), any()))
+                .thenReturn(List.of(first, second), List.of(), List.of(first, second), List.of());
+
+        loanArchiver.archiveLoansReturnedBefore(CUTOFF);
+        // As if the first run had crashed after writing its file but before deleting the loans
+        loanArchiver.archiveLoansReturnedBefore(CUTOFF);
+
+        assertThat(loanArchiver.findArchivedLoans(loan -> true)).extracting(Loan::getId).containsExactly(1L, 2L);
+        try (var files = Files.list(archiveDirectory)) {
+            assertThat(files).extracting(file -> file.getFileName().toString())
+                    .containsExactlyInAnyOrder("loans-202501-1.tsv.gz", "loans-202501-1.members");
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the hot table untouched when nothing is old enough")
+    void shouldDoNothingWhenNoLoansQualify() throws Exception {
+        when(loanRepository.findByReturnedOnBeforeOrderById(eq(CUTOFF), any())).thenReturn(List.of());
+
+        int archived = loanArchiver.archiveLoansReturnedBefore(CUTOFF);
+
+        assertThat(archived).isZero();
+        verify(loanRepository, never()).deleteAllInBatch(any());
+        try (var files = Files.list(archiveDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static Loan closedLoan(Long id, String memberEmail, LocalDate checkedOutOn) {
+        Loan loan = new Loan("978-0-123456-78-9", memberEmail, checkedOutOn, checkedOutOn.plusDays(14));
+        loan.setId(id);
+        loan.setReturnedOn(checkedOutOn.plusDays(14));
+        loan.setLateFee(1.5);
+        return loan;
+    }
+}
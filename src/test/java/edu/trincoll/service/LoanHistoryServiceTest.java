@@ -0,0 +1,82 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Loan;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Loan History Service Tests")
+class LoanHistoryServiceTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private LoanArchiver loanArchiver;
+
+    private LoanHistoryService loanHistoryService;
+    private Book book;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        loanHistoryService = new LoanHistoryService(loanRepository, loanArchiver);
+        book = new Book("978-0-123456-78-9", "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1));
+        member = new Member("John Doe", "john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should open a loan in the current month bucket on checkout")
+    void shouldOpenLoanOnCheckout() {
+        LocalDate dueDate = LocalDate.now().plusDays(14);
+
+        loanHistoryService.onCheckout(member, book, dueDate);
+
+        verify(loanRepository).save(argThat(loan ->
+                loan.getIsbn().equals(book.getIsbn()) &&
+                loan.getMemberEmail().equals(member.getEmail()) &&
+                loan.getDueDate().equals(dueDate) &&
+                loan.getLoanMonth() == Loan.monthOf(LocalDate.now()) &&
+                loan.isActive()
+        ));
+    }
+
+    @Test
+    @DisplayName("Should close the open loan with its late fee on return")
+    void shouldCloseLoanOnReturn() {
+        Loan loan = new Loan(book.getIsbn(), member.getEmail(), LocalDate.now().minusDays(20), LocalDate.now().minusDays(6));
+        when(loanRepository.findFirstByIsbnAndMemberEmailAndReturnedOnIsNull(book.getIsbn(), member.getEmail()))
+                .thenReturn(Optional.of(loan));
+
+        loanHistoryService.onReturn(member, book, 3.0);
+
+        assertThat(loan.getReturnedOn()).isEqualTo(LocalDate.now());
+        assertThat(loan.getLateFee()).isEqualTo(3.0);
+        verify(loanRepository).save(loan);
+    }
+
+    @Test
+    @DisplayName("Should merge hot and archived loans newest first")
+    void shouldMergeHotAndArchivedHistory() {
+        Loan recent = new Loan(book.getIsbn(), member.getEmail(), LocalDate.now().minusDays(3), null);
+        Loan archived = new Loan(book.getIsbn(), member.getEmail(), LocalDate.now().minusYears(1), null);
+        when(loanRepository.findByMemberEmail(member.getEmail())).thenReturn(List.of(recent));
+        when(loanArchiver.findArchivedLoansOf(member.getEmail())).thenReturn(List.of(archived));
+
+        assertThat(loanHistoryService.loanHistory(member.getEmail())).containsExactly(recent, archived);
+    }
+}
@@ -0,0 +1,60 @@
+package edu.trincoll.startup;
+
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.LibraryFacade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("First Checkout Benchmark Tests")
+class FirstCheckoutBenchmarkTest {
+
+    @Mock
+    private ObjectProvider<LibraryFacade> facadeProvider;
+
+    @Mock
+    private LibraryFacade libraryFacade;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("Should report the time since JVM start once the checkout succeeds")
+    void shouldMeasureFirstCheckout() {
+        when(facadeProvider.getObject()).thenReturn(libraryFacade);
+        when(libraryFacade.checkoutBook(anyString(), anyString()))
+                .thenReturn("Book checked out successfully. Due date: 2026-01-01");
+
+        long millis = benchmark().runFirstCheckout();
+
+        assertThat(millis).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should fail when the first checkout is refused")
+    void shouldFailOnRefusedCheckout() {
+        when(facadeProvider.getObject()).thenReturn(libraryFacade);
+        when(libraryFacade.checkoutBook(anyString(), anyString())).thenReturn("Book is not available");
+
+        assertThatThrownBy(() -> benchmark().runFirstCheckout())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Book is not available");
+    }
+
+    private FirstCheckoutBenchmark benchmark() {
+        return new FirstCheckoutBenchmark(facadeProvider, bookRepository, memberRepository, true, false);
+    }
+}
@@ -0,0 +1,29 @@
+package edu.trincoll.startup;
+
+import edu.trincoll.report.OverdueChangeTracker;
+import edu.trincoll.search.FuzzyAuthorIndex;
+import edu.trincoll.service.LibraryFacade;
+import edu.trincoll.service.LoanArchiver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Startup Configuration Tests")
+class StartupConfigurationTest {
+
+    @Test
+    @DisplayName("Should keep beans with startup listeners or schedules eager")
+    void shouldKeepLifecycleBeansEager() {
+        assertThat(StartupConfiguration.hasLifecycleMethod(OverdueChangeTracker.class)).isTrue();
+        assertThat(StartupConfiguration.hasLifecycleMethod(FuzzyAuthorIndex.class)).isTrue();
+        assertThat(StartupConfiguration.hasLifecycleMethod(LoanArchiver.class)).isTrue();
+        assertThat(StartupConfiguration.hasLifecycleMethod(FirstCheckoutBenchmark.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should let other beans initialize lazily")
+    void shouldLetOtherBeansBeLazy() {
+        assertThat(StartupConfiguration.hasLifecycleMethod(LibraryFacade.class)).isFalse();
+    }
+}
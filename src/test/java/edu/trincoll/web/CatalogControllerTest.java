@@ -0,0 +1,153 @@
+package edu.trincoll.web;
+
+import edu.trincoll.admission.AdmissionExceptionHandler;
+import edu.trincoll.admission.OperationRejectedException;
+import edu.trincoll.admission.Priority;
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.memory.InMemoryBookRepository;
+import edu.trincoll.service.CatalogVersion;
+import edu.trincoll.service.LibraryFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Catalog Controller Tests")
+class CatalogControllerTest {
+
+    @Mock
+    private LibraryFacade libraryFacade;
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final Book book = new Book("978-1", "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1));
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CatalogController(libraryFacade, catalogVersion))
+                .setControllerAdvice(new AdmissionExceptionHandler(2))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated search with 304 until the catalog changes")
+    void shouldRevalidateSearches() throws Exception {
+        when(libraryFacade.searchBooks("clean", "any")).thenReturn(List.of(book));
+
+        String etag = mockMvc.perform(get("/api/books").param("q", "clean"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].isbn").value("978-1"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(etag).isEqualTo(catalogVersion.etag());
+        mockMvc.perform(get("/api/books").param("q", "clean").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(libraryFacade, times(1)).searchBooks("clean", "any");
+
+        catalogVersion.onStatusChange(book, BookStatus.AVAILABLE);
+
+        mockMvc.perform(get("/api/books").param("q", "clean").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", catalogVersion.etag()));
+        verify(libraryFacade, times(2)).searchBooks("clean", "any");
+    }
+
+    @Test
+    @DisplayName("Should change the tag when a book is inserted")
+    void shouldRetagAfterInsert() throws Exception {
+        InMemoryBookRepository books = new InMemoryBookRepository(catalogVersion);
+        when(libraryFacade.searchBooks("clean", "any")).thenAnswer(invocation -> books.findAll());
+        String etag = mockMvc.perform(get("/api/books").param("q", "clean"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        books.save(book);
+
+        mockMvc.perform(get("/api/books").param("q", "clean").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].isbn").value("978-1"))
+                .andExpect(header().string("ETag", catalogVersion.etag()));
+        assertThat(catalogVersion.etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Should move to a new version only when the writing transaction commits")
+    void shouldAdvanceAfterCommit() {
+        long before = catalogVersion.current();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogVersion.onUpdate(book);
+
+            assertThat(catalogVersion.current()).isEqualTo(before);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(catalogVersion.current()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("Should tag the overdue report with the date as well as the catalog version")
+    void shouldRevalidateCatalogReports() throws Exception {
+        when(libraryFacade.generateReport("overdue")).thenReturn("OVERDUE BOOKS REPORT\n");
+        String etag = catalogVersion.etag(LocalDate.now());
+
+        mockMvc.perform(get("/api/reports/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string("OVERDUE BOOKS REPORT\n"));
+        mockMvc.perform(get("/api/reports/overdue").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(libraryFacade, times(1)).generateReport("overdue");
+    }
+
+    @Test
+    @DisplayName("Should always rebuild metrics reports")
+    void shouldNotTagMetricsReports() throws Exception {
+        when(libraryFacade.generateReport("sql")).thenReturn("SQL STATEMENT REPORT\n");
+
+        mockMvc.perform(get("/api/reports/sql").header("If-None-Match", catalogVersion.etag()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().string("Cache-Control", "no-store"));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown search type as a bad request")
+    void shouldRejectInvalidSearchType() throws Exception {
+        when(libraryFacade.searchBooks("clean", "shelf")).thenThrow(new IllegalArgumentException("Invalid search type"));
+
+        mockMvc.perform(get("/api/books").param("q", "clean").param("type", "shelf"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid search type"));
+    }
+
+    @Test
+    @DisplayName("Should answer a shed request with 503 and Retry-After")
+    void shouldAnswerShedRequestsWithServiceUnavailable() throws Exception {
+        when(libraryFacade.generateReport("overdue")).thenThrow(new OperationRejectedException(Priority.LOW, 10));
+
+        mockMvc.perform(get("/api/reports/overdue"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+}
@@ -0,0 +1,53 @@
+package edu.trincoll.web;
+
+import edu.trincoll.recommendation.CoOccurrenceEngine.Recommendation;
+import edu.trincoll.recommendation.RecommendationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Recommendation Controller Tests")
+class RecommendationControllerTest {
+
+    @Mock
+    private RecommendationService recommendationService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new RecommendationController(recommendationService)).build();
+    }
+
+    @Test
+    @DisplayName("Should list the titles borrowed together with a book")
+    void shouldRecommend() throws Exception {
+        when(recommendationService.recommend("978-1", 3)).thenReturn(List.of(new Recommendation("978-2", 4)));
+
+        mockMvc.perform(get("/api/books/978-1/recommendations").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$[0].isbn").value("978-2"))
+                .andExpect(jsonPath("$[0].count").value(4));
+    }
+
+    @Test
+    @DisplayName("Should reject a limit below one")
+    void shouldRejectNonPositiveLimit() throws Exception {
+        mockMvc.perform(get("/api/books/978-1/recommendations").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(recommendationService);
+    }
+}